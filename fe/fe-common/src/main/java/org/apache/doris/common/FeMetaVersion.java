@@ -42,8 +42,10 @@ public final class FeMetaVersion {
     public static final int VERSION_110 = 110;
     // add catalog PrivTable in PaloAuth to support unified privilege management
     public static final int VERSION_111 = 111;
+    // persist the sampled histograms and ndv sketches of columns
+    public static final int VERSION_112 = 112;
     // note: when increment meta version, should assign the latest version to VERSION_CURRENT
-    public static final int VERSION_CURRENT = VERSION_111;
+    public static final int VERSION_CURRENT = VERSION_112;
 
     // all logs meta version should >= the minimum version, so that we could remove many if clause, for example
     // if (FE_METAVERSION < VERSION_94) ...
@@ -692,6 +692,8 @@ public class Alter {
             // 2. replica allocation
             if (!replicaAlloc.isNotSet()) {
                 partitionInfo.setReplicaAllocation(partition.getId(), replicaAlloc);
+                Catalog.getCurrentCatalog().getTabletChecker().markPartitionDirty(
+                        db.getId(), olapTable.getId(), partition.getId());
             }
             // 3. in memory
             boolean oldInMemory = partitionInfo.getIsInMemory(partition.getId());
@@ -154,12 +154,13 @@ public abstract class AlterJobV2 implements Writable {
      *      db lock
      */
     public synchronized void run() {
-        if (isTimeout()) {
-            cancelImpl("Timeout");
-            return;
-        }
-
+        JobState prevState = jobState;
         try {
+            if (isTimeout()) {
+                cancelImpl("Timeout");
+                return;
+            }
+
             switch (jobState) {
                 case PENDING:
                     runPendingJob();
@@ -175,11 +176,25 @@ public abstract class AlterJobV2 implements Writable {
             }
         } catch (AlterCancelException e) {
             cancelImpl(e.getMessage());
+        } finally {
+            onStateChanged(prevState);
         }
     }
 
     public final synchronized boolean cancel(String errMsg) {
-        return cancelImpl(errMsg);
+        JobState prevState = jobState;
+        try {
+            return cancelImpl(errMsg);
+        } finally {
+            onStateChanged(prevState);
+        }
+    }
+
+    private void onStateChanged(JobState prevState) {
+        if (!prevState.isFinalState() && jobState.isFinalState()) {
+            // the new tablets become visible or the shadow ones are dropped, so check the table again.
+            Catalog.getCurrentCatalog().getTabletChecker().markTableDirty(dbId, tableId);
+        }
     }
 
     /**
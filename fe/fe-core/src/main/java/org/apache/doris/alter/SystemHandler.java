@@ -150,6 +150,7 @@ public class SystemHandler extends AlterHandler {
             for (Backend backend : decommissionBackends) {
                 backend.setDecommissioned(true);
                 Catalog.getCurrentCatalog().getEditLog().logBackendStateChange(backend);
+                Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(backend.getId());
                 LOG.info("set backend {} to decommission", backend.getId());
             }
 
@@ -240,6 +241,7 @@ public class SystemHandler extends AlterHandler {
         for (Backend backend : backends) {
             if (backend.setDecommissioned(false)) {
                 Catalog.getCurrentCatalog().getEditLog().logBackendStateChange(backend);
+                Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(backend.getId());
             } else {
                 LOG.info("backend is not decommissioned[{}]", backend.getHost());
             }
@@ -20,6 +20,7 @@
 
 package org.apache.doris.analysis;
 
+import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Function;
 import org.apache.doris.catalog.FunctionSet;
 import org.apache.doris.catalog.PrimitiveType;
@@ -30,6 +31,7 @@ import org.apache.doris.common.Pair;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.io.Writable;
+import org.apache.doris.statistics.Histogram;
 import org.apache.doris.thrift.TExprNode;
 import org.apache.doris.thrift.TExprNodeType;
 import org.apache.doris.thrift.TExprOpcode;
@@ -662,6 +664,9 @@ public class BinaryPredicate extends Predicate implements Writable {
 
     @Override
     public void setSelectivity() {
+        if (setSelectivityByHistogram()) {
+            return;
+        }
         switch (op) {
             case EQ:
             case EQ_FOR_NULL: {
@@ -685,6 +690,40 @@ public class BinaryPredicate extends Predicate implements Writable {
         return;
     }
 
+    // Use the histogram of the column if this predicate compares a column with a constant.
+    private boolean setSelectivityByHistogram() {
+        Operator slotOp = op;
+        SlotRef slotRef = getChild(0).unwrapSlotRef(false);
+        Expr other = getChild(1);
+        if (slotRef == null) {
+            slotRef = getChild(1).unwrapSlotRef(false);
+            other = getChild(0);
+            if (slotRef == null || op == Operator.EQ_FOR_NULL) {
+                return false;
+            }
+            slotOp = op.converse();
+        }
+        if (!(other instanceof LiteralExpr) || slotRef.getDesc() == null) {
+            return false;
+        }
+        Histogram histogram = Catalog.getCurrentCatalog().getStatisticsManager().getHistogram(slotRef.getDesc());
+        if (histogram == null) {
+            return false;
+        }
+        double value = Histogram.toDouble((LiteralExpr) other);
+        if (Double.isNaN(value)) {
+            return false;
+        }
+        double histogramSelectivity = histogram.estimateSelectivity(slotOp, value);
+        if (histogramSelectivity < 0) {
+            return false;
+        }
+        // the histogram only covers the non-null values, which are the only ones that may pass the predicate
+        selectivity = histogramSelectivity
+                * (1.0 - Catalog.getCurrentCatalog().getStatisticsManager().getNullFraction(slotRef.getDesc()));
+        return true;
+    }
+
     @Override
     public int hashCode() {
         return 31 * super.hashCode() + Objects.hashCode(op);
@@ -130,10 +130,20 @@ public class InsertStmt extends DdlStmt {
 
     private boolean isValuesOrConstantSelect = false;
 
+    /*
+     * The rows of a group commit insert are merged with the ones of other inserts into the same table
+     * by GroupCommitManager, so it neither begins a transaction nor creates a data sink here.
+     */
+    private boolean isGroupCommit = false;
+
     public boolean isValuesOrConstantSelect() {
         return isValuesOrConstantSelect;
     }
 
+    public boolean isGroupCommit() {
+        return isGroupCommit;
+    }
+
     public InsertStmt(InsertTarget target, String label, List<String> cols, InsertSource source, List<String> hints) {
         this.tblName = target.getTblName();
         this.targetPartitionNames = target.getPartitionNames();
@@ -298,6 +308,12 @@ public class InsertStmt extends DdlStmt {
             return;
         }
 
+        isGroupCommit = canGroupCommit(analyzer);
+        if (isGroupCommit) {
+            db = analyzer.getCatalog().getInternalDataSource().getDbOrAnalysisException(tblName.getDb());
+            return;
+        }
+
         // create data sink
         createDataSink();
 
@@ -329,6 +345,30 @@ public class InsertStmt extends DdlStmt {
         }
     }
 
+    // Only the VALUES of literals for all columns of an olap table can be group committed, which are sent
+    // to the load transaction as they are, the same as the inserts in an explicit transaction.
+    private boolean canGroupCommit(Analyzer analyzer) {
+        if (!analyzer.getContext().getSessionVariable().isEnableInsertGroupCommit() || isExplain()
+                || isUserSpecifiedLabel || targetColumnNames != null || targetPartitionNames != null
+                || !(targetTable instanceof OlapTable) || !(queryStmt instanceof SelectStmt)
+                || ((SelectStmt) queryStmt).getValueList() == null
+                || !Catalog.getCurrentCatalog().isMaster()) {
+            return false;
+        }
+        int schemaSize = targetTable.getBaseSchema(false).size();
+        for (List<Expr> row : ((SelectStmt) queryStmt).getValueList().getRows()) {
+            if (row.size() != schemaSize) {
+                return false;
+            }
+            for (Expr expr : row) {
+                if (!(expr instanceof LiteralExpr)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void analyzeTargetTable(Analyzer analyzer) throws AnalysisException {
         // Get table
         if (targetTable == null) {
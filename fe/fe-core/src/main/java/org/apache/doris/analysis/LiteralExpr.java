@@ -37,12 +37,25 @@ import java.nio.ByteBuffer;
 public abstract class LiteralExpr extends Expr implements Comparable<LiteralExpr> {
     private static final Logger LOG = LogManager.getLogger(LiteralExpr.class);
 
+    // index of the parameter of a prepared statement which this literal is bound from, -1 if it is not.
+    // It is kept by clone, so the literals in the plan can be rebound to the parameters of the next execution.
+    private int paramIndex = -1;
+
     public LiteralExpr() {
         numDistinctValues = 1;
     }
 
     protected LiteralExpr(LiteralExpr other) {
         super(other);
+        paramIndex = other.paramIndex;
+    }
+
+    public int getParamIndex() {
+        return paramIndex;
+    }
+
+    public void setParamIndex(int paramIndex) {
+        this.paramIndex = paramIndex;
     }
 
     public static LiteralExpr create(String value, Type type) throws AnalysisException {
@@ -0,0 +1,115 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.analysis;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.thrift.TExprNode;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The parameter marker '?' of a prepared statement.
+ *
+ * A prepared statement is parsed only once, and the parsed statement is kept as a template.
+ * Before each execution, the parameter values are bound to the place holders, and the template is cloned.
+ * When cloned, a bound place holder is replaced by a copy of its value, so the cloned statement
+ * only contains ordinary literals and is analyzed and planned as a normal statement.
+ * The copy is tagged with the index of the parameter, see LiteralExpr.getParamIndex().
+ */
+public class PlaceHolderExpr extends LiteralExpr {
+    // index of this parameter in the prepared statement, starting from 0
+    private final int index;
+    private LiteralExpr value;
+
+    public PlaceHolderExpr(int index) {
+        this.index = index;
+        this.type = Type.NULL;
+    }
+
+    protected PlaceHolderExpr(PlaceHolderExpr other) {
+        super(other);
+        this.index = other.index;
+        this.value = other.value;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public LiteralExpr getValue() {
+        return value;
+    }
+
+    public boolean isBound() {
+        return value != null;
+    }
+
+    public void bind(LiteralExpr value) {
+        Preconditions.checkNotNull(value);
+        this.value = value;
+        this.type = value.getType();
+    }
+
+    @Override
+    public Expr clone() {
+        if (value != null) {
+            LiteralExpr literal = (LiteralExpr) value.clone();
+            literal.setParamIndex(index);
+            return literal;
+        }
+        return new PlaceHolderExpr(this);
+    }
+
+    @Override
+    protected void analyzeImpl(Analyzer analyzer) throws AnalysisException {
+        // a bound place holder never reaches analysis, because the statement is cloned before analysis
+        throw new AnalysisException("No value is bound to parameter " + (index + 1));
+    }
+
+    @Override
+    public boolean isMinValue() {
+        return false;
+    }
+
+    @Override
+    public int compareLiteral(LiteralExpr expr) {
+        Preconditions.checkState(value != null, "parameter " + (index + 1) + " is not bound");
+        return value.compareLiteral(expr);
+    }
+
+    @Override
+    public Object getRealValue() {
+        return value == null ? null : value.getRealValue();
+    }
+
+    @Override
+    public String getStringValue() {
+        return value == null ? "?" : value.getStringValue();
+    }
+
+    @Override
+    protected String toSqlImpl() {
+        return value == null ? "?" : value.toSql();
+    }
+
+    @Override
+    protected void toThrift(TExprNode msg) {
+        throw new IllegalStateException("parameter " + (index + 1) + " can not be sent to backend");
+    }
+}
@@ -24,6 +24,9 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.UserException;
+import org.apache.doris.datasource.DataSourceIf;
+import org.apache.doris.datasource.HMSExternalDataSource;
+import org.apache.doris.datasource.InternalDataSource;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.qe.ConnectContext;
 
@@ -34,16 +37,30 @@ import org.apache.logging.log4j.Logger;
 public class RefreshDbStmt extends DdlStmt {
     private static final Logger LOG = LogManager.getLogger(RefreshDbStmt.class);
 
+    private String catalogName;
     private String dbName;
 
     public RefreshDbStmt(String dbName) {
         this.dbName = dbName;
     }
 
+    public String getCatalogName() {
+        return catalogName;
+    }
+
     public String getDbName() {
         return dbName;
     }
 
+    public boolean isExternal() {
+        // the catalog is not set before analyzing, which happens after deciding whether to forward to master
+        String ctl = catalogName;
+        if (Strings.isNullOrEmpty(ctl) && ConnectContext.get() != null) {
+            ctl = ConnectContext.get().getDefaultCatalog();
+        }
+        return !Strings.isNullOrEmpty(ctl) && !InternalDataSource.INTERNAL_DS_NAME.equals(ctl);
+    }
+
     @Override
     public void analyze(Analyzer analyzer) throws AnalysisException, UserException {
         super.analyze(analyzer);
@@ -54,6 +71,25 @@ public class RefreshDbStmt extends DdlStmt {
             ErrorReport.reportAnalysisException(ErrorCode.ERR_CLUSTER_NO_SELECT_CLUSTER);
         }
         dbName = ClusterNamespace.getFullName(getClusterName(), dbName);
+        catalogName = analyzer.getDefaultCatalog();
+        if (Strings.isNullOrEmpty(catalogName)) {
+            catalogName = InternalDataSource.INTERNAL_DS_NAME;
+        }
+        if (isExternal()) {
+            // only invalidate the cached meta objects of the database in current hms catalog
+            DataSourceIf dataSource = Catalog.getCurrentCatalog().getDataSourceMgr()
+                    .getCatalogOrAnalysisException(catalogName);
+            if (!(dataSource instanceof HMSExternalDataSource)) {
+                throw new AnalysisException("Only support refresh database of hms catalog, but "
+                        + catalogName + " is " + dataSource.getType());
+            }
+            if (!Catalog.getCurrentCatalog().getAuth().checkDbPriv(ConnectContext.get(), catalogName, dbName,
+                    PrivPredicate.SELECT)) {
+                ErrorReport.reportAnalysisException(ErrorCode.ERR_DBACCESS_DENIED_ERROR,
+                        ConnectContext.get().getQualifiedUser(), dbName);
+            }
+            return;
+        }
 
         // Don't allow dropping 'information_schema' database
         if (dbName.equalsIgnoreCase(ClusterNamespace.getFullName(getClusterName(), InfoSchemaDb.DATABASE_NAME))) {
@@ -82,4 +118,10 @@ public class RefreshDbStmt extends DdlStmt {
     public String toString() {
         return toSql();
     }
+
+    @Override
+    public RedirectStatus getRedirectStatus() {
+        // the meta objects of external catalog are cached by each FE separately
+        return isExternal() ? RedirectStatus.NO_FORWARD : super.getRedirectStatus();
+    }
 }
@@ -22,10 +22,13 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.UserException;
-import org.apache.doris.common.util.Util;
+import org.apache.doris.datasource.DataSourceIf;
+import org.apache.doris.datasource.HMSExternalDataSource;
+import org.apache.doris.datasource.InternalDataSource;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.qe.ConnectContext;
 
+import com.google.common.base.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -50,12 +53,33 @@ public class RefreshTableStmt extends DdlStmt {
         return tableName;
     }
 
+    public boolean isExternal() {
+        // the catalog is not set before analyzing, which happens after deciding whether to forward to master
+        String ctl = tableName.getCtl();
+        if (Strings.isNullOrEmpty(ctl) && ConnectContext.get() != null) {
+            ctl = ConnectContext.get().getDefaultCatalog();
+        }
+        return !Strings.isNullOrEmpty(ctl) && !InternalDataSource.INTERNAL_DS_NAME.equals(ctl);
+    }
+
     @Override
     public void analyze(Analyzer analyzer) throws AnalysisException, UserException {
         super.analyze(analyzer);
         tableName.analyze(analyzer);
-        // disallow external catalog
-        Util.prohibitExternalCatalog(tableName.getCtl(), this.getClass().getSimpleName());
+        if (isExternal()) {
+            // only invalidate the cached meta objects of hms table
+            DataSourceIf dataSource = Catalog.getCurrentCatalog().getDataSourceMgr()
+                    .getCatalogOrAnalysisException(tableName.getCtl());
+            if (!(dataSource instanceof HMSExternalDataSource)) {
+                throw new AnalysisException("Only support refresh table of hms catalog, but "
+                        + tableName.getCtl() + " is " + dataSource.getType());
+            }
+            if (!Catalog.getCurrentCatalog().getAuth().checkTblPriv(ConnectContext.get(), tableName.getCtl(),
+                    tableName.getDb(), tableName.getTbl(), PrivPredicate.SELECT)) {
+                ErrorReport.reportAnalysisException(ErrorCode.ERR_SPECIFIC_ACCESS_DENIED_ERROR, "SELECT");
+            }
+            return;
+        }
 
         // check access
         if (!Catalog.getCurrentCatalog().getAuth().checkTblPriv(ConnectContext.get(), tableName.getDb(),
@@ -80,4 +104,10 @@ public class RefreshTableStmt extends DdlStmt {
     public String toString() {
         return toSql();
     }
+
+    @Override
+    public RedirectStatus getRedirectStatus() {
+        // the meta objects of external catalog are cached by each FE separately
+        return isExternal() ? RedirectStatus.NO_FORWARD : super.getRedirectStatus();
+    }
 }
@@ -37,6 +37,7 @@ public class ShowTableStatsStmt extends ShowStmt {
                     .add("table_name")
                     .add(TableStats.ROW_COUNT.getValue())
                     .add(TableStats.DATA_SIZE.getValue())
+                    .add("staleness")
                     .build();
 
     private TableName tableName;
@@ -79,6 +79,9 @@ public class TableRef implements ParseNode, Writable {
     private static final Logger LOG = LogManager.getLogger(TableRef.class);
     protected TableName name;
     private PartitionNames partitionNames = null;
+    // If set, only these tablets of the olap table are scanned. It is set by the sampling statistics query,
+    // and not expressible in sql.
+    private List<Long> sampleTabletIds = null;
 
     // Legal aliases of this table ref. Contains the explicit alias as its sole element if
     // there is one. Otherwise, contains the two implicit aliases. Implicit aliases are set
@@ -178,6 +181,7 @@ public class TableRef implements ParseNode, Writable {
         onClause = (other.onClause != null) ? other.onClause.clone().reset() : null;
         partitionNames = (other.partitionNames != null) ? new PartitionNames(other.partitionNames) : null;
         commonHints = other.commonHints;
+        sampleTabletIds = other.sampleTabletIds;
 
         usingColNames =
                 (other.usingColNames != null) ? Lists.newArrayList(other.usingColNames) : null;
@@ -202,6 +206,14 @@ public class TableRef implements ParseNode, Writable {
         return partitionNames;
     }
 
+    public List<Long> getSampleTabletIds() {
+        return sampleTabletIds;
+    }
+
+    public void setSampleTabletIds(List<Long> sampleTabletIds) {
+        this.sampleTabletIds = sampleTabletIds;
+    }
+
     @Override
     public void analyze(Analyzer analyzer) throws AnalysisException, UserException {
         ErrorReport.reportAnalysisException(ErrorCode.ERR_UNRESOLVED_TABLE_REF, tableRefToSql());
@@ -1702,6 +1702,8 @@ public class RestoreJob extends AbstractJob {
             } finally {
                 tbl.writeUnlock();
             }
+            // the restored partitions can be checked by TabletChecker now
+            Catalog.getCurrentCatalog().getTabletChecker().markTableDirty(db.getId(), tbl.getId());
         }
     }
 
@@ -147,6 +147,7 @@ import org.apache.doris.load.loadv2.LoadEtlChecker;
 import org.apache.doris.load.loadv2.LoadJobScheduler;
 import org.apache.doris.load.loadv2.LoadLoadingChecker;
 import org.apache.doris.load.loadv2.LoadManager;
+import org.apache.doris.load.routineload.KafkaMetaCache;
 import org.apache.doris.load.routineload.RoutineLoadManager;
 import org.apache.doris.load.routineload.RoutineLoadScheduler;
 import org.apache.doris.load.routineload.RoutineLoadTaskScheduler;
@@ -343,6 +344,8 @@ public class Catalog {
 
     private static Catalog CHECKPOINT = null;
     private static long checkpointThreadId = -1;
+    // the threads which load or save image on behalf of the checkpoint thread
+    private static final ThreadLocal<Boolean> checkpointWorker = new ThreadLocal<>();
     private Checkpoint checkpointer;
     private List<Pair<String, Integer>> helperNodes = Lists.newArrayList();
     private Pair<String, Integer> selfNode = null;
@@ -698,7 +701,16 @@ public class Catalog {
     }
 
     public static final boolean isCheckpointThread() {
-        return Thread.currentThread().getId() == checkpointThreadId;
+        return Thread.currentThread().getId() == checkpointThreadId || checkpointWorker.get() != null;
+    }
+
+    // Mark the current thread as a worker of the checkpoint thread, so that it will see the checkpoint catalog.
+    public static void setCheckpointWorker(boolean isWorker) {
+        if (isWorker) {
+            checkpointWorker.set(Boolean.TRUE);
+        } else {
+            checkpointWorker.remove();
+        }
     }
 
     public static PluginMgr getCurrentPluginMgr() {
@@ -714,6 +726,10 @@ public class Catalog {
         return checkpointer;
     }
 
+    public PublishVersionDaemon getPublishVersionDaemon() {
+        return publishVersionDaemon;
+    }
+
     // statistics
     public StatisticsManager getStatisticsManager() {
         return statisticsManager;
@@ -1368,6 +1384,7 @@ public class Catalog {
         // start routine load scheduler
         routineLoadScheduler.start();
         routineLoadTaskScheduler.start();
+        KafkaMetaCache.getInstance().start();
         // start sync checker
         syncChecker.start();
         // start dynamic partition task
@@ -1886,6 +1903,17 @@ public class Catalog {
         return checksum;
     }
 
+    /**
+     * Load the sampled column sketches of statistics through file.
+     **/
+    public long loadStatistics(DataInputStream in, long checksum) throws IOException {
+        if (Catalog.getCurrentCatalogJournalVersion() >= FeMetaVersion.VERSION_112) {
+            statisticsManager.readFields(in);
+        }
+        LOG.info("finished replay statistics from image");
+        return checksum;
+    }
+
     /**
      * Load datasource through file.
      **/
@@ -2165,6 +2193,11 @@ public class Catalog {
         return checksum;
     }
 
+    public long saveStatistics(CountingDataOutputStream out, long checksum) throws IOException {
+        Catalog.getCurrentCatalog().getStatisticsManager().write(out);
+        return checksum;
+    }
+
     /**
      * Save datasource image.
      */
@@ -3990,6 +4023,7 @@ public class Catalog {
         boolean isInMemory = partitionInfo.getIsInMemory(partition.getId());
         DataProperty newDataProperty = partitionInfo.getDataProperty(partition.getId());
         partitionInfo.setReplicaAllocation(partition.getId(), replicaAlloc);
+        tabletChecker.markPartitionDirty(db.getId(), table.getId(), partition.getId());
         // log
         ModifyPartitionInfo info = new ModifyPartitionInfo(db.getId(), table.getId(), partition.getId(),
                 newDataProperty, replicaAlloc, isInMemory);
@@ -4785,6 +4819,8 @@ public class Catalog {
                         }
                         LOG.info("set replica {} of tablet {} on backend {} as {}. is replay: {}",
                                 replica.getId(), tabletId, backendId, status, isReplay);
+                        // let TabletChecker repair or release the tablet without waiting for a full check
+                        getTabletChecker().markTabletDirty(tabletId);
                     }
                 }
             } finally {
@@ -44,6 +44,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Elasticsearch table.
@@ -99,7 +100,7 @@ public class EsTable extends Table {
     // only save the partition definition, save the partition key,
     // partition list is got from es cluster dynamically and is saved in esTableState
     private PartitionInfo partitionInfo;
-    private EsTablePartitions esTablePartitions;
+    private volatile EsTablePartitions esTablePartitions;
 
     // Whether to enable docvalues scan optimization for fetching fields more fast, default to true
     private boolean enableDocValueScan = true;
@@ -117,13 +118,22 @@ public class EsTable extends Table {
     private Map<String, String> tableContext = new HashMap<>();
 
     // record the latest and recently exception when sync ES table metadata (mapping, shard location)
-    private Throwable lastMetaDataSyncException = null;
+    private volatile Throwable lastMetaDataSyncException = null;
+
+    // the time of the latest successful sync of ES table metadata, -1 if never synced
+    private volatile long lastMetaDataSyncTime = -1;
+
+    // the time of the latest sync of ES table metadata, whether it succeeded or not, -1 if never synced
+    private volatile long lastMetaDataSyncAttemptTime = -1;
+
+    // the ES rest client is not thread safe, so the metadata of one table is synced by one thread at a time
+    private final ReentrantLock metaDataSyncLock = new ReentrantLock();
 
     // connect es.
     private EsRestClient client = null;
 
     // Periodically pull es metadata
-    private EsMetaStateTracker esMetaStateTracker;
+    private volatile EsMetaStateTracker esMetaStateTracker;
 
     public EsTable() {
         super(TableType.ELASTICSEARCH);
@@ -434,21 +444,61 @@ public class EsTable extends Table {
         this.partitionInfo = partitionInfo;
     }
 
+    public long getLastMetaDataSyncTime() {
+        return lastMetaDataSyncTime;
+    }
+
     /**
      * Sync es index meta from remote ES Cluster.
      */
     public void syncTableMetaData() {
+        metaDataSyncLock.lock();
+        try {
+            doSyncTableMetaData();
+        } finally {
+            metaDataSyncLock.unlock();
+        }
+    }
+
+    /**
+     * Sync es index meta from remote ES Cluster if it has not been synced in the last staleMs.
+     * A failed sync counts too, so that the queries do not keep waiting for an unavailable ES Cluster,
+     * and are planned with the last synced meta instead.
+     * If another thread is syncing the meta, wait for it and check again.
+     */
+    public void syncTableMetaDataIfStale(long staleMs) {
+        if (!isMetaDataStale(staleMs)) {
+            return;
+        }
+        metaDataSyncLock.lock();
+        try {
+            if (isMetaDataStale(staleMs)) {
+                doSyncTableMetaData();
+            }
+        } finally {
+            metaDataSyncLock.unlock();
+        }
+    }
+
+    private boolean isMetaDataStale(long staleMs) {
+        return lastMetaDataSyncAttemptTime < 0 || System.currentTimeMillis() - lastMetaDataSyncAttemptTime > staleMs;
+    }
+
+    private void doSyncTableMetaData() {
         if (esMetaStateTracker == null) {
             esMetaStateTracker = new EsMetaStateTracker(client, this);
         }
         try {
             esMetaStateTracker.run();
             this.esTablePartitions = esMetaStateTracker.searchContext().tablePartitions();
+            this.lastMetaDataSyncTime = System.currentTimeMillis();
         } catch (Throwable e) {
+            // keep the last synced meta, which is still better than failing the queries
             LOG.warn("Exception happens when fetch index [{}] meta data from remote es cluster."
                     + "table id: {}, err: {}", this.name, this.id, e.getMessage());
-            this.esTablePartitions = null;
             this.lastMetaDataSyncException = e;
+        } finally {
+            this.lastMetaDataSyncAttemptTime = System.currentTimeMillis();
         }
     }
 
@@ -24,6 +24,7 @@ import org.apache.doris.analysis.RefreshTableStmt;
 import org.apache.doris.analysis.TableName;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.UserException;
+import org.apache.doris.datasource.HMSExternalDataSource;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,6 +40,15 @@ public class RefreshManager {
         String tableName = stmt.getTblName();
         Catalog catalog = Catalog.getCurrentCatalog();
 
+        if (stmt.isExternal()) {
+            HMSExternalDataSource dataSource = (HMSExternalDataSource) catalog.getDataSourceMgr()
+                    .getCatalogOrAnalysisException(stmt.getTableName().getCtl());
+            dataSource.refreshTable(dbName, tableName);
+            LOG.info("Successfully refresh table: {} from db: {} of catalog: {}",
+                    tableName, dbName, dataSource.getName());
+            return;
+        }
+
         // 0. check table type
         Database db = catalog.getInternalDataSource().getDbOrDdlException(dbName);
         Table table = db.getTableNullable(tableName);
@@ -63,10 +73,18 @@ public class RefreshManager {
         LOG.info("Successfully refresh table: {} from db: {}", tableName, dbName);
     }
 
-    public void handleRefreshDb(RefreshDbStmt stmt) throws DdlException {
+    public void handleRefreshDb(RefreshDbStmt stmt) throws UserException {
         String dbName = stmt.getDbName();
         Catalog catalog = Catalog.getCurrentCatalog();
 
+        if (stmt.isExternal()) {
+            HMSExternalDataSource dataSource = (HMSExternalDataSource) catalog.getDataSourceMgr()
+                    .getCatalogOrAnalysisException(stmt.getCatalogName());
+            dataSource.refreshDb(dbName);
+            LOG.info("Successfully refresh db: {} of catalog: {}", dbName, dataSource.getName());
+            return;
+        }
+
         Database db = catalog.getInternalDataSource().getDbOrDdlException(dbName);
 
         // 0. build iceberg property
@@ -212,7 +212,10 @@ public class Replica implements Writable {
     }
 
     public void setPathHash(long pathHash) {
-        this.pathHash = pathHash;
+        if (this.pathHash != pathHash) {
+            this.pathHash = pathHash;
+            TabletLocationCache.getInstance().invalidateAll();
+        }
     }
 
     public boolean isBad() {
@@ -224,6 +227,7 @@ public class Replica implements Writable {
             return false;
         }
         this.bad = bad;
+        TabletLocationCache.getInstance().invalidateAll();
         return true;
     }
 
@@ -308,6 +312,7 @@ public class Replica implements Writable {
             return;
         }
 
+        long oldLastFailedVersion = this.lastFailedVersion;
         this.version = newVersion;
         this.dataSize = newDataSize;
         this.rowCount = newRowCount;
@@ -357,6 +362,11 @@ public class Replica implements Writable {
             }
         }
 
+        if (oldLastFailedVersion != this.lastFailedVersion) {
+            // a replica with last failed version is not queryable
+            TabletLocationCache.getInstance().invalidateAll();
+        }
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("after update {}", this.toString());
         }
@@ -395,11 +405,17 @@ public class Replica implements Writable {
     }
 
     public void setLastFailedVersion(long lastFailedVersion) {
-        this.lastFailedVersion = lastFailedVersion;
+        if (this.lastFailedVersion != lastFailedVersion) {
+            this.lastFailedVersion = lastFailedVersion;
+            TabletLocationCache.getInstance().invalidateAll();
+        }
     }
 
     public void setState(ReplicaState replicaState) {
-        this.state = replicaState;
+        if (this.state != replicaState) {
+            this.state = replicaState;
+            TabletLocationCache.getInstance().invalidateAll();
+        }
     }
 
     public ReplicaState getState() {
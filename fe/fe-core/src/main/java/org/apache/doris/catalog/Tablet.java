@@ -156,6 +156,7 @@ public class Tablet extends MetaObject implements Writable {
     public void addReplica(Replica replica, boolean isRestore) {
         if (deleteRedundantReplica(replica.getBackendId(), replica.getVersion())) {
             replicas.add(replica);
+            TabletLocationCache.getInstance().invalidateAll();
             if (!isRestore) {
                 Catalog.getCurrentInvertedIndex().addReplica(id, replica);
             }
@@ -270,6 +271,7 @@ public class Tablet extends MetaObject implements Writable {
     public boolean deleteReplica(Replica replica) {
         if (replicas.contains(replica)) {
             replicas.remove(replica);
+            TabletLocationCache.getInstance().invalidateAll();
             Catalog.getCurrentInvertedIndex().deleteReplica(id, replica.getBackendId());
             return true;
         }
@@ -282,6 +284,7 @@ public class Tablet extends MetaObject implements Writable {
             Replica replica = iterator.next();
             if (replica.getBackendId() == backendId) {
                 iterator.remove();
+                TabletLocationCache.getInstance().invalidateAll();
                 Catalog.getCurrentInvertedIndex().deleteReplica(id, backendId);
                 return true;
             }
@@ -297,6 +300,7 @@ public class Tablet extends MetaObject implements Writable {
             if (replica.getId() == replicaId) {
                 LOG.info("delete replica[" + replica.getId() + "]");
                 iterator.remove();
+                TabletLocationCache.getInstance().invalidateAll();
                 return replica;
             }
         }
@@ -19,6 +19,8 @@ package org.apache.doris.catalog;
 
 import org.apache.doris.catalog.Replica.ReplicaState;
 import org.apache.doris.common.Config;
+import org.apache.doris.common.util.LongLongHashMap;
+import org.apache.doris.common.util.LongObjectHashMap;
 import org.apache.doris.thrift.TPartitionVersionInfo;
 import org.apache.doris.thrift.TStorageMedium;
 import org.apache.doris.thrift.TTablet;
@@ -45,6 +47,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,13 +69,15 @@ public class TabletInvertedIndex {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-
-    // tablet id -> tablet meta
-    private Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+    /*
+     * The index is striped by id into segments, and each segment is protected by its own lock,
+     * so that writers of different segments never block each other, and a tablet report only
+     * holds the lock of one segment at a time.
+     * Tablet related maps are striped by tablet id, and replica id -> tablet id map is striped by replica id.
+     */
+    private static final int SEGMENT_NUM = 64;
 
-    // replica id -> tablet id
-    private Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private final Segment[] segments = new Segment[SEGMENT_NUM];
 
     /*
      *  we use this to save memory.
@@ -82,34 +87,128 @@ public class TabletInvertedIndex {
      *  we use 'tabletMetaTable' to do the update things
      *      (eg. update schema hash in TabletMeta)
      *  partition id -> (index id -> tablet meta)
+     *  It is guarded by itself.
      */
     private Table<Long, Long, TabletMeta> tabletMetaTable = HashBasedTable.create();
 
-    // tablet id -> (backend id -> replica)
-    private Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
-    // backend id -> (tablet id -> replica)
-    private Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
-
     private volatile ImmutableSet<Long> partitionIdInMemorySet = ImmutableSet.of();
 
-    public TabletInvertedIndex() {
-    }
+    private static class Segment {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // tablet id -> tablet meta
+        private final LongObjectHashMap<TabletMeta> tabletMetaMap = new LongObjectHashMap<>();
+        // tablet id -> replicas of this tablet, a tablet usually has only a few replicas,
+        // so an array is enough to find the replica of a backend.
+        private final LongObjectHashMap<Replica[]> replicaMetaMap = new LongObjectHashMap<>();
+        // backing replica map, for visiting backend replicas faster.
+        // backend id -> (tablet id -> replica)
+        private final Map<Long, LongObjectHashMap<Replica>> backendReplicaMap = Maps.newHashMap();
+        // replica id -> tablet id
+        private final LongLongHashMap replicaToTabletMap = new LongLongHashMap();
+
+        private void readLock() {
+            lock.readLock().lock();
+        }
 
-    private void readLock() {
-        this.lock.readLock().lock();
-    }
+        private void readUnlock() {
+            lock.readLock().unlock();
+        }
+
+        private void writeLock() {
+            lock.writeLock().lock();
+        }
+
+        private void writeUnlock() {
+            lock.writeLock().unlock();
+        }
+
+        private Replica getReplica(long tabletId, long backendId) {
+            Replica[] replicas = replicaMetaMap.get(tabletId);
+            if (replicas != null) {
+                for (Replica replica : replicas) {
+                    if (replica.getBackendId() == backendId) {
+                        return replica;
+                    }
+                }
+            }
+            return null;
+        }
+
+        // add or replace the replica of the same backend
+        private void putReplica(long tabletId, Replica replica) {
+            Replica[] replicas = replicaMetaMap.get(tabletId);
+            if (replicas == null) {
+                replicaMetaMap.put(tabletId, new Replica[] {replica});
+            } else {
+                boolean replaced = false;
+                for (int i = 0; i < replicas.length; i++) {
+                    if (replicas[i].getBackendId() == replica.getBackendId()) {
+                        replicas[i] = replica;
+                        replaced = true;
+                        break;
+                    }
+                }
+                if (!replaced) {
+                    Replica[] newReplicas = Arrays.copyOf(replicas, replicas.length + 1);
+                    newReplicas[replicas.length] = replica;
+                    replicaMetaMap.put(tabletId, newReplicas);
+                }
+            }
+            backendReplicaMap.computeIfAbsent(replica.getBackendId(), k -> new LongObjectHashMap<>())
+                    .put(tabletId, replica);
+        }
+
+        // remove the replica of the backend, return the removed replica or null.
+        private Replica removeReplica(long tabletId, long backendId) {
+            Replica[] replicas = replicaMetaMap.get(tabletId);
+            if (replicas == null) {
+                return null;
+            }
+            for (int i = 0; i < replicas.length; i++) {
+                if (replicas[i].getBackendId() == backendId) {
+                    Replica removed = replicas[i];
+                    if (replicas.length == 1) {
+                        replicaMetaMap.remove(tabletId);
+                    } else {
+                        Replica[] newReplicas = new Replica[replicas.length - 1];
+                        System.arraycopy(replicas, 0, newReplicas, 0, i);
+                        System.arraycopy(replicas, i + 1, newReplicas, i, replicas.length - i - 1);
+                        replicaMetaMap.put(tabletId, newReplicas);
+                    }
+                    removeBackendReplica(backendId, tabletId);
+                    return removed;
+                }
+            }
+            return null;
+        }
+
+        private void removeBackendReplica(long backendId, long tabletId) {
+            LongObjectHashMap<Replica> replicaMetaWithBackend = backendReplicaMap.get(backendId);
+            if (replicaMetaWithBackend != null) {
+                replicaMetaWithBackend.remove(tabletId);
+                if (replicaMetaWithBackend.isEmpty()) {
+                    backendReplicaMap.remove(backendId);
+                }
+            }
+        }
 
-    private void readUnlock() {
-        this.lock.readLock().unlock();
+        private void clear() {
+            tabletMetaMap.clear();
+            replicaMetaMap.clear();
+            backendReplicaMap.clear();
+            replicaToTabletMap.clear();
+        }
     }
 
-    private void writeLock() {
-        this.lock.writeLock().lock();
+    public TabletInvertedIndex() {
+        for (int i = 0; i < SEGMENT_NUM; i++) {
+            segments[i] = new Segment();
+        }
     }
 
-    private void writeUnlock() {
-        this.lock.writeLock().unlock();
+    private Segment getSegment(long id) {
+        return segments[Math.floorMod(Long.hashCode(id), SEGMENT_NUM)];
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -122,21 +221,23 @@ public class TabletInvertedIndex {
                              ListMultimap<Long, Long> transactionsToClear,
                              ListMultimap<Long, Long> tabletRecoveryMap,
                              List<Triple<Long, Integer, Boolean>> tabletToInMemory) {
-        readLock();
         long start = System.currentTimeMillis();
-        try {
-            LOG.info("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                // traverse replicas in meta with this backend
-                replicaMetaWithBackend.entrySet().parallelStream().forEach(entry -> {
-                    long tabletId = entry.getKey();
-                    Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+        LOG.info("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        // traverse replicas in meta with this backend, segment by segment.
+        // only the read lock of the visiting segment is held, so writers of other segments are not blocked.
+        Arrays.stream(segments).parallel().forEach(segment -> {
+            segment.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = segment.backendReplicaMap.get(backendId);
+                if (replicaMetaWithBackend == null) {
+                    return;
+                }
+                replicaMetaWithBackend.forEach((tabletId, replica) -> {
+                    Preconditions.checkState(segment.tabletMetaMap.containsKey(tabletId));
+                    TabletMeta tabletMeta = segment.tabletMetaMap.get(tabletId);
 
                     if (backendTablets.containsKey(tabletId)) {
                         TTablet backendTablet = backendTablets.get(tabletId);
-                        Replica replica = entry.getValue();
                         tabletFoundInMeta.add(tabletId);
                         TTabletInfo backendTabletInfo = backendTablet.getTabletInfos().get(0);
                         if (partitionIdInMemorySet.contains(
@@ -250,10 +351,10 @@ public class TabletInvertedIndex {
                         }
                     }
                 });
+            } finally {
+                segment.readUnlock();
             }
-        } finally {
-            readUnlock();
-        }
+        });
 
         long end = System.currentTimeMillis();
         LOG.info("finished to do tablet diff with backend[{}]. sync: {}."
@@ -266,34 +367,38 @@ public class TabletInvertedIndex {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        readLock();
+        Segment segment = getSegment(replicaId);
+        segment.readLock();
         try {
-            return replicaToTabletMap.get(replicaId);
+            long tabletId = segment.replicaToTabletMap.get(replicaId, NOT_EXIST_VALUE);
+            return tabletId == NOT_EXIST_VALUE ? null : tabletId;
         } finally {
-            readUnlock();
+            segment.readUnlock();
         }
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        readLock();
+        Segment segment = getSegment(tabletId);
+        segment.readLock();
         try {
-            return tabletMetaMap.get(tabletId);
+            return segment.tabletMetaMap.get(tabletId);
         } finally {
-            readUnlock();
+            segment.readUnlock();
         }
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
+        for (Long tabletId : tabletIdList) {
+            Segment segment = getSegment(tabletId);
+            segment.readLock();
+            try {
+                tabletMetaList.add(segment.tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
+            } finally {
+                segment.readUnlock();
             }
-            return tabletMetaList;
-        } finally {
-            readUnlock();
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -362,174 +467,220 @@ public class TabletInvertedIndex {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Segment segment = getSegment(tabletId);
+        segment.writeLock();
         try {
-            if (tabletMetaMap.containsKey(tabletId)) {
+            if (segment.tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            tabletMetaMap.put(tabletId, tabletMeta);
+            segment.tabletMetaMap.put(tabletId, tabletMeta);
+        } finally {
+            segment.writeUnlock();
+        }
+
+        synchronized (tabletMetaTable) {
             if (!tabletMetaTable.contains(tabletMeta.getPartitionId(), tabletMeta.getIndexId())) {
                 tabletMetaTable.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), tabletMeta);
                 LOG.debug("add tablet meta: {}", tabletId);
             }
-
-            LOG.debug("add tablet: {}", tabletId);
-        } finally {
-            writeUnlock();
         }
+
+        LOG.debug("add tablet: {}", tabletId);
     }
 
     public void deleteTablet(long tabletId) {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Replica[] replicas;
+        TabletMeta tabletMeta;
+        Segment segment = getSegment(tabletId);
+        segment.writeLock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            replicas = segment.replicaMetaMap.remove(tabletId);
             if (replicas != null) {
-                for (Replica replica : replicas.values()) {
-                    replicaToTabletMap.remove(replica.getId());
+                for (Replica replica : replicas) {
+                    segment.removeBackendReplica(replica.getBackendId(), tabletId);
                 }
+            }
+            tabletMeta = segment.tabletMetaMap.remove(tabletId);
+        } finally {
+            segment.writeUnlock();
+        }
 
-                for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
-                }
+        if (replicas != null) {
+            for (Replica replica : replicas) {
+                removeReplicaToTablet(replica.getId());
             }
-            TabletMeta tabletMeta = tabletMetaMap.remove(tabletId);
-            if (tabletMeta != null) {
+        }
+        if (tabletMeta != null) {
+            synchronized (tabletMetaTable) {
                 tabletMetaTable.remove(tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                LOG.debug("delete tablet meta: {}", tabletId);
             }
-
-            LOG.debug("delete tablet: {}", tabletId);
-        } finally {
-            writeUnlock();
+            LOG.debug("delete tablet meta: {}", tabletId);
         }
+
+        LOG.debug("delete tablet: {}", tabletId);
     }
 
     public void addReplica(long tabletId, Replica replica) {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Segment segment = getSegment(tabletId);
+        segment.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
-            replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
-            LOG.debug("add replica {} of tablet {} in backend {}",
-                    replica.getId(), tabletId, replica.getBackendId());
+            Preconditions.checkState(segment.tabletMetaMap.containsKey(tabletId));
+            segment.putReplica(tabletId, replica);
         } finally {
-            writeUnlock();
+            segment.writeUnlock();
         }
+
+        Segment replicaSegment = getSegment(replica.getId());
+        replicaSegment.writeLock();
+        try {
+            replicaSegment.replicaToTabletMap.put(replica.getId(), tabletId);
+        } finally {
+            replicaSegment.writeUnlock();
+        }
+        LOG.debug("add replica {} of tablet {} in backend {}",
+                replica.getId(), tabletId, replica.getBackendId());
     }
 
     public void deleteReplica(long tabletId, long backendId) {
         if (Catalog.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        Replica replica;
+        Segment segment = getSegment(tabletId);
+        segment.writeLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
-                replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
-                LOG.debug("delete replica {} of tablet {} in backend {}",
-                        replica.getId(), tabletId, backendId);
-            } else {
-                // this may happen when fe restart after tablet is empty(bug cause)
-                // add log instead of assertion to observe
-                LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
-            }
+            Preconditions.checkState(segment.tabletMetaMap.containsKey(tabletId));
+            replica = segment.removeReplica(tabletId, backendId);
+        } finally {
+            segment.writeUnlock();
+        }
+
+        if (replica != null) {
+            removeReplicaToTablet(replica.getId());
+            LOG.debug("delete replica {} of tablet {} in backend {}",
+                    replica.getId(), tabletId, backendId);
+        } else {
+            // this may happen when fe restart after tablet is empty(bug cause)
+            // add log instead of assertion to observe
+            LOG.error("tablet[{}] contains no replica of backend {} in inverted index", tabletId, backendId);
+        }
+    }
+
+    private void removeReplicaToTablet(long replicaId) {
+        Segment segment = getSegment(replicaId);
+        segment.writeLock();
+        try {
+            segment.replicaToTabletMap.remove(replicaId);
         } finally {
-            writeUnlock();
+            segment.writeUnlock();
         }
     }
 
     public Replica getReplica(long tabletId, long backendId) {
-        readLock();
+        Segment segment = getSegment(tabletId);
+        segment.readLock();
         try {
-            Preconditions.checkState(tabletMetaMap.containsKey(tabletId), tabletId);
-            return replicaMetaTable.get(tabletId, backendId);
+            Preconditions.checkState(segment.tabletMetaMap.containsKey(tabletId), tabletId);
+            return segment.getReplica(tabletId, backendId);
         } finally {
-            readUnlock();
+            segment.readUnlock();
         }
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        readLock();
+        Segment segment = getSegment(tabletId);
+        segment.readLock();
         try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
+            Replica[] replicas = segment.replicaMetaMap.get(tabletId);
+            if (replicas != null) {
+                return Lists.newArrayList(replicas);
             }
             return Lists.newArrayList();
         } finally {
-            readUnlock();
+            segment.readUnlock();
         }
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds.addAll(replicaMetaWithBackend.keySet());
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = segment.backendReplicaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (long tabletId : replicaMetaWithBackend.keys()) {
+                        tabletIds.add(tabletId);
+                    }
+                }
+            } finally {
+                segment.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
         return tabletIds;
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
         List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                        id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = segment.backendReplicaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (long tabletId : replicaMetaWithBackend.keys()) {
+                        if (segment.tabletMetaMap.get(tabletId).getStorageMedium() == storageMedium) {
+                            tabletIds.add(tabletId);
+                        }
+                    }
+                }
+            } finally {
+                segment.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
         return tabletIds;
     }
 
     public int getTabletNumByBackendId(long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                return replicaMetaWithBackend.size();
+        int tabletNum = 0;
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = segment.backendReplicaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    tabletNum += replicaMetaWithBackend.size();
+                }
+            } finally {
+                segment.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
-        return 0;
+        return tabletNum;
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (replicaMetaWithBackend != null) {
-                for (long tabletId : replicaMetaWithBackend.keySet()) {
-                    if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                        hddNum++;
-                    } else {
-                        ssdNum++;
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                LongObjectHashMap<Replica> replicaMetaWithBackend = segment.backendReplicaMap.get(backendId);
+                if (replicaMetaWithBackend != null) {
+                    for (long tabletId : replicaMetaWithBackend.keys()) {
+                        if (segment.tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
+                            hddNum++;
+                        } else {
+                            ssdNum++;
+                        }
                     }
                 }
+            } finally {
+                segment.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
@@ -538,15 +689,16 @@ public class TabletInvertedIndex {
 
     // just for test
     public void clear() {
-        writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
+        for (Segment segment : segments) {
+            segment.writeLock();
+            try {
+                segment.clear();
+            } finally {
+                segment.writeUnlock();
+            }
+        }
+        synchronized (tabletMetaTable) {
             tabletMetaTable.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock();
         }
     }
 
@@ -554,15 +706,23 @@ public class TabletInvertedIndex {
         this.partitionIdInMemorySet = partitionIdInMemorySet;
     }
 
+    // return a snapshot of replica id -> tablet id
     public Map<Long, Long> getReplicaToTabletMap() {
+        Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                segment.replicaToTabletMap.forEach(replicaToTabletMap::put);
+            } finally {
+                segment.readUnlock();
+            }
+        }
         return replicaToTabletMap;
     }
 
     // Only build from available bes, exclude colocate tables
     public Map<TStorageMedium, TreeMultimap<Long, PartitionBalanceInfo>> buildPartitionInfoBySkew(
             List<Long> availableBeIds) {
-        readLock();
-
         // 1. gen <partitionId-indexId, <beId, replicaCount>>
         // for each replica(all tablets):
         //      find beId, then replicaCount++
@@ -570,41 +730,44 @@ public class TabletInvertedIndex {
         for (TStorageMedium medium : TStorageMedium.values()) {
             partitionReplicasInfoMaps.put(medium, HashBasedTable.create());
         }
-        try {
-            // Changes to the returned set will update the underlying table
-            // tablet id -> (backend id -> replica)
-            Set<Table.Cell<Long, Long, Replica>> cells = replicaMetaTable.cellSet();
-            for (Table.Cell<Long, Long, Replica> cell : cells) {
-                Long tabletId = cell.getRowKey();
-                Long beId = cell.getColumnKey();
-                try {
-                    Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
-                    TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-                    Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
-                    Preconditions.checkState(
-                            !Catalog.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
-                            "should not be the colocate table");
-
-                    TStorageMedium medium = tabletMeta.getStorageMedium();
-                    Table<Long, Long, Map<Long, Long>> partitionReplicasInfo = partitionReplicasInfoMaps.get(medium);
-                    Map<Long, Long> countMap = partitionReplicasInfo.get(
-                            tabletMeta.getPartitionId(), tabletMeta.getIndexId());
-                    if (countMap == null) {
-                        // If one be doesn't have any replica of one partition, it should be counted too.
-                        countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
-                    }
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                // tablet id -> replicas
+                segment.replicaMetaMap.forEach((tabletId, replicas) -> {
+                    for (Replica replica : replicas) {
+                        long beId = replica.getBackendId();
+                        try {
+                            Preconditions.checkState(availableBeIds.contains(beId), "dead be " + beId);
+                            TabletMeta tabletMeta = segment.tabletMetaMap.get(tabletId);
+                            Preconditions.checkNotNull(tabletMeta, "invalid tablet " + tabletId);
+                            Preconditions.checkState(
+                                    !Catalog.getCurrentColocateIndex().isColocateTable(tabletMeta.getTableId()),
+                                    "should not be the colocate table");
+
+                            TStorageMedium medium = tabletMeta.getStorageMedium();
+                            Table<Long, Long, Map<Long, Long>> partitionReplicasInfo
+                                    = partitionReplicasInfoMaps.get(medium);
+                            Map<Long, Long> countMap = partitionReplicasInfo.get(
+                                    tabletMeta.getPartitionId(), tabletMeta.getIndexId());
+                            if (countMap == null) {
+                                // If one be doesn't have any replica of one partition, it should be counted too.
+                                countMap = availableBeIds.stream().collect(Collectors.toMap(i -> i, i -> 0L));
+                            }
 
-                    Long count = countMap.get(beId);
-                    countMap.put(beId, count + 1L);
-                    partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(), countMap);
-                    partitionReplicasInfoMaps.put(medium, partitionReplicasInfo);
-                } catch (IllegalStateException | NullPointerException e) {
-                    // If the tablet or be has some problem, don't count in
-                    LOG.debug(e.getMessage());
-                }
+                            Long count = countMap.get(beId);
+                            countMap.put(beId, count + 1L);
+                            partitionReplicasInfo.put(tabletMeta.getPartitionId(), tabletMeta.getIndexId(),
+                                    countMap);
+                        } catch (IllegalStateException | NullPointerException e) {
+                            // If the tablet or be has some problem, don't count in
+                            LOG.debug(e.getMessage());
+                        }
+                    }
+                });
+            } finally {
+                segment.readUnlock();
             }
-        } finally {
-            readUnlock();
         }
 
         // 2. Populate ClusterBalanceInfo::table_info_by_skew
@@ -654,13 +817,39 @@ public class TabletInvertedIndex {
         }
     }
 
-    // just for ut
+    // just for ut, return a snapshot of tablet id -> (backend id -> replica)
     public Table<Long, Long, Replica> getReplicaMetaTable() {
+        Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                segment.replicaMetaMap.forEach((tabletId, replicas) -> {
+                    for (Replica replica : replicas) {
+                        replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+                    }
+                });
+            } finally {
+                segment.readUnlock();
+            }
+        }
         return replicaMetaTable;
     }
 
-    // just for ut
+    // just for ut, return a snapshot of backend id -> (tablet id -> replica)
     public Table<Long, Long, Replica> getBackingReplicaMetaTable() {
+        Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                for (Map.Entry<Long, LongObjectHashMap<Replica>> entry : segment.backendReplicaMap.entrySet()) {
+                    long backendId = entry.getKey();
+                    entry.getValue().forEach((tabletId, replica) ->
+                            backingReplicaMetaTable.put(backendId, tabletId, replica));
+                }
+            } finally {
+                segment.readUnlock();
+            }
+        }
         return backingReplicaMetaTable;
     }
 
@@ -669,8 +858,17 @@ public class TabletInvertedIndex {
         return tabletMetaTable;
     }
 
-    // just for ut
+    // just for ut, return a snapshot of tablet id -> tablet meta
     public Map<Long, TabletMeta> getTabletMetaMap() {
+        Map<Long, TabletMeta> tabletMetaMap = Maps.newHashMap();
+        for (Segment segment : segments) {
+            segment.readLock();
+            try {
+                segment.tabletMetaMap.forEach(tabletMetaMap::put);
+            } finally {
+                segment.readUnlock();
+            }
+        }
         return tabletMetaMap;
     }
 
@@ -0,0 +1,167 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * TabletLocationCache caches the queryable replicas of a tablet, along with the backends they are on,
+ * so that the planner does not need to compute them for every tablet of every query.
+ *
+ * An entry is valid only for the visible version of the partition it was built with. Besides,
+ * any replica state change or backend change bumps a global epoch, which invalidates all entries at once.
+ * Those changes are rare compared with queries, and the entries are rebuilt lazily.
+ * Changes which only affect the replica preference, eg, the version count of a replica, do not bump
+ * the epoch, the entries are expired after scan_range_location_cache_expire_seconds instead.
+ */
+public class TabletLocationCache {
+    private static final TabletLocationCache INSTANCE = new TabletLocationCache();
+
+    private final AtomicLong epoch = new AtomicLong(0);
+    private volatile Cache<Long, TabletLocations> cache;
+    private volatile long lastExpireSeconds = -1;
+    private volatile long lastMaxSize = -1;
+
+    public static TabletLocationCache getInstance() {
+        return INSTANCE;
+    }
+
+    TabletLocationCache() {
+    }
+
+    public static class TabletLocations {
+        private final long visibleVersion;
+        private final long epoch;
+        private final Replica[] replicas;
+        // backend of each replica, null if the backend does not exist
+        private final Backend[] backends;
+
+        TabletLocations(long visibleVersion, long epoch, Replica[] replicas, Backend[] backends) {
+            this.visibleVersion = visibleVersion;
+            this.epoch = epoch;
+            this.replicas = replicas;
+            this.backends = backends;
+        }
+
+        public int size() {
+            return replicas.length;
+        }
+
+        public boolean isEmpty() {
+            return replicas.length == 0;
+        }
+
+        public Replica getReplica(int idx) {
+            return replicas[idx];
+        }
+
+        public Backend getBackend(int idx) {
+            return backends[idx];
+        }
+
+        /**
+         * Returns a random index to start iterating the replicas from.
+         * Iterating from it cyclically spreads the queries of the tablet over all replicas
+         * without shuffling a list for every query.
+         */
+        public int randomStart() {
+            return replicas.length <= 1 ? 0 : ThreadLocalRandom.current().nextInt(replicas.length);
+        }
+    }
+
+    /**
+     * Get the locations of the queryable replicas of the tablet at the visible version.
+     */
+    public TabletLocations getLocations(Tablet tablet, long visibleVersion, SystemInfoService systemInfo) {
+        long currentEpoch = epoch.get();
+        Cache<Long, TabletLocations> currentCache = Config.enable_scan_range_location_cache ? getCache() : null;
+        if (currentCache != null) {
+            TabletLocations locations = currentCache.getIfPresent(tablet.getId());
+            if (locations != null && locations.visibleVersion == visibleVersion && locations.epoch == currentEpoch) {
+                return locations;
+            }
+        }
+        TabletLocations locations = build(tablet, visibleVersion, currentEpoch, systemInfo);
+        if (currentCache != null) {
+            // if the epoch is bumped while building, the entry is just stale and will be rebuilt next time
+            currentCache.put(tablet.getId(), locations);
+        }
+        return locations;
+    }
+
+    private TabletLocations build(Tablet tablet, long visibleVersion, long currentEpoch,
+            SystemInfoService systemInfo) {
+        List<Replica> queryableReplicas = tablet.getQueryableReplicas(visibleVersion);
+        Replica[] replicas = queryableReplicas.toArray(new Replica[0]);
+        Backend[] backends = new Backend[replicas.length];
+        for (int i = 0; i < replicas.length; i++) {
+            backends[i] = systemInfo.getBackend(replicas[i].getBackendId());
+        }
+        return new TabletLocations(visibleVersion, currentEpoch, replicas, backends);
+    }
+
+    /**
+     * Returns the epoch, which is bumped whenever the replicas of any tablet, or the backends they are on,
+     * may have changed. The other caches built on replica locations use it to check their entries too.
+     */
+    public long getEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Invalidate all cached locations. Called when the queryable replicas of any tablet,
+     * or the backends they are on, may have changed.
+     */
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+    }
+
+    public long size() {
+        Cache<Long, TabletLocations> currentCache = cache;
+        return currentCache == null ? 0 : currentCache.size();
+    }
+
+    // the cache is recreated when its config is changed
+    private Cache<Long, TabletLocations> getCache() {
+        Cache<Long, TabletLocations> currentCache = cache;
+        if (currentCache != null && lastExpireSeconds == Config.scan_range_location_cache_expire_seconds
+                && lastMaxSize == Config.scan_range_location_cache_max_size) {
+            return currentCache;
+        }
+        synchronized (this) {
+            if (cache == null || lastExpireSeconds != Config.scan_range_location_cache_expire_seconds
+                    || lastMaxSize != Config.scan_range_location_cache_max_size) {
+                lastExpireSeconds = Config.scan_range_location_cache_expire_seconds;
+                lastMaxSize = Config.scan_range_location_cache_max_size;
+                cache = CacheBuilder.newBuilder().maximumSize(lastMaxSize)
+                        .expireAfterWrite(lastExpireSeconds, TimeUnit.SECONDS).build();
+            }
+            return cache;
+        }
+    }
+}
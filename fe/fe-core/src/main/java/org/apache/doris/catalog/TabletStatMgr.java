@@ -22,6 +22,7 @@ import org.apache.doris.catalog.TableIf.TableType;
 import org.apache.doris.common.ClientPool;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.statistics.Statistics;
 import org.apache.doris.system.Backend;
 import org.apache.doris.thrift.BackendService;
 import org.apache.doris.thrift.TNetworkAddress;
@@ -77,6 +78,7 @@ public class TabletStatMgr extends MasterDaemon {
         // after update replica in all backends, update index row num
         start = System.currentTimeMillis();
         List<Long> dbIds = Catalog.getCurrentInternalCatalog().getDbIds();
+        Statistics statistics = Catalog.getCurrentCatalog().getStatisticsManager().getStatistics();
         for (Long dbId : dbIds) {
             Database db = Catalog.getCurrentInternalCatalog().getDbNullable(dbId);
             if (db == null) {
@@ -108,6 +110,9 @@ public class TabletStatMgr extends MasterDaemon {
                             } // end for tablets
                             index.setRowCount(indexRowCount);
                         } // end for indices
+                        MaterializedIndex baseIndex = partition.getBaseIndex();
+                        statistics.rebasePartitionStats(table.getId(), partition.getId(), baseIndex.getRowCount(),
+                                baseIndex.getDataSize(), version);
                     } // end for partitions
                     LOG.debug("finished to set row num for table: {} in database: {}",
                              table.getName(), db.getFullName());
@@ -21,6 +21,8 @@ import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.HiveMetaStoreClientHelper;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
+import org.apache.doris.common.Pair;
+import org.apache.doris.datasource.MetaObjCache;
 import org.apache.doris.thrift.THiveTable;
 import org.apache.doris.thrift.TTableDescriptor;
 import org.apache.doris.thrift.TTableType;
@@ -42,8 +44,9 @@ public class HMSExternalTable extends ExternalTable {
 
     private final String metastoreUri;
     private final String dbName;
-    private org.apache.hadoop.hive.metastore.api.Table remoteTable = null;
     private DLAType dlaType = null;
+    // the hive schema got from MetaObjCache and the columns converted from it
+    private volatile Pair<List<FieldSchema>, List<Column>> convertedSchema = null;
 
     public enum DLAType {
         HIVE,
@@ -68,7 +71,7 @@ public class HMSExternalTable extends ExternalTable {
     }
 
     private void init() throws MetaNotFoundException {
-        getRemoteTable();
+        org.apache.hadoop.hive.metastore.api.Table remoteTable = getRemoteTable();
         if (remoteTable.getParameters().containsKey("table_type")
                 && remoteTable.getParameters().get("table_type").equalsIgnoreCase("ICEBERG")) {
             dlaType = DLAType.ICEBERG;
@@ -81,46 +84,47 @@ public class HMSExternalTable extends ExternalTable {
 
     /**
      * Get the related remote hive metastore table.
+     * It is cached by MetaObjCache, and refreshed after hive_meta_cache_refresh_interval_second
+     * or by REFRESH TABLE.
      */
     public org.apache.hadoop.hive.metastore.api.Table getRemoteTable() throws MetaNotFoundException {
-        if (remoteTable == null) {
-            synchronized (this) {
-                if (remoteTable == null) {
-                    try {
-                        remoteTable = HiveMetaStoreClientHelper.getTable(dbName, name, metastoreUri);
-                    } catch (DdlException e) {
-                        LOG.warn("Fail to get remote hive table. db {}, table {}, uri {}",
-                                dbName, name, metastoreUri);
-                        throw new MetaNotFoundException(e);
-                    }
-                }
-            }
+        try {
+            return MetaObjCache.get().getTable(metastoreUri, dbName, name);
+        } catch (DdlException e) {
+            LOG.warn("Fail to get remote hive table. db {}, table {}, uri {}",
+                    dbName, name, metastoreUri);
+            throw new MetaNotFoundException(e);
         }
-        // TODO: Refresh cached remoteTable
-        return remoteTable;
     }
 
+    /**
+     * Get the schema of the table, which is converted from the hive schema cached by MetaObjCache.
+     * It is got on each call, so that the change of hive schema is seen after the cache is refreshed.
+     */
     @Override
     public List<Column> getFullSchema() {
-        if (fullSchema == null) {
-            synchronized (this) {
-                if (fullSchema == null) {
-                    fullSchema = new ArrayList<>();
-                    try {
-                        for (FieldSchema field : HiveMetaStoreClientHelper.getSchema(dbName, name, metastoreUri)) {
-                            fullSchema.add(new Column(field.getName(),
-                                    HiveMetaStoreClientHelper.hiveTypeToDorisType(field.getType()),
-                                    true, null,
-                                    true, null, field.getComment()));
-                        }
-                    } catch (DdlException e) {
-                        LOG.warn("Fail to get schema of hms table {}", name, e);
-                    }
-                }
+        List<FieldSchema> fields;
+        try {
+            fields = MetaObjCache.get().getSchema(metastoreUri, dbName, name);
+        } catch (DdlException e) {
+            // not memoized, so the schema is got again by the next call
+            LOG.warn("Fail to get schema of hms table {}", name, e);
+            return new ArrayList<>();
+        }
+        // the converted columns are reused until MetaObjCache loads a new hive schema
+        Pair<List<FieldSchema>, List<Column>> converted = convertedSchema;
+        if (converted == null || converted.first != fields) {
+            List<Column> schema = new ArrayList<>();
+            for (FieldSchema field : fields) {
+                schema.add(new Column(field.getName(),
+                        HiveMetaStoreClientHelper.hiveTypeToDorisType(field.getType()),
+                        true, null,
+                        true, null, field.getComment()));
             }
+            converted = Pair.create(fields, schema);
+            convertedSchema = converted;
         }
-        // TODO: Refresh cached fullSchema.
-        return fullSchema;
+        return converted.second;
     }
 
     @Override
@@ -135,10 +139,7 @@ public class HMSExternalTable extends ExternalTable {
 
     @Override
     public Column getColumn(String name) {
-        if (fullSchema == null) {
-            getFullSchema();
-        }
-        for (Column column : fullSchema) {
+        for (Column column : getFullSchema()) {
             if (name.equals(column.getName())) {
                 return column;
             }
@@ -217,7 +218,7 @@ public class HMSExternalTable extends ExternalTable {
     public TTableDescriptor toThrift() {
         THiveTable tHiveTable = new THiveTable(dbName, name, new HashMap<>());
         TTableDescriptor tTableDescriptor = new TTableDescriptor(getId(), TTableType.BROKER_TABLE,
-                fullSchema.size(), 0, getName(), "");
+                getFullSchema().size(), 0, getName(), "");
         tTableDescriptor.setHiveTable(tHiveTable);
         return tTableDescriptor;
     }
@@ -29,6 +29,8 @@ import org.apache.doris.catalog.Partition.PartitionState;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
 import org.apache.doris.clone.TabletScheduler.AddResult;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
@@ -49,10 +51,12 @@ import com.google.common.collect.Table.Cell;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -60,6 +64,11 @@ import java.util.stream.Collectors;
 /*
  * This checker is responsible for checking all unhealthy tablets.
  * It does not responsible for any scheduler of tablet repairing or balance
+ *
+ * When incremental check is enabled, only the partitions marked as dirty are checked in most rounds.
+ * A partition is marked as dirty when something may change the health of its tablets, eg, a replica
+ * is reported as bad, a backend is down, a load fails on some replicas or a DDL changes the replica
+ * allocation. A full check of all tablets is still done periodically, to catch what is not marked.
  */
 public class TabletChecker extends MasterDaemon {
     private static final Logger LOG = LogManager.getLogger(TabletChecker.class);
@@ -83,6 +92,13 @@ public class TabletChecker extends MasterDaemon {
     // priority of replicas of partitions in this table will be set to VERY_HIGH if not healthy
     private com.google.common.collect.Table<Long, Long, Set<PrioPart>> prios = HashBasedTable.create();
 
+    // db id -> (tbl id -> partition ids)
+    // partitions which need to be checked in next incremental round. An empty set means all partitions of the table.
+    private final com.google.common.collect.Table<Long, Long, Set<Long>> dirtyParts = HashBasedTable.create();
+    // the first round after this FE becomes master is always a full check
+    private volatile boolean fullCheckRequested = true;
+    private long lastFullCheckTime = 0;
+
     // represent a partition which need to be repaired preferentially
     public static class PrioPart {
         public long partId;
@@ -206,7 +222,18 @@ public class TabletChecker extends MasterDaemon {
             return;
         }
 
-        checkTablets();
+        long now = System.currentTimeMillis();
+        boolean isFullCheck = !Config.enable_incremental_tablet_check || fullCheckRequested
+                || now - lastFullCheckTime >= Config.tablet_checker_full_check_interval_second * 1000L;
+        // partitions marked after this point will be checked in next round
+        com.google.common.collect.Table<Long, Long, Set<Long>> dirtySnapshot = pollDirtyPartitions();
+        if (isFullCheck) {
+            fullCheckRequested = false;
+            lastFullCheckTime = now;
+            checkTablets(null);
+        } else {
+            checkTablets(dirtySnapshot);
+        }
 
         removePriosIfNecessary();
 
@@ -227,7 +254,8 @@ public class TabletChecker extends MasterDaemon {
         BREAK_OUT
     }
 
-    private void checkTablets() {
+    // check all partitions if 'dirtySnapshot' is null, otherwise only the partitions in it
+    private void checkTablets(com.google.common.collect.Table<Long, Long, Set<Long>> dirtySnapshot) {
         long start = System.currentTimeMillis();
         CheckerCounter counter = new CheckerCounter();
 
@@ -273,8 +301,43 @@ public class TabletChecker extends MasterDaemon {
         }
 
         // 2. Traverse other partitions not in "prios"
+        if (dirtySnapshot == null) {
+            if (checkAllPartitions(start, counter) == LoopControlStatus.BREAK_OUT) {
+                // the remaining tablets are not checked, so do a full check again in next round
+                fullCheckRequested = true;
+            }
+        } else if (checkDirtyPartitions(dirtySnapshot, start, counter) == LoopControlStatus.BREAK_OUT) {
+            // the partitions which are unhealthy are marked again when being checked,
+            // but we can not tell which are not checked yet, so mark them all again.
+            for (Cell<Long, Long, Set<Long>> cell : dirtySnapshot.cellSet()) {
+                markPartitionsDirty(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+            }
+        }
+
+        long cost = System.currentTimeMillis() - start;
+        stat.counterTabletCheckCostMs.addAndGet(cost);
+        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+
+        // the counters of an incremental round only cover the dirty partitions,
+        // so the gauges are only refreshed by full rounds.
+        if (dirtySnapshot == null) {
+            tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
+            tabletCountByStatus.get("total").set(counter.totalTabletNum);
+            tabletCountByStatus.get("added").set(counter.addToSchedulerTabletNum);
+            tabletCountByStatus.get("in_sched").set(counter.tabletInScheduler);
+            tabletCountByStatus.get("not_ready").set(counter.tabletNotReady);
+        }
+
+        LOG.info("finished to check tablets{}. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
+                dirtySnapshot == null ? "" : " of " + dirtySnapshot.size() + " dirty tables",
+                counter.unhealthyTabletNum, counter.totalTabletNum, counter.addToSchedulerTabletNum,
+                counter.tabletInScheduler, counter.tabletNotReady, cost);
+    }
+
+    private LoopControlStatus checkAllPartitions(long start, CheckerCounter counter) {
         List<Long> dbIds = catalog.getInternalDataSource().getDbIds();
-        OUT:
         for (Long dbId : dbIds) {
             Database db = catalog.getInternalDataSource().getDbNullable(dbId);
             if (db == null) {
@@ -289,48 +352,76 @@ public class TabletChecker extends MasterDaemon {
             List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
 
             for (Table table : tableList) {
-                table.readLock();
-                try {
-                    if (!table.needSchedule()) {
-                        continue;
-                    }
-
-                    OlapTable tbl = (OlapTable) table;
-                    for (Partition partition : tbl.getAllPartitions()) {
-                        // skip partitions in prios, because it has been checked before.
-                        if (isInPrios(db.getId(), tbl.getId(), partition.getId())) {
-                            continue;
-                        }
-
-                        LoopControlStatus st = handlePartitionTablet(db, tbl, partition, false,
-                                aliveBeIdsInCluster, start, counter);
-                        if (st == LoopControlStatus.BREAK_OUT) {
-                            break OUT;
-                        } else {
-                            continue;
-                        }
-                    } // partitions
-                } finally {
-                    table.readUnlock();
+                if (checkTable(db, table, null, aliveBeIdsInCluster, start, counter)
+                        == LoopControlStatus.BREAK_OUT) {
+                    return LoopControlStatus.BREAK_OUT;
                 }
             } // tables
         } // end for dbs
+        return LoopControlStatus.CONTINUE;
+    }
 
-        long cost = System.currentTimeMillis() - start;
-        stat.counterTabletCheckCostMs.addAndGet(cost);
-        stat.counterTabletChecked.addAndGet(counter.totalTabletNum);
-        stat.counterUnhealthyTabletNum.addAndGet(counter.unhealthyTabletNum);
-        stat.counterTabletAddToBeScheduled.addAndGet(counter.addToSchedulerTabletNum);
+    private LoopControlStatus checkDirtyPartitions(com.google.common.collect.Table<Long, Long, Set<Long>> dirtySnapshot,
+            long start, CheckerCounter counter) {
+        for (Map.Entry<Long, Map<Long, Set<Long>>> dbEntry : dirtySnapshot.rowMap().entrySet()) {
+            Database db = catalog.getInternalDataSource().getDbNullable(dbEntry.getKey());
+            if (db == null) {
+                continue;
+            }
+            List<Long> aliveBeIdsInCluster = infoService.getClusterBackendIds(db.getClusterName(), true);
+            for (Map.Entry<Long, Set<Long>> tblEntry : dbEntry.getValue().entrySet()) {
+                Table table = db.getTableNullable(tblEntry.getKey());
+                if (table == null) {
+                    continue;
+                }
+                if (checkTable(db, table, tblEntry.getValue(), aliveBeIdsInCluster, start, counter)
+                        == LoopControlStatus.BREAK_OUT) {
+                    return LoopControlStatus.BREAK_OUT;
+                }
+            }
+        }
+        return LoopControlStatus.CONTINUE;
+    }
 
-        tabletCountByStatus.get("unhealthy").set(counter.unhealthyTabletNum);
-        tabletCountByStatus.get("total").set(counter.totalTabletNum);
-        tabletCountByStatus.get("added").set(counter.addToSchedulerTabletNum);
-        tabletCountByStatus.get("in_sched").set(counter.tabletInScheduler);
-        tabletCountByStatus.get("not_ready").set(counter.tabletNotReady);
+    // check the given partitions of the table, all partitions if 'partIds' is null or empty
+    private LoopControlStatus checkTable(Database db, Table table, Set<Long> partIds,
+            List<Long> aliveBeIdsInCluster, long start, CheckerCounter counter) {
+        table.readLock();
+        try {
+            if (!table.needSchedule()) {
+                return LoopControlStatus.CONTINUE;
+            }
 
-        LOG.info("finished to check tablets. unhealth/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, cost: {} ms",
-                counter.unhealthyTabletNum, counter.totalTabletNum, counter.addToSchedulerTabletNum,
-                counter.tabletInScheduler, counter.tabletNotReady, cost);
+            OlapTable tbl = (OlapTable) table;
+            Collection<Partition> partitions = tbl.getAllPartitions();
+            if (partIds != null && !partIds.isEmpty()) {
+                partitions = partIds.stream().map(tbl::getPartition).filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+            }
+            for (Partition partition : partitions) {
+                // skip partitions in prios, because it has been checked before.
+                if (isInPrios(db.getId(), tbl.getId(), partition.getId())) {
+                    continue;
+                }
+
+                long unhealthyTabletNum = counter.unhealthyTabletNum;
+                long tabletInScheduler = counter.tabletInScheduler;
+                LoopControlStatus st = handlePartitionTablet(db, tbl, partition, false,
+                        aliveBeIdsInCluster, start, counter);
+                if (st == LoopControlStatus.BREAK_OUT) {
+                    return st;
+                }
+                // check the partition again in next round until all its tablets are healthy
+                if (partition.getState() != PartitionState.NORMAL
+                        || counter.unhealthyTabletNum != unhealthyTabletNum
+                        || counter.tabletInScheduler != tabletInScheduler) {
+                    markPartitionDirty(db.getId(), tbl.getId(), partition.getId());
+                }
+            } // partitions
+        } finally {
+            table.readUnlock();
+        }
+        return LoopControlStatus.CONTINUE;
     }
 
     private LoopControlStatus handlePartitionTablet(Database db, OlapTable tbl, Partition partition, boolean isInPrios,
@@ -413,6 +504,112 @@ public class TabletChecker extends MasterDaemon {
         return LoopControlStatus.CONTINUE;
     }
 
+    // Marks are only collected on master, otherwise the dirty set of a follower grows without bound.
+    private boolean isMarkable() {
+        return catalog.isMaster();
+    }
+
+    /*
+     * Mark the partition to be checked in next round.
+     */
+    public void markPartitionDirty(long dbId, long tblId, long partId) {
+        if (!isMarkable()) {
+            return;
+        }
+        synchronized (dirtyParts) {
+            Set<Long> parts = dirtyParts.get(dbId, tblId);
+            if (parts == null) {
+                parts = Sets.newHashSet();
+                dirtyParts.put(dbId, tblId, parts);
+            } else if (parts.isEmpty()) {
+                // the whole table is dirty already
+                return;
+            }
+            parts.add(partId);
+        }
+    }
+
+    // an empty 'partIds' means the whole table
+    private void markPartitionsDirty(long dbId, long tblId, Set<Long> partIds) {
+        if (partIds.isEmpty()) {
+            markTableDirty(dbId, tblId);
+            return;
+        }
+        for (long partId : partIds) {
+            markPartitionDirty(dbId, tblId, partId);
+        }
+    }
+
+    /*
+     * Mark all partitions of the table to be checked in next round.
+     */
+    public void markTableDirty(long dbId, long tblId) {
+        if (!isMarkable()) {
+            return;
+        }
+        synchronized (dirtyParts) {
+            dirtyParts.put(dbId, tblId, Sets.newHashSet());
+        }
+    }
+
+    /*
+     * Mark the partition of the tablet to be checked in next round.
+     */
+    public void markTabletDirty(long tabletId) {
+        if (!isMarkable()) {
+            return;
+        }
+        TabletMeta tabletMeta = Catalog.getCurrentInvertedIndex().getTabletMeta(tabletId);
+        if (tabletMeta == null) {
+            return;
+        }
+        markPartitionDirty(tabletMeta.getDbId(), tabletMeta.getTableId(), tabletMeta.getPartitionId());
+    }
+
+    /*
+     * Mark all partitions which have replicas on the backend to be checked in next round.
+     * Called when the backend is down, up again, decommissioned or dropped.
+     */
+    public void markBackendDirty(long backendId) {
+        if (!isMarkable()) {
+            return;
+        }
+        TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
+        List<Long> tabletIds = invertedIndex.getTabletIdsByBackendId(backendId);
+        if (tabletIds.isEmpty()) {
+            // replicas may be removed from the inverted index already, eg, the backend is dropped.
+            requestFullCheck();
+            return;
+        }
+        for (long tabletId : tabletIds) {
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta != null) {
+                markPartitionDirty(tabletMeta.getDbId(), tabletMeta.getTableId(), tabletMeta.getPartitionId());
+            }
+        }
+        LOG.info("mark {} tablets on backend {} as dirty", tabletIds.size(), backendId);
+    }
+
+    /*
+     * Check all tablets in next round.
+     */
+    public void requestFullCheck() {
+        fullCheckRequested = true;
+    }
+
+    // return the dirty partitions marked so far and clear them
+    com.google.common.collect.Table<Long, Long, Set<Long>> pollDirtyPartitions() {
+        synchronized (dirtyParts) {
+            com.google.common.collect.Table<Long, Long, Set<Long>> snapshot = HashBasedTable.create(dirtyParts);
+            dirtyParts.clear();
+            return snapshot;
+        }
+    }
+
+    boolean isFullCheckRequested() {
+        return fullCheckRequested;
+    }
+
     private boolean isInPrios(long dbId, long tblId, long partId) {
         synchronized (prios) {
             if (prios.contains(dbId, tblId)) {
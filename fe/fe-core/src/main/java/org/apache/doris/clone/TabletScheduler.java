@@ -42,6 +42,7 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.MasterDaemon;
 import org.apache.doris.persist.ReplicaPersistInfo;
 import org.apache.doris.resource.Tag;
@@ -65,6 +66,7 @@ import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
 import org.apache.logging.log4j.LogManager;
@@ -73,9 +75,14 @@ import org.apache.logging.log4j.Logger;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -116,19 +123,20 @@ public class TabletScheduler extends MasterDaemon {
      *
      * pendingTablets + runningTablets = allTabletIds
      *
-     * pendingTablets, allTabletIds, runningTablets and schedHistory are protected by 'synchronized'
+     * pendingTablets, allTabletIds, runningTablets and schedHistory are all concurrent containers,
+     * so they can be visited by the scheduling workers, TabletChecker and task reports without a lock.
      */
-    private PriorityQueue<TabletSchedCtx> pendingTablets = new PriorityQueue<>();
-    private Set<Long> allTabletIds = Sets.newHashSet();
+    private final PriorityBlockingQueue<TabletSchedCtx> pendingTablets = new PriorityBlockingQueue<>();
+    private final Set<Long> allTabletIds = Sets.newConcurrentHashSet();
     // contains all tabletCtxs which state are RUNNING
-    private Map<Long, TabletSchedCtx> runningTablets = Maps.newHashMap();
+    private final Map<Long, TabletSchedCtx> runningTablets = Maps.newConcurrentMap();
     // save the latest 1000 scheduled tablet info
-    private Queue<TabletSchedCtx> schedHistory = EvictingQueue.create(1000);
+    private final Queue<TabletSchedCtx> schedHistory = Queues.synchronizedQueue(EvictingQueue.create(1000));
 
     // be id -> #working slots
     private Map<Long, PathSlot> backendsWorkingSlots = Maps.newConcurrentMap();
     // cluster name -> Tag -> load statistic
-    private Table<String, Tag, ClusterLoadStatistic> statisticMap = HashBasedTable.create();
+    private volatile Table<String, Tag, ClusterLoadStatistic> statisticMap = HashBasedTable.create();
     private long lastStatUpdateTime = 0;
 
     private long lastSlotAdjustTime = 0;
@@ -140,6 +148,9 @@ public class TabletScheduler extends MasterDaemon {
     private TabletSchedulerStat stat;
     private Rebalancer rebalancer;
     private Rebalancer diskRebalancer;
+    // schedule the repair tablets of one batch in parallel
+    private final ExecutorService schedulePool;
+    private final int scheduleParallelism;
 
     // result of adding a tablet to pendingTablets
     public enum AddResult {
@@ -164,6 +175,9 @@ public class TabletScheduler extends MasterDaemon {
         }
         // if rebalancer can not get new task, then use diskRebalancer to get task
         this.diskRebalancer = new DiskRebalancer(infoService, invertedIndex);
+        this.scheduleParallelism = Math.max(1, Config.tablet_schedule_thread_num);
+        this.schedulePool = ThreadPoolManager.newDaemonFixedThreadPool(scheduleParallelism,
+                MIN_BATCH_NUM * scheduleParallelism, "tablet-schedule-pool", false);
     }
 
     public TabletSchedulerStat getStat() {
@@ -226,7 +240,7 @@ public class TabletScheduler extends MasterDaemon {
      * add a ready-to-be-scheduled tablet to pendingTablets, if it has not being added before.
      * if force is true, do not check if tablet is already added before.
      */
-    public synchronized AddResult addTablet(TabletSchedCtx tablet, boolean force) {
+    public AddResult addTablet(TabletSchedCtx tablet, boolean force) {
         if (!force && Config.disable_tablet_scheduler) {
             return AddResult.DISABLED;
         }
@@ -243,36 +257,40 @@ public class TabletScheduler extends MasterDaemon {
             return AddResult.LIMIT_EXCEED;
         }
 
-        allTabletIds.add(tablet.getTabletId());
+        // the tablet may be added by another thread after the check above
+        if (!allTabletIds.add(tablet.getTabletId()) && !force) {
+            return AddResult.ALREADY_IN;
+        }
         pendingTablets.offer(tablet);
         return AddResult.ADDED;
     }
 
-    public synchronized boolean containsTablet(long tabletId) {
+    public boolean containsTablet(long tabletId) {
         return allTabletIds.contains(tabletId);
     }
 
-    public synchronized void rebalanceDisk(AdminRebalanceDiskStmt stmt) {
+    public void rebalanceDisk(AdminRebalanceDiskStmt stmt) {
         diskRebalancer.addPrioBackends(stmt.getBackends(), stmt.getTimeoutS());
     }
 
-    public synchronized void cancelRebalanceDisk(AdminCancelRebalanceDiskStmt stmt) {
+    public void cancelRebalanceDisk(AdminCancelRebalanceDiskStmt stmt) {
         diskRebalancer.removePrioBackends(stmt.getBackends());
     }
 
     /**
      * Iterate current tablets, change their priority to VERY_HIGH if necessary.
+     * The priority is part of the order of pendingTablets, so the tablets are taken out and added back.
      */
-    public synchronized void changeTabletsPriorityToVeryHigh(long dbId, long tblId, List<Long> partitionIds) {
-        PriorityQueue<TabletSchedCtx> newPendingTablets = new PriorityQueue<>();
-        for (TabletSchedCtx tabletCtx : pendingTablets) {
+    public void changeTabletsPriorityToVeryHigh(long dbId, long tblId, List<Long> partitionIds) {
+        List<TabletSchedCtx> tabletCtxs = Lists.newArrayList();
+        pendingTablets.drainTo(tabletCtxs);
+        for (TabletSchedCtx tabletCtx : tabletCtxs) {
             if (tabletCtx.getDbId() == dbId && tabletCtx.getTblId() == tblId
                     && partitionIds.contains(tabletCtx.getPartitionId())) {
                 tabletCtx.setOrigPriority(Priority.VERY_HIGH);
             }
-            newPendingTablets.add(tabletCtx);
         }
-        pendingTablets = newPendingTablets;
+        pendingTablets.addAll(tabletCtxs);
     }
 
     /**
@@ -307,6 +325,7 @@ public class TabletScheduler extends MasterDaemon {
         selectTabletsForBalance();
 
         stat.counterTabletScheduleRound.incrementAndGet();
+        stat.updateTabletScheduledPerSecond();
     }
 
 
@@ -354,23 +373,18 @@ public class TabletScheduler extends MasterDaemon {
     /**
      * adjust priorities of all tablet infos
      */
-    private synchronized void adjustPriorities() {
-        int size = pendingTablets.size();
+    private void adjustPriorities() {
+        List<TabletSchedCtx> tabletCtxs = Lists.newArrayList();
+        pendingTablets.drainTo(tabletCtxs);
         int changedNum = 0;
-        TabletSchedCtx tabletCtx;
-        for (int i = 0; i < size; i++) {
-            tabletCtx = pendingTablets.poll();
-            if (tabletCtx == null) {
-                break;
-            }
-
+        for (TabletSchedCtx tabletCtx : tabletCtxs) {
             if (tabletCtx.adjustPriority(stat)) {
                 changedNum++;
             }
-            pendingTablets.add(tabletCtx);
         }
+        pendingTablets.addAll(tabletCtxs);
 
-        LOG.debug("adjust priority for all tablets. changed: {}, total: {}", changedNum, size);
+        LOG.debug("adjust priority for all tablets. changed: {}, total: {}", changedNum, tabletCtxs.size());
     }
 
     /**
@@ -387,66 +401,36 @@ public class TabletScheduler extends MasterDaemon {
         List<TabletSchedCtx> currentBatch = getNextTabletCtxBatch();
         LOG.debug("get {} tablets to schedule", currentBatch.size());
 
-        AgentBatchTask batchTask = new AgentBatchTask();
+        // Repair tablets are scheduled by the workers in parallel, each of them only locks the table of its tablet
+        // and takes slots of the paths atomically. Balance tablets are scheduled in this thread, because the
+        // rebalancers are not thread safe.
+        List<Future<AgentBatchTask>> futures = Lists.newArrayList();
+        List<TabletSchedCtx> balanceTablets = Lists.newArrayList();
         for (TabletSchedCtx tabletCtx : currentBatch) {
+            if (tabletCtx.getType() == Type.BALANCE || scheduleParallelism == 1) {
+                balanceTablets.add(tabletCtx);
+            } else {
+                futures.add(schedulePool.submit(() -> {
+                    AgentBatchTask tabletTasks = new AgentBatchTask();
+                    scheduleTabletAndHandleResult(tabletCtx, tabletTasks);
+                    return tabletTasks;
+                }));
+            }
+        }
+
+        AgentBatchTask batchTask = new AgentBatchTask();
+        for (TabletSchedCtx tabletCtx : balanceTablets) {
+            scheduleTabletAndHandleResult(tabletCtx, batchTask);
+        }
+        for (Future<AgentBatchTask> future : futures) {
             try {
-                if (Config.disable_tablet_scheduler) {
-                    // do not schedule more tablet is tablet scheduler is disabled.
-                    throw new SchedException(Status.FINISHED, "tablet scheduler is disabled");
-                }
-                scheduleTablet(tabletCtx, batchTask);
-            } catch (SchedException e) {
-                tabletCtx.increaseFailedSchedCounter();
-                tabletCtx.setErrMsg(e.getMessage());
-
-                if (e.getStatus() == Status.SCHEDULE_FAILED) {
-                    if (tabletCtx.getType() == Type.BALANCE) {
-                        // if balance is disabled, remove this tablet
-                        if (Config.disable_balance) {
-                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
-                                    "disable balance and " + e.getMessage());
-                        } else {
-                            // remove the balance task if it fails to be scheduled many times
-                            if (tabletCtx.getFailedSchedCounter() > 10) {
-                                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
-                                        "schedule failed too many times and " + e.getMessage());
-                            } else {
-                                // we must release resource it current hold, and be scheduled again
-                                tabletCtx.releaseResource(this);
-                                // adjust priority to avoid some higher priority always be the first in pendingTablets
-                                stat.counterTabletScheduledFailed.incrementAndGet();
-                                dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                            }
-                        }
-                    } else {
-                        // we must release resource it current hold, and be scheduled again
-                        tabletCtx.releaseResource(this);
-                        // adjust priority to avoid some higher priority always be the first in pendingTablets
-                        stat.counterTabletScheduledFailed.incrementAndGet();
-                        dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
-                    }
-                } else if (e.getStatus() == Status.FINISHED) {
-                    // schedule redundant tablet or scheduler disabled will throw this exception
-                    stat.counterTabletScheduledSucceeded.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getStatus(), e.getMessage());
-                } else {
-                    Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
-                    // discard
-                    stat.counterTabletScheduledDiscard.incrementAndGet();
-                    finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(), e.getMessage());
+                for (AgentTask task : future.get().getAllTasks()) {
+                    batchTask.addTask(task);
                 }
-                continue;
-            } catch (Exception e) {
-                LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
-                        tabletCtx.getTabletId(), e);
-                stat.counterTabletScheduledFailed.incrementAndGet();
-                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, Status.UNRECOVERABLE, e.getMessage());
-                continue;
+            } catch (InterruptedException | ExecutionException e) {
+                // scheduleTabletAndHandleResult() handles all exceptions, so this should not happen
+                LOG.warn("failed to get the result of scheduling tablet", e);
             }
-
-            Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING, tabletCtx.getState());
-            stat.counterTabletScheduledSucceeded.incrementAndGet();
-            addToRunningTablets(tabletCtx);
         }
 
         // must send task after adding tablet info to runningTablets.
@@ -464,7 +448,68 @@ public class TabletScheduler extends MasterDaemon {
         stat.counterTabletScheduleCostMs.addAndGet(cost);
     }
 
-    private synchronized void addToRunningTablets(TabletSchedCtx tabletCtx) {
+    private void scheduleTabletAndHandleResult(TabletSchedCtx tabletCtx, AgentBatchTask batchTask) {
+        try {
+            if (Config.disable_tablet_scheduler) {
+                // do not schedule more tablet is tablet scheduler is disabled.
+                throw new SchedException(Status.FINISHED, "tablet scheduler is disabled");
+            }
+            scheduleTablet(tabletCtx, batchTask);
+        } catch (SchedException e) {
+            tabletCtx.increaseFailedSchedCounter();
+            tabletCtx.setErrMsg(e.getMessage());
+
+            if (e.getStatus() == Status.SCHEDULE_FAILED) {
+                if (tabletCtx.getType() == Type.BALANCE) {
+                    // if balance is disabled, remove this tablet
+                    if (Config.disable_balance) {
+                        finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
+                                "disable balance and " + e.getMessage());
+                    } else {
+                        // remove the balance task if it fails to be scheduled many times
+                        if (tabletCtx.getFailedSchedCounter() > 10) {
+                            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(),
+                                    "schedule failed too many times and " + e.getMessage());
+                        } else {
+                            // we must release resource it current hold, and be scheduled again
+                            tabletCtx.releaseResource(this);
+                            // adjust priority to avoid some higher priority always be the first in pendingTablets
+                            stat.counterTabletScheduledFailed.incrementAndGet();
+                            dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                        }
+                    }
+                } else {
+                    // we must release resource it current hold, and be scheduled again
+                    tabletCtx.releaseResource(this);
+                    // adjust priority to avoid some higher priority always be the first in pendingTablets
+                    stat.counterTabletScheduledFailed.incrementAndGet();
+                    dynamicAdjustPrioAndAddBackToPendingTablets(tabletCtx, e.getMessage());
+                }
+            } else if (e.getStatus() == Status.FINISHED) {
+                // schedule redundant tablet or scheduler disabled will throw this exception
+                stat.counterTabletScheduledSucceeded.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.FINISHED, e.getStatus(), e.getMessage());
+            } else {
+                Preconditions.checkState(e.getStatus() == Status.UNRECOVERABLE, e.getStatus());
+                // discard
+                stat.counterTabletScheduledDiscard.incrementAndGet();
+                finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.CANCELLED, e.getStatus(), e.getMessage());
+            }
+            return;
+        } catch (Exception e) {
+            LOG.warn("got unexpected exception, discard this schedule. tablet: {}",
+                    tabletCtx.getTabletId(), e);
+            stat.counterTabletScheduledFailed.incrementAndGet();
+            finalizeTabletCtx(tabletCtx, TabletSchedCtx.State.UNEXPECTED, Status.UNRECOVERABLE, e.getMessage());
+            return;
+        }
+
+        Preconditions.checkState(tabletCtx.getState() == TabletSchedCtx.State.RUNNING, tabletCtx.getState());
+        stat.counterTabletScheduledSucceeded.incrementAndGet();
+        addToRunningTablets(tabletCtx);
+    }
+
+    private void addToRunningTablets(TabletSchedCtx tabletCtx) {
         runningTablets.put(tabletCtx.getTabletId(), tabletCtx);
     }
 
@@ -473,7 +518,7 @@ public class TabletScheduler extends MasterDaemon {
      * avoid other threads see it.
      * Whoever takes this tablet, make sure to put it to the schedHistory or back to runningTablets.
      */
-    private synchronized TabletSchedCtx takeRunningTablets(long tabletId) {
+    private TabletSchedCtx takeRunningTablets(long tabletId) {
         return runningTablets.remove(tabletId);
     }
 
@@ -1422,7 +1467,7 @@ public class TabletScheduler extends MasterDaemon {
         tabletCtx.setFinishedTime(System.currentTimeMillis());
     }
 
-    private synchronized void removeTabletCtx(TabletSchedCtx tabletCtx, String reason) {
+    private void removeTabletCtx(TabletSchedCtx tabletCtx, String reason) {
         runningTablets.remove(tabletCtx.getTabletId());
         allTabletIds.remove(tabletCtx.getTabletId());
         schedHistory.add(tabletCtx);
@@ -1430,9 +1475,9 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     // get next batch of tablets from queue.
-    private synchronized List<TabletSchedCtx> getNextTabletCtxBatch() {
+    private List<TabletSchedCtx> getNextTabletCtxBatch() {
         List<TabletSchedCtx> list = Lists.newArrayList();
-        int count = Math.min(MIN_BATCH_NUM, getCurrentAvailableSlotNum());
+        int count = Math.min(MIN_BATCH_NUM * scheduleParallelism, getCurrentAvailableSlotNum());
         while (count > 0) {
             TabletSchedCtx tablet = pendingTablets.poll();
             if (tablet == null) {
@@ -1579,11 +1624,11 @@ public class TabletScheduler extends MasterDaemon {
     public void handleRunningTablets() {
         // 1. remove the tablet ctx if timeout
         List<TabletSchedCtx> timeoutTablets = Lists.newArrayList();
-        synchronized (this) {
-            runningTablets.values().stream().filter(TabletSchedCtx::isTimeout).forEach(timeoutTablets::add);
-
-            for (TabletSchedCtx tabletSchedCtx : timeoutTablets) {
+        for (TabletSchedCtx tabletSchedCtx : runningTablets.values()) {
+            // the tablet may be taken by finishCloneTask() at the same time
+            if (tabletSchedCtx.isTimeout() && runningTablets.remove(tabletSchedCtx.getTabletId(), tabletSchedCtx)) {
                 removeTabletCtx(tabletSchedCtx, "timeout");
+                timeoutTablets.add(tabletSchedCtx);
             }
         }
 
@@ -1608,7 +1653,11 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     public List<List<String>> getHistoryTabletsInfo(int limit) {
-        List<TabletSchedCtx> tabletCtxs = getCopiedTablets(schedHistory, limit);
+        List<TabletSchedCtx> tabletCtxs;
+        // the iterator of a synchronized queue is not thread safe
+        synchronized (schedHistory) {
+            tabletCtxs = getCopiedTablets(schedHistory, limit);
+        }
         return collectTabletCtx(tabletCtxs);
     }
 
@@ -1620,7 +1669,7 @@ public class TabletScheduler extends MasterDaemon {
         return result;
     }
 
-    private synchronized List<TabletSchedCtx> getCopiedTablets(Collection<TabletSchedCtx> source, int limit) {
+    private List<TabletSchedCtx> getCopiedTablets(Collection<TabletSchedCtx> source, int limit) {
         List<TabletSchedCtx> tabletCtxs = Lists.newArrayList();
         source.stream().limit(limit).forEach(t -> {
             tabletCtxs.add(t);
@@ -1628,23 +1677,23 @@ public class TabletScheduler extends MasterDaemon {
         return tabletCtxs;
     }
 
-    public synchronized int getPendingNum() {
+    public int getPendingNum() {
         return pendingTablets.size();
     }
 
-    public synchronized int getRunningNum() {
+    public int getRunningNum() {
         return runningTablets.size();
     }
 
-    public synchronized int getHistoryNum() {
+    public int getHistoryNum() {
         return schedHistory.size();
     }
 
-    public synchronized int getTotalNum() {
+    public int getTotalNum() {
         return allTabletIds.size();
     }
 
-    public synchronized long getBalanceTabletsNumber() {
+    public long getBalanceTabletsNumber() {
         return pendingTablets.stream().filter(t -> t.getType() == Type.BALANCE).count()
                 + runningTablets.values().stream().filter(t -> t.getType() == Type.BALANCE).count();
     }
@@ -1653,6 +1702,9 @@ public class TabletScheduler extends MasterDaemon {
      * PathSlot keeps track of slot num per path of a Backend.
      * Each path on a Backend has several slot.
      * If a path's available slot num become 0, no task should be assigned to this path.
+     *
+     * Slots are taken and freed by the scheduling workers concurrently, so the slot numbers are atomics
+     * and updated by CAS, instead of locking the whole PathSlot.
      */
     public static class PathSlot {
         // path hash -> slot num
@@ -1665,48 +1717,45 @@ public class TabletScheduler extends MasterDaemon {
         }
 
         // update the path
-        public synchronized void updatePaths(List<Long> paths) {
+        public void updatePaths(List<Long> paths) {
             // delete non exist path
             pathSlots.entrySet().removeIf(entry -> !paths.contains(entry.getKey()));
 
             // add new path
             for (Long pathHash : paths) {
-                if (!pathSlots.containsKey(pathHash)) {
-                    pathSlots.put(pathHash, new Slot(Config.schedule_slot_num_per_path));
-                }
+                pathSlots.putIfAbsent(pathHash, new Slot(Config.schedule_slot_num_per_path));
             }
         }
 
         // Update the total slots num of specified paths, increase or decrease
-        public synchronized void updateSlot(List<Long> pathHashs, int delta) {
+        public void updateSlot(List<Long> pathHashs, int delta) {
             for (Long pathHash : pathHashs) {
                 Slot slot = pathSlots.get(pathHash);
                 if (slot == null) {
                     continue;
                 }
 
-                slot.total += delta;
-                slot.rectify();
-                LOG.debug("decrease path {} slots num to {}", pathHash, pathSlots.get(pathHash).total);
+                slot.updateTotal(delta);
+                LOG.debug("decrease path {} slots num to {}", pathHash, slot.getTotal());
             }
         }
 
         /**
          * Update the statistic of specified path
          */
-        public synchronized void updateStatistic(long pathHash, long copySize, long copyTimeMs) {
+        public void updateStatistic(long pathHash, long copySize, long copyTimeMs) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return;
             }
-            slot.totalCopySize += copySize;
-            slot.totalCopyTimeMs += copyTimeMs;
+            slot.totalCopySize.addAndGet(copySize);
+            slot.totalCopyTimeMs.addAndGet(copyTimeMs);
         }
 
         /**
          * If the specified 'pathHash' has available slot, decrease the slot number and return this path hash
          */
-        public synchronized long takeSlot(long pathHash) throws SchedException {
+        public long takeSlot(long pathHash) throws SchedException {
             if (pathHash == -1) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("path hash is not set.", new Exception());
@@ -1715,39 +1764,32 @@ public class TabletScheduler extends MasterDaemon {
             }
 
             Slot slot = pathSlots.get(pathHash);
-            if (slot == null) {
-                return -1;
-            }
-            slot.rectify();
-            if (slot.available <= 0) {
+            if (slot == null || !slot.take()) {
                 return -1;
             }
-            slot.available--;
             return pathHash;
         }
 
-        public synchronized void freeSlot(long pathHash) {
+        public void freeSlot(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return;
             }
-            slot.available++;
-            slot.rectify();
+            slot.free();
         }
 
-        public synchronized int peekSlot(long pathHash) {
+        public int peekSlot(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return -1;
             }
-            slot.rectify();
-            return slot.available;
+            return slot.getAvailable();
         }
 
-        public synchronized int getTotalAvailSlotNum() {
+        public int getTotalAvailSlotNum() {
             int total = 0;
             for (Slot slot : pathSlots.values()) {
-                total += slot.available;
+                total += slot.getAvailable();
             }
             return total;
         }
@@ -1755,89 +1797,79 @@ public class TabletScheduler extends MasterDaemon {
         /**
          * get path whose balance slot num is larger than 0
          */
-        public synchronized Set<Long> getAvailPathsForBalance() {
+        public Set<Long> getAvailPathsForBalance() {
             Set<Long> pathHashs = Sets.newHashSet();
             for (Map.Entry<Long, Slot> entry : pathSlots.entrySet()) {
-                if (entry.getValue().balanceSlot > 0) {
+                if (entry.getValue().balanceSlot.get() > 0) {
                     pathHashs.add(entry.getKey());
                 }
             }
             return pathHashs;
         }
 
-        public synchronized int getAvailBalanceSlotNum() {
+        public int getAvailBalanceSlotNum() {
             int num = 0;
             for (Map.Entry<Long, Slot> entry : pathSlots.entrySet()) {
-                num += entry.getValue().balanceSlot;
+                num += entry.getValue().balanceSlot.get();
             }
             return num;
         }
 
-        public synchronized List<List<String>> getSlotInfo(long beId) {
+        public List<List<String>> getSlotInfo(long beId) {
             List<List<String>> results = Lists.newArrayList();
             pathSlots.forEach((key, value) -> {
-                value.rectify();
                 List<String> result = Lists.newArrayList();
                 result.add(String.valueOf(beId));
                 result.add(String.valueOf(key));
-                result.add(String.valueOf(value.available));
-                result.add(String.valueOf(value.total));
-                result.add(String.valueOf(value.balanceSlot));
+                result.add(String.valueOf(value.getAvailable()));
+                result.add(String.valueOf(value.getTotal()));
+                result.add(String.valueOf(value.balanceSlot.get()));
                 result.add(String.valueOf(value.getAvgRate()));
                 results.add(result);
             });
             return results;
         }
 
-        public synchronized long takeBalanceSlot(long pathHash) {
+        public long takeBalanceSlot(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
-            if (slot == null) {
+            if (slot == null || !slot.takeBalance()) {
                 return -1;
             }
-            if (slot.balanceSlot > 0) {
-                slot.balanceSlot--;
-                return pathHash;
-            }
-            return -1;
+            return pathHash;
         }
 
-        public synchronized long takeAnAvailBalanceSlotFrom(Set<Long> pathHashs) {
+        public long takeAnAvailBalanceSlotFrom(Set<Long> pathHashs) {
             for (Long pathHash : pathHashs) {
                 Slot slot = pathSlots.get(pathHash);
-                if (slot == null) {
-                    continue;
-                }
-                if (slot.balanceSlot > 0) {
-                    slot.balanceSlot--;
+                if (slot != null && slot.takeBalance()) {
                     return pathHash;
                 }
             }
             return -1;
         }
 
-        public synchronized void freeBalanceSlot(long pathHash) {
+        public void freeBalanceSlot(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return;
             }
-            slot.balanceSlot++;
-            slot.rectify();
+            slot.freeBalance();
         }
 
-        public synchronized void updateDiskBalanceLastSuccTime(long pathHash) {
+        public void updateDiskBalanceLastSuccTime(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return;
             }
-            slot.diskBalanceLastSuccTime = System.currentTimeMillis();
+            slot.diskBalanceLastSuccTime.set(System.currentTimeMillis());
         }
 
-        public synchronized long getDiskBalanceLastSuccTime(long pathHash) {
+        public long getDiskBalanceLastSuccTime(long pathHash) {
             Slot slot = pathSlots.get(pathHash);
             if (slot == null) {
                 return 0L;
             }
-            return slot.diskBalanceLastSuccTime;
+            return slot.diskBalanceLastSuccTime.get();
         }
     }
 
@@ -1851,42 +1883,77 @@ public class TabletScheduler extends MasterDaemon {
     }
 
     public static class Slot {
-        public int total;
-        public int available;
-        // slot reserved for balance
-        public int balanceSlot;
+        // at least 1
+        private final AtomicInteger total;
+        // at most 'total', it may be larger than 'total' after total is decreased, and is bounded when being read
+        private final AtomicInteger available;
+        // slot reserved for balance, at most BALANCE_SLOT_NUM_FOR_PATH
+        private final AtomicInteger balanceSlot;
 
-        public long totalCopySize = 0;
-        public long totalCopyTimeMs = 0;
+        private final AtomicLong totalCopySize = new AtomicLong(0);
+        private final AtomicLong totalCopyTimeMs = new AtomicLong(0);
 
         // for disk balance
-        public long diskBalanceLastSuccTime = 0;
+        private final AtomicLong diskBalanceLastSuccTime = new AtomicLong(0);
 
         public Slot(int total) {
-            this.total = total;
-            this.available = total;
-            this.balanceSlot = BALANCE_SLOT_NUM_FOR_PATH;
+            this.total = new AtomicInteger(Math.max(total, 1));
+            this.available = new AtomicInteger(this.total.get());
+            this.balanceSlot = new AtomicInteger(BALANCE_SLOT_NUM_FOR_PATH);
         }
 
-        public void rectify() {
-            if (total <= 0) {
-                total = 1;
-            }
-            if (available > total) {
-                available = total;
+        public int getTotal() {
+            return total.get();
+        }
+
+        public int getAvailable() {
+            return Math.min(available.get(), total.get());
+        }
+
+        public void updateTotal(int delta) {
+            total.updateAndGet(t -> Math.max(t + delta, 1));
+        }
+
+        public boolean take() {
+            while (true) {
+                int current = available.get();
+                int bounded = Math.min(current, total.get());
+                if (bounded <= 0) {
+                    return false;
+                }
+                if (available.compareAndSet(current, bounded - 1)) {
+                    return true;
+                }
             }
+        }
+
+        public void free() {
+            available.updateAndGet(a -> Math.min(a + 1, total.get()));
+        }
 
-            if (balanceSlot > BALANCE_SLOT_NUM_FOR_PATH) {
-                balanceSlot = BALANCE_SLOT_NUM_FOR_PATH;
+        public boolean takeBalance() {
+            while (true) {
+                int current = balanceSlot.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (balanceSlot.compareAndSet(current, current - 1)) {
+                    return true;
+                }
             }
         }
 
+        public void freeBalance() {
+            balanceSlot.updateAndGet(b -> Math.min(b + 1, BALANCE_SLOT_NUM_FOR_PATH));
+        }
+
         // return avg rate, Bytes/S
         public double getAvgRate() {
-            if (totalCopyTimeMs / 1000 == 0) {
+            long copyTimeMs = totalCopyTimeMs.get();
+            if (copyTimeMs / 1000 == 0) {
                 return 0.0;
             }
-            return totalCopySize / ((double) totalCopyTimeMs / 1000);
+            return totalCopySize.get() / ((double) copyTimeMs / 1000);
         }
     }
 }
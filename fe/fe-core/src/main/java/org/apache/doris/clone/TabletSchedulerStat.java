@@ -70,6 +70,8 @@ public class TabletSchedulerStat {
     public AtomicLong counterTabletScheduledFailed = new AtomicLong(0L);
     @StatField("num of tablet being scheduled discard")
     public AtomicLong counterTabletScheduledDiscard = new AtomicLong(0L);
+    @StatField("num of tablet scheduled per second")
+    public AtomicLong tabletScheduledPerSecond = new AtomicLong(0L);
 
     /*
      * Tablet priority related
@@ -115,6 +117,32 @@ public class TabletSchedulerStat {
 
     private TabletSchedulerStat lastSnapshot = null;
 
+    // the window to calculate tablet scheduled per second
+    private static final long SCHEDULED_RATE_WINDOW_MS = 5000L;
+    private long lastRateUpdateTime = -1L;
+    private long lastScheduledSucceeded = 0L;
+
+    /*
+     * update tabletScheduledPerSecond with the succeeded scheduled tablets in the last window.
+     * it is only called by TabletScheduler thread.
+     */
+    public void updateTabletScheduledPerSecond() {
+        long now = System.currentTimeMillis();
+        long succeeded = counterTabletScheduledSucceeded.get();
+        if (lastRateUpdateTime < 0) {
+            lastRateUpdateTime = now;
+            lastScheduledSucceeded = succeeded;
+            return;
+        }
+        long elapsed = now - lastRateUpdateTime;
+        if (elapsed < SCHEDULED_RATE_WINDOW_MS) {
+            return;
+        }
+        tabletScheduledPerSecond.set((succeeded - lastScheduledSucceeded) * 1000 / elapsed);
+        lastRateUpdateTime = now;
+        lastScheduledSucceeded = succeeded;
+    }
+
     /*
      * make a snapshot of current stat,
      * in order to calculate the incremental stat when next call of incrementalBrief()
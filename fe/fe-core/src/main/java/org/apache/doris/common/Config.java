@@ -205,6 +205,20 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int edit_log_roll_num = 50000;
 
+    /**
+     * If set to true, concurrent edit log writes on master FE are grouped and written to bdbje
+     * in one transaction (or flushed once by the local journal), and all writers of the group are released
+     * after the group is persisted.
+     */
+    @ConfField(mutable = false, masterOnly = true)
+    public static boolean enable_edit_log_group_commit = false;
+
+    /**
+     * The max number of journals written in one group commit of edit log.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int edit_log_group_commit_max_batch_size = 512;
+
     /**
      * Non-master FE will stop offering service
      * if meta data delay gap exceeds *meta_delay_toleration_second*
@@ -272,6 +286,59 @@ public class Config extends ConfigBase {
     @ConfField(masterOnly = true)
     public static int max_agent_task_threads_num = 4096;
 
+    /**
+     * If set to true, agent tasks are sent through per-backend channels in batches by agent-task-rpc-pool,
+     * instead of by a thread of agent-task-pool for each batch of tasks.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_agent_task_async_dispatch = true;
+
+    /**
+     * num of threads to send agent tasks to backends when enable_agent_task_async_dispatch is true.
+     */
+    @ConfField(masterOnly = true)
+    public static int agent_task_rpc_threads_num = 64;
+
+    /**
+     * max num of agent task rpcs in flight to one backend.
+     * The tasks exceeding it are queued, and sent after the previous rpcs are finished.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int agent_task_rpc_max_in_flight_per_backend = 2;
+
+    /**
+     * max num of agent tasks sent to one backend in one rpc.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int agent_task_rpc_batch_size = 1000;
+
+    /**
+     * When a batch of agent tasks to a backend is in flight, the tasks submitted later are coalesced,
+     * and sent after waiting at most this time if they are less than agent_task_rpc_batch_size.
+     * The tasks to a backend without batch in flight are sent at once.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int agent_task_rpc_batch_interval_ms = 10;
+
+    /**
+     * The group commit inserts into the same table are merged into one load transaction,
+     * which is committed after waiting at most this time, or when the rows reach insert_group_commit_max_rows.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int insert_group_commit_interval_ms = 200;
+
+    /**
+     * max num of rows merged into one group commit load transaction.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int insert_group_commit_max_rows = 100000;
+
+    /**
+     * num of threads to execute the group commit load transactions.
+     */
+    @ConfField(masterOnly = true)
+    public static int insert_group_commit_threads_num = 16;
+
     /**
      * the max txn number which bdbje can rollback when trying to rejoin the group
      */
@@ -462,7 +529,8 @@ public class Config extends ConfigBase {
     public static int commit_timeout_second = 30; // 30 seconds
 
     /**
-     * minimal intervals between two publish version action
+     * The interval of checking the publish version tasks when the publisher is not woken up.
+     * The publisher is woken up right away when a transaction is committed or a publish version task is finished.
      */
     @ConfField public static int publish_version_interval_ms = 10;
 
@@ -884,6 +952,14 @@ public class Config extends ConfigBase {
      */
     @ConfField public static int max_connection_scheduler_threads_num = 4096;
 
+    /**
+     * Maximal number of prepared statements (COM_STMT_PREPARE) kept in one connection.
+     * A prepared statement is released when the client closes it or the connection is closed.
+     * A prepared query on one olap table also keeps its plan, which is reused while the table is not changed.
+     */
+    @ConfField(mutable = true)
+    public static int max_prepared_stmt_count_per_connection = 1024;
+
     /**
      * The memory_limit for colocote join PlanFragment instance =
      * exec_mem_limit / min (query_colocate_join_memory_limit_penalty_factor, instance_num)
@@ -1056,6 +1132,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_query_retry_time = 1;
 
+    /**
+     * If set to true, the fetch of the next result batch from be is issued as soon as
+     * a batch is received, so it overlaps with sending the received batch to the client.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_result_prefetch = true;
+
+    /**
+     * If set to true, the send buffer of mysql channel is allocated out of the heap,
+     * which saves a copy of the result data when writing to the socket.
+     * It takes 2MB direct memory per connection, make sure -XX:MaxDirectMemorySize is large enough.
+     */
+    @ConfField
+    public static boolean mysql_send_buffer_use_direct_memory = false;
+
     /**
      * The tryLock timeout configuration of catalog lock.
      * Normally it does not need to change, unless you need to test something.
@@ -1092,6 +1183,21 @@ public class Config extends ConfigBase {
     @ConfField
     public static long es_state_sync_interval_second = 10;
 
+    /**
+     * the max number of ES external tables whose metadata (mapping, shard location) are synced concurrently
+     */
+    @ConfField
+    public static int es_meta_sync_thread_num = 8;
+
+    /**
+     * If the metadata of an ES external table has not been synced in this time when planning a query,
+     * it is synced before planning, so that the query is not planned with the stale shard locations.
+     * A failed sync also counts, and the query is planned with the last synced metadata then.
+     * Set it to a negative value to disable the sync when planning.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long es_meta_stale_second = 60;
+
     /**
      * fe will create iceberg table every iceberg_table_creation_interval_second
      */
@@ -1144,6 +1250,28 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_scheduling_tablets = 2000;
 
+    /**
+     * The number of threads to schedule the repair tablets of one batch in parallel.
+     * The balance tablets are always scheduled in the TabletScheduler thread.
+     * Set to 1 to schedule all tablets in the TabletScheduler thread.
+     */
+    @ConfField(masterOnly = true)
+    public static int tablet_schedule_thread_num = 4;
+
+    /**
+     * If set to true, TabletChecker only checks the partitions which may have unhealthy tablets,
+     * eg, the ones with bad replicas reported or replicas on a dead backend, in most rounds.
+     * All tablets are still checked every tablet_checker_full_check_interval_second.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static boolean enable_incremental_tablet_check = true;
+
+    /**
+     * The interval of checking all tablets by TabletChecker when enable_incremental_tablet_check is true.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long tablet_checker_full_check_interval_second = 300;
+
     // if the number of balancing tablets in TabletScheduler exceed max_balancing_tablets,
     // no more balance check
     @ConfField(mutable = true, masterOnly = true)
@@ -1172,9 +1300,16 @@ public class Config extends ConfigBase {
     // 2. task report: 0-1 ms
     // 3. tablet report
     //      10000 replicas: 200ms
+    // Reports of the same backend are merged when queuing, so it limits the number of backends with pending reports.
     @ConfField(mutable = true, masterOnly = true)
     public static int report_queue_size = 100;
 
+    /**
+     * The number of threads to handle backend reports. Reports of different backends are handled concurrently.
+     */
+    @ConfField(masterOnly = true)
+    public static int report_handler_thread_num = 4;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1201,6 +1336,34 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static int max_routine_load_task_num_per_be = 5;
 
+    /**
+     * The latest offsets of kafka partitions used by routine load scheduling are cached in FE,
+     * and refreshed asynchronously after kafka_offsets_cache_ttl_ms.
+     * The queries of all jobs with the same kafka brokers, topic and properties are merged into one rpc.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long kafka_offsets_cache_ttl_ms = 1000;
+
+    /**
+     * The partitions of kafka topics used by routine load scheduling are cached in FE,
+     * and refreshed asynchronously after kafka_partitions_cache_ttl_ms.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long kafka_partitions_cache_ttl_ms = 10000;
+
+    /**
+     * The cached meta of a kafka topic is removed if it is not used by any routine load job
+     * for kafka_meta_cache_expire_second.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static long kafka_meta_cache_expire_second = 600;
+
+    /**
+     * The number of threads to refresh the cached kafka meta.
+     */
+    @ConfField(masterOnly = true)
+    public static int kafka_meta_refresh_thread_num = 8;
+
     /**
      * The max number of files store in SmallFileMgr
      */
@@ -1250,6 +1413,23 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = true)
     public static boolean force_do_metadata_checkpoint = false;
 
+    /**
+     * The number of threads to load the meta modules of image in parallel.
+     * Modules which depend on others, eg, transactionState depends on db, are still loaded after them.
+     * Set to 1 to load the modules one by one.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static int image_load_parallelism = 4;
+
+    /**
+     * The number of threads to save the meta modules of image in parallel when doing checkpoint.
+     * Each module is written to a temporary file in image dir first and then concatenated into the image,
+     * so it needs extra disk space as large as the image.
+     * Set to 1 to save the modules one by one.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int image_save_parallelism = 4;
+
     /**
      * The multi cluster feature will be deprecated in version 0.12
      * set this config to true will disable all operations related to cluster feature, include:
@@ -1372,6 +1552,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static int cache_result_max_row_count = 3000;
 
+    /**
+     * If set to true, the results of sql cache are also kept in the memory of fe,
+     * so the repeated queries on unchanged data can be answered by fe without any rpc to be.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean cache_enable_fe_sql_cache = false;
+
+    /**
+     * The max bytes of the results kept in the memory of fe when cache_enable_fe_sql_cache is true.
+     * The results are stored out of the heap, so make sure -XX:MaxDirectMemorySize is large enough.
+     * The least recently used results are evicted when it is exceeded.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static long cache_fe_sql_cache_max_bytes = 128 * 1024 * 1024L;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -1530,6 +1725,21 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true, masterOnly = false)
     public static boolean use_compact_thrift_rpc = true;
 
+    /**
+     * If set to true, the plan fragment requests of different backends are serialized concurrently
+     * in "fragment-dispatch-pool" and each request is sent as soon as it is ready,
+     * instead of serializing and sending them one backend after another.
+     */
+    @ConfField(mutable = true, masterOnly = false)
+    public static boolean enable_pipelined_fragment_dispatch = true;
+
+    /**
+     * The number of threads used to serialize plan fragment requests when
+     * enable_pipelined_fragment_dispatch is true.
+     */
+    @ConfField
+    public static int fragment_dispatch_thread_num = 16;
+
     /*
      * If set to true, the tablet scheduler will not work, so that all tablet repair/balance task will not work.
      */
@@ -1626,6 +1836,24 @@ public class Config extends ConfigBase {
      */
     @ConfField(mutable = true, masterOnly = true)
     public static int cbo_default_sample_percentage = 10;
+    /*
+     * the max number of rows fetched by the sample query of a histogram and ndv sketch task.
+     * Fewer tablets are sampled if the sampled ones have more rows than it.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int cbo_max_sample_rows = 200000;
+    /*
+     * The analyzed table is analyzed again automatically when its staleness exceeds the ratio.
+     * The staleness is the ratio of the rows loaded since the last analysis to the analyzed row count.
+     * Non-positive value means that the tables are never analyzed again automatically.
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static double cbo_auto_analyze_staleness_ratio = 0.2;
+    /*
+     * the interval of checking the staleness of the analyzed tables
+     */
+    @ConfField(mutable = true, masterOnly = true)
+    public static int cbo_auto_analyze_check_interval_sec = 300;
 
     /**
      * If set to TRUE, the compaction slower replica will be skipped when select get queryable replicas
@@ -1634,6 +1862,39 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static boolean skip_compaction_slower_replica = true;
 
+    /**
+     * If set to true, the queryable replicas of tablets and their backends are cached for each
+     * partition version, so that the planner does not recompute them for every query.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_scan_range_location_cache = true;
+
+    /**
+     * The max number of tablets whose locations are cached when enable_scan_range_location_cache is true.
+     */
+    @ConfField(mutable = true)
+    public static long scan_range_location_cache_max_size = 1000000;
+
+    /**
+     * If set to true, the plans of stream loads are cached as templates, so that the stream loads into the same
+     * table with the same load properties only patch the load id, txn id and timeout into a copy of the template.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_stream_load_plan_cache = true;
+
+    /**
+     * The max number of stream load plan templates cached when enable_stream_load_plan_cache is true.
+     */
+    @ConfField
+    public static long stream_load_plan_cache_max_size = 1000;
+
+    /**
+     * The cached locations of a tablet expire after this time, so that changes which do not invalidate
+     * the cache, such as the version count of replicas, are picked up eventually.
+     */
+    @ConfField(mutable = true)
+    public static long scan_range_location_cache_expire_seconds = 60;
+
     /**
      * Enable quantile_state type column
      * Default is false.
@@ -1654,6 +1915,46 @@ public class Config extends ConfigBase {
     @ConfField(mutable = false, masterOnly = true)
     public static boolean enable_multi_catalog = false; // 1 min
 
+    /**
+     * The max number of hive tables whose meta objects(table, schema and partition values) are cached in FE.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long max_hive_table_cache_num = 1000;
+
+    /**
+     * The max number of hive partitions cached in FE.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long max_hive_partition_cache_num = 100000;
+
+    /**
+     * The max number of hive table or partition locations whose file splits are cached in FE.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long max_hive_file_cache_num = 100000;
+
+    /**
+     * The cached hive meta objects are reloaded asynchronously when being accessed
+     * hive_meta_cache_refresh_interval_second after last loaded,
+     * and the stale ones are returned until the reload finishes.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long hive_meta_cache_refresh_interval_second = 600;
+
+    /**
+     * The cached hive meta objects expire hive_meta_cache_expire_second after last loaded,
+     * and are loaded synchronously when being accessed again.
+     * Use REFRESH TABLE or REFRESH DATABASE to invalidate them at once.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static long hive_meta_cache_expire_second = 86400;
+
+    /**
+     * The number of threads to reload the cached hive meta objects.
+     */
+    @ConfField(mutable = false, masterOnly = false)
+    public static int hive_meta_cache_loader_thread_num = 10;
+
     /**
      * If set to TRUE, FE will:
      * 1. divide BE into high load and low load(no mid load) to force triggering tablet scheduling;
@@ -1667,4 +1968,11 @@ public class Config extends ConfigBase {
 
     @ConfField(mutable = true, masterOnly = true)
     public static boolean use_date_v2_by_default = false;
+
+    /**
+     * The number of threads to execute the optimization jobs of new optimizer concurrently,
+     * shared by all queries. 0 means the number of processors.
+     */
+    @ConfField
+    public static int nereids_optimize_thread_num = 0;
 }
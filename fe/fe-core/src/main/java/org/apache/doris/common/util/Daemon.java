@@ -35,6 +35,9 @@ public class Daemon extends Thread {
 
     private MetaContext metaContext = null;
 
+    private final Object wakeUpLock = new Object();
+    private boolean wakeUpRequested = false;
+
     {
         setDaemon(true);
     }
@@ -98,6 +101,26 @@ public class Daemon extends Thread {
         this.intervalMs = intervalMs;
     }
 
+    /**
+     * Run the next cycle right away instead of waiting for the interval.
+     * The requests during a cycle are merged, so the next cycle runs only once for them.
+     */
+    public void wakeUp() {
+        synchronized (wakeUpLock) {
+            wakeUpRequested = true;
+            wakeUpLock.notifyAll();
+        }
+    }
+
+    private void waitForNextCycle() throws InterruptedException {
+        synchronized (wakeUpLock) {
+            if (!wakeUpRequested && intervalMs > 0) {
+                wakeUpLock.wait(intervalMs);
+            }
+            wakeUpRequested = false;
+        }
+    }
+
     /**
      * implement in child
      */
@@ -119,7 +142,7 @@ public class Daemon extends Thread {
             }
 
             try {
-                Thread.sleep(intervalMs);
+                waitForNextCycle();
             } catch (InterruptedException e) {
                 LOG.error("InterruptedException: ", e);
             }
@@ -34,7 +34,6 @@ import org.apache.logging.log4j.Logger;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -145,12 +144,11 @@ public class KafkaUtil {
         }
     }
 
-    public static List<Pair<Integer, Long>> getLatestOffsets(long jobId, UUID taskId, String brokerList, String topic,
+    public static List<Pair<Integer, Long>> getLatestOffsets(String brokerList, String topic,
                                                              Map<String, String> convertedCustomProperties,
                                                              List<Integer> partitionIds) throws LoadException {
         TNetworkAddress address = null;
-        LOG.debug("begin to get latest offsets for partitions {} in topic: {}, task {}, job {}",
-                partitionIds, topic, taskId, jobId);
+        LOG.debug("begin to get latest offsets for partitions {} in topic: {}", partitionIds, topic);
         try {
             List<Long> backendIds = Catalog.getCurrentSystemInfo().getBackendIds(true);
             if (backendIds.isEmpty()) {
@@ -193,8 +191,8 @@ public class KafkaUtil {
                 for (InternalService.PIntegerPair pair : pairs) {
                     partitionOffsets.add(Pair.create(pair.getKey(), pair.getVal()));
                 }
-                LOG.debug("finish to get latest offsets for partitions {} in topic: {}, task {}, job {}",
-                        partitionOffsets, topic, taskId, jobId);
+                LOG.debug("finish to get latest offsets for partitions {} in topic: {}",
+                        partitionOffsets, topic);
                 return partitionOffsets;
             }
         } catch (Exception e) {
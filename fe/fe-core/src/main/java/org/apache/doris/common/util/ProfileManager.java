@@ -21,6 +21,7 @@ import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.profile.MultiProfileTreeBuilder;
 import org.apache.doris.common.profile.ProfileTreeBuilder;
 import org.apache.doris.common.profile.ProfileTreeNode;
+import org.apache.doris.thrift.TRuntimeProfileTree;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
@@ -28,18 +29,23 @@ import com.google.common.collect.Maps;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
 
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /*
  * if you want to visit the attribute(such as queryID,defaultDb)
@@ -47,8 +53,11 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
  * All attributes can be seen from the above.
  *
  * why the element in the finished profile array is not RuntimeProfile,
- * the purpose is let coordinator can destruct earlier(the fragment profile is in Coordinator)
+ * the purpose is let coordinator can destruct earlier(the fragment profile is in Coordinator).
+ * So the profile is serialized to thrift and compressed once when it's pushed, and rebuilt from the
+ * serialized form when it's read, eg, by ProfileAction or SHOW QUERY PROFILE.
  *
+ * A profile is pushed on the path of every query, so the manager is lock free.
  */
 public class ProfileManager {
     private static final Logger LOG = LogManager.getLogger(ProfileManager.class);
@@ -78,18 +87,68 @@ public class ProfileManager {
 
     private class ProfileElement {
         public Map<String, String> infoStrings = Maps.newHashMap();
-        public String profileContent = "";
+        // the deflated TRuntimeProfileTree of the profile
+        public byte[] compressedProfile;
+        public int profileLength;
+        // built from the serialized profile when it's read for the first time
         public MultiProfileTreeBuilder builder = null;
         public String errMsg = "";
-    }
 
-    // only protect queryIdDeque; queryIdToProfileMap is concurrent, no need to protect
-    private ReentrantReadWriteLock lock;
-    private ReadLock readLock;
-    private WriteLock writeLock;
+        public String getProfileContent() {
+            RuntimeProfile profile = rebuildProfile();
+            return profile == null ? "" : profile.toString();
+        }
+
+        private RuntimeProfile rebuildProfile() {
+            if (compressedProfile == null) {
+                return null;
+            }
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressedProfile);
+                byte[] content = new byte[profileLength];
+                int length = 0;
+                while (length < profileLength && !inflater.finished()) {
+                    length += inflater.inflate(content, length, profileLength - length);
+                }
+                TRuntimeProfileTree tree = new TRuntimeProfileTree();
+                new TDeserializer(new TCompactProtocol.Factory()).deserialize(tree, content);
+                RuntimeProfile profile = new RuntimeProfile(tree.getNodes().get(0).getName());
+                profile.update(tree);
+                return profile;
+            } catch (DataFormatException | TException e) {
+                LOG.warn("failed to rebuild profile of {}", infoStrings.get(QUERY_ID), e);
+                return null;
+            } finally {
+                inflater.end();
+            }
+        }
+
+        public synchronized MultiProfileTreeBuilder getBuilder() {
+            if (builder == null) {
+                RuntimeProfile profile = rebuildProfile();
+                if (profile == null) {
+                    errMsg = "failed to rebuild profile";
+                    return null;
+                }
+                MultiProfileTreeBuilder treeBuilder = new MultiProfileTreeBuilder(profile);
+                try {
+                    treeBuilder.build();
+                } catch (Exception e) {
+                    errMsg = e.getMessage();
+                    LOG.debug("failed to build profile tree", e);
+                    return null;
+                }
+                builder = treeBuilder;
+            }
+            return builder;
+        }
+    }
 
     // record the order of profiles by queryId
-    private Deque<String> queryIdDeque;
+    private ConcurrentLinkedDeque<String> queryIdDeque;
+    // number of query ids in queryIdDeque, because size() of the deque is not a constant-time operation
+    private AtomicInteger profileNum;
     private Map<String, ProfileElement> queryIdToProfileMap; // from QueryId to RuntimeProfile
 
     public static ProfileManager getInstance() {
@@ -104,10 +163,8 @@ public class ProfileManager {
     }
 
     private ProfileManager() {
-        lock = new ReentrantReadWriteLock(true);
-        readLock = lock.readLock();
-        writeLock = lock.writeLock();
-        queryIdDeque = new LinkedList<>();
+        queryIdDeque = new ConcurrentLinkedDeque<>();
+        profileNum = new AtomicInteger(0);
         queryIdToProfileMap = new ConcurrentHashMap<>();
     }
 
@@ -117,20 +174,33 @@ public class ProfileManager {
         for (String header : PROFILE_HEADERS) {
             element.infoStrings.put(header, summaryProfile.getInfoString(header));
         }
-        element.profileContent = profile.toString();
-
-        MultiProfileTreeBuilder builder = new MultiProfileTreeBuilder(profile);
         try {
-            builder.build();
-        } catch (Exception e) {
-            element.errMsg = e.getMessage();
-            LOG.debug("failed to build profile tree", e);
-            return element;
+            byte[] content = new TSerializer(new TCompactProtocol.Factory()).serialize(profile.toThrift());
+            element.profileLength = content.length;
+            element.compressedProfile = compress(content);
+        } catch (TException e) {
+            LOG.warn("failed to serialize profile of {}", element.infoStrings.get(QUERY_ID), e);
         }
-        element.builder = builder;
         return element;
     }
 
+    private static byte[] compress(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
     public void pushProfile(RuntimeProfile profile) {
         if (profile == null) {
             return;
@@ -147,18 +217,15 @@ public class ProfileManager {
 
         // a profile may be updated multiple times in queryIdToProfileMap,
         // and only needs to be inserted into the queryIdDeque for the first time.
-        queryIdToProfileMap.put(queryId, element);
-        writeLock.lock();
-        try {
-            if (!queryIdDeque.contains(queryId)) {
-                if (queryIdDeque.size() >= ARRAY_SIZE) {
-                    queryIdToProfileMap.remove(queryIdDeque.getFirst());
-                    queryIdDeque.removeFirst();
+        if (queryIdToProfileMap.put(queryId, element) == null) {
+            queryIdDeque.addLast(queryId);
+            if (profileNum.incrementAndGet() > ARRAY_SIZE) {
+                String oldestQueryId = queryIdDeque.pollFirst();
+                if (oldestQueryId != null) {
+                    queryIdToProfileMap.remove(oldestQueryId);
+                    profileNum.decrementAndGet();
                 }
-                queryIdDeque.addLast(queryId);
             }
-        } finally {
-            writeLock.unlock();
         }
     }
 
@@ -168,98 +235,60 @@ public class ProfileManager {
 
     public List<List<String>> getQueryWithType(ProfileType type) {
         List<List<String>> result = Lists.newArrayList();
-        readLock.lock();
-        try {
-            Iterator reverse = queryIdDeque.descendingIterator();
-            while (reverse.hasNext()) {
-                String  queryId = (String) reverse.next();
-                ProfileElement profileElement = queryIdToProfileMap.get(queryId);
-                if (profileElement == null) {
-                    continue;
-                }
-                Map<String, String> infoStrings = profileElement.infoStrings;
-                if (type != null && !infoStrings.get(QUERY_TYPE).equalsIgnoreCase(type.name())) {
-                    continue;
-                }
+        // the iterator is weakly consistent, it never blocks the pushing of profiles
+        Iterator<String> reverse = queryIdDeque.descendingIterator();
+        while (reverse.hasNext()) {
+            String queryId = reverse.next();
+            ProfileElement profileElement = queryIdToProfileMap.get(queryId);
+            if (profileElement == null) {
+                continue;
+            }
+            Map<String, String> infoStrings = profileElement.infoStrings;
+            if (type != null && !infoStrings.get(QUERY_TYPE).equalsIgnoreCase(type.name())) {
+                continue;
+            }
 
-                List<String> row = Lists.newArrayList();
-                for (String str : PROFILE_HEADERS) {
-                    row.add(infoStrings.get(str));
-                }
-                result.add(row);
+            List<String> row = Lists.newArrayList();
+            for (String str : PROFILE_HEADERS) {
+                row.add(infoStrings.get(str));
             }
-        } finally {
-            readLock.unlock();
+            result.add(row);
         }
         return result;
     }
 
     public String getProfile(String queryID) {
-        readLock.lock();
-        try {
-            ProfileElement element = queryIdToProfileMap.get(queryID);
-            if (element == null) {
-                return null;
-            }
+        ProfileElement element = queryIdToProfileMap.get(queryID);
+        if (element == null) {
+            return null;
+        }
+        return element.getProfileContent();
+    }
 
-            return element.profileContent;
-        } finally {
-            readLock.unlock();
+    private MultiProfileTreeBuilder getBuilder(String queryID, String errPrefix) throws AnalysisException {
+        ProfileElement element = queryIdToProfileMap.get(queryID);
+        MultiProfileTreeBuilder builder = element == null ? null : element.getBuilder();
+        if (builder == null) {
+            throw new AnalysisException(errPrefix + " err: " + (element == null ? "not found" : element.errMsg));
         }
+        return builder;
     }
 
     public ProfileTreeNode getFragmentProfileTree(String queryID, String executionId) throws AnalysisException {
-        MultiProfileTreeBuilder builder;
-        readLock.lock();
-        try {
-            ProfileElement element = queryIdToProfileMap.get(queryID);
-            if (element == null || element.builder == null) {
-                throw new AnalysisException("failed to get fragment profile tree. err: "
-                        + (element == null ? "not found" : element.errMsg));
-            }
-            builder = element.builder;
-        } finally {
-            readLock.unlock();
-        }
-        return builder.getFragmentTreeRoot(executionId);
+        return getBuilder(queryID, "failed to get fragment profile tree.").getFragmentTreeRoot(executionId);
     }
 
     public List<Triple<String, String, Long>> getFragmentInstanceList(String queryID,
             String executionId, String fragmentId)
             throws AnalysisException {
-        MultiProfileTreeBuilder builder;
-        readLock.lock();
-        try {
-            ProfileElement element = queryIdToProfileMap.get(queryID);
-            if (element == null || element.builder == null) {
-                throw new AnalysisException("failed to get instance list. err: "
-                        + (element == null ? "not found" : element.errMsg));
-            }
-            builder = element.builder;
-        } finally {
-            readLock.unlock();
-        }
-
-        return builder.getInstanceList(executionId, fragmentId);
+        return getBuilder(queryID, "failed to get instance list.").getInstanceList(executionId, fragmentId);
     }
 
     public ProfileTreeNode getInstanceProfileTree(String queryID, String executionId,
             String fragmentId, String instanceId)
             throws AnalysisException {
-        MultiProfileTreeBuilder builder;
-        readLock.lock();
-        try {
-            ProfileElement element = queryIdToProfileMap.get(queryID);
-            if (element == null || element.builder == null) {
-                throw new AnalysisException("failed to get instance profile tree. err: "
-                        + (element == null ? "not found" : element.errMsg));
-            }
-            builder = element.builder;
-        } finally {
-            readLock.unlock();
-        }
-
-        return builder.getInstanceTreeRoot(executionId, fragmentId, instanceId);
+        return getBuilder(queryID, "failed to get instance profile tree.")
+                .getInstanceTreeRoot(executionId, fragmentId, instanceId);
     }
 
     // Return the tasks info of the specified load job
@@ -275,16 +304,6 @@ public class ProfileManager {
     }
 
     private MultiProfileTreeBuilder getMultiProfileTreeBuilder(String jobId) throws AnalysisException {
-        readLock.lock();
-        try {
-            ProfileElement element = queryIdToProfileMap.get(jobId);
-            if (element == null || element.builder == null) {
-                throw new AnalysisException("failed to get task ids. err: "
-                        + (element == null ? "not found" : element.errMsg));
-            }
-            return element.builder;
-        } finally {
-            readLock.unlock();
-        }
+        return getBuilder(jobId, "failed to get task ids.");
     }
 }
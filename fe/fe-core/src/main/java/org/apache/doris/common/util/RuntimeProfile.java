@@ -195,6 +195,10 @@ public class RuntimeProfile {
             }
         }
 
+        if (node.isSetLocalTimePercent()) {
+            this.localTimePercent = node.local_time_percent;
+        }
+
         idx.setRef(idx.getRef() + 1);
 
         for (int i = 0; i < node.num_children; i++) {
@@ -218,6 +222,60 @@ public class RuntimeProfile {
         }
     }
 
+    // the reverse of update(), the profile can be rebuilt by updating an empty profile with the result
+    public TRuntimeProfileTree toThrift() {
+        TRuntimeProfileTree tree = new TRuntimeProfileTree();
+        tree.setNodes(Lists.newArrayList());
+        toThrift(tree.nodes, true);
+        return tree;
+    }
+
+    // preorder traversal
+    private void toThrift(List<TRuntimeProfileNode> nodes, boolean indent) {
+        TRuntimeProfileNode node = new TRuntimeProfileNode();
+        node.setName(name);
+        node.setIndent(indent);
+        node.setLocalTimePercent(localTimePercent);
+
+        counterLock.readLock().lock();
+        try {
+            node.setCounters(Lists.newArrayList());
+            for (Map.Entry<String, Counter> entry : counterMap.entrySet()) {
+                Counter counter = entry.getValue();
+                node.addToCounters(new TCounter(entry.getKey(), counter.getType(), counter.getValue()));
+            }
+            node.setChildCountersMap(Maps.newHashMap());
+            for (Map.Entry<String, TreeSet<String>> entry : childCounterMap.entrySet()) {
+                node.child_counters_map.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+            }
+        } finally {
+            counterLock.readLock().unlock();
+        }
+
+        infoStringsLock.readLock().lock();
+        try {
+            node.setInfoStrings(Maps.newHashMap());
+            for (String key : infoStringsDisplayOrder) {
+                // thrift doesn't accept a null value, which is printed as "null" anyway
+                node.info_strings.put(key, String.valueOf(infoStrings.get(key)));
+            }
+            node.setInfoStringsDisplayOrder(Lists.newArrayList(infoStringsDisplayOrder));
+        } finally {
+            infoStringsLock.readLock().unlock();
+        }
+
+        childLock.readLock().lock();
+        try {
+            node.setNumChildren(childList.size());
+            nodes.add(node);
+            for (Pair<RuntimeProfile, Boolean> pair : childList) {
+                pair.first.toThrift(nodes, pair.second);
+            }
+        } finally {
+            childLock.readLock().unlock();
+        }
+    }
+
     // Print the profile:
     //  1. Profile Name
     //  2. Info Strings
@@ -238,4 +238,18 @@ public class HMSExternalDataSource extends ExternalDataSource {
         makeSureInitialized();
         return Lists.newArrayList(dbNameToId.values());
     }
+
+    /**
+     * Invalidate the cached meta objects of the table, so that they are got from hive metastore again.
+     */
+    public void refreshTable(String dbName, String tblName) {
+        MetaObjCache.get().invalidateTable(hiveMetastoreUris, getRealTableName(dbName), tblName);
+    }
+
+    /**
+     * Invalidate the cached meta objects of all tables in the database.
+     */
+    public void refreshDb(String dbName) {
+        MetaObjCache.get().invalidateDb(hiveMetastoreUris, getRealTableName(dbName));
+    }
 }
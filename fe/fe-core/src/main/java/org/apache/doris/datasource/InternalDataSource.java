@@ -940,6 +940,7 @@ public class InternalDataSource implements DataSourceIf<Database> {
         }
 
         db.dropTable(table.getName());
+        Catalog.getCurrentCatalog().getStatisticsManager().getStatistics().removeTableStats(table.getId());
         if (!isForceDrop) {
             Catalog.getCurrentRecycleBin().recycleTable(db.getId(), table, isReplay);
         } else {
@@ -1554,7 +1555,7 @@ public class InternalDataSource implements DataSourceIf<Database> {
                     }
                 }
             }
-            olapTable.dropPartition(db.getId(), partitionName, clause.isForceDrop());
+            dropPartitionAndStats(db.getId(), olapTable, partitionName, clause.isForceDrop());
         }
 
         // log
@@ -1574,13 +1575,21 @@ public class InternalDataSource implements DataSourceIf<Database> {
             if (info.isTempPartition()) {
                 olapTable.dropTempPartition(info.getPartitionName(), true);
             } else {
-                olapTable.dropPartition(info.getDbId(), info.getPartitionName(), info.isForceDrop());
+                dropPartitionAndStats(info.getDbId(), olapTable, info.getPartitionName(), info.isForceDrop());
             }
         } finally {
             olapTable.writeUnlock();
         }
     }
 
+    private void dropPartitionAndStats(long dbId, OlapTable olapTable, String partitionName, boolean isForceDrop) {
+        Partition partition = olapTable.dropPartition(dbId, partitionName, isForceDrop);
+        if (partition != null) {
+            Catalog.getCurrentCatalog().getStatisticsManager().getStatistics()
+                    .removePartitionStats(olapTable.getId(), partition.getId());
+        }
+    }
+
     public void replayErasePartition(long partitionId) {
         Catalog.getCurrentRecycleBin().replayErasePartition(partitionId);
     }
@@ -17,11 +17,79 @@
 
 package org.apache.doris.datasource;
 
+import org.apache.doris.analysis.PartitionValue;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.HiveMetaStoreClientHelper;
+import org.apache.doris.catalog.ListPartitionItem;
+import org.apache.doris.catalog.PartitionItem;
+import org.apache.doris.catalog.PartitionKey;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.external.hive.util.HiveUtil;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
+import org.apache.hadoop.hive.metastore.Warehouse;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.MetaException;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
 /**
  * MetaObjCache caches and manages all meta objects fetched from external datasource.
  * So that we don't need to get meta objects every time.
+ *
+ * For hive metastore, it caches the following objects in several levels:
+ * 1. table: the remote hive table and its schema.
+ * 2. partition values: the values of all partitions of a table, which are used for partition pruning.
+ * 3. partition: the remote hive partition of the given values, mainly for its location.
+ * 4. file: the input splits of a table or partition location.
+ *
+ * All caches are bounded by size, and expire hive_meta_cache_expire_second after loaded.
+ * The table, partition values and file caches are also reloaded asynchronously when being accessed
+ * hive_meta_cache_refresh_interval_second after loaded, so that the queries don't wait for the metastore
+ * or HDFS. REFRESH TABLE and REFRESH DATABASE invalidate the related objects at once.
  */
 public class MetaObjCache {
+    private static final Logger LOG = LogManager.getLogger(MetaObjCache.class);
+
+    // the partition value of null, which can not be compared with others
+    public static final String HIVE_DEFAULT_PARTITION = "__HIVE_DEFAULT_PARTITION__";
+    // max number of partitions got from metastore in one rpc
+    private static final int MAX_PARTITION_NUM_PER_RPC = 1000;
+    private static final int RELOAD_QUEUE_SIZE = 1000;
+
     private static class SingletonHolder {
         private static final MetaObjCache INSTANCE = new MetaObjCache();
     }
@@ -29,4 +97,389 @@ public class MetaObjCache {
     public static MetaObjCache get() {
         return SingletonHolder.INSTANCE;
     }
+
+    private final LoadingCache<TableCacheKey, Table> tableCache;
+    private final LoadingCache<TableCacheKey, List<FieldSchema>> schemaCache;
+    private final LoadingCache<TableCacheKey, HivePartitionValues> partitionValuesCache;
+    private final Cache<PartitionCacheKey, Partition> partitionCache;
+    private final LoadingCache<FileCacheKey, List<InputSplit>> fileCache;
+
+    private MetaObjCache() {
+        // run the reload in the caller thread if the pool is full, the caller just waits as there is no cache
+        ThreadPoolExecutor reloadPool = ThreadPoolManager.newDaemonThreadPool(
+                Config.hive_meta_cache_loader_thread_num, Config.hive_meta_cache_loader_thread_num,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(RELOAD_QUEUE_SIZE),
+                new ThreadPoolExecutor.CallerRunsPolicy(), "hive-meta-cache-loader", true);
+
+        tableCache = newCacheBuilder(Config.max_hive_table_cache_num, true)
+                .build(CacheLoader.asyncReloading(CacheLoader.from(this::loadTable), reloadPool));
+        schemaCache = newCacheBuilder(Config.max_hive_table_cache_num, true)
+                .build(CacheLoader.asyncReloading(CacheLoader.from(this::loadSchema), reloadPool));
+        partitionValuesCache = newCacheBuilder(Config.max_hive_table_cache_num, true)
+                .build(CacheLoader.asyncReloading(CacheLoader.from(this::loadPartitionValues), reloadPool));
+        // the location of a partition rarely changes, no need to reload it
+        partitionCache = newCacheBuilder(Config.max_hive_partition_cache_num, false).build();
+        fileCache = newCacheBuilder(Config.max_hive_file_cache_num, true)
+                .build(CacheLoader.asyncReloading(CacheLoader.from(this::loadFiles), reloadPool));
+    }
+
+    private static CacheBuilder<Object, Object> newCacheBuilder(long maxSize, boolean refresh) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Config.hive_meta_cache_expire_second, TimeUnit.SECONDS);
+        if (refresh) {
+            builder.refreshAfterWrite(Config.hive_meta_cache_refresh_interval_second, TimeUnit.SECONDS);
+        }
+        return builder;
+    }
+
+    /**
+     * Get the remote hive table.
+     */
+    public Table getTable(String metastoreUri, String dbName, String tblName) throws DdlException {
+        return get(tableCache, new TableCacheKey(metastoreUri, dbName, tblName));
+    }
+
+    /**
+     * Get the schema of hive table, including the partition columns.
+     */
+    public List<FieldSchema> getSchema(String metastoreUri, String dbName, String tblName) throws DdlException {
+        return get(schemaCache, new TableCacheKey(metastoreUri, dbName, tblName));
+    }
+
+    /**
+     * Get the values of all partitions of hive table.
+     */
+    public HivePartitionValues getPartitionValues(String metastoreUri, String dbName, String tblName)
+            throws DdlException {
+        return get(partitionValuesCache, new TableCacheKey(metastoreUri, dbName, tblName));
+    }
+
+    /**
+     * Get the remote hive partitions of the given values. The partitions which do not exist any more are ignored.
+     */
+    public List<Partition> getPartitions(String metastoreUri, Table table, Collection<List<String>> partitionValues)
+            throws DdlException {
+        TableCacheKey tableKey = new TableCacheKey(metastoreUri, table.getDbName(), table.getTableName());
+        List<Partition> partitions = Lists.newArrayListWithCapacity(partitionValues.size());
+        List<List<String>> missingValues = Lists.newArrayList();
+        for (List<String> values : partitionValues) {
+            Partition partition = partitionCache.getIfPresent(new PartitionCacheKey(tableKey, values));
+            if (partition == null) {
+                missingValues.add(values);
+            } else {
+                partitions.add(partition);
+            }
+        }
+        if (!missingValues.isEmpty()) {
+            for (Partition partition : loadPartitions(metastoreUri, table, missingValues)) {
+                partitionCache.put(new PartitionCacheKey(tableKey, partition.getValues()), partition);
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Get the input splits of the files under the location of a hive table or partition.
+     */
+    public List<InputSplit> getSplits(String metastoreUri, String dbName, String tblName,
+            String location, String inputFormat) throws DdlException {
+        return get(fileCache, new FileCacheKey(new TableCacheKey(metastoreUri, dbName, tblName),
+                location, inputFormat));
+    }
+
+    /**
+     * Invalidate all cached meta objects of the hive table.
+     */
+    public void invalidateTable(String metastoreUri, String dbName, String tblName) {
+        TableCacheKey tableKey = new TableCacheKey(metastoreUri, dbName, tblName);
+        invalidate(key -> key.equals(tableKey));
+        LOG.info("invalidate cached meta objects of hive table {}.{} in {}", dbName, tblName, metastoreUri);
+    }
+
+    /**
+     * Invalidate all cached meta objects of the tables in the hive database.
+     */
+    public void invalidateDb(String metastoreUri, String dbName) {
+        invalidate(key -> key.metastoreUri.equals(metastoreUri) && key.dbName.equals(dbName));
+        LOG.info("invalidate cached meta objects of hive database {} in {}", dbName, metastoreUri);
+    }
+
+    private void invalidate(Predicate<TableCacheKey> predicate) {
+        tableCache.asMap().keySet().removeIf(predicate);
+        schemaCache.asMap().keySet().removeIf(predicate);
+        partitionValuesCache.asMap().keySet().removeIf(predicate);
+        partitionCache.asMap().keySet().removeIf(key -> predicate.test(key.tableKey));
+        fileCache.asMap().keySet().removeIf(key -> predicate.test(key.tableKey));
+    }
+
+    private static <K, V> V get(LoadingCache<K, V> cache, K key) throws DdlException {
+        try {
+            return cache.get(key);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HiveMetaLoadException) {
+                throw (DdlException) cause.getCause();
+            }
+            throw new DdlException("Failed to get hive meta of " + key + ": "
+                    + (cause == null ? e.getMessage() : cause.getMessage()));
+        }
+    }
+
+    private Table loadTable(TableCacheKey key) {
+        try {
+            return HiveMetaStoreClientHelper.getTable(key.dbName, key.tblName, key.metastoreUri);
+        } catch (DdlException e) {
+            throw new HiveMetaLoadException(e);
+        }
+    }
+
+    private List<FieldSchema> loadSchema(TableCacheKey key) {
+        try {
+            return ImmutableList.copyOf(HiveMetaStoreClientHelper.getSchema(key.dbName, key.tblName,
+                    key.metastoreUri));
+        } catch (DdlException e) {
+            throw new HiveMetaLoadException(e);
+        }
+    }
+
+    private HivePartitionValues loadPartitionValues(TableCacheKey key) {
+        try {
+            Table table = getTable(key.metastoreUri, key.dbName, key.tblName);
+            List<String> partitionNames;
+            HiveMetaStoreClient client = HiveMetaStoreClientHelper.getClient(key.metastoreUri);
+            try {
+                partitionNames = client.listPartitionNames(key.dbName, key.tblName, (short) -1);
+            } catch (TException e) {
+                LOG.warn("Hive metastore thrift exception: {}", e.getMessage());
+                throw new DdlException("Connect hive metastore failed. Error: " + e.getMessage());
+            } finally {
+                client.close();
+            }
+
+            List<Column> partitionColumns = Lists.newArrayList();
+            for (FieldSchema field : table.getPartitionKeys()) {
+                partitionColumns.add(new Column(field.getName(),
+                        HiveMetaStoreClientHelper.hiveTypeToDorisType(field.getType()),
+                        true, null, true, null, field.getComment()));
+            }
+            return new HivePartitionValues(partitionColumns, partitionNames);
+        } catch (DdlException e) {
+            throw new HiveMetaLoadException(e);
+        }
+    }
+
+    private List<Partition> loadPartitions(String metastoreUri, Table table, List<List<String>> partitionValues)
+            throws DdlException {
+        List<String> partitionNames = Lists.newArrayListWithCapacity(partitionValues.size());
+        try {
+            for (List<String> values : partitionValues) {
+                partitionNames.add(Warehouse.makePartName(table.getPartitionKeys(), values));
+            }
+        } catch (MetaException e) {
+            throw new DdlException("Failed to make partition name of hive table " + table.getTableName()
+                    + ". Error: " + e.getMessage());
+        }
+
+        List<Partition> partitions = Lists.newArrayListWithCapacity(partitionNames.size());
+        HiveMetaStoreClient client = HiveMetaStoreClientHelper.getClient(metastoreUri);
+        try {
+            for (List<String> names : Lists.partition(partitionNames, MAX_PARTITION_NUM_PER_RPC)) {
+                partitions.addAll(client.getPartitionsByNames(table.getDbName(), table.getTableName(), names));
+            }
+        } catch (TException e) {
+            LOG.warn("Hive metastore thrift exception: {}", e.getMessage());
+            throw new DdlException("Connect hive metastore failed. Error: " + e.getMessage());
+        } finally {
+            client.close();
+        }
+        return partitions;
+    }
+
+    private List<InputSplit> loadFiles(FileCacheKey key) {
+        try {
+            Configuration configuration = new Configuration();
+            InputFormat<?, ?> inputFormat = HiveUtil.getInputFormat(configuration, key.inputFormat, false);
+            JobConf jobConf = new JobConf(configuration);
+            FileInputFormat.setInputPaths(jobConf, key.location);
+            return ImmutableList.copyOf(inputFormat.getSplits(jobConf, 0));
+        } catch (Exception e) {
+            LOG.warn("Failed to get splits of {}", key.location, e);
+            throw new HiveMetaLoadException(new DdlException("Failed to get splits of " + key.location
+                    + ". Error: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The values of all partitions of a hive table.
+     * Each partition is identified by its index, and is converted to a list partition item for pruning.
+     */
+    public static class HivePartitionValues {
+        private final List<Column> partitionColumns;
+        private final List<List<String>> values;
+        private final Map<Long, PartitionItem> idToPartitionItem;
+        // the partitions which can not be converted to partition item, eg, with null value,
+        // they can not be pruned.
+        private final Set<Long> unprunableIds;
+
+        public HivePartitionValues(List<Column> partitionColumns, List<String> partitionNames) throws DdlException {
+            this.partitionColumns = ImmutableList.copyOf(partitionColumns);
+            List<List<String>> valuesList = Lists.newArrayListWithCapacity(partitionNames.size());
+            Map<Long, PartitionItem> items = Maps.newHashMapWithExpectedSize(partitionNames.size());
+            Set<Long> unprunable = Sets.newHashSet();
+            for (int i = 0; i < partitionNames.size(); i++) {
+                List<String> partValues;
+                try {
+                    partValues = Warehouse.getPartValuesFromPartName(partitionNames.get(i));
+                } catch (MetaException e) {
+                    throw new DdlException("Invalid hive partition name " + partitionNames.get(i));
+                }
+                valuesList.add(ImmutableList.copyOf(partValues));
+                long id = i;
+                if (partValues.size() != partitionColumns.size() || partValues.contains(HIVE_DEFAULT_PARTITION)) {
+                    unprunable.add(id);
+                    continue;
+                }
+                List<PartitionValue> keys = Lists.newArrayListWithCapacity(partValues.size());
+                for (String value : partValues) {
+                    keys.add(new PartitionValue(value));
+                }
+                try {
+                    PartitionKey key = PartitionKey.createListPartitionKey(keys, partitionColumns);
+                    items.put(id, new ListPartitionItem(Lists.newArrayList(key)));
+                } catch (AnalysisException e) {
+                    LOG.debug("failed to convert hive partition {} to partition key", partitionNames.get(i), e);
+                    unprunable.add(id);
+                }
+            }
+            this.values = ImmutableList.copyOf(valuesList);
+            this.idToPartitionItem = ImmutableMap.copyOf(items);
+            this.unprunableIds = ImmutableSet.copyOf(unprunable);
+        }
+
+        public List<Column> getPartitionColumns() {
+            return partitionColumns;
+        }
+
+        public int getPartitionNum() {
+            return values.size();
+        }
+
+        public List<String> getValues(long id) {
+            return values.get((int) id);
+        }
+
+        public Map<Long, PartitionItem> getIdToPartitionItem() {
+            return idToPartitionItem;
+        }
+
+        public Set<Long> getUnprunableIds() {
+            return unprunableIds;
+        }
+    }
+
+    // wrap the checked exception thrown when loading the cache
+    private static class HiveMetaLoadException extends RuntimeException {
+        HiveMetaLoadException(DdlException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private static class TableCacheKey {
+        private final String metastoreUri;
+        private final String dbName;
+        private final String tblName;
+
+        TableCacheKey(String metastoreUri, String dbName, String tblName) {
+            this.metastoreUri = metastoreUri;
+            this.dbName = dbName;
+            this.tblName = tblName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TableCacheKey)) {
+                return false;
+            }
+            TableCacheKey other = (TableCacheKey) o;
+            return metastoreUri.equals(other.metastoreUri) && dbName.equals(other.dbName)
+                    && tblName.equals(other.tblName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metastoreUri, dbName, tblName);
+        }
+
+        @Override
+        public String toString() {
+            return dbName + "." + tblName + " in " + metastoreUri;
+        }
+    }
+
+    private static class PartitionCacheKey {
+        private final TableCacheKey tableKey;
+        private final List<String> values;
+
+        PartitionCacheKey(TableCacheKey tableKey, List<String> values) {
+            this.tableKey = tableKey;
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PartitionCacheKey)) {
+                return false;
+            }
+            PartitionCacheKey other = (PartitionCacheKey) o;
+            return tableKey.equals(other.tableKey) && values.equals(other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableKey, values);
+        }
+    }
+
+    private static class FileCacheKey {
+        private final TableCacheKey tableKey;
+        private final String location;
+        private final String inputFormat;
+
+        FileCacheKey(TableCacheKey tableKey, String location, String inputFormat) {
+            this.tableKey = tableKey;
+            this.location = location;
+            this.inputFormat = inputFormat;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileCacheKey)) {
+                return false;
+            }
+            FileCacheKey other = (FileCacheKey) o;
+            return tableKey.equals(other.tableKey) && location.equals(other.location)
+                    && inputFormat.equals(other.inputFormat);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableKey, location, inputFormat);
+        }
+
+        @Override
+        public String toString() {
+            return location;
+        }
+    }
 }
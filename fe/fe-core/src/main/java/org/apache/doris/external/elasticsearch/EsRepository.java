@@ -24,19 +24,27 @@ import org.apache.doris.catalog.EsTable;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.TableIf.TableType;
 import org.apache.doris.common.Config;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.util.MasterDaemon;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 
 /**
  * It is responsible for loading all ES external table's meta-data such as `fields`, `partitions` periodically,
  * playing the `repo` role at Doris On ES
+ * <p>
+ * The meta-data of tables are synced in parallel by a bounded thread pool, and a table is not submitted again
+ * until its last sync finishes, so one slow ES cluster does not delay the other tables.
  */
 public class EsRepository extends MasterDaemon {
 
@@ -46,6 +54,12 @@ public class EsRepository extends MasterDaemon {
 
     private Map<Long, EsRestClient> esClients;
 
+    // ids of the tables being synced or waiting in the sync pool
+    private final Set<Long> syncingTableIds = Sets.newConcurrentHashSet();
+
+    private final ExecutorService syncPool = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.es_meta_sync_thread_num, Config.es_meta_sync_thread_num * 32, "es-meta-sync-pool", true);
+
     public EsRepository() {
         super("es repository", Config.es_state_sync_interval_second * 1000);
         esTables = Maps.newConcurrentMap();
@@ -72,17 +86,37 @@ public class EsRepository extends MasterDaemon {
     @Override
     protected void runAfterCatalogReady() {
         for (EsTable esTable : esTables.values()) {
+            if (!syncingTableIds.add(esTable.getId())) {
+                // the last sync of this table has not finished
+                continue;
+            }
+            // the pool blocks the submission if it is full, which bounds the pending syncs
             try {
-                esTable.syncTableMetaData();
-            } catch (Throwable e) {
-                LOG.warn("Exception happens when fetch index [{}] meta data from remote es cluster",
-                        esTable.getName(), e);
-                esTable.setEsTablePartitions(null);
-                esTable.setLastMetaDataSyncException(e);
+                syncPool.submit(() -> {
+                    try {
+                        syncTable(esTable);
+                    } finally {
+                        syncingTableIds.remove(esTable.getId());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the table is synced in the next round
+                syncingTableIds.remove(esTable.getId());
+                LOG.warn("failed to submit the meta data sync of table [{}]", esTable.getName(), e);
             }
         }
     }
 
+    private void syncTable(EsTable esTable) {
+        try {
+            esTable.syncTableMetaData();
+        } catch (Throwable e) {
+            LOG.warn("Exception happens when fetch index [{}] meta data from remote es cluster",
+                    esTable.getName(), e);
+            esTable.setLastMetaDataSyncException(e);
+        }
+    }
+
     // should call this method to init the state store after loading image
     // the rest of tables will be added or removed by replaying edit log
     // when fe is start to load image, should call this method to init the state store
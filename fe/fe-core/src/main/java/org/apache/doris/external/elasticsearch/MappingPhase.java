@@ -17,9 +17,14 @@
 
 package org.apache.doris.external.elasticsearch;
 
+import org.apache.commons.codec.digest.DigestUtils;
+
 /**
  * Get index mapping from remote ES Cluster, and resolved `keyword` and `doc_values` field
  * Later we can use it to parse all relevant indexes
+ * <p>
+ * ES does not support conditional requests on `{index}/_mapping`, so the digest of the last resolved mapping
+ * is kept, and the fields are resolved again only if the mapping is changed.
  */
 public class MappingPhase implements SearchPhase {
 
@@ -28,6 +33,9 @@ public class MappingPhase implements SearchPhase {
     // json response for `{index}/_mapping` API
     private String jsonMapping;
 
+    // md5 of the last mapping resolved successfully
+    private String resolvedMappingDigest;
+
     public MappingPhase(EsRestClient client) {
         this.client = client;
     }
@@ -39,7 +47,12 @@ public class MappingPhase implements SearchPhase {
 
     @Override
     public void postProcess(SearchContext context) {
+        String digest = DigestUtils.md5Hex(jsonMapping);
+        if (digest.equals(resolvedMappingDigest)) {
+            return;
+        }
         EsUtil.resolveFields(context, jsonMapping);
+        resolvedMappingDigest = digest;
     }
 
 }
@@ -40,7 +40,7 @@ public class SearchContext {
 
     // fetch string field value from not analyzed fields : userId => userId.keyword
     // this is activated when `enable_keyword_sniff = true`
-    private Map<String, String> fetchFieldsContext = Maps.newHashMap();
+    private Map<String, String> fetchFieldsContext = Maps.newConcurrentMap();
     // used to indicate which fields can get from ES docavalue
     // because elasticsearch can have "fields" feature, field can have
     // two or more types, the first type maybe have not docvalue but other
@@ -59,7 +59,7 @@ public class SearchContext {
     // {"city": "city.raw"}
     // use select city from table, if enable the docvalue, we will fetch the `city` field value from `city.raw`
     // fetch field value from doc_values, this is activated when `enable_docvalue_scan= true`
-    private Map<String, String> docValueFieldsContext = Maps.newHashMap();
+    private Map<String, String> docValueFieldsContext = Maps.newConcurrentMap();
 
     // sourceIndex is the name of index when creating ES external table
     private final String sourceIndex;
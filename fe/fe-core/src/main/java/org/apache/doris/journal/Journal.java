@@ -49,6 +49,10 @@ public interface Journal {
     // Write a journal and sync to disk
     public void write(short op, Writable writable) throws IOException;
 
+    // Write a batch of journals in one transaction and sync to disk.
+    // Return the id of the first journal in the batch.
+    public long write(JournalBatch batch) throws IOException;
+
     // Delete journals whose max id is less than deleteToJournalId
     public void deleteJournals(long deleteJournalToId);
 
@@ -0,0 +1,106 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.journal;
+
+import org.apache.doris.common.io.DataOutputBuffer;
+import org.apache.doris.common.io.Writable;
+
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * A batch of journals which will be written to the journal in one transaction.
+ * The journals are serialized when they are added, so the serialization cost is paid
+ * by the caller thread instead of the thread which commits the batch.
+ */
+public class JournalBatch {
+    private static final int OUTPUT_BUFFER_INIT_SIZE = 128;
+
+    private final List<Entity> entities;
+    private long totalSize = 0;
+
+    public JournalBatch() {
+        entities = Lists.newArrayList();
+    }
+
+    public JournalBatch(int capacity) {
+        entities = Lists.newArrayListWithCapacity(capacity);
+    }
+
+    // Serialize the journal into an entity which can be appended to a batch later.
+    public static Entity serialize(short op, Writable writable) throws IOException {
+        JournalEntity entity = new JournalEntity();
+        entity.setOpCode(op);
+        entity.setData(writable);
+
+        DataOutputBuffer buffer = new DataOutputBuffer(OUTPUT_BUFFER_INIT_SIZE);
+        entity.write(buffer);
+        return new Entity(op, buffer.getData(), buffer.getLength());
+    }
+
+    public void addJournal(short op, Writable writable) throws IOException {
+        addEntity(serialize(op, writable));
+    }
+
+    public void addEntity(Entity entity) {
+        entities.add(entity);
+        totalSize += entity.getLength();
+    }
+
+    public List<Entity> getJournalEntities() {
+        return entities;
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public static class Entity {
+        private final short op;
+        private final byte[] data;
+        private final int length;
+
+        public Entity(short op, byte[] data, int length) {
+            this.op = op;
+            this.data = data;
+            this.length = length;
+        }
+
+        public short getOpCode() {
+            return op;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.doris.common.io.DataOutputBuffer;
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.common.util.Util;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.metric.MetricRepo;
@@ -34,6 +35,7 @@ import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.LockMode;
 import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.je.rep.InsufficientLogException;
 import com.sleepycat.je.rep.NetworkRestore;
 import com.sleepycat.je.rep.NetworkRestoreConfig;
@@ -178,6 +180,94 @@ public class BDBJEJournal implements Journal { // CHECKSTYLE IGNORE THIS LINE: B
         }
     }
 
+    /*
+     * Write all journals of the batch in one bdb transaction, so that the whole batch
+     * only needs one quorum round trip. The journal ids of the batch are continuous,
+     * and are only taken after the transaction is committed.
+     */
+    @Override
+    public synchronized long write(JournalBatch batch) throws IOException {
+        List<JournalBatch.Entity> entities = batch.getJournalEntities();
+        long firstId = nextJournalId.get();
+        if (entities.isEmpty()) {
+            return firstId;
+        }
+        if (MetricRepo.isInit) {
+            MetricRepo.COUNTER_EDIT_LOG_SIZE_BYTES.increase(batch.getTotalSize());
+        }
+
+        TupleBinding<Long> idBinding = TupleBinding.getPrimitiveBinding(Long.class);
+        boolean writeSucceed = false;
+        for (int i = 0; i < RETRY_TIME; i++) {
+            Transaction txn = null;
+            try {
+                txn = bdbEnvironment.getReplicatedEnvironment().beginTransaction(null, null);
+                boolean allPut = true;
+                long id = firstId;
+                for (JournalBatch.Entity entity : entities) {
+                    DatabaseEntry theKey = new DatabaseEntry();
+                    idBinding.objectToEntry(id, theKey);
+                    DatabaseEntry theData = new DatabaseEntry(entity.getData(), 0, entity.getLength());
+                    if (currentJournalDB.put(txn, theKey, theData) != OperationStatus.SUCCESS) {
+                        allPut = false;
+                        break;
+                    }
+                    id++;
+                }
+                if (allPut) {
+                    txn.commit();
+                    txn = null;
+                    writeSucceed = true;
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("master write journal batch [{}, {}] finished. db name {}, current time {}",
+                                firstId, id - 1, currentJournalDB.getDatabaseName(), System.currentTimeMillis());
+                    }
+                    break;
+                }
+            } catch (DatabaseException e) {
+                LOG.error("catch an exception when writing batch to database. sleep and retry. first journal id {}",
+                        firstId, e);
+                try {
+                    Thread.sleep(5 * 1000);
+                } catch (InterruptedException e1) {
+                    LOG.warn("interrupted when waiting to retry writing journal batch. first journal id {}",
+                            firstId, e1);
+                }
+            } finally {
+                if (txn != null) {
+                    try {
+                        txn.abort();
+                    } catch (DatabaseException e) {
+                        LOG.warn("failed to abort journal batch transaction. first journal id {}", firstId, e);
+                    }
+                }
+            }
+        }
+
+        if (!writeSucceed) {
+            boolean onlyTimestamp = true;
+            for (JournalBatch.Entity entity : entities) {
+                if (entity.getOpCode() != OperationType.OP_TIMESTAMP) {
+                    onlyTimestamp = false;
+                    break;
+                }
+            }
+            if (onlyTimestamp) {
+                // same as the single write, do not exit if the batch only contains OP_TIMESTAMP.
+                LOG.warn("master can not achieve quorum. write timestamp batch fail. but will not exit.");
+                return firstId;
+            }
+            String msg = "write bdb batch failed. will exit. first journalId: " + firstId + ", batch size: "
+                    + entities.size() + ", bdb database Name: " + currentJournalDB.getDatabaseName();
+            LOG.error(msg);
+            Util.stdoutWithTime(msg);
+            System.exit(-1);
+        }
+
+        nextJournalId.set(firstId + entities.size());
+        return firstId;
+    }
+
     @Override
     public JournalEntity read(long journalId) {
         List<Long> dbNames = getDatabaseNames();
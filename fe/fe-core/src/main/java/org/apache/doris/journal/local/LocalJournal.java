@@ -19,6 +19,7 @@ package org.apache.doris.journal.local;
 
 import org.apache.doris.common.io.Writable;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.persist.EditLogFileOutputStream;
@@ -132,6 +133,24 @@ public class LocalJournal implements Journal {
         journalId.incrementAndGet();
     }
 
+    // write the journals of the batch one by one as the single write does, and flush them once
+    @Override
+    public synchronized long write(JournalBatch batch) throws IOException {
+        long firstId = journalId.get();
+        if (batch.isEmpty()) {
+            return firstId;
+        }
+        for (JournalBatch.Entity entity : batch.getJournalEntities()) {
+            // the entity is serialized as the op code followed by the data
+            outputStream.write(entity.getOpCode(),
+                    out -> out.write(entity.getData(), Short.BYTES, entity.getLength() - Short.BYTES));
+        }
+        outputStream.setReadyToFlush();
+        outputStream.flush();
+        journalId.addAndGet(batch.size());
+        return firstId;
+    }
+
     @Override
     public void deleteJournals(long deleteJournalToId) {
         try {
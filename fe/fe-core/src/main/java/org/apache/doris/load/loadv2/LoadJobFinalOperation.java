@@ -86,6 +86,19 @@ public class LoadJobFinalOperation extends TxnCommitAttachment implements Writab
         return failMsg;
     }
 
+    @Override
+    public long getLoadedRows() {
+        String normalRows = loadingStatus.getCounters().get(LoadJob.DPP_NORMAL_ALL);
+        if (normalRows == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(normalRows);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     @Override
     public void write(DataOutput out) throws IOException {
         super.write(out);
@@ -35,6 +35,7 @@ public class MiniLoadTxnCommitAttachment extends TxnCommitAttachment {
         super(TransactionState.LoadJobSourceType.BACKEND_STREAMING);
     }
 
+    @Override
     public long getLoadedRows() {
         return loadedRows;
     }
@@ -0,0 +1,266 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.routineload;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.LoadException;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.KafkaUtil;
+import org.apache.doris.common.util.MasterDaemon;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * KafkaMetaCache caches the partitions and the latest offsets of kafka topics for routine load scheduling,
+ * so that scheduling does not wait for the rpc to BE, which creates a kafka client and contacts the brokers.
+ *
+ * The meta is cached per kafka source, that is, the brokers, topic and properties.
+ * The jobs with the same source share the cached meta, and the latest offsets of all partitions
+ * requested by them are got in one rpc.
+ * The cached meta is refreshed asynchronously by this daemon after kafka_offsets_cache_ttl_ms and
+ * kafka_partitions_cache_ttl_ms, and removed if not used for kafka_meta_cache_expire_second.
+ *
+ * Only the partitions of a new source are got synchronously, because the job can not be scheduled without them.
+ */
+public class KafkaMetaCache extends MasterDaemon {
+    private static final Logger LOG = LogManager.getLogger(KafkaMetaCache.class);
+
+    private static final long CHECK_INTERVAL_MS = 200L;
+    private static final int REFRESH_QUEUE_SIZE = 1000;
+
+    private static final KafkaMetaCache INSTANCE = new KafkaMetaCache();
+
+    private final Map<KafkaSource, SourceMeta> sources = Maps.newConcurrentMap();
+    private final ThreadPoolExecutor refreshPool;
+
+    public static KafkaMetaCache getInstance() {
+        return INSTANCE;
+    }
+
+    private KafkaMetaCache() {
+        super("kafka-meta-cache", CHECK_INTERVAL_MS);
+        // the refresh is abandoned instead of blocking the caller if the queue is full,
+        // and it will be submitted again in the next round
+        refreshPool = ThreadPoolManager.newDaemonThreadPool(Config.kafka_meta_refresh_thread_num,
+                Config.kafka_meta_refresh_thread_num, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_SIZE), new ThreadPoolExecutor.AbortPolicy(),
+                "kafka-meta-refresh-pool", true);
+    }
+
+    /**
+     * Get the partitions of the kafka topic.
+     * The cached partitions are returned if any, otherwise they are got from kafka synchronously.
+     * Throw exception if the last refresh failed, so that the job can be paused as the partitions are unknown.
+     */
+    public List<Integer> getPartitions(String brokerList, String topic, Map<String, String> convertedCustomProperties)
+            throws UserException {
+        SourceMeta meta = getSourceMeta(brokerList, topic, convertedCustomProperties);
+        meta.partitionsRequested = true;
+        if (meta.partitions == null && meta.partitionsErrMsg == null) {
+            refreshPartitions(meta);
+        }
+        if (meta.partitionsErrMsg != null) {
+            throw new LoadException(meta.partitionsErrMsg);
+        }
+        return meta.partitions;
+    }
+
+    /**
+     * Get the cached latest offsets of the kafka partitions, it never blocks.
+     * The partitions which are not cached yet are absent in the result, and will be got in the next refresh.
+     * The returned offset is the "next" offset of the partition, that is, the offset of the last message + 1.
+     */
+    public Map<Integer, Long> getLatestOffsets(String brokerList, String topic,
+            Map<String, String> convertedCustomProperties, Collection<Integer> partitionIds) {
+        SourceMeta meta = getSourceMeta(brokerList, topic, convertedCustomProperties);
+        Map<Integer, Long> offsets = Maps.newHashMapWithExpectedSize(partitionIds.size());
+        boolean hasNewPartition = false;
+        for (Integer partitionId : partitionIds) {
+            if (meta.requestedPartitions.add(partitionId)) {
+                hasNewPartition = true;
+            }
+            Long offset = meta.latestOffsets.get(partitionId);
+            if (offset != null) {
+                offsets.put(partitionId, offset);
+            }
+        }
+        if (hasNewPartition) {
+            // no need to wait for the next refresh round
+            submitRefreshOffsets(meta);
+        }
+        return offsets;
+    }
+
+    private SourceMeta getSourceMeta(String brokerList, String topic, Map<String, String> convertedCustomProperties) {
+        KafkaSource source = new KafkaSource(brokerList, topic, convertedCustomProperties);
+        SourceMeta meta = sources.computeIfAbsent(source, SourceMeta::new);
+        meta.lastAccessTime = System.currentTimeMillis();
+        return meta;
+    }
+
+    @Override
+    protected void runAfterCatalogReady() {
+        long now = System.currentTimeMillis();
+        for (SourceMeta meta : sources.values()) {
+            if (now - meta.lastAccessTime > Config.kafka_meta_cache_expire_second * 1000L) {
+                sources.remove(meta.source);
+                LOG.info("remove the cached meta of kafka topic {} which is not used", meta.source.topic);
+                continue;
+            }
+            if (meta.partitionsRequested && now - meta.partitionsUpdateTime >= Config.kafka_partitions_cache_ttl_ms) {
+                submitRefresh(meta, meta.refreshingPartitions, () -> refreshPartitions(meta));
+            }
+            if (!meta.requestedPartitions.isEmpty()
+                    && now - meta.offsetsUpdateTime >= Config.kafka_offsets_cache_ttl_ms) {
+                submitRefreshOffsets(meta);
+            }
+        }
+    }
+
+    private void submitRefreshOffsets(SourceMeta meta) {
+        submitRefresh(meta, meta.refreshingOffsets, () -> refreshOffsets(meta));
+    }
+
+    // at most one refresh of the same kind is running for a source, guarded by the given flag
+    private void submitRefresh(SourceMeta meta, AtomicBoolean refreshing, Runnable refresh) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshPool.execute(() -> {
+                try {
+                    refresh.run();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            LOG.warn("too many kafka meta refresh tasks, skip refreshing kafka topic {}", meta.source.topic);
+        }
+    }
+
+    private void refreshPartitions(SourceMeta meta) {
+        KafkaSource source = meta.source;
+        try {
+            List<Integer> partitions = KafkaUtil.getAllKafkaPartitions(source.brokerList, source.topic,
+                    source.properties);
+            meta.partitions = ImmutableList.copyOf(partitions);
+            meta.partitionsErrMsg = null;
+        } catch (UserException e) {
+            meta.partitionsErrMsg = e.getMessage();
+        }
+        meta.partitionsUpdateTime = System.currentTimeMillis();
+    }
+
+    private void refreshOffsets(SourceMeta meta) {
+        KafkaSource source = meta.source;
+        List<Integer> partitionIds = Lists.newArrayList(meta.requestedPartitions);
+        List<Integer> partitions = meta.partitions;
+        if (partitions != null) {
+            // the partitions may be removed from the topic
+            partitionIds.retainAll(partitions);
+        }
+        if (!partitionIds.isEmpty()) {
+            try {
+                for (Pair<Integer, Long> pair : KafkaUtil.getLatestOffsets(source.brokerList, source.topic,
+                        source.properties, partitionIds)) {
+                    meta.latestOffsets.put(pair.first, pair.second);
+                }
+            } catch (LoadException e) {
+                // keep the stale offsets, and retry in the next round
+                LOG.warn("failed to refresh the latest offsets of kafka topic {}: {}", source.topic, e.getMessage());
+            }
+        }
+        meta.offsetsUpdateTime = System.currentTimeMillis();
+    }
+
+    private static class KafkaSource {
+        private final String brokerList;
+        private final String topic;
+        private final Map<String, String> properties;
+
+        KafkaSource(String brokerList, String topic, Map<String, String> properties) {
+            this.brokerList = brokerList;
+            this.topic = topic;
+            this.properties = properties == null ? ImmutableMap.of() : ImmutableMap.copyOf(properties);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof KafkaSource)) {
+                return false;
+            }
+            KafkaSource other = (KafkaSource) o;
+            return Objects.equals(brokerList, other.brokerList) && Objects.equals(topic, other.topic)
+                    && properties.equals(other.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(brokerList, topic, properties);
+        }
+    }
+
+    private static class SourceMeta {
+        private final KafkaSource source;
+        private volatile long lastAccessTime;
+
+        // null if never got
+        private volatile List<Integer> partitions = null;
+        // error of the last refresh, null if succeeded
+        private volatile String partitionsErrMsg = null;
+        private volatile long partitionsUpdateTime = 0;
+        // the partitions are only refreshed if they are used by any job without custom partitions
+        private volatile boolean partitionsRequested = false;
+        private final AtomicBoolean refreshingPartitions = new AtomicBoolean(false);
+
+        // partition id -> latest offset
+        private final Map<Integer, Long> latestOffsets = Maps.newConcurrentMap();
+        // the partitions whose latest offsets are requested by the jobs
+        private final Set<Integer> requestedPartitions = Sets.newConcurrentHashSet();
+        private volatile long offsetsUpdateTime = 0;
+        private final AtomicBoolean refreshingOffsets = new AtomicBoolean(false);
+
+        SourceMeta(KafkaSource source) {
+            this.source = source;
+        }
+    }
+}
@@ -89,7 +89,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
     private Map<String, String> convertedCustomProperties = Maps.newHashMap();
 
     // The latest offset of each partition fetched from kafka server.
-    // Will be updated periodically by calling hasMoreDataToConsume()
+    // Will be updated periodically by calling hasMoreDataToConsume(), from the offsets cached in KafkaMetaCache
     private Map<Integer, Long> cachedPartitionWithLatestOffsets = Maps.newConcurrentMap();
 
     // The kafka partition fetch from kafka server.
@@ -380,7 +380,7 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
 
     private List<Integer> getAllKafkaPartitions() throws UserException {
         convertCustomProperties(false);
-        return KafkaUtil.getAllKafkaPartitions(brokerList, topic, convertedCustomProperties);
+        return KafkaMetaCache.getInstance().getPartitions(brokerList, topic, convertedCustomProperties);
     }
 
     public static KafkaRoutineLoadJob fromCreateStmt(CreateRoutineLoadStmt stmt) throws UserException {
@@ -689,18 +689,11 @@ public class KafkaRoutineLoadJob extends RoutineLoadJob {
             }
         }
 
-        try {
-            // all offsets to be consumed are newer than offsets in cachedPartitionWithLatestOffsets,
-            // maybe the cached offset is out-of-date, fetch from kafka server again
-            List<Pair<Integer, Long>> tmp = KafkaUtil.getLatestOffsets(id, taskId, getBrokerList(),
-                    getTopic(), getConvertedCustomProperties(), Lists.newArrayList(partitionIdToOffset.keySet()));
-            for (Pair<Integer, Long> pair : tmp) {
-                cachedPartitionWithLatestOffsets.put(pair.first, pair.second);
-            }
-        } catch (Exception e) {
-            LOG.warn("failed to get latest partition offset. {}", e.getMessage(), e);
-            return false;
-        }
+        // all offsets to be consumed are newer than offsets in cachedPartitionWithLatestOffsets,
+        // maybe the cached offset is out-of-date, get the ones refreshed by KafkaMetaCache.
+        // it does not wait for kafka server, if there is still no more data, the task will be checked again later.
+        cachedPartitionWithLatestOffsets.putAll(KafkaMetaCache.getInstance().getLatestOffsets(getBrokerList(),
+                getTopic(), getConvertedCustomProperties(), partitionIdToOffset.keySet()));
 
         // check again
         for (Map.Entry<Integer, Long> entry : partitionIdToOffset.entrySet()) {
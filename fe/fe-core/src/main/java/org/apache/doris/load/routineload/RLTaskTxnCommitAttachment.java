@@ -79,6 +79,7 @@ public class RLTaskTxnCommitAttachment extends TxnCommitAttachment {
         return filteredRows;
     }
 
+    @Override
     public long getLoadedRows() {
         return loadedRows;
     }
@@ -95,6 +96,11 @@ public class RLTaskTxnCommitAttachment extends TxnCommitAttachment {
         return receivedBytes;
     }
 
+    @Override
+    public long getLoadedBytes() {
+        return receivedBytes;
+    }
+
     public long getTaskExecutionTimeMs() {
         return taskExecutionTimeMs;
     }
@@ -502,6 +502,8 @@ public class MasterImpl {
         AgentTaskQueue.removeTask(publishVersionTask.getBackendId(),
                                   publishVersionTask.getTaskType(),
                                   publishVersionTask.getSignature());
+        // the transaction may be finished now
+        Catalog.getCurrentCatalog().getPublishVersionDaemon().wakeUp();
     }
 
     private void finishDropReplica(AgentTask task) {
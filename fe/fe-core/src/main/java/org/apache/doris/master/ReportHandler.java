@@ -33,6 +33,7 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.Tablet.TabletStatus;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.TabletChecker;
 import org.apache.doris.clone.TabletSchedCtx;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.MetaNotFoundException;
@@ -84,16 +85,36 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-
-public class ReportHandler extends Daemon {
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * Reports of different backends are handled concurrently by 'report_handler_thread_num' threads.
+ * Reports of the same backend are always handled by the same thread, in the order they are received.
+ *
+ * A backend always reports its full tasks, disks and tablets, so a report supersedes the pending one of
+ * the same type from the same backend. Instead of queuing both, the new report is merged into the pending
+ * one, so there is at most one pending report for each backend, and an out of date tablet report is never
+ * diffed with the meta.
+ */
+public class ReportHandler {
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<ReportTask> reportQueue = Queues.newLinkedBlockingQueue();
+    // the tablet reports handled in this period share the same storage medium map
+    private static final long STORAGE_MEDIUM_MAP_EXPIRE_MS = 10 * 1000L;
+
+    // backend id -> pending report
+    private final ConcurrentMap<Long, ReportTask> pendingReports = Maps.newConcurrentMap();
+    // the backend ids with pending reports, a backend is always put into the same queue
+    private final List<BlockingQueue<Long>> reportQueues = Lists.newArrayList();
+
+    private static HashMap<Long, TStorageMedium> sharedStorageMediumMap = null;
+    private static long storageMediumMapUpdateTime = 0;
 
     private enum ReportType {
         UNKNOWN,
@@ -103,16 +124,33 @@ public class ReportHandler extends Daemon {
     }
 
     public ReportHandler() {
+        int threadNum = Math.max(1, Config.report_handler_thread_num);
+        for (int i = 0; i < threadNum; i++) {
+            reportQueues.add(Queues.newLinkedBlockingQueue());
+        }
+
         GaugeMetric<Long> gauge = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return (long) pendingReports.size();
             }
         };
         MetricRepo.PALO_METRIC_REGISTER.addPaloMetrics(gauge);
     }
 
+    public void start() {
+        for (int i = 0; i < reportQueues.size(); i++) {
+            BlockingQueue<Long> reportQueue = reportQueues.get(i);
+            new Daemon("report-handler-" + i) {
+                @Override
+                protected void runOneCycle() {
+                    handleReports(reportQueue);
+                }
+            }.start();
+        }
+    }
+
     public TMasterResult handleReport(TReportRequest request) throws TException {
         TMasterResult result = new TMasterResult();
         TStatus tStatus = new TStatus(TStatusCode.OK);
@@ -170,26 +208,79 @@ public class ReportHandler extends Daemon {
         } catch (Exception e) {
             tStatus.setStatusCode(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + pendingReports.size());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setErrorMsgs(errorMsgs);
             return result;
         }
 
         LOG.info("receive report from be {}. type: {}, current queue size: {}",
-                backend.getId(), reportType, reportQueue.size());
+                backend.getId(), reportType, pendingReports.size());
         return result;
     }
 
-    private void putToQueue(ReportTask reportTask) throws Exception {
-        int currentSize = reportQueue.size();
-        if (currentSize > Config.report_queue_size) {
-            LOG.warn("the report queue size exceeds the limit: {}. current: {}", Config.report_queue_size, currentSize);
-            throw new Exception(
-                    "the report queue size exceeds the limit: "
-                            + Config.report_queue_size + ". current: " + currentSize);
+    // return the queue the reports of the backend are put into
+    BlockingQueue<Long> getReportQueue(long beId) {
+        return reportQueues.get((int) (beId % reportQueues.size()));
+    }
+
+    void putToQueue(ReportTask reportTask) throws Exception {
+        long beId = reportTask.beId;
+        // merging into a pending report does not increase the queue size, so it is never rejected
+        if (!pendingReports.containsKey(beId)) {
+            int currentSize = pendingReports.size();
+            if (currentSize > Config.report_queue_size) {
+                LOG.warn("the report queue size exceeds the limit: {}. current: {}",
+                        Config.report_queue_size, currentSize);
+                throw new Exception(
+                        "the report queue size exceeds the limit: "
+                                + Config.report_queue_size + ". current: " + currentSize);
+            }
+        }
+
+        boolean[] isNew = {false};
+        pendingReports.compute(beId, (id, pendingReport) -> {
+            if (pendingReport == null) {
+                isNew[0] = true;
+                return reportTask;
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_REPORT_MERGED.increase(1L);
+            }
+            return pendingReport.merge(reportTask);
+        });
+        if (isNew[0]) {
+            getReportQueue(beId).put(beId);
+        }
+    }
+
+    private void handleReports(BlockingQueue<Long> reportQueue) {
+        while (true) {
+            try {
+                handleOneReport(reportQueue);
+            } catch (InterruptedException e) {
+                LOG.warn("got interupted exception when executing report", e);
+            }
+        }
+    }
+
+    // take a backend from the queue and handle its pending report
+    void handleOneReport(BlockingQueue<Long> reportQueue) throws InterruptedException {
+        long beId = reportQueue.take();
+        // the reports received from now on will be handled next time
+        ReportTask task = pendingReports.remove(beId);
+        if (task == null) {
+            return;
         }
-        reportQueue.put(reportTask);
+        long start = System.currentTimeMillis();
+        task.exec();
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_REPORT_LATENCY.update(System.currentTimeMillis() - start);
+        }
+    }
+
+    ReportTask getPendingReport(long beId) {
+        return pendingReports.get(beId);
     }
 
     private Map<Long, TTablet> buildTabletMap(List<TTablet> tabletList) {
@@ -204,7 +295,7 @@ public class ReportHandler extends Daemon {
         return tabletMap;
     }
 
-    private class ReportTask extends MasterTask {
+    static class ReportTask extends MasterTask {
 
         private long beId;
         private Map<TTaskType, Set<Long>> tasks;
@@ -222,6 +313,15 @@ public class ReportHandler extends Daemon {
             this.reportVersion = reportVersion;
         }
 
+        // return a report with the newer one of each type
+        public ReportTask merge(ReportTask newReport) {
+            return new ReportTask(beId,
+                    newReport.tasks != null ? newReport.tasks : tasks,
+                    newReport.disks != null ? newReport.disks : disks,
+                    newReport.tablets != null ? newReport.tablets : tablets,
+                    newReport.tablets != null ? newReport.reportVersion : reportVersion);
+        }
+
         @Override
         protected void exec() {
             if (tasks != null) {
@@ -249,7 +349,7 @@ public class ReportHandler extends Daemon {
 
         // storage medium map
         HashMap<Long, TStorageMedium> storageMediumMap = Config.disable_storage_medium_check
-                ? Maps.newHashMap() : Catalog.getCurrentCatalog().getPartitionIdToStorageMediumMap();
+                ? Maps.newHashMap() : getStorageMediumMap();
 
         // db id -> tablet id
         ListMultimap<Long, Long> tabletSyncMap = LinkedListMultimap.create();
@@ -280,6 +380,9 @@ public class ReportHandler extends Daemon {
                 tabletRecoveryMap,
                 tabletToInMemory);
 
+        // tablets whose replicas are changed by this report should be checked by TabletChecker in next round
+        markTabletsDirty(tabletSyncMap.values(), tabletDeleteFromMeta.values(), tabletRecoveryMap.values());
+
         // 2. sync
         if (!tabletSyncMap.isEmpty()) {
             sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
@@ -391,6 +494,27 @@ public class ReportHandler extends Daemon {
                 backendId, (System.currentTimeMillis() - start));
     }
 
+    // Building the map traverses all partitions, so it is shared by the reports of different backends
+    // handled at almost the same time, eg, after the master is restarted.
+    private static synchronized HashMap<Long, TStorageMedium> getStorageMediumMap() {
+        long now = System.currentTimeMillis();
+        if (sharedStorageMediumMap == null || now - storageMediumMapUpdateTime > STORAGE_MEDIUM_MAP_EXPIRE_MS) {
+            sharedStorageMediumMap = Catalog.getCurrentCatalog().getPartitionIdToStorageMediumMap();
+            storageMediumMapUpdateTime = now;
+        }
+        return sharedStorageMediumMap;
+    }
+
+    @SafeVarargs
+    private static void markTabletsDirty(Collection<Long>... tabletIdsList) {
+        TabletChecker tabletChecker = Catalog.getCurrentCatalog().getTabletChecker();
+        for (Collection<Long> tabletIds : tabletIdsList) {
+            for (long tabletId : tabletIds) {
+                tabletChecker.markTabletDirty(tabletId);
+            }
+        }
+    }
+
     private static void sync(Map<Long, TTablet> backendTablets, ListMultimap<Long, Long> tabletSyncMap,
                              long backendId, long backendReportVersion) {
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
@@ -990,17 +1114,4 @@ public class ReportHandler extends Daemon {
             olapTable.writeUnlock();
         }
     }
-
-    @Override
-    protected void runOneCycle() {
-        while (true) {
-            ReportTask task = null;
-            try {
-                task = reportQueue.take();
-                task.exec();
-            } catch (InterruptedException e) {
-                LOG.warn("got interupted exception when executing report", e);
-            }
-        }
-    }
 }
@@ -33,10 +33,15 @@ import org.apache.doris.metric.Metric.MetricUnit;
 import org.apache.doris.monitor.jvm.JvmService;
 import org.apache.doris.monitor.jvm.JvmStats;
 import org.apache.doris.persist.EditLog;
+import org.apache.doris.persist.meta.MetaReader;
+import org.apache.doris.persist.meta.MetaWriter;
+import org.apache.doris.persist.meta.PersistMetaModules;
 import org.apache.doris.qe.QeProcessorImpl;
+import org.apache.doris.qe.cache.FeResultCache;
 import org.apache.doris.service.ExecuteEnv;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.task.AgentTaskDispatcher;
 
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Histogram;
@@ -64,6 +69,8 @@ public final class MetricRepo {
 
     public static final String TABLET_NUM = "tablet_num";
     public static final String TABLET_MAX_COMPACTION_SCORE = "tablet_max_compaction_score";
+    public static final String AGENT_TASK_PENDING_NUM = "agent_task_pending_num";
+    public static final String AGENT_TASK_IN_FLIGHT_NUM = "agent_task_in_flight_num";
 
     public static LongCounterMetric COUNTER_REQUEST_ALL;
     public static LongCounterMetric COUNTER_QUERY_BEGIN;
@@ -73,6 +80,7 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_QUERY_OLAP_TABLE;
     public static LongCounterMetric COUNTER_CACHE_MODE_SQL;
     public static LongCounterMetric COUNTER_CACHE_HIT_SQL;
+    public static LongCounterMetric COUNTER_CACHE_HIT_SQL_FE;
     public static LongCounterMetric COUNTER_CACHE_MODE_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_HIT_PARTITION;
     public static LongCounterMetric COUNTER_CACHE_PARTITION_ALL;
@@ -99,9 +107,17 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_RECEIVED_BYTES;
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_ERROR_ROWS;
     public static LongCounterMetric COUNTER_HIT_SQL_BLOCK_RULE;
+    public static LongCounterMetric COUNTER_REPORT_MERGED;
+    public static LongCounterMetric COUNTER_AGENT_TASK_RPC_SENT;
+    public static LongCounterMetric COUNTER_AGENT_TASK_RPC_FAILED;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
+    public static Histogram HISTO_EDIT_LOG_BATCH_SIZE;
+    public static Histogram HISTO_EDIT_LOG_BATCH_WRITE_LATENCY;
+    public static Histogram HISTO_REPORT_LATENCY;
+    public static Histogram HISTO_TXN_COMMIT_TO_PUBLISH_LATENCY;
+    public static Histogram HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY;
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -280,6 +296,17 @@ public final class MetricRepo {
         COUNTER_CACHE_HIT_SQL = new LongCounterMetric("cache_hit_sql", MetricUnit.REQUESTS,
                 "total hits query by sql model");
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_CACHE_HIT_SQL);
+        COUNTER_CACHE_HIT_SQL_FE = new LongCounterMetric("cache_hit_sql_fe", MetricUnit.REQUESTS,
+                "total hits query by sql model in the fe local cache");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_CACHE_HIT_SQL_FE);
+        GaugeMetric<Long> feSqlCacheBytes = new GaugeMetric<Long>("cache_fe_sql_used_bytes", MetricUnit.BYTES,
+                "bytes of the results in the fe local sql cache") {
+            @Override
+            public Long getValue() {
+                return FeResultCache.getInstance().getUsedBytes();
+            }
+        };
+        PALO_METRIC_REGISTER.addPaloMetrics(feSqlCacheBytes);
         COUNTER_CACHE_MODE_PARTITION = new LongCounterMetric("query_mode_partition", MetricUnit.REQUESTS,
                 "total query of partition mode");
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_CACHE_MODE_PARTITION);
@@ -335,6 +362,28 @@ public final class MetricRepo {
         COUNTER_IMAGE_CLEAN_FAILED.addLabel(new MetricLabel("type", "failed"));
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_IMAGE_CLEAN_FAILED);
 
+        // cost of loading and saving each meta module of image
+        for (String module : PersistMetaModules.MODULE_NAMES) {
+            GaugeMetric<Long> loadCost = new GaugeMetric<Long>("image_module_cost_ms", MetricUnit.MILLISECONDS,
+                    "cost of the last load or save of meta module in image") {
+                @Override
+                public Long getValue() {
+                    return MetaReader.getModuleLoadCostMs(module);
+                }
+            };
+            loadCost.addLabel(new MetricLabel("type", "load")).addLabel(new MetricLabel("module", module));
+            PALO_METRIC_REGISTER.addPaloMetrics(loadCost);
+            GaugeMetric<Long> saveCost = new GaugeMetric<Long>("image_module_cost_ms", MetricUnit.MILLISECONDS,
+                    "cost of the last load or save of meta module in image") {
+                @Override
+                public Long getValue() {
+                    return MetaWriter.getModuleSaveCostMs(module);
+                }
+            };
+            saveCost.addLabel(new MetricLabel("type", "save")).addLabel(new MetricLabel("module", module));
+            PALO_METRIC_REGISTER.addPaloMetrics(saveCost);
+        }
+
         // edit log clean
         COUNTER_EDIT_LOG_CLEAN_SUCCESS = new LongCounterMetric("edit_log_clean", MetricUnit.OPERATIONS,
                 "counter of edit log succeed in cleaning");
@@ -371,11 +420,30 @@ public final class MetricRepo {
         COUNTER_HIT_SQL_BLOCK_RULE = new LongCounterMetric("counter_hit_sql_block_rule", MetricUnit.ROWS,
                 "total hit sql block rule query");
         PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_HIT_SQL_BLOCK_RULE);
+        COUNTER_REPORT_MERGED = new LongCounterMetric("report_merged", MetricUnit.REQUESTS,
+                "total backend reports merged into the pending ones of the same backend");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_REPORT_MERGED);
+        COUNTER_AGENT_TASK_RPC_SENT = new LongCounterMetric("agent_task_rpc_sent", MetricUnit.NOUNIT,
+                "total agent tasks sent to backends by the async dispatcher");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_AGENT_TASK_RPC_SENT);
+        COUNTER_AGENT_TASK_RPC_FAILED = new LongCounterMetric("agent_task_rpc_failed", MetricUnit.NOUNIT,
+                "total agent tasks failed to be sent to backends by the async dispatcher");
+        PALO_METRIC_REGISTER.addPaloMetrics(COUNTER_AGENT_TASK_RPC_FAILED);
         // 3. histogram
         HISTO_QUERY_LATENCY = METRIC_REGISTER.histogram(
                 MetricRegistry.name("query", "latency", "ms"));
         HISTO_EDIT_LOG_WRITE_LATENCY = METRIC_REGISTER.histogram(
                 MetricRegistry.name("editlog", "write", "latency", "ms"));
+        HISTO_EDIT_LOG_BATCH_SIZE = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "batch", "size"));
+        HISTO_EDIT_LOG_BATCH_WRITE_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "batch", "write", "latency", "ms"));
+        HISTO_REPORT_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("report", "latency", "ms"));
+        HISTO_TXN_COMMIT_TO_PUBLISH_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("txn", "commit_to_publish", "latency", "ms"));
+        HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY = METRIC_REGISTER.histogram(
+                MetricRegistry.name("txn", "commit_to_visible", "latency", "ms"));
 
         METRIC_REGISTER.register(MetricRegistry.name("palo", "fe", "query", "max_instances_num_per_user"),
                 (Gauge<Integer>) () -> {
@@ -508,6 +576,8 @@ public final class MetricRepo {
         // remove all previous 'tablet' metric
         PALO_METRIC_REGISTER.removeMetrics(TABLET_NUM);
         PALO_METRIC_REGISTER.removeMetrics(TABLET_MAX_COMPACTION_SCORE);
+        PALO_METRIC_REGISTER.removeMetrics(AGENT_TASK_PENDING_NUM);
+        PALO_METRIC_REGISTER.removeMetrics(AGENT_TASK_IN_FLIGHT_NUM);
 
         SystemInfoService infoService = Catalog.getCurrentSystemInfo();
         TabletInvertedIndex invertedIndex = Catalog.getCurrentInvertedIndex();
@@ -547,6 +617,27 @@ public final class MetricRepo {
             tabletMaxCompactionScore.addLabel(new MetricLabel("backend", be.getHost() + ":" + be.getHeartbeatPort()));
             PALO_METRIC_REGISTER.addPaloMetrics(tabletMaxCompactionScore);
 
+            // agent tasks queued and in flight of each backends, which show the backpressure of the backends
+            GaugeMetric<Long> agentTaskPendingNum = (GaugeMetric<Long>) new GaugeMetric<Long>(
+                    AGENT_TASK_PENDING_NUM, MetricUnit.NOUNIT, "agent tasks waiting to be sent") {
+                @Override
+                public Long getValue() {
+                    return (long) AgentTaskDispatcher.getInstance().getPendingNum(beId);
+                }
+            };
+            agentTaskPendingNum.addLabel(new MetricLabel("backend", be.getHost() + ":" + be.getHeartbeatPort()));
+            PALO_METRIC_REGISTER.addPaloMetrics(agentTaskPendingNum);
+
+            GaugeMetric<Long> agentTaskInFlightNum = (GaugeMetric<Long>) new GaugeMetric<Long>(
+                    AGENT_TASK_IN_FLIGHT_NUM, MetricUnit.REQUESTS, "agent task rpcs in flight") {
+                @Override
+                public Long getValue() {
+                    return (long) AgentTaskDispatcher.getInstance().getInFlightNum(beId);
+                }
+            };
+            agentTaskInFlightNum.addLabel(new MetricLabel("backend", be.getHost() + ":" + be.getHeartbeatPort()));
+            PALO_METRIC_REGISTER.addPaloMetrics(agentTaskInFlightNum);
+
         } // end for backends
     }
 
@@ -0,0 +1,375 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.DecimalLiteral;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LargeIntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Values of the binary protocol, which is used by COM_STMT_EXECUTE of prepared statements.
+ * see https://dev.mysql.com/doc/internals/en/binary-protocol-value.html
+ *
+ * The parameters sent by client are decoded to literals, and the result rows, which are always
+ * encoded in text protocol by backends, are converted to binary protocol rows.
+ */
+public class MysqlBinaryProtocol {
+    // the high byte of a parameter type is the flag, and the highest bit of it means unsigned.
+    public static final int UNSIGNED_FLAG = 0x8000;
+
+    private static final int NULL_VALUE = 0xFB;
+    private static final int ROW_HEADER = 0x00;
+    // the first 2 bits of the null bitmap of a result row are reserved
+    private static final int ROW_NULL_BITMAP_OFFSET = 2;
+
+    public static boolean isNull(byte[] nullBitmap, int index, int offset) {
+        int bit = index + offset;
+        return (nullBitmap[bit / 8] & (1 << (bit % 8))) != 0;
+    }
+
+    // Read one parameter value of the given type, the type is the 2 bytes sent in COM_STMT_EXECUTE.
+    public static LiteralExpr readParam(ByteBuffer buffer, int type) throws AnalysisException {
+        MysqlColType colType = getParamType(type);
+        boolean unsigned = (type & UNSIGNED_FLAG) != 0;
+        switch (colType) {
+            case MYSQL_TYPE_NULL:
+                return new NullLiteral();
+            case MYSQL_TYPE_TINY:
+                return new IntLiteral(unsigned ? MysqlProto.readInt1(buffer) : MysqlProto.readByte(buffer));
+            case MYSQL_TYPE_SHORT:
+            case MYSQL_TYPE_YEAR:
+                return new IntLiteral(unsigned ? MysqlProto.readInt2(buffer) : (short) MysqlProto.readInt2(buffer));
+            case MYSQL_TYPE_LONG:
+            case MYSQL_TYPE_INT24: {
+                int value = MysqlProto.readInt4(buffer);
+                return new IntLiteral(unsigned ? value & 0xFFFFFFFFL : value);
+            }
+            case MYSQL_TYPE_LONGLONG: {
+                long value = MysqlProto.readInt8(buffer);
+                if (unsigned && value < 0) {
+                    return new LargeIntLiteral(Long.toUnsignedString(value));
+                }
+                return new IntLiteral(value);
+            }
+            case MYSQL_TYPE_FLOAT:
+                return new FloatLiteral((double) Float.intBitsToFloat(MysqlProto.readInt4(buffer)), Type.FLOAT);
+            case MYSQL_TYPE_DOUBLE:
+                return new FloatLiteral(Double.longBitsToDouble(MysqlProto.readInt8(buffer)), Type.DOUBLE);
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+            case MYSQL_TYPE_TIMESTAMP:
+                return readDateParam(buffer, colType == MysqlColType.MYSQL_TYPE_DATE);
+            case MYSQL_TYPE_TIME:
+                return readTimeParam(buffer);
+            default:
+                return readParam(MysqlProto.readLenEncodedString(buffer), type);
+        }
+    }
+
+    // Decode a parameter value of string type, which may also be sent by COM_STMT_SEND_LONG_DATA.
+    public static LiteralExpr readParam(byte[] value, int type) throws AnalysisException {
+        MysqlColType colType = getParamType(type);
+        switch (colType) {
+            case MYSQL_TYPE_DECIMAL:
+            case MYSQL_TYPE_NEWDECIMAL:
+                return new DecimalLiteral(new String(value, StandardCharsets.UTF_8));
+            case MYSQL_TYPE_VARCHAR:
+            case MYSQL_TYPE_VARSTRING:
+            case MYSQL_TYPE_STRING:
+            case MYSQL_TYPE_ENUM:
+            case MYSQL_TYPE_SET:
+            case MYSQL_TYPE_TINY_BLOB:
+            case MYSQL_TYPE_MEDIUM_BLOB:
+            case MYSQL_TYPE_LONG_BLOB:
+            case MYSQL_TYPE_BLOB:
+                return new StringLiteral(new String(value, StandardCharsets.UTF_8));
+            default:
+                throw new AnalysisException("Unsupported parameter type: " + colType);
+        }
+    }
+
+    private static MysqlColType getParamType(int type) throws AnalysisException {
+        MysqlColType colType = MysqlColType.fromCode(type & 0xFF);
+        if (colType == null) {
+            throw new AnalysisException("Unknown parameter type: " + (type & 0xFF));
+        }
+        return colType;
+    }
+
+    private static LiteralExpr readDateParam(ByteBuffer buffer, boolean isDate) throws AnalysisException {
+        int length = MysqlProto.readInt1(buffer);
+        int[] fields = new int[6];
+        if (length >= 4) {
+            fields[0] = MysqlProto.readInt2(buffer);
+            fields[1] = MysqlProto.readInt1(buffer);
+            fields[2] = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 7) {
+            fields[3] = MysqlProto.readInt1(buffer);
+            fields[4] = MysqlProto.readInt1(buffer);
+            fields[5] = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 11) {
+            // DATETIME does not keep the microseconds
+            MysqlProto.readInt4(buffer);
+        }
+        if (isDate) {
+            return new DateLiteral(String.format("%04d-%02d-%02d", fields[0], fields[1], fields[2]), Type.DATE);
+        }
+        return new DateLiteral(String.format("%04d-%02d-%02d %02d:%02d:%02d",
+                fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]), Type.DATETIME);
+    }
+
+    private static LiteralExpr readTimeParam(ByteBuffer buffer) {
+        int length = MysqlProto.readInt1(buffer);
+        boolean negative = false;
+        long hours = 0;
+        int minutes = 0;
+        int seconds = 0;
+        if (length >= 8) {
+            negative = MysqlProto.readInt1(buffer) == 1;
+            hours = (MysqlProto.readInt4(buffer) & 0xFFFFFFFFL) * 24 + MysqlProto.readInt1(buffer);
+            minutes = MysqlProto.readInt1(buffer);
+            seconds = MysqlProto.readInt1(buffer);
+        }
+        if (length >= 12) {
+            MysqlProto.readInt4(buffer);
+        }
+        return new StringLiteral(String.format("%s%02d:%02d:%02d", negative ? "-" : "", hours, minutes, seconds));
+    }
+
+    /**
+     * Convert a result row of text protocol to binary protocol, and write it to the serializer.
+     * In text protocol, every column is a length encoded string, or 0xFB for NULL.
+     * The column types must be the same as the types sent in the column definitions.
+     */
+    public static void writeBinaryRow(ByteBuffer textRow, List<MysqlColType> types, MysqlSerializer serializer) {
+        int numColumns = types.size();
+        byte[] bytes;
+        int position;
+        if (textRow.hasArray()) {
+            bytes = textRow.array();
+            position = textRow.arrayOffset() + textRow.position();
+        } else {
+            bytes = new byte[textRow.remaining()];
+            textRow.duplicate().get(bytes);
+            position = 0;
+        }
+
+        // locate every column first, because the null bitmap is written before the values
+        int[] offsets = new int[numColumns];
+        int[] lengths = new int[numColumns];
+        byte[] nullBitmap = new byte[(numColumns + 7 + ROW_NULL_BITMAP_OFFSET) / 8];
+        for (int i = 0; i < numColumns; i++) {
+            int first = bytes[position++] & 0xFF;
+            long length;
+            if (first == NULL_VALUE) {
+                int bit = i + ROW_NULL_BITMAP_OFFSET;
+                nullBitmap[bit / 8] |= (byte) (1 << (bit % 8));
+                lengths[i] = -1;
+                continue;
+            } else if (first < NULL_VALUE) {
+                length = first;
+            } else if (first == 0xFC) {
+                length = readLittleEndian(bytes, position, 2);
+                position += 2;
+            } else if (first == 0xFD) {
+                length = readLittleEndian(bytes, position, 3);
+                position += 3;
+            } else {
+                length = readLittleEndian(bytes, position, 8);
+                position += 8;
+            }
+            offsets[i] = position;
+            lengths[i] = (int) length;
+            position += (int) length;
+        }
+
+        serializer.writeInt1(ROW_HEADER);
+        serializer.writeBytes(nullBitmap);
+        for (int i = 0; i < numColumns; i++) {
+            if (lengths[i] >= 0) {
+                writeBinaryValue(bytes, offsets[i], lengths[i], types.get(i), serializer);
+            }
+        }
+    }
+
+    private static long readLittleEndian(byte[] bytes, int position, int numBytes) {
+        long value = 0;
+        for (int i = numBytes - 1; i >= 0; i--) {
+            value = (value << 8) | (bytes[position + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void writeBinaryValue(byte[] bytes, int offset, int length, MysqlColType type,
+            MysqlSerializer serializer) {
+        switch (type) {
+            case MYSQL_TYPE_TINY:
+                serializer.writeInt1((int) parseLong(bytes, offset, length));
+                break;
+            case MYSQL_TYPE_SHORT:
+            case MYSQL_TYPE_YEAR:
+                serializer.writeInt2((int) parseLong(bytes, offset, length));
+                break;
+            case MYSQL_TYPE_LONG:
+            case MYSQL_TYPE_INT24:
+                serializer.writeInt4((int) parseLong(bytes, offset, length));
+                break;
+            case MYSQL_TYPE_LONGLONG:
+                serializer.writeInt8(parseLong(bytes, offset, length));
+                break;
+            case MYSQL_TYPE_FLOAT:
+                serializer.writeInt4(Float.floatToIntBits((float) parseDouble(bytes, offset, length)));
+                break;
+            case MYSQL_TYPE_DOUBLE:
+                serializer.writeInt8(Double.doubleToLongBits(parseDouble(bytes, offset, length)));
+                break;
+            case MYSQL_TYPE_DATE:
+            case MYSQL_TYPE_DATETIME:
+            case MYSQL_TYPE_TIMESTAMP:
+                writeBinaryDateTime(new String(bytes, offset, length, StandardCharsets.US_ASCII), serializer);
+                break;
+            case MYSQL_TYPE_TIME:
+                writeBinaryTime(new String(bytes, offset, length, StandardCharsets.US_ASCII), serializer);
+                break;
+            default:
+                serializer.writeVInt(length);
+                serializer.writeBytes(bytes, offset, length);
+                break;
+        }
+    }
+
+    private static long parseLong(byte[] bytes, int offset, int length) {
+        String value = new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        // boolean may be returned as literal
+        if (value.equalsIgnoreCase("true")) {
+            return 1;
+        } else if (value.equalsIgnoreCase("false")) {
+            return 0;
+        }
+        return Long.parseLong(value);
+    }
+
+    private static double parseDouble(byte[] bytes, int offset, int length) {
+        String value = new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        switch (value.toLowerCase()) {
+            case "nan":
+                return Double.NaN;
+            case "inf":
+            case "infinity":
+                return Double.POSITIVE_INFINITY;
+            case "-inf":
+            case "-infinity":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    // text format: YYYY-MM-DD[ hh:mm:ss[.ffffff]]
+    private static void writeBinaryDateTime(String value, MysqlSerializer serializer) {
+        int year = Integer.parseInt(value.substring(0, 4));
+        int month = Integer.parseInt(value.substring(5, 7));
+        int day = Integer.parseInt(value.substring(8, 10));
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int microsecond = 0;
+        if (value.length() >= 19) {
+            hour = Integer.parseInt(value.substring(11, 13));
+            minute = Integer.parseInt(value.substring(14, 16));
+            second = Integer.parseInt(value.substring(17, 19));
+        }
+        if (value.length() > 20) {
+            microsecond = parseMicrosecond(value.substring(20));
+        }
+
+        if (microsecond != 0) {
+            serializer.writeInt1(11);
+        } else if (hour != 0 || minute != 0 || second != 0) {
+            serializer.writeInt1(7);
+        } else if (year != 0 || month != 0 || day != 0) {
+            serializer.writeInt1(4);
+        } else {
+            serializer.writeInt1(0);
+            return;
+        }
+        serializer.writeInt2(year);
+        serializer.writeInt1(month);
+        serializer.writeInt1(day);
+        if (microsecond == 0 && hour == 0 && minute == 0 && second == 0) {
+            return;
+        }
+        serializer.writeInt1(hour);
+        serializer.writeInt1(minute);
+        serializer.writeInt1(second);
+        if (microsecond != 0) {
+            serializer.writeInt4(microsecond);
+        }
+    }
+
+    // text format: [-]h...h:mm:ss[.ffffff]
+    private static void writeBinaryTime(String value, MysqlSerializer serializer) {
+        boolean negative = value.startsWith("-");
+        String[] parts = (negative ? value.substring(1) : value).split(":");
+        long hours = Long.parseLong(parts[0]);
+        int minute = Integer.parseInt(parts[1]);
+        String secondPart = parts[2];
+        int microsecond = 0;
+        int dot = secondPart.indexOf('.');
+        if (dot >= 0) {
+            microsecond = parseMicrosecond(secondPart.substring(dot + 1));
+            secondPart = secondPart.substring(0, dot);
+        }
+        int second = Integer.parseInt(secondPart);
+
+        if (hours == 0 && minute == 0 && second == 0 && microsecond == 0) {
+            serializer.writeInt1(0);
+            return;
+        }
+        serializer.writeInt1(microsecond != 0 ? 12 : 8);
+        serializer.writeInt1(negative ? 1 : 0);
+        serializer.writeInt4((int) (hours / 24));
+        serializer.writeInt1((int) (hours % 24));
+        serializer.writeInt1(minute);
+        serializer.writeInt1(second);
+        if (microsecond != 0) {
+            serializer.writeInt4(microsecond);
+        }
+    }
+
+    private static int parseMicrosecond(String fraction) {
+        StringBuilder sb = new StringBuilder(fraction);
+        while (sb.length() < 6) {
+            sb.append('0');
+        }
+        return Integer.parseInt(sb.substring(0, 6));
+    }
+}
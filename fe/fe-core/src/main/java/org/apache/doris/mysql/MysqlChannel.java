@@ -17,6 +17,8 @@
 
 package org.apache.doris.mysql;
 
+import org.apache.doris.common.Config;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -36,6 +38,7 @@ public class MysqlChannel {
     public static final int MAX_PHYSICAL_PACKET_LENGTH = 0xffffff;
     // MySQL packet header length
     protected static final int PACKET_HEADER_LEN = 4;
+    private static final int SEND_BUFFER_SIZE = 2 * 1024 * 1024;
     // logger for this class
     protected static final Logger LOG = LogManager.getLogger(MysqlChannel.class);
     // next sequence id to receive or send
@@ -55,16 +58,25 @@ public class MysqlChannel {
 
     protected MysqlChannel() {
         this.sequenceId = 0;
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
+        this.sendBuffer = allocateSendBuffer();
         this.isSend = false;
         this.remoteHostPortString = "";
         this.remoteIp = "";
     }
 
+    private static ByteBuffer allocateSendBuffer() {
+        // the content of a heap buffer is copied into a temporary direct buffer by the socket write,
+        // which can be saved by a direct send buffer.
+        if (Config.mysql_send_buffer_use_direct_memory) {
+            return ByteBuffer.allocateDirect(SEND_BUFFER_SIZE);
+        }
+        return ByteBuffer.allocate(SEND_BUFFER_SIZE);
+    }
+
     public MysqlChannel(SocketChannel channel) {
         this.sequenceId = 0;
         this.channel = channel;
-        this.sendBuffer = ByteBuffer.allocate(2 * 1024 * 1024);
+        this.sendBuffer = allocateSendBuffer();
         this.isSend = false;
         this.remoteHostPortString = "";
         this.remoteIp = "";
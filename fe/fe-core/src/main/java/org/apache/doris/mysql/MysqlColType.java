@@ -53,6 +53,14 @@ public enum MysqlColType {
     MYSQL_TYPE_STRING(254, "STRING"),
     MYSQL_TYPE_GEOMETRY(255, "GEOMETRY");
 
+    private static final MysqlColType[] CODE_TO_TYPE = new MysqlColType[256];
+
+    static {
+        for (MysqlColType type : values()) {
+            CODE_TO_TYPE[type.code] = type;
+        }
+    }
+
     private MysqlColType(int code, String desc) {
         this.code = code;
         this.desc = desc;
@@ -66,6 +74,14 @@ public enum MysqlColType {
         return code;
     }
 
+    // return null if the code is not a known column type
+    public static MysqlColType fromCode(int code) {
+        if (code < 0 || code >= CODE_TO_TYPE.length) {
+            return null;
+        }
+        return CODE_TO_TYPE[code];
+    }
+
     @Override
     public String toString() {
         return desc;
@@ -26,6 +26,9 @@ import org.apache.doris.nereids.glue.translator.PhysicalPlanTranslator;
 import org.apache.doris.nereids.glue.translator.PlanTranslatorContext;
 import org.apache.doris.nereids.jobs.AnalyzeRulesJob;
 import org.apache.doris.nereids.jobs.OptimizeRulesJob;
+import org.apache.doris.nereids.jobs.scheduler.JobScheduler;
+import org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler;
+import org.apache.doris.nereids.jobs.scheduler.SimpleJobScheduler;
 import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
 import org.apache.doris.nereids.memo.Memo;
@@ -38,6 +41,7 @@ import org.apache.doris.planner.PlanFragment;
 import org.apache.doris.planner.Planner;
 import org.apache.doris.planner.ScanNode;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.SessionVariable;
 
 import com.google.common.collect.Lists;
 
@@ -103,7 +107,10 @@ public class NereidsPlanner extends Planner {
         Memo memo = new Memo();
         memo.initialize(plan);
 
-        OptimizerContext optimizerContext = new OptimizerContext(memo);
+        JobScheduler jobScheduler = connectContext != null
+                && connectContext.getSessionVariable().isEnableNereidsParallelOptimize()
+                ? new ParallelJobScheduler() : new SimpleJobScheduler();
+        OptimizerContext optimizerContext = new OptimizerContext(memo, jobScheduler);
         plannerContext = new PlannerContext(optimizerContext, connectContext, outputProperties);
 
         // Get plan directly. Just for SSB.
@@ -118,10 +125,16 @@ public class NereidsPlanner extends Planner {
         AnalyzeRulesJob analyzeRulesJob = new AnalyzeRulesJob(plannerContext);
         analyzeRulesJob.execute();
 
+        ConnectContext connectContext = plannerContext.getConnectContext();
+        if (connectContext != null) {
+            SessionVariable sessionVariable = connectContext.getSessionVariable();
+            plannerContext.getOptimizerContext().setExplorationBudget(sessionVariable.getNereidsMaxGroupExpressions(),
+                    sessionVariable.getNereidsExplorationTimeoutMs());
+        }
         OptimizeRulesJob optimizeRulesJob = new OptimizeRulesJob(plannerContext);
         optimizeRulesJob.execute();
 
-        return getRoot().extractPlan();
+        return getRoot().extractPlan(plannerContext.getPhysicalProperties());
     }
 
     @Override
@@ -18,6 +18,7 @@
 package org.apache.doris.nereids;
 
 import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.scheduler.JobCollector;
 import org.apache.doris.nereids.jobs.scheduler.JobPool;
 import org.apache.doris.nereids.jobs.scheduler.JobScheduler;
 import org.apache.doris.nereids.jobs.scheduler.JobStack;
@@ -25,25 +26,48 @@ import org.apache.doris.nereids.jobs.scheduler.SimpleJobScheduler;
 import org.apache.doris.nereids.memo.Memo;
 import org.apache.doris.nereids.rules.RuleSet;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 /**
  * Context used in memo.
  */
 public class OptimizerContext {
+    private static final Logger LOG = LogManager.getLogger(OptimizerContext.class);
+
     private final Memo memo;
     private RuleSet ruleSet;
     private JobPool jobPool;
+    // if set, the pushed jobs are collected by it instead of the job pool
+    private JobCollector jobCollector;
     private final JobScheduler jobScheduler;
 
+    // Budget of exploration. After it is exhausted, exploration rules are not applied any more,
+    // and the best plan is chosen from the join orders explored so far.
+    private int maxGroupExpressions = Integer.MAX_VALUE;
+    private long explorationDeadline = Long.MAX_VALUE;
+    private volatile boolean explorationBudgetExhausted = false;
+
     /**
      * Constructor of OptimizerContext.
      *
      * @param memo {@link Memo} reference
      */
     public OptimizerContext(Memo memo) {
+        this(memo, new SimpleJobScheduler());
+    }
+
+    /**
+     * Constructor of OptimizerContext.
+     *
+     * @param memo {@link Memo} reference
+     * @param jobScheduler scheduler to execute the jobs
+     */
+    public OptimizerContext(Memo memo, JobScheduler jobScheduler) {
         this.memo = memo;
         this.ruleSet = new RuleSet();
         this.jobPool = new JobStack();
-        this.jobScheduler = new SimpleJobScheduler();
+        this.jobScheduler = jobScheduler;
     }
 
     public JobPool getJobPool() {
@@ -66,11 +90,47 @@ public class OptimizerContext {
         return memo;
     }
 
+    public void setJobCollector(JobCollector jobCollector) {
+        this.jobCollector = jobCollector;
+    }
+
     public void pushJob(Job job) {
-        jobPool.push(job);
+        if (jobCollector != null) {
+            jobCollector.push(job);
+        } else {
+            jobPool.push(job);
+        }
     }
 
     public JobScheduler getJobScheduler() {
         return jobScheduler;
     }
+
+    /**
+     * Set the budget of exploration, which starts from now.
+     *
+     * @param maxGroupExpressions max number of group expressions in memo, non-positive means no limit
+     * @param timeoutMs max time of exploration, non-positive means no limit
+     */
+    public void setExplorationBudget(int maxGroupExpressions, long timeoutMs) {
+        this.maxGroupExpressions = maxGroupExpressions > 0 ? maxGroupExpressions : Integer.MAX_VALUE;
+        this.explorationDeadline = timeoutMs > 0 ? System.currentTimeMillis() + timeoutMs : Long.MAX_VALUE;
+        this.explorationBudgetExhausted = false;
+    }
+
+    /**
+     * Whether the budget of exploration is exhausted. Once exhausted, it is exhausted until a new budget is set.
+     */
+    public boolean isExplorationBudgetExhausted() {
+        if (explorationBudgetExhausted) {
+            return true;
+        }
+        int groupExpressionNum = memo.getGroupExpressions().size();
+        if (groupExpressionNum >= maxGroupExpressions || System.currentTimeMillis() > explorationDeadline) {
+            explorationBudgetExhausted = true;
+            LOG.info("exploration budget is exhausted with {} group expressions in memo, stop exploring",
+                    groupExpressionNum);
+        }
+        return explorationBudgetExhausted;
+    }
 }
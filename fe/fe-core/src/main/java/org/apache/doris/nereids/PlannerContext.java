@@ -32,7 +32,7 @@ public class PlannerContext {
     private final OptimizerContext optimizerContext;
     private final ConnectContext connectContext;
     private final PhysicalProperties physicalProperties;
-    private double costUpperBound;
+    private volatile double costUpperBound;
     private Set<Slot> neededSlots;
 
     /**
@@ -53,6 +53,20 @@ public class PlannerContext {
         this.neededSlots = Sets.newHashSet();
     }
 
+    /**
+     * Create a context with the same required properties and a new cost upper bound,
+     * which is used to optimize a child group within the cost left by its parent.
+     *
+     * @param costUpperBound cost upper bound of the new context
+     * @return new context
+     */
+    public PlannerContext withCostUpperBound(double costUpperBound) {
+        PlannerContext context = new PlannerContext(optimizerContext, connectContext, physicalProperties);
+        context.costUpperBound = costUpperBound;
+        context.neededSlots = neededSlots;
+        return context;
+    }
+
     public double getCostUpperBound() {
         return costUpperBound;
     }
@@ -17,11 +17,12 @@
 
 package org.apache.doris.nereids.cost;
 
-import org.apache.doris.common.Id;
 import org.apache.doris.nereids.PlanContext;
+import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
 import org.apache.doris.nereids.operators.Operator;
 import org.apache.doris.nereids.operators.OperatorVisitor;
+import org.apache.doris.nereids.operators.plans.logical.LogicalRelation;
 import org.apache.doris.nereids.operators.plans.physical.PhysicalAggregation;
 import org.apache.doris.nereids.operators.plans.physical.PhysicalHashJoin;
 import org.apache.doris.nereids.operators.plans.physical.PhysicalOlapScan;
@@ -29,8 +30,7 @@ import org.apache.doris.nereids.operators.plans.physical.PhysicalProject;
 import org.apache.doris.statistics.StatsDeriveResult;
 
 import com.google.common.base.Preconditions;
-
-import java.util.List;
+import com.google.common.collect.Maps;
 
 /**
  * Calculate the cost of a plan.
@@ -38,16 +38,46 @@ import java.util.List;
  */
 public class CostCalculator {
     /**
-     * Constructor.
+     * Calculate the cost of the group expression itself, without the cost of its children.
      */
-    public double calculateCost(GroupExpression groupExpression) {
+    public static double calculateCost(GroupExpression groupExpression) {
         PlanContext planContext = new PlanContext(groupExpression);
+        planContext.setStatistics(estimateStats(groupExpression));
+        for (Group child : groupExpression.children()) {
+            planContext.getChildrenStats().add(estimateStats(child));
+        }
         CostEstimator costCalculator = new CostEstimator();
         CostEstimate costEstimate = groupExpression.getOperator().accept(costCalculator, planContext);
         return costFormula(costEstimate);
     }
 
-    private double costFormula(CostEstimate costEstimate) {
+    private static StatsDeriveResult estimateStats(Group group) {
+        GroupExpression groupExpression = group.getLogicalExpressions().isEmpty()
+                ? group.getPhysicalExpressions().get(0) : group.logicalExpressionsAt(0);
+        return estimateStats(groupExpression);
+    }
+
+    /**
+     * The stats are not derived by DeriveStatsJob yet, so only the row count is estimated:
+     * a scan outputs all rows of its table, and other operators output as many rows as their largest child.
+     */
+    private static StatsDeriveResult estimateStats(GroupExpression groupExpression) {
+        Operator operator = groupExpression.getOperator();
+        long rowCount;
+        if (operator instanceof LogicalRelation) {
+            rowCount = ((LogicalRelation) operator).getTable().getRowCount();
+        } else if (operator instanceof PhysicalOlapScan) {
+            rowCount = ((PhysicalOlapScan) operator).getTable().getRowCount();
+        } else {
+            rowCount = 1;
+            for (Group child : groupExpression.children()) {
+                rowCount = Math.max(rowCount, estimateStats(child).getRowCount());
+            }
+        }
+        return new StatsDeriveResult(rowCount, Maps.newHashMap(), Maps.newHashMap());
+    }
+
+    private static double costFormula(CostEstimate costEstimate) {
         double cpuCostWeight = 1;
         double memoryCostWeight = 1;
         double networkCostWeight = 1;
@@ -83,14 +113,11 @@ public class CostCalculator {
 
             // TODO: handle some case
 
-            List<Id> leftIds = context.getChildOutputIds(0);
-            List<Id> rightIds = context.getChildOutputIds(1);
-
             // handle cross join, onClause is empty .....
 
-            return new CostEstimate(
-                    leftStatistics.computeColumnSize(leftIds) + rightStatistics.computeColumnSize(rightIds),
-                    rightStatistics.computeColumnSize(rightIds), 0);
+            // the right child is the build side
+            return new CostEstimate(leftStatistics.computeSize() + rightStatistics.computeSize(),
+                    rightStatistics.computeSize(), 0);
         }
 
         @Override
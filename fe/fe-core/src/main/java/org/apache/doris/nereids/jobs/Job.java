@@ -44,6 +44,22 @@ public abstract class Job<NODE_TYPE extends TreeNode<NODE_TYPE>> {
         context.getOptimizerContext().pushJob(job);
     }
 
+    /**
+     * Whether this job is independent of the jobs pushed together with it, so that they can be executed
+     * concurrently by {@link org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler}.
+     * A job which must run after the jobs pushed after it, e.g. a job waiting for its children, is not.
+     */
+    public boolean isParallelizable() {
+        return false;
+    }
+
+    /**
+     * Called instead of {@link #execute()} when this job is dropped, because a job executed before it failed.
+     * A job which other jobs may be waiting for should release them here.
+     */
+    public void abort() {
+    }
+
     public RuleSet getRuleSet() {
         return context.getOptimizerContext().getRuleSet();
     }
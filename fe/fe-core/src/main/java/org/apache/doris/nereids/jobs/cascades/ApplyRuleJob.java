@@ -24,6 +24,7 @@ import org.apache.doris.nereids.jobs.JobType;
 import org.apache.doris.nereids.memo.GroupExpression;
 import org.apache.doris.nereids.pattern.GroupExpressionMatching;
 import org.apache.doris.nereids.rules.Rule;
+import org.apache.doris.nereids.rules.RulePromise;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.logical.LogicalPlan;
 
@@ -56,6 +57,10 @@ public class ApplyRuleJob extends Job<Plan> {
         if (groupExpression.hasApplied(rule)) {
             return;
         }
+        if (rule.getRulePromise() == RulePromise.EXPLORE
+                && context.getOptimizerContext().isExplorationBudgetExhausted()) {
+            return;
+        }
 
         GroupExpressionMatching groupExpressionMatching
                 = new GroupExpressionMatching(rule.getPattern(), groupExpression);
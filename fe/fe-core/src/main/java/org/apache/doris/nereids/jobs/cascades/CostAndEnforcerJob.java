@@ -17,19 +17,38 @@
 
 package org.apache.doris.nereids.jobs.cascades;
 
+import org.apache.doris.common.Pair;
 import org.apache.doris.nereids.PlannerContext;
+import org.apache.doris.nereids.cost.CostCalculator;
 import org.apache.doris.nereids.jobs.Job;
 import org.apache.doris.nereids.jobs.JobType;
 import org.apache.doris.nereids.memo.Group;
 import org.apache.doris.nereids.memo.GroupExpression;
+import org.apache.doris.nereids.properties.PhysicalProperties;
 import org.apache.doris.nereids.trees.plans.Plan;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Job to compute cost and add enforcer.
+ *
+ * The cost of the group expression itself is counted first, see {@link CostCalculator}. Then the children are
+ * optimized one by one, and each child group is optimized within the cost left by the children optimized before it
+ * (branch and bound). Once the cost exceeds the upper bound, e.g. the cost of the best plan found in this group,
+ * this group expression is given up without optimizing the rest children.
  */
 public class CostAndEnforcerJob extends Job<Plan> {
     private final GroupExpression groupExpression;
 
+    // the child to be optimized when this job is executed
+    private int curChildIndex = 0;
+    // the child optimized by the OptimizeGroupJob pushed last time, -1 if none
+    private int prevChildIndex = -1;
+    // cost of the group expression itself and the children optimized
+    private double curTotalCost = 0;
+
     public CostAndEnforcerJob(GroupExpression groupExpression, PlannerContext context) {
         super(JobType.OPTIMIZE_CHILDREN, context);
         this.groupExpression = groupExpression;
@@ -37,14 +56,46 @@ public class CostAndEnforcerJob extends Job<Plan> {
 
     @Override
     public void execute() {
-        for (Group childGroup : groupExpression.children()) {
-            if (!childGroup.isHasCost()) {
-                // TODO: interim solution
-                pushTask(new CostAndEnforcerJob(this.groupExpression, context));
-                pushTask(new OptimizeGroupJob(childGroup, context));
-                childGroup.setHasCost(true);
+        PhysicalProperties requiredProperties = context.getPhysicalProperties();
+        if (curChildIndex == 0 && prevChildIndex == -1) {
+            curTotalCost = CostCalculator.calculateCost(groupExpression);
+            if (curTotalCost > context.getCostUpperBound()) {
+                return;
+            }
+        }
+        for (; curChildIndex < groupExpression.arity(); curChildIndex++) {
+            Group childGroup = groupExpression.child(curChildIndex);
+            Optional<Pair<Double, GroupExpression>> lowestCostPlan = childGroup.getLowestCostPlan(requiredProperties);
+            if (lowestCostPlan.isPresent()) {
+                curTotalCost += lowestCostPlan.get().first;
+                if (curTotalCost > context.getCostUpperBound()) {
+                    return;
+                }
+                continue;
+            }
+            if (prevChildIndex >= curChildIndex) {
+                // the child has been optimized, but no plan is found within the cost upper bound
+                return;
+            }
+            double costLeft = context.getCostUpperBound() - curTotalCost;
+            if (childGroup.getCostLowerBound() > costLeft) {
                 return;
             }
+            prevChildIndex = curChildIndex;
+            // optimize the child first, and continue with the cost of its best plan
+            pushTask(this);
+            pushTask(new OptimizeGroupJob(childGroup, context.withCostUpperBound(costLeft)));
+            return;
+        }
+        if (curTotalCost > context.getCostUpperBound()) {
+            return;
+        }
+        List<PhysicalProperties> childrenProperties = Collections.nCopies(groupExpression.arity(),
+                requiredProperties);
+        groupExpression.updateLowestCostTable(requiredProperties, childrenProperties, curTotalCost);
+        if (groupExpression.getParent().updateLowestCostPlan(requiredProperties, curTotalCost, groupExpression)) {
+            // the plans of this group costing more than it are given up from now on
+            context.setCostUpperBound(curTotalCost);
         }
     }
 }
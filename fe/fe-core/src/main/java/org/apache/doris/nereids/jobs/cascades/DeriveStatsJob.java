@@ -54,6 +54,12 @@ public class DeriveStatsJob extends Job<Plan> {
         this.deriveChildren = other.deriveChildren;
     }
 
+    @Override
+    public boolean isParallelizable() {
+        // the job deriving stats after its children is not
+        return !deriveChildren;
+    }
+
     @Override
     public void execute() {
         if (!deriveChildren) {
@@ -50,6 +50,9 @@ public class ExploreGroupExpressionJob extends Job<Plan> {
 
     @Override
     public void execute() {
+        if (context.getOptimizerContext().isExplorationBudgetExhausted()) {
+            return;
+        }
         // TODO: enable exploration job after we test it
         // List<Rule<Plan>> explorationRules = getRuleSet().getExplorationRules();
         List<Rule<Plan>> explorationRules = Lists.newArrayList();
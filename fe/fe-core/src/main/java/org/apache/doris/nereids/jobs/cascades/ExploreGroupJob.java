@@ -41,14 +41,21 @@ public class ExploreGroupJob extends Job<Plan> {
         this.group = group;
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public void execute() {
-        if (group.isExplored()) {
+        if (!group.markExplored()) {
+            // the jobs pushed before this one rely on the group being explored
+            group.waitExplored();
             return;
         }
+        pushTask(new FinishExploreGroupJob(group, context));
         for (GroupExpression groupExpression : group.getLogicalExpressions()) {
             pushTask(new ExploreGroupExpressionJob(groupExpression, context));
         }
-        group.setExplored(true);
     }
 }
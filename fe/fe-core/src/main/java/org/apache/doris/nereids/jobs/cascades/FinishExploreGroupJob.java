@@ -0,0 +1,48 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.cascades;
+
+import org.apache.doris.nereids.PlannerContext;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.JobType;
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.trees.plans.Plan;
+
+/**
+ * Job to finish the exploration of {@link Group}, which is pushed before the jobs exploring the group,
+ * so it runs after all of them and the jobs derived from them.
+ */
+public class FinishExploreGroupJob extends Job<Plan> {
+    private final Group group;
+
+    public FinishExploreGroupJob(Group group, PlannerContext context) {
+        super(JobType.EXPLORE_PLAN_SET, context);
+        this.group = group;
+    }
+
+    @Override
+    public void execute() {
+        group.finishExploring();
+    }
+
+    @Override
+    public void abort() {
+        // do not block the jobs waiting for the group forever
+        group.finishExploring();
+    }
+}
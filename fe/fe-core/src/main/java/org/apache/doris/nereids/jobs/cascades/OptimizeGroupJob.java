@@ -35,20 +35,28 @@ public class OptimizeGroupJob extends Job<Plan> {
         this.group = group;
     }
 
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
     @Override
     public void execute() {
         if (group.getCostLowerBound() > context.getCostUpperBound()
                 || group.getLowestCostPlan(context.getPhysicalProperties()).isPresent()) {
             return;
         }
-        if (!group.isExplored()) {
+        if (group.markExplored()) {
+            context.getOptimizerContext().pushJob(new FinishExploreGroupJob(group, context));
             for (GroupExpression logicalGroupExpression : group.getLogicalExpressions()) {
                 context.getOptimizerContext().pushJob(new OptimizeGroupExpressionJob(logicalGroupExpression, context));
             }
+        } else {
+            // the physical expressions are still being added if another job is exploring the group
+            group.waitExplored();
         }
         for (GroupExpression physicalGroupExpression : group.getPhysicalExpressions()) {
             context.getOptimizerContext().pushJob(new CostAndEnforcerJob(physicalGroupExpression, context));
         }
-        group.setExplored(true);
     }
 }
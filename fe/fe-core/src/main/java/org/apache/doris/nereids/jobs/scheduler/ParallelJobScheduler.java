@@ -0,0 +1,222 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.nereids.OptimizerContext;
+import org.apache.doris.nereids.PlannerContext;
+import org.apache.doris.nereids.exceptions.AnalysisException;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.qe.ConnectContext;
+
+import com.google.common.collect.Lists;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scheduler executing independent jobs concurrently.
+ *
+ * The jobs are executed in the same order as {@link SimpleJobScheduler}, i.e. a job pushed earlier runs after
+ * the jobs pushed later and all the jobs derived from them. The only difference is that the consecutive
+ * parallelizable jobs (see {@link Job#isParallelizable()}) pushed by one job are executed concurrently,
+ * each with its own job stack, and the jobs pushed before them wait for all of them to finish.
+ * A group shared by the concurrent jobs is explored by one of them, and the others wait for the exploration
+ * to finish if they need it, see {@link org.apache.doris.nereids.memo.Group#waitExplored()}.
+ *
+ * In deterministic mode, all jobs are executed serially in the calling thread, which produces exactly the
+ * same memo as {@link SimpleJobScheduler}. It is used by tests.
+ */
+public class ParallelJobScheduler implements JobScheduler {
+    private static volatile ForkJoinPool optimizePool;
+
+    private final boolean deterministic;
+    // the jobs pushed by the job being executed in current thread
+    private final ThreadLocal<List<Job>> pushedJobs = new ThreadLocal<>();
+
+    public ParallelJobScheduler() {
+        this(false);
+    }
+
+    public ParallelJobScheduler(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    private static ForkJoinPool getOptimizePool() {
+        if (optimizePool == null) {
+            synchronized (ParallelJobScheduler.class) {
+                if (optimizePool == null) {
+                    int parallelism = Config.nereids_optimize_thread_num > 0
+                            ? Config.nereids_optimize_thread_num : Runtime.getRuntime().availableProcessors();
+                    optimizePool = new ForkJoinPool(parallelism, pool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("nereids-optimize-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                }
+            }
+        }
+        return optimizePool;
+    }
+
+    @Override
+    public void executeJob(Job job, PlannerContext context) {
+
+    }
+
+    @Override
+    public void executeJobPool(PlannerContext plannerContext) throws AnalysisException {
+        OptimizerContext optimizerContext = plannerContext.getOptimizerContext();
+        JobPool pool = optimizerContext.getJobPool();
+        Deque<Job> stack = new ArrayDeque<>();
+        // pop from the pool and add to the tail, so the job on the top of pool is on the top of stack
+        while (!pool.isEmpty()) {
+            stack.addLast(pool.pop());
+        }
+        // the jobs pushed during execution are collected by current job instead of the shared pool
+        optimizerContext.setJobCollector(new PushedJobCollector());
+        try {
+            executeStack(stack, plannerContext.getConnectContext());
+        } finally {
+            optimizerContext.setJobCollector(null);
+        }
+    }
+
+    private void executeStack(Deque<Job> stack, ConnectContext connectContext) {
+        try {
+            while (!stack.isEmpty()) {
+                List<Job> pushed = execute(stack.pop());
+                int firstParallelizable = pushed.size();
+                while (firstParallelizable > 0 && pushed.get(firstParallelizable - 1).isParallelizable()) {
+                    firstParallelizable--;
+                }
+                for (int i = 0; i < firstParallelizable; i++) {
+                    stack.push(pushed.get(i));
+                }
+                List<Job> parallelizable = pushed.subList(firstParallelizable, pushed.size());
+                if (deterministic || parallelizable.size() < 2) {
+                    for (Job job : parallelizable) {
+                        stack.push(job);
+                    }
+                } else {
+                    executeConcurrently(parallelizable, connectContext);
+                }
+            }
+        } catch (RuntimeException e) {
+            // the jobs running concurrently may be waiting for the jobs left
+            for (Job job : stack) {
+                job.abort();
+            }
+            throw e;
+        }
+    }
+
+    private List<Job> execute(Job job) {
+        List<Job> pushed = Lists.newArrayList();
+        pushedJobs.set(pushed);
+        try {
+            job.execute();
+        } catch (RuntimeException e) {
+            pushed.forEach(Job::abort);
+            throw e;
+        } finally {
+            pushedJobs.remove();
+        }
+        return pushed;
+    }
+
+    private void executeConcurrently(List<Job> jobs, ConnectContext connectContext) {
+        List<JobTask> tasks = Lists.newArrayListWithCapacity(jobs.size());
+        // the job pushed last is executed first, as it does in the serial way
+        for (int i = jobs.size() - 1; i >= 0; i--) {
+            tasks.add(new JobTask(jobs.get(i), connectContext));
+        }
+        // execute the first task in current thread, and the others in the pool
+        ForkJoinPool optimizePool = getOptimizePool();
+        boolean inOptimizePool = ForkJoinTask.getPool() == optimizePool;
+        for (int i = 1; i < tasks.size(); i++) {
+            if (inOptimizePool) {
+                tasks.get(i).fork();
+            } else {
+                optimizePool.execute(tasks.get(i));
+            }
+        }
+        RuntimeException exception = null;
+        for (JobTask task : tasks) {
+            try {
+                if (task == tasks.get(0)) {
+                    task.invoke();
+                } else {
+                    task.join();
+                }
+            } catch (RuntimeException e) {
+                // wait for all tasks, so the memo is not modified after the scheduler returns
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private class JobTask extends RecursiveAction {
+        private final Job job;
+        private final ConnectContext connectContext;
+
+        JobTask(Job job, ConnectContext connectContext) {
+            this.job = job;
+            this.connectContext = connectContext;
+        }
+
+        @Override
+        protected void compute() {
+            // rules may get the session from thread local
+            ConnectContext origin = ConnectContext.get();
+            if (connectContext != null && origin != connectContext) {
+                connectContext.setThreadLocalInfo();
+            }
+            try {
+                Deque<Job> stack = new ArrayDeque<>();
+                stack.push(job);
+                executeStack(stack, connectContext);
+            } finally {
+                if (connectContext != null && origin != connectContext) {
+                    if (origin == null) {
+                        ConnectContext.remove();
+                    } else {
+                        origin.setThreadLocalInfo();
+                    }
+                }
+            }
+        }
+    }
+
+    private class PushedJobCollector implements JobCollector {
+        @Override
+        public void push(Job job) {
+            pushedJobs.get().add(job);
+        }
+    }
+}
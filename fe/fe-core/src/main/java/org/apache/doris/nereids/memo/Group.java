@@ -29,10 +29,12 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Representation for group in cascades optimizer.
@@ -40,16 +42,19 @@ import java.util.Optional;
 public class Group {
     private final GroupId groupId;
 
-    private final List<GroupExpression> logicalExpressions = Lists.newArrayList();
-    private final List<GroupExpression> physicalExpressions = Lists.newArrayList();
-    private LogicalProperties logicalProperties;
+    // the group expressions may be iterated by one job while added by another one running concurrently
+    private final List<GroupExpression> logicalExpressions = Lists.newCopyOnWriteArrayList();
+    private final List<GroupExpression> physicalExpressions = Lists.newCopyOnWriteArrayList();
+    private volatile LogicalProperties logicalProperties;
 
     // Map of cost lower bounds
     // Map required plan props to cost lower bound of corresponding plan
-    private Map<PhysicalProperties, Pair<Double, GroupExpression>> lowestCostPlans = Maps.newHashMap();
-    private double costLowerBound = -1;
-    private boolean isExplored = false;
-    private boolean hasCost = false;
+    private Map<PhysicalProperties, Pair<Double, GroupExpression>> lowestCostPlans = Maps.newConcurrentMap();
+    private volatile double costLowerBound = -1;
+    private volatile boolean isExplored = false;
+    // the thread exploring this group, null if the exploration has not started or has finished
+    private Thread exploringThread;
+    private volatile boolean hasCost = false;
 
     /**
      * Constructor for Group.
@@ -122,8 +127,7 @@ public class Group {
         newExpression.setParent(this);
         this.logicalProperties = logicalProperties;
         GroupExpression oldExpression = getLogicalExpression();
-        logicalExpressions.clear();
-        logicalExpressions.add(newExpression);
+        logicalExpressions.set(0, newExpression);
         return oldExpression;
     }
 
@@ -177,6 +181,59 @@ public class Group {
         isExplored = explored;
     }
 
+    /**
+     * Mark this group explored, so that it is explored by only one job.
+     * The exploration is in progress until {@link #finishExploring()} is called.
+     *
+     * @return false if it has been marked before
+     */
+    public synchronized boolean markExplored() {
+        if (isExplored) {
+            return false;
+        }
+        isExplored = true;
+        exploringThread = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * Finish the exploration started by {@link #markExplored()}, and wake up the jobs waiting for it.
+     */
+    public synchronized void finishExploring() {
+        exploringThread = null;
+        notifyAll();
+    }
+
+    /**
+     * Wait until the exploration of this group in another thread finishes.
+     * The exploration in current thread is not waited for, which contains the waiting job itself.
+     */
+    public void waitExplored() {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    synchronized (Group.this) {
+                        if (!isReleasable()) {
+                            Group.this.wait();
+                        }
+                    }
+                    return isReleasable();
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    synchronized (Group.this) {
+                        return exploringThread == null || exploringThread == Thread.currentThread();
+                    }
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisException("Interrupted when waiting for the exploration of group " + groupId);
+        }
+    }
+
     /**
      * Get the lowest cost {@link org.apache.doris.nereids.trees.plans.physical.PhysicalPlan}
      * which meeting the physical property constraints in this Group.
@@ -192,14 +249,42 @@ public class Group {
     }
 
     /**
-     * Get the first Plan from Memo.
+     * Update the lowest cost plan meeting the physical property constraints, if the new plan costs less.
+     *
+     * @param physicalProperties the physical property constraints
+     * @param cost cost of the new plan
+     * @param groupExpression the new plan
+     * @return true if updated
      */
-    public PhysicalPlan extractPlan() throws AnalysisException {
-        GroupExpression groupExpression = this.physicalExpressions.get(0);
+    public synchronized boolean updateLowestCostPlan(PhysicalProperties physicalProperties, double cost,
+            GroupExpression groupExpression) {
+        Pair<Double, GroupExpression> lowestCostPlan = lowestCostPlans.get(physicalProperties);
+        if (lowestCostPlan != null && lowestCostPlan.first <= cost) {
+            return false;
+        }
+        lowestCostPlans.put(physicalProperties, Pair.create(cost, groupExpression));
+        return true;
+    }
+
+    /**
+     * Get the lowest cost Plan meeting the physical property constraints from Memo,
+     * or the first one if no such plan is costed.
+     */
+    public PhysicalPlan extractPlan(PhysicalProperties physicalProperties) throws AnalysisException {
+        GroupExpression groupExpression;
+        List<PhysicalProperties> childrenProperties;
+        Optional<Pair<Double, GroupExpression>> lowestCostPlan = getLowestCostPlan(physicalProperties);
+        if (lowestCostPlan.isPresent()) {
+            groupExpression = lowestCostPlan.get().second;
+            childrenProperties = groupExpression.getInputPropertiesList(physicalProperties);
+        } else {
+            groupExpression = this.physicalExpressions.get(0);
+            childrenProperties = Collections.nCopies(groupExpression.arity(), physicalProperties);
+        }
 
         List<Plan> planChildren = com.google.common.collect.Lists.newArrayList();
         for (int i = 0; i < groupExpression.arity(); i++) {
-            planChildren.add(groupExpression.child(i).extractPlan());
+            planChildren.add(groupExpression.child(i).extractPlan(childrenProperties.get(i)));
         }
 
         Plan plan = ((PhysicalPlan) groupExpression.getOperator().toTreeNode(groupExpression)).withChildren(
@@ -36,11 +36,12 @@ import java.util.Objects;
  * Representation for group expression in cascades optimizer.
  */
 public class GroupExpression {
-    private Group parent;
+    private volatile Group parent;
     private List<Group> children;
     private final Operator op;
+    // guarded by this, rules may be applied on the same group expression concurrently
     private final BitSet ruleMasks;
-    private boolean statDerived;
+    private volatile boolean statDerived;
 
     // Mapping from output properties to the corresponding best cost, statistics, and child properties.
     private final Map<PhysicalProperties, Pair<Double, List<PhysicalProperties>>> lowestCostTable;
@@ -60,7 +61,7 @@ public class GroupExpression {
         this.children = Objects.requireNonNull(children);
         this.ruleMasks = new BitSet(RuleType.SENTINEL.ordinal());
         this.statDerived = false;
-        this.lowestCostTable = Maps.newHashMap();
+        this.lowestCostTable = Maps.newConcurrentMap();
     }
 
     public int arity() {
@@ -95,7 +96,7 @@ public class GroupExpression {
         this.children = children;
     }
 
-    public boolean hasApplied(Rule rule) {
+    public synchronized boolean hasApplied(Rule rule) {
         return ruleMasks.get(rule.getRuleType().ordinal());
     }
 
@@ -103,7 +104,7 @@ public class GroupExpression {
         return !hasApplied(rule);
     }
 
-    public void setApplied(Rule rule) {
+    public synchronized void setApplied(Rule rule) {
         ruleMasks.set(rule.getRuleType().ordinal());
     }
 
@@ -119,6 +120,16 @@ public class GroupExpression {
         return lowestCostTable;
     }
 
+    /**
+     * Update the cost and the children properties of this group expression meeting the property constraints,
+     * if the new cost is lower.
+     */
+    public void updateLowestCostTable(PhysicalProperties outputProperties,
+            List<PhysicalProperties> childrenInputProperties, double cost) {
+        lowestCostTable.merge(outputProperties, Pair.create(cost, childrenInputProperties),
+                (oldValue, newValue) -> oldValue.first <= newValue.first ? oldValue : newValue);
+    }
+
     public List<PhysicalProperties> getInputPropertiesList(PhysicalProperties require) {
         Preconditions.checkState(lowestCostTable.containsKey(require));
         return lowestCostTable.get(require).second;
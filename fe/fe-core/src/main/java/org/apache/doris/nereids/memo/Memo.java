@@ -34,14 +34,16 @@ import javax.annotation.Nullable;
 
 /**
  * Representation for memo in cascades optimizer.
+ * Jobs may be executed concurrently by {@link org.apache.doris.nereids.jobs.scheduler.ParallelJobScheduler},
+ * so the modifications of memo are serialized, and the lookup of group expressions is lock free.
  */
 public class Memo {
     // generate group id in memo is better for test, since we can reproduce exactly same Memo.
     private final IdGenerator<GroupId> groupIdGenerator = GroupId.createGenerator();
-    private final List<Group> groups = Lists.newArrayList();
+    private final List<Group> groups = Lists.newCopyOnWriteArrayList();
     // we could not use Set, because Set does not have get method.
-    private final Map<GroupExpression, GroupExpression> groupExpressions = Maps.newHashMap();
-    private Group root;
+    private final Map<GroupExpression, GroupExpression> groupExpressions = Maps.newConcurrentMap();
+    private volatile Group root;
 
     public void initialize(Plan node) {
         root = copyIn(node, null, false).getParent();
@@ -68,7 +70,7 @@ public class Memo {
      * @param rewrite whether to rewrite the node to the target group
      * @return Reference of node in Memo
      */
-    public GroupExpression copyIn(Plan node, @Nullable Group target, boolean rewrite) {
+    public synchronized GroupExpression copyIn(Plan node, @Nullable Group target, boolean rewrite) {
         Optional<GroupExpression> groupExpr = node.getGroupExpression();
         if (!rewrite && groupExpr.isPresent() && groupExpressions.containsKey(groupExpr.get())) {
             return groupExpr.get();
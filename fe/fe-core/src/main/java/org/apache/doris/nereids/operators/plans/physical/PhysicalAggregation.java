@@ -18,6 +18,7 @@
 package org.apache.doris.nereids.operators.plans.physical;
 
 import org.apache.doris.nereids.operators.OperatorType;
+import org.apache.doris.nereids.operators.OperatorVisitor;
 import org.apache.doris.nereids.operators.plans.AggPhase;
 import org.apache.doris.nereids.trees.expressions.Expression;
 import org.apache.doris.nereids.trees.expressions.NamedExpression;
@@ -87,6 +88,11 @@ public class PhysicalAggregation extends PhysicalUnaryOperator {
         return visitor.visitPhysicalAggregation((PhysicalUnaryPlan<PhysicalAggregation, Plan>) plan, context);
     }
 
+    @Override
+    public <R, C> R accept(OperatorVisitor<R, C> visitor, C context) {
+        return visitor.visitPhysicalAggregation(this, context);
+    }
+
     @Override
     public List<Expression> getExpressions() {
         // TODO: partitionExprList maybe null.
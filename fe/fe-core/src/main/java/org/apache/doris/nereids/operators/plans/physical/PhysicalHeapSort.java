@@ -18,6 +18,7 @@
 package org.apache.doris.nereids.operators.plans.physical;
 
 import org.apache.doris.nereids.operators.OperatorType;
+import org.apache.doris.nereids.operators.OperatorVisitor;
 import org.apache.doris.nereids.properties.OrderKey;
 import org.apache.doris.nereids.trees.expressions.Expression;
 import org.apache.doris.nereids.trees.plans.Plan;
@@ -64,6 +65,11 @@ public class PhysicalHeapSort extends PhysicalUnaryOperator {
         return visitor.visitPhysicalSort((PhysicalUnaryPlan<PhysicalHeapSort, Plan>) plan, context);
     }
 
+    @Override
+    public <R, C> R accept(OperatorVisitor<R, C> visitor, C context) {
+        return visitor.visitPhysicalHeapSort(this, context);
+    }
+
     @Override
     public List<Expression> getExpressions() {
         return ImmutableList.<Expression>builder()
@@ -20,6 +20,7 @@ package org.apache.doris.nereids.operators.plans.physical;
 import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.Partition;
 import org.apache.doris.nereids.operators.OperatorType;
+import org.apache.doris.nereids.operators.OperatorVisitor;
 import org.apache.doris.nereids.trees.expressions.Expression;
 import org.apache.doris.nereids.trees.plans.Plan;
 import org.apache.doris.nereids.trees.plans.PlanOperatorVisitor;
@@ -86,6 +87,11 @@ public class PhysicalOlapScan extends PhysicalScan {
         return visitor.visitPhysicalOlapScan((PhysicalLeafPlan<PhysicalOlapScan>) plan, context);
     }
 
+    @Override
+    public <R, C> R accept(OperatorVisitor<R, C> visitor, C context) {
+        return visitor.visitPhysicalOlapScan(this, context);
+    }
+
     @Override
     public List<Expression> getExpressions() {
         return ImmutableList.of();
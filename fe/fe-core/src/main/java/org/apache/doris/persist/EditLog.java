@@ -44,6 +44,7 @@ import org.apache.doris.common.util.SmallFileMgr.SmallFile;
 import org.apache.doris.datasource.CatalogLog;
 import org.apache.doris.ha.MasterInfo;
 import org.apache.doris.journal.Journal;
+import org.apache.doris.journal.JournalBatch;
 import org.apache.doris.journal.JournalCursor;
 import org.apache.doris.journal.JournalEntity;
 import org.apache.doris.journal.bdbje.BDBJEJournal;
@@ -66,16 +67,22 @@ import org.apache.doris.mysql.privilege.UserPropertyInfo;
 import org.apache.doris.plugin.PluginInfo;
 import org.apache.doris.policy.DropPolicyLog;
 import org.apache.doris.policy.Policy;
+import org.apache.doris.statistics.ColumnSketch;
 import org.apache.doris.system.Backend;
 import org.apache.doris.system.Frontend;
 import org.apache.doris.transaction.TransactionState;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * EditLog maintains a log of the memory modifications.
@@ -93,6 +100,13 @@ public class EditLog {
 
     private Journal journal;
 
+    // journals waiting to be written by the group commit thread.
+    // only used when Config.enable_edit_log_group_commit is true.
+    private final BlockingQueue<JournalTask> journalQueue = new LinkedBlockingQueue<>();
+    private volatile Thread groupCommitThread = null;
+    // the failure of writing a batch. once set, the journals are not written anymore, and all waiters fail with it.
+    private Throwable groupCommitError = null;
+
     public EditLog(String nodeName) {
         journal = new BDBJEJournal(nodeName);
     }
@@ -846,6 +860,11 @@ public class EditLog {
                     catalog.getDataSourceMgr().replayAlterCatalogProps(log);
                     break;
                 }
+                case OperationType.OP_UPDATE_COLUMN_SKETCH: {
+                    ColumnSketch log = (ColumnSketch) journal.getData();
+                    catalog.getStatisticsManager().replayUpdateColumnSketch(log);
+                    break;
+                }
                 default: {
                     IOException e = new IOException();
                     LOG.error("UNKNOWN Operation Type {}", opCode, e);
@@ -900,7 +919,15 @@ public class EditLog {
     /**
      * Write an operation to the edit log. Do not sync to persistent store yet.
      */
-    private synchronized void logEdit(short op, Writable writable) {
+    private void logEdit(short op, Writable writable) {
+        if (Config.enable_edit_log_group_commit) {
+            logEditWithGroupCommit(op, writable);
+        } else {
+            logEditDirectly(op, writable);
+        }
+    }
+
+    private synchronized void logEditDirectly(short op, Writable writable) {
         if (this.getNumEditStreams() == 0) {
             LOG.error("Fatal Error : no editLog stream", new Exception());
             throw new Error("Fatal Error : no editLog stream");
@@ -944,6 +971,132 @@ public class EditLog {
         }
     }
 
+    /**
+     * Hand the operation over to the group commit thread and wait until the batch which
+     * contains it is committed. The journal is serialized in the caller thread.
+     */
+    private void logEditWithGroupCommit(short op, Writable writable) {
+        if (this.getNumEditStreams() == 0) {
+            LOG.error("Fatal Error : no editLog stream", new Exception());
+            throw new Error("Fatal Error : no editLog stream");
+        }
+
+        long start = System.currentTimeMillis();
+        JournalTask task = null;
+        try {
+            task = new JournalTask(JournalBatch.serialize(op, writable));
+        } catch (Throwable t) {
+            LOG.error("Fatal Error : serialize journal Exception", t);
+            System.exit(-1);
+        }
+
+        startGroupCommitThreadIfNeeded();
+        journalQueue.add(task);
+        Uninterruptibles.awaitUninterruptibly(task.latch);
+        if (task.error != null) {
+            // same as writing the journal directly, the waiters of a failed batch exit
+            LOG.error("Fatal Error : write stream Exception", task.error);
+            System.exit(-1);
+        }
+
+        long end = System.currentTimeMillis();
+        if (MetricRepo.isInit) {
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((end - start));
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("op = {} is written in a group commit, cost {} ms", op, end - start);
+        }
+    }
+
+    private void startGroupCommitThreadIfNeeded() {
+        if (groupCommitThread != null) {
+            return;
+        }
+        synchronized (this) {
+            if (groupCommitThread == null) {
+                Thread thread = new Thread(this::runGroupCommit, "edit-log-group-commit");
+                thread.setDaemon(true);
+                thread.start();
+                groupCommitThread = thread;
+            }
+        }
+    }
+
+    private void runGroupCommit() {
+        List<JournalTask> tasks = Lists.newArrayList();
+        while (true) {
+            tasks.clear();
+            try {
+                tasks.add(journalQueue.take());
+            } catch (InterruptedException e) {
+                LOG.warn("edit log group commit thread is interrupted, ignore it", e);
+                continue;
+            }
+            journalQueue.drainTo(tasks, Math.max(Config.edit_log_group_commit_max_batch_size, 1) - 1);
+
+            JournalBatch batch = new JournalBatch(tasks.size());
+            for (JournalTask task : tasks) {
+                batch.addEntity(task.entity);
+            }
+
+            long start = System.currentTimeMillis();
+            if (groupCommitError == null) {
+                try {
+                    journal.write(batch);
+                } catch (Throwable t) {
+                    // Throwable contains all Exception and Error, such as IOException and OutOfMemoryError
+                    LOG.error("Fatal Error : write journal batch Exception, batch size: {}", tasks.size(), t);
+                    groupCommitError = t;
+                }
+            }
+            if (groupCommitError != null) {
+                for (JournalTask task : tasks) {
+                    task.error = groupCommitError;
+                    task.latch.countDown();
+                }
+                continue;
+            }
+            long end = System.currentTimeMillis();
+
+            synchronized (this) {
+                txId += tasks.size();
+                numTransactions += tasks.size();
+                totalTimeTransactions += (end - start);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("nextId = {}, numTransactions = {}, totalTimeTransactions = {}, batch size = {}",
+                            txId, numTransactions, totalTimeTransactions, tasks.size());
+                }
+                if (txId >= Config.edit_log_roll_num) {
+                    LOG.info("txId {} is equal to or larger than edit_log_roll_num {}, will roll edit.",
+                            txId, Config.edit_log_roll_num);
+                    rollEditLog();
+                    txId = 0;
+                }
+            }
+
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_EDIT_LOG_BATCH_SIZE.update(tasks.size());
+                MetricRepo.HISTO_EDIT_LOG_BATCH_WRITE_LATENCY.update((end - start));
+                MetricRepo.COUNTER_EDIT_LOG_WRITE.increase((long) tasks.size());
+            }
+
+            for (JournalTask task : tasks) {
+                task.latch.countDown();
+            }
+        }
+    }
+
+    private static class JournalTask {
+        private final JournalBatch.Entity entity;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        // set if the batch which contains the journal failed to be written, visible to the waiter after the latch
+        private Throwable error = null;
+
+        JournalTask(JournalBatch.Entity entity) {
+            this.entity = entity;
+        }
+    }
+
     /**
      * Return the size of the current EditLog
      */
@@ -1461,4 +1614,8 @@ public class EditLog {
     public void logDatasourceLog(short id, CatalogLog log) {
         logEdit(id, log);
     }
+
+    public void logUpdateColumnSketch(ColumnSketch sketch) {
+        logEdit(OperationType.OP_UPDATE_COLUMN_SKETCH, sketch);
+    }
 }
@@ -229,6 +229,9 @@ public class OperationType {
     public static final short OP_ALTER_DS_NAME = 314;
     public static final short OP_ALTER_DS_PROPS = 315;
 
+    // statistics 330-339
+    public static final short OP_UPDATE_COLUMN_SKETCH = 330;
+
     // get opcode name by op codeStri
     public static String getOpName(short opCode) {
         try {
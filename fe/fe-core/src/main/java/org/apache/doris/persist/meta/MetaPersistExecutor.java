@@ -0,0 +1,92 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.meta.MetaContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Run the load or save work of meta modules in a thread pool.
+ * The worker threads share the MetaContext of the caller, and are treated as checkpoint thread
+ * if the caller is the checkpoint thread, so that they operate on the same catalog as the caller.
+ */
+public class MetaPersistExecutor implements AutoCloseable {
+    public interface MetaTask<T> {
+        T run() throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final MetaContext metaContext;
+    private final boolean isCheckpoint;
+
+    public MetaPersistExecutor(int parallelism, int taskNum, String name) {
+        this.executor = ThreadPoolManager.newDaemonFixedThreadPool(parallelism, Math.max(taskNum, 1), name, false);
+        this.metaContext = MetaContext.get();
+        this.isCheckpoint = Catalog.isCheckpointThread();
+    }
+
+    /**
+     * Submit the task, it will be run after all the dependencies are done.
+     * If any of the dependencies failed, the task will not be run and the returned future fails too.
+     */
+    public <T> CompletableFuture<T> submit(MetaTask<T> task, List<CompletableFuture<?>> dependencies) {
+        CompletableFuture<Void> dependenciesDone
+                = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]));
+        return dependenciesDone.thenApplyAsync(v -> {
+            if (metaContext != null) {
+                metaContext.setThreadLocalInfo();
+            }
+            Catalog.setCheckpointWorker(isCheckpoint);
+            try {
+                return task.run();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                Catalog.setCheckpointWorker(false);
+                MetaContext.remove();
+            }
+        }, executor);
+    }
+
+    /**
+     * Wait for the task and return its result, the failure of the task is rethrown as IOException.
+     */
+    public static <T> T get(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
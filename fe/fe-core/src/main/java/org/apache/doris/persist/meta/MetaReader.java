@@ -18,9 +18,14 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.DdlException;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.CountingInputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +36,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Image Format:
@@ -67,6 +75,9 @@ import java.lang.reflect.InvocationTargetException;
 public class MetaReader {
     private static final Logger LOG = LogManager.getLogger(MetaReader.class);
 
+    // module name -> cost in ms of the last load
+    private static final Map<String, Long> moduleLoadCostMs = Maps.newConcurrentMap();
+
     public static void read(File imageFile, Catalog catalog) throws IOException, DdlException {
         LOG.info("start load image from {}. is ckpt: {}", imageFile.getAbsolutePath(), Catalog.isCheckpointThread());
         long loadImageStartTime = System.currentTimeMillis();
@@ -80,27 +91,121 @@ public class MetaReader {
             // 2. Read meta header first
             checksum = catalog.loadHeader(dis, metaHeader, checksum);
             // 3. Read other meta modules
-            // Modules must be read in the order in which the metadata was written
-            for (MetaIndex metaIndex : metaFooter.metaIndices) {
+            if (Config.image_load_parallelism > 1 && !metaFooter.metaIndices.isEmpty()) {
+                checksum ^= readModulesInParallel(imageFile, metaFooter, catalog);
+            } else {
+                // Modules must be read in the order in which the metadata was written
+                for (MetaIndex metaIndex : metaFooter.metaIndices) {
+                    if (metaIndex.name.equals("header")) {
+                        // skip meta header, which has been read before.
+                        continue;
+                    }
+                    checksum = readModule(getPersistMethod(metaIndex.name), catalog, dis, checksum);
+                }
+            }
+        }
+
+        long remoteChecksum = metaFooter.checksum;
+        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+
+        long loadImageEndTime = System.currentTimeMillis();
+        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+    }
+
+    /*
+     * Each module is read by its own input stream which starts at the offset recorded in meta index.
+     * A module is loaded after the modules it depends on, see PersistMetaModules.MODULE_DEPENDENCIES.
+     * The checksum of each module is an XOR of its own content, so the modules are loaded with 0 as the initial
+     * checksum, and the XOR of their results is returned.
+     */
+    private static long readModulesInParallel(File imageFile, MetaFooter metaFooter, Catalog catalog)
+            throws IOException {
+        List<MetaIndex> metaIndices = metaFooter.metaIndices;
+        long bodyEnd = imageFile.length() - MetaFooter.FOOTER_LENGTH_SIZE - MetaMagicNumber.MAGIC_STR.length()
+                - metaFooter.length;
+        Map<String, CompletableFuture<Long>> futures = Maps.newLinkedHashMap();
+        try (MetaPersistExecutor executor = new MetaPersistExecutor(Config.image_load_parallelism,
+                metaIndices.size(), "image-loader")) {
+            for (int i = 0; i < metaIndices.size(); i++) {
+                MetaIndex metaIndex = metaIndices.get(i);
                 if (metaIndex.name.equals("header")) {
-                    // skip meta header, which has been read before.
                     continue;
                 }
-                MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(metaIndex.name);
-                if (persistMethod == null) {
-                    throw new IOException("Unknown meta module: " + metaIndex.name + ". Known moduels: "
-                            + PersistMetaModules.MODULE_NAMES);
+                MetaPersistMethod persistMethod = getPersistMethod(metaIndex.name);
+                long start = metaIndex.offset;
+                long end = i + 1 < metaIndices.size() ? metaIndices.get(i + 1).offset : bodyEnd;
+                List<CompletableFuture<?>> dependencies = Lists.newArrayList();
+                for (String dependency : PersistMetaModules.MODULE_DEPENDENCIES.getOrDefault(metaIndex.name,
+                        ImmutableList.of())) {
+                    // the dependency may not exist in image of old version
+                    if (futures.containsKey(dependency)) {
+                        dependencies.add(futures.get(dependency));
+                    }
+                }
+                futures.put(metaIndex.name, executor.submit(
+                        () -> readModule(persistMethod, catalog, imageFile, start, end), dependencies));
+            }
+
+            // wait for all modules even if some of them failed, to make sure no one is still modifying the catalog
+            long checksum = 0;
+            IOException firstException = null;
+            for (Map.Entry<String, CompletableFuture<Long>> entry : futures.entrySet()) {
+                try {
+                    checksum ^= MetaPersistExecutor.get(entry.getValue());
+                } catch (IOException e) {
+                    LOG.warn("failed to load meta module: {}", entry.getKey(), e);
+                    if (firstException == null) {
+                        firstException = e;
+                    }
                 }
-                checksum = (long) persistMethod.readMethod.invoke(catalog, dis, checksum);
             }
+            if (firstException != null) {
+                throw firstException;
+            }
+            return checksum;
+        }
+    }
+
+    private static long readModule(MetaPersistMethod persistMethod, Catalog catalog, File imageFile,
+            long start, long end) throws IOException {
+        try (FileInputStream fis = new FileInputStream(imageFile)) {
+            fis.getChannel().position(start);
+            CountingInputStream cis = new CountingInputStream(new BufferedInputStream(fis));
+            long checksum = readModule(persistMethod, catalog, new DataInputStream(cis), 0L);
+            if (cis.getCount() != end - start) {
+                throw new IOException("meta module " + persistMethod.name + " read " + cis.getCount()
+                        + " bytes, but its length in image is " + (end - start));
+            }
+            return checksum;
+        }
+    }
+
+    private static long readModule(MetaPersistMethod persistMethod, Catalog catalog, DataInputStream dis,
+            long checksum) throws IOException {
+        long startTime = System.currentTimeMillis();
+        long newChecksum;
+        try {
+            newChecksum = (long) persistMethod.readMethod.invoke(catalog, dis, checksum);
         } catch (InvocationTargetException | IllegalAccessException e) {
             throw new IOException(e);
         }
+        long cost = System.currentTimeMillis() - startTime;
+        moduleLoadCostMs.put(persistMethod.name, cost);
+        LOG.info("finished to load meta module {} in {} ms", persistMethod.name, cost);
+        return newChecksum;
+    }
 
-        long remoteChecksum = metaFooter.checksum;
-        Preconditions.checkState(remoteChecksum == checksum, remoteChecksum + " vs. " + checksum);
+    private static MetaPersistMethod getPersistMethod(String name) throws IOException {
+        MetaPersistMethod persistMethod = PersistMetaModules.MODULES_MAP.get(name);
+        if (persistMethod == null) {
+            throw new IOException("Unknown meta module: " + name + ". Known moduels: "
+                    + PersistMetaModules.MODULE_NAMES);
+        }
+        return persistMethod;
+    }
 
-        long loadImageEndTime = System.currentTimeMillis();
-        LOG.info("finished to load image in " + (loadImageEndTime - loadImageStartTime) + " ms");
+    // return the cost in ms of the last load of the module, or -1 if it has not been loaded
+    public static long getModuleLoadCostMs(String name) {
+        return moduleLoadCostMs.getOrDefault(name, -1L);
     }
 }
@@ -18,10 +18,12 @@
 package org.apache.doris.persist.meta;
 
 import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.io.CountingDataOutputStream;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -30,7 +32,11 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Image Format:
@@ -69,6 +75,9 @@ public class MetaWriter {
 
     public static MetaWriter writer = new MetaWriter();
 
+    // module name -> cost in ms of the last save
+    private static final Map<String, Long> moduleSaveCostMs = Maps.newConcurrentMap();
+
     private interface Delegate {
         long doWork(String name, WriteMethod method) throws IOException;
     }
@@ -111,15 +120,14 @@ public class MetaWriter {
             checksum.setRef(
                     writer.doWork("header", () -> catalog.saveHeader(dos, replayedJournalId, checksum.getRef())));
             // 2. write other modules
-            for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
-                checksum.setRef(writer.doWork(m.name, () -> {
-                    try {
-                        return (long) m.writeMethod.invoke(catalog, dos, checksum.getRef());
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        LOG.warn("failed to write meta module: {}", m.name, e);
-                        throw new RuntimeException(e);
-                    }
-                }));
+            // Only the checkpoint thread saves modules in parallel. Other callers, eg, dumpImage, hold the locks
+            // of catalog and dbs, the worker threads may be blocked by them.
+            if (Config.image_save_parallelism > 1 && Catalog.isCheckpointThread()) {
+                checksum.setRef(checksum.getRef() ^ writeModulesInParallel(imageFile, catalog, dos, metaIndices));
+            } else {
+                for (MetaPersistMethod m : PersistMetaModules.MODULES_IN_ORDER) {
+                    checksum.setRef(writer.doWork(m.name, () -> writeModule(m, catalog, dos, checksum.getRef())));
+                }
             }
             // 3. force sync to disk
             imageFileOut.getChannel().force(true);
@@ -131,4 +139,71 @@ public class MetaWriter {
                 (saveImageEndTime - saveImageStartTime), checksum.getRef());
     }
 
+    /*
+     * Each module is written to its own temporary file by the worker threads, and then they are appended to
+     * the image in order. The checksum of each module is an XOR of its own content, so the modules are written
+     * with 0 as the initial checksum, and the XOR of their results is returned.
+     */
+    private static long writeModulesInParallel(File imageFile, Catalog catalog, CountingDataOutputStream dos,
+            List<MetaIndex> metaIndices) throws IOException {
+        List<MetaPersistMethod> modules = PersistMetaModules.MODULES_IN_ORDER;
+        File dir = imageFile.getAbsoluteFile().getParentFile();
+        List<File> moduleFiles = Lists.newArrayList();
+        List<CompletableFuture<Long>> futures = Lists.newArrayList();
+        try (MetaPersistExecutor executor = new MetaPersistExecutor(Config.image_save_parallelism,
+                modules.size(), "image-saver")) {
+            for (MetaPersistMethod m : modules) {
+                // the name should not start with "image", otherwise it will be treated as an image by MetaCleaner
+                File moduleFile = new File(dir, "module_" + imageFile.getName() + "." + m.name + ".part");
+                moduleFiles.add(moduleFile);
+                futures.add(executor.submit(() -> {
+                    try (CountingDataOutputStream moduleDos = new CountingDataOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(moduleFile)))) {
+                        return writeModule(m, catalog, moduleDos, 0L);
+                    }
+                }, Collections.emptyList()));
+            }
+
+            long checksum = 0;
+            try {
+                for (int i = 0; i < modules.size(); i++) {
+                    checksum ^= MetaPersistExecutor.get(futures.get(i));
+                    metaIndices.add(new MetaIndex(modules.get(i).name, dos.getCount()));
+                    Files.copy(moduleFiles.get(i).toPath(), dos);
+                }
+            } catch (IOException e) {
+                // wait for the running modules before deleting their files
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(t -> null).join();
+                throw e;
+            }
+            return checksum;
+        } finally {
+            for (File moduleFile : moduleFiles) {
+                if (moduleFile.exists() && !moduleFile.delete()) {
+                    LOG.warn("failed to delete temporary file {}", moduleFile.getAbsolutePath());
+                }
+            }
+        }
+    }
+
+    private static long writeModule(MetaPersistMethod m, Catalog catalog, CountingDataOutputStream dos,
+            long checksum) throws IOException {
+        long startTime = System.currentTimeMillis();
+        long newChecksum;
+        try {
+            newChecksum = (long) m.writeMethod.invoke(catalog, dos, checksum);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOG.warn("failed to write meta module: {}", m.name, e);
+            throw new IOException(e);
+        }
+        long cost = System.currentTimeMillis() - startTime;
+        moduleSaveCostMs.put(m.name, cost);
+        LOG.info("finished to save meta module {} in {} ms", m.name, cost);
+        return newChecksum;
+    }
+
+    // return the cost in ms of the last save of the module, or -1 if it has not been saved
+    public static long getModuleSaveCostMs(String name) {
+        return moduleSaveCostMs.getOrDefault(name, -1L);
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.doris.persist.meta;
 
 import com.clearspring.analytics.util.Lists;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
 import java.util.List;
@@ -38,7 +39,31 @@ public class PersistMetaModules {
             "masterInfo", "frontends", "backends", "datasource", "db", "loadJob", "alterJob", "recycleBin",
             "globalVariable", "cluster", "broker", "resources", "exportJob", "syncJob", "backupHandler",
             "paloAuth", "transactionState", "colocateTableIndex", "routineLoadJobs", "loadJobV2", "smallFiles",
-            "plugins", "deleteHandler", "sqlBlockRule", "policy");
+            "plugins", "deleteHandler", "sqlBlockRule", "policy", "statistics");
+
+    // module name -> names of the modules which must be loaded before it.
+    // Loading of some modules relies on the result of others, eg, the DatabaseTransactionMgr of each db is created
+    // when loading "db" and "recycleBin", and is required by "transactionState", and the PENDING mini load jobs
+    // in "loadJobV2" are dropped if their transactions are not found in "transactionState".
+    // Modules not listed here only touch their own managers, so they can be loaded in parallel with any others.
+    // Remember to update this when adding a new module which depends on others.
+    public static final ImmutableMap<String, ImmutableList<String>> MODULE_DEPENDENCIES =
+            ImmutableMap.<String, ImmutableList<String>>builder()
+                    .put("db", ImmutableList.of("datasource"))
+                    .put("loadJob", ImmutableList.of("db"))
+                    .put("alterJob", ImmutableList.of("db"))
+                    .put("recycleBin", ImmutableList.of("db"))
+                    .put("cluster", ImmutableList.of("backends", "db"))
+                    .put("exportJob", ImmutableList.of("db"))
+                    .put("syncJob", ImmutableList.of("db"))
+                    .put("backupHandler", ImmutableList.of("db"))
+                    .put("transactionState", ImmutableList.of("db", "recycleBin"))
+                    .put("colocateTableIndex", ImmutableList.of("db"))
+                    .put("routineLoadJobs", ImmutableList.of("db"))
+                    .put("loadJobV2", ImmutableList.of("db", "transactionState"))
+                    .put("deleteHandler", ImmutableList.of("db"))
+                    .put("policy", ImmutableList.of("resources"))
+                    .build();
 
     static {
         MODULES_MAP = Maps.newHashMap();
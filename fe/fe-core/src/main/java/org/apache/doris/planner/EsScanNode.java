@@ -26,6 +26,7 @@ import org.apache.doris.catalog.PartitionInfo;
 import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.RangePartitionInfo;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.UserException;
 import org.apache.doris.external.elasticsearch.EsShardPartitions;
 import org.apache.doris.external.elasticsearch.EsShardRouting;
@@ -80,6 +81,11 @@ public class EsScanNode extends ScanNode {
     @Override
     public void init(Analyzer analyzer) throws UserException {
         super.init(analyzer);
+        if (Config.es_meta_stale_second >= 0) {
+            // the background sync may fall behind, do not plan with the stale shard locations
+            table.syncTableMetaDataIfStale(Config.es_meta_stale_second * 1000);
+            esTablePartitions = table.getEsTablePartitions();
+        }
         computeColumnFilter();
         assignBackends();
         computeStats(analyzer);
@@ -30,6 +30,7 @@ import org.apache.doris.analysis.SlotId;
 import org.apache.doris.analysis.SlotRef;
 import org.apache.doris.analysis.TableRef;
 import org.apache.doris.analysis.TupleId;
+import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.ColumnStats;
 import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.TableIf;
@@ -38,6 +39,7 @@ import org.apache.doris.common.NotImplementedException;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.VectorizedUtil;
+import org.apache.doris.statistics.Histogram;
 import org.apache.doris.statistics.StatisticalType;
 import org.apache.doris.statistics.StatsRecursiveDerive;
 import org.apache.doris.thrift.TEqJoinCondition;
@@ -374,6 +376,26 @@ public class HashJoinNode extends PlanNode {
             return table.getRowCount();
         }
 
+        /**
+         * Returns the join cardinality estimated by the histograms of both sides, or -1 if any side has no histogram.
+         * The frequent values are matched by their real row counts, so the estimation is better on skewed data.
+         * The result is scaled down if the inputs are reduced by predicates.
+         */
+        public double histogramJoinCardinality(long lhsCard, long rhsCard) {
+            Histogram lhsHistogram = Catalog.getCurrentCatalog().getStatisticsManager().getHistogram(lhs);
+            Histogram rhsHistogram = Catalog.getCurrentCatalog().getStatisticsManager().getHistogram(rhs);
+            if (lhsHistogram == null || rhsHistogram == null) {
+                return -1;
+            }
+            double lhsRows = lhsHistogram.getRowCount();
+            double rhsRows = rhsHistogram.getRowCount();
+            if (lhsRows <= 0 || rhsRows <= 0) {
+                return -1;
+            }
+            return lhsHistogram.estimateJoinRows(rhsHistogram)
+                    * Math.min(1.0, lhsCard / lhsRows) * Math.min(1.0, rhsCard / rhsRows);
+        }
+
         public TupleId lhsTid() {
             return lhs.getParent().getId();
         }
@@ -406,6 +428,9 @@ public class HashJoinNode extends PlanNode {
             if (slotDesc.getColumn() == null) {
                 return false;
             }
+            if (Catalog.getCurrentCatalog().getStatisticsManager().getHistogram(slotDesc) != null) {
+                return true;
+            }
             if (!slotDesc.getStats().hasNumDistinctValues()) {
                 return false;
             }
@@ -486,6 +511,12 @@ public class HashJoinNode extends PlanNode {
 
         long result = -1;
         for (EqJoinConjunctScanSlots slots : eqJoinConjunctSlots) {
+            double histogramJoinCard = slots.histogramJoinCardinality(lhsCard, rhsCard);
+            if (histogramJoinCard >= 0) {
+                long joinCard = Math.round(histogramJoinCard);
+                result = result == -1 ? joinCard : Math.min(result, joinCard);
+                continue;
+            }
             // Adjust the NDVs on both sides to account for predicates. Intuitively, the NDVs
             // should only decrease. We ignore adjustments that would lead to an increase.
             double lhsAdjNdv = slots.lhsNdv();
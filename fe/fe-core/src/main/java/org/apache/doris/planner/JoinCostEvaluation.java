@@ -17,7 +17,11 @@
 
 package org.apache.doris.planner;
 
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.SlotDescriptor;
+import org.apache.doris.catalog.Catalog;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.statistics.Histogram;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,6 +39,9 @@ import org.apache.logging.log4j.Logger;
  * and data size, and MysqlScanNode's cardinality is always 1. Other ScanNode's cardinality is -1.
  * So if there are other kind of scan node in join query, it won't be able to calculate the cost of join normally
  * and result in both "broadcastCost" and "partitionCost" be 0. And this will lead to a SHUFFLE join.
+ *
+ * If the join keys have histograms, the shuffle cost takes the skew of join keys into account,
+ * because all rows of the most frequent value are sent to and processed by the same instance.
  */
 public class JoinCostEvaluation {
     private static final Logger LOG = LogManager.getLogger(JoinCostEvaluation.class);
@@ -45,6 +52,8 @@ public class JoinCostEvaluation {
     private final long lhsTreeCardinality;
     private final float lhsTreeAvgRowSize;
     private final int lhsTreeNumNodes;
+    private final double lhsSkewFactor;
+    private final double rhsSkewFactor;
     private long broadcastCost = 0;
     private long partitionCost = 0;
 
@@ -57,6 +66,8 @@ public class JoinCostEvaluation {
         lhsTreeCardinality = lhsTree.getCardinality();
         lhsTreeAvgRowSize = lhsTree.getAvgRowSize();
         lhsTreeNumNodes = leftChildFragment.getNumNodes();
+        lhsSkewFactor = computeSkewFactor(node, 0);
+        rhsSkewFactor = computeSkewFactor(node, 1);
 
         String nodeOverview = setNodeOverview(node, rightChildFragment, leftChildFragment);
         broadcastCost(nodeOverview);
@@ -69,6 +80,31 @@ public class JoinCostEvaluation {
                 + " left fragment id=" + leftChildFragment.getFragmentId().toString();
     }
 
+    /**
+     * The ratio of the data of the busiest instance to the average one when the child is shuffled by the join keys,
+     * estimated by the most frequent value in the histograms of join keys. 1 means no skew.
+     * The rows are distributed by all join keys, so the least skewed key bounds the skew.
+     */
+    private double computeSkewFactor(PlanNode node, int childIdx) {
+        if (!(node instanceof HashJoinNode) || lhsTreeNumNodes <= 1) {
+            return 1.0;
+        }
+        double maxValueFraction = 1.0;
+        boolean hasHistogram = false;
+        for (BinaryPredicate eqJoinConjunct : ((HashJoinNode) node).getEqJoinConjuncts()) {
+            SlotDescriptor slotDesc = eqJoinConjunct.getChild(childIdx).findSrcScanSlot();
+            Histogram histogram = Catalog.getCurrentCatalog().getStatisticsManager().getHistogram(slotDesc);
+            if (histogram != null) {
+                hasHistogram = true;
+                maxValueFraction = Math.min(maxValueFraction, histogram.getMaxValueFraction());
+            }
+        }
+        if (!hasHistogram) {
+            return 1.0;
+        }
+        return Math.max(1.0, maxValueFraction * lhsTreeNumNodes);
+    }
+
     private void broadcastCost(String nodeOverview) {
         if (rhsTreeCardinality != -1 && lhsTreeNumNodes != -1) {
             broadcastCost = Math.round((double) rhsTreeCardinality * rhsTreeAvgRowSize) * lhsTreeNumNodes;
@@ -88,16 +124,16 @@ public class JoinCostEvaluation {
      */
     private void shuffleCost(String nodeOverview) {
         if (lhsTreeCardinality != -1 && rhsTreeCardinality != -1) {
-            partitionCost = Math.round(
-                    (double) lhsTreeCardinality * lhsTreeAvgRowSize + (double) rhsTreeCardinality * rhsTreeAvgRowSize);
+            partitionCost = Math.round((double) lhsTreeCardinality * lhsTreeAvgRowSize * lhsSkewFactor
+                    + (double) rhsTreeCardinality * rhsTreeAvgRowSize * rhsSkewFactor);
         }
         if (LOG.isDebugEnabled()) {
             LOG.debug(nodeOverview);
             LOG.debug("partition: cost=" + Long.toString(partitionCost));
             LOG.debug("lhs card=" + Long.toString(lhsTreeCardinality) + " row_size="
-                    + Float.toString(lhsTreeAvgRowSize));
+                    + Float.toString(lhsTreeAvgRowSize) + " skew=" + Double.toString(lhsSkewFactor));
             LOG.debug("rhs card=" + Long.toString(rhsTreeCardinality) + " row_size="
-                    + Float.toString(rhsTreeAvgRowSize));
+                    + Float.toString(rhsTreeAvgRowSize) + " skew=" + Double.toString(rhsSkewFactor));
         }
     }
 
@@ -45,6 +45,8 @@ import org.apache.doris.catalog.PartitionItem;
 import org.apache.doris.catalog.PartitionType;
 import org.apache.doris.catalog.Replica;
 import org.apache.doris.catalog.Tablet;
+import org.apache.doris.catalog.TabletLocationCache;
+import org.apache.doris.catalog.TabletLocationCache.TabletLocations;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
@@ -53,9 +55,12 @@ import org.apache.doris.common.util.Util;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.resource.Tag;
+import org.apache.doris.statistics.PartitionStats;
 import org.apache.doris.statistics.StatisticalType;
 import org.apache.doris.statistics.StatsRecursiveDerive;
+import org.apache.doris.statistics.TableStats;
 import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
 import org.apache.doris.thrift.TExplainLevel;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TOlapScanNode;
@@ -79,7 +84,6 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -378,7 +382,8 @@ public class OlapScanNode extends ScanNode {
         for (long selectedPartitionId : selectedPartitionIds) {
             final Partition partition = olapTable.getPartition(selectedPartitionId);
             final MaterializedIndex baseIndex = partition.getBaseIndex();
-            cardinality += baseIndex.getRowCount();
+            PartitionStats partitionStats = getPartitionStats(selectedPartitionId);
+            cardinality += partitionStats == null ? baseIndex.getRowCount() : partitionStats.getRowCount();
         }
         Catalog.getCurrentCatalog().getStatisticsManager()
                 .getStatistics().mockTableStatsWithRowCount(tableId, cardinality);
@@ -405,6 +410,29 @@ public class OlapScanNode extends ScanNode {
         computeNumNodes();
     }
 
+    /**
+     * Compute the partitions and tablets to scan again, after the literals in the conjuncts are replaced,
+     * eg, by the parameters of a prepared statement. The selected index is kept.
+     */
+    public void recomputeScanRanges(Analyzer analyzer) throws UserException {
+        columnFilters.clear();
+        columnNameToRange.clear();
+        result = new ArrayList<>();
+        scanTabletIds.clear();
+        scanBackendIds.clear();
+        tabletId2BucketSeq.clear();
+        bucketSeq2locations.clear();
+        selectedTabletsNum = 0;
+        totalTabletsNum = 0;
+        totalBytes = 0;
+        numNodes = 0;
+
+        computeColumnFilter();
+        computePartitionInfo();
+        mockRowCountInStatistic();
+        finalize(analyzer);
+    }
+
     public void computeTupleState(Analyzer analyzer) {
         for (TupleId id : tupleIds) {
             analyzer.getDescTbl().getTupleDesc(id).computeStat();
@@ -512,6 +540,9 @@ public class OlapScanNode extends ScanNode {
             allowedTags = ConnectContext.get().getResourceTags();
             needCheckTags = ConnectContext.get().isResourceTagsSet();
         }
+        TabletLocationCache locationCache = TabletLocationCache.getInstance();
+        SystemInfoService systemInfo = Catalog.getCurrentSystemInfo();
+        long reportedRowCount = 0;
         for (Tablet tablet : tablets) {
             long tabletId = tablet.getId();
             TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
@@ -522,9 +553,10 @@ public class OlapScanNode extends ScanNode {
             paloRange.setVersionHash("");
             paloRange.setTabletId(tabletId);
 
-            // random shuffle List && only collect one copy
-            List<Replica> replicas = tablet.getQueryableReplicas(visibleVersion);
-            if (replicas.isEmpty()) {
+            // the queryable replicas are cached for the partition version,
+            // and they are iterated from a random one to spread queries over replicas
+            TabletLocations locations = locationCache.getLocations(tablet, visibleVersion, systemInfo);
+            if (locations.isEmpty()) {
                 LOG.error("no queryable replica found in tablet {}. visible version {}",
                         tabletId, visibleVersion);
                 if (LOG.isDebugEnabled()) {
@@ -535,12 +567,15 @@ public class OlapScanNode extends ScanNode {
                 throw new UserException("Failed to get scan range, no queryable replica found in tablet: " + tabletId);
             }
 
-            Collections.shuffle(replicas);
             boolean tabletIsNull = true;
             boolean collectedStat = false;
             List<String> errs = Lists.newArrayList();
-            for (Replica replica : replicas) {
-                Backend backend = Catalog.getCurrentSystemInfo().getBackend(replica.getBackendId());
+            int replicaNum = locations.size();
+            int start = locations.randomStart();
+            for (int i = 0; i < replicaNum; i++) {
+                int idx = (start + i) % replicaNum;
+                Replica replica = locations.getReplica(idx);
+                Backend backend = locations.getBackend(idx);
                 if (backend == null || !backend.isAlive()) {
                     LOG.debug("backend {} not exists or is not alive for replica {}",
                             replica.getBackendId(), replica.getId());
@@ -567,7 +602,7 @@ public class OlapScanNode extends ScanNode {
 
                 // for CBO
                 if (!collectedStat && replica.getRowCount() != -1) {
-                    cardinality += replica.getRowCount();
+                    reportedRowCount += replica.getRowCount();
                     totalBytes += replica.getDataSize();
                     collectedStat = true;
                 }
@@ -584,6 +619,7 @@ public class OlapScanNode extends ScanNode {
 
             result.add(scanRangeLocations);
         }
+        cardinality += adjustByLoadedRows(partition, tablets.size(), reportedRowCount);
 
         if (tablets.size() == 0) {
             desc.setCardinality(0);
@@ -646,6 +682,30 @@ public class OlapScanNode extends ScanNode {
                 (System.currentTimeMillis() - start), selectedIndexId);
     }
 
+    private PartitionStats getPartitionStats(long partitionId) {
+        TableStats tableStats = Catalog.getCurrentCatalog().getStatisticsManager().getStatistics()
+                .getTableStats(olapTable.getId());
+        return tableStats == null ? null : tableStats.getPartitionStats(partitionId);
+    }
+
+    // The row counts of replicas are reported periodically, so the rows loaded after the last report are missing.
+    // Scale them by the row count of the partition maintained by the loads, see PartitionStats.
+    private long adjustByLoadedRows(Partition partition, int scannedTabletNum, long reportedRowCount) {
+        PartitionStats partitionStats = getPartitionStats(partition.getId());
+        if (partitionStats == null) {
+            return reportedRowCount;
+        }
+        long partitionRowCount = partitionStats.getRowCount();
+        long baseRowCount = partition.getBaseIndex().getRowCount();
+        if (baseRowCount > 0) {
+            return Math.max(reportedRowCount, (long) ((double) reportedRowCount * partitionRowCount / baseRowCount));
+        }
+        // nothing has been reported since the partition was created
+        int tabletNum = partition.getIndex(selectedIndexId).getTablets().size();
+        return tabletNum == 0 ? reportedRowCount
+                : Math.max(reportedRowCount, partitionRowCount * scannedTabletNum / tabletNum);
+    }
+
     private void getScanRangeLocations() throws UserException {
         if (selectedPartitionIds.size() == 0) {
             desc.setCardinality(0);
@@ -665,12 +725,16 @@ public class OlapScanNode extends ScanNode {
          */
         Preconditions.checkState(scanBackendIds.size() == 0);
         Preconditions.checkState(scanTabletIds.size() == 0);
+        List<Long> sampleTabletIds = desc.getRef() == null ? null : desc.getRef().getSampleTabletIds();
         for (Long partitionId : selectedPartitionIds) {
             final Partition partition = olapTable.getPartition(partitionId);
             final MaterializedIndex selectedTable = partition.getIndex(selectedIndexId);
             final List<Tablet> tablets = Lists.newArrayList();
-            final Collection<Long> tabletIds = distributionPrune(selectedTable, partition.getDistributionInfo());
+            Collection<Long> tabletIds = distributionPrune(selectedTable, partition.getDistributionInfo());
             LOG.debug("distribution prune tablets: {}", tabletIds);
+            if (sampleTabletIds != null) {
+                tabletIds = selectSampleTablets(partition, selectedTable, tabletIds, sampleTabletIds);
+            }
 
             List<Long> allTabletIds = selectedTable.getTabletIdsInOrder();
             if (tabletIds != null) {
@@ -693,6 +757,22 @@ public class OlapScanNode extends ScanNode {
         }
     }
 
+    // The sample tablets are of the base index. The tablets of the selected index in the same buckets are scanned.
+    private List<Long> selectSampleTablets(Partition partition, MaterializedIndex selectedTable,
+            Collection<Long> prunedTabletIds, List<Long> sampleTabletIds) {
+        Set<Long> sampleTablets = Sets.newHashSet(sampleTabletIds);
+        List<Long> baseTabletIds = partition.getBaseIndex().getTabletIdsInOrder();
+        List<Long> allTabletIds = selectedTable.getTabletIdsInOrder();
+        List<Long> result = Lists.newArrayList();
+        for (int i = 0; i < allTabletIds.size(); i++) {
+            if (sampleTablets.contains(baseTabletIds.get(i))
+                    && (prunedTabletIds == null || prunedTabletIds.contains(allTabletIds.get(i)))) {
+                result.add(allTabletIds.get(i));
+            }
+        }
+        return result;
+    }
+
     /**
      * We query Palo Meta to get request's data location
      * extra result info will pass to backend ScanNode
@@ -86,6 +86,8 @@ public class OlapTableSink extends DataSink {
 
     // set after init called
     private TDataSink tDataSink;
+    // BE id -> path hash of the replicas that the data is loaded into
+    private Multimap<Long, Long> allBePathsMap;
 
     public OlapTableSink(OlapTable dstTable, TupleDescriptor tupleDescriptor, List<Long> partitionIds) {
         this.dstTable = dstTable;
@@ -123,6 +125,11 @@ public class OlapTableSink extends DataSink {
         }
     }
 
+    // can only be called after complete()
+    public Multimap<Long, Long> getAllBePathsMap() {
+        return allBePathsMap;
+    }
+
     public void updateLoadId(TUniqueId newLoadId) {
         tDataSink.getOlapTableSink().setLoadId(newLoadId);
     }
@@ -346,6 +353,7 @@ public class OlapTableSink extends DataSink {
         if (!st.ok()) {
             throw new DdlException(st.getErrorMsg());
         }
+        this.allBePathsMap = allBePathsMap;
         return locationParam;
     }
 
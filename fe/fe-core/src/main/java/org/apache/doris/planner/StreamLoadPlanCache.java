@@ -0,0 +1,276 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.FunctionCallExpr;
+import org.apache.doris.analysis.ImportColumnDesc;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.TabletLocationCache;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.common.Status;
+import org.apache.doris.common.UserException;
+import org.apache.doris.load.LoadErrorHub;
+import org.apache.doris.task.StreamLoadTask;
+import org.apache.doris.thrift.TBrokerRangeDesc;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TLoadErrorHubInfo;
+import org.apache.doris.thrift.TOlapTableSink;
+import org.apache.doris.thrift.TQueryGlobals;
+import org.apache.doris.thrift.TQueryOptions;
+import org.apache.doris.thrift.TScanRange;
+import org.apache.doris.thrift.TScanRangeParams;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * StreamLoadPlanCache caches the plans of stream loads as templates, so that the stream loads into the same table
+ * with the same load properties, eg, columns, where and format, do not parse and plan again.
+ * Only the per-load fields, that is, the load id, txn id, timeout, memory limit and max filter ratio,
+ * are patched into a copy of the template.
+ *
+ * A template is valid only if the schema and the partition layout of the table are the same as the ones it was
+ * built with, and the epoch of TabletLocationCache is not bumped, since the location of the sink depends on the
+ * state of replicas and backends. The disk capacity of the replicas is checked for each load.
+ * The stream loads with nondeterministic functions, eg, now(), are not cached, since they may be folded in plan.
+ */
+public class StreamLoadPlanCache {
+    private static final StreamLoadPlanCache INSTANCE = new StreamLoadPlanCache();
+
+    private volatile Cache<TStreamLoadPutRequest, PlanTemplate> cache;
+
+    public static StreamLoadPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    StreamLoadPlanCache() {
+    }
+
+    private static class PlanTemplate {
+        private final long tableId;
+        private final List<Long> tableLayout;
+        private final long locationEpoch;
+        private final boolean vectorized;
+        private final Multimap<Long, Long> allBePathsMap;
+        private final TExecPlanFragmentParams params;
+
+        PlanTemplate(long tableId, List<Long> tableLayout, long locationEpoch,
+                Multimap<Long, Long> allBePathsMap, TExecPlanFragmentParams params) {
+            this.tableId = tableId;
+            this.tableLayout = tableLayout;
+            this.locationEpoch = locationEpoch;
+            this.vectorized = Config.enable_vectorized_load;
+            this.allBePathsMap = allBePathsMap;
+            this.params = params;
+        }
+    }
+
+    /**
+     * Get the plan of the stream load, which is patched from the cached template if it is valid.
+     * The caller should hold the read lock of the table.
+     */
+    public TExecPlanFragmentParams getPlan(Database db, OlapTable table, TStreamLoadPutRequest request)
+            throws UserException {
+        if (!Config.enable_stream_load_plan_cache) {
+            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
+            return new StreamLoadPlanner(db, table, streamLoadTask).plan(streamLoadTask.getId());
+        }
+        Cache<TStreamLoadPutRequest, PlanTemplate> currentCache = getCache();
+        TStreamLoadPutRequest key = toCacheKey(request);
+        // the epoch is got before building, so a template built on the changing replicas is just stale
+        long locationEpoch = TabletLocationCache.getInstance().getEpoch();
+        List<Long> tableLayout = getTableLayout(table, request.isSetIsTempPartition() && request.isIsTempPartition());
+        PlanTemplate template = currentCache.getIfPresent(key);
+        if (template != null && template.tableId == table.getId() && template.locationEpoch == locationEpoch
+                && template.vectorized == Config.enable_vectorized_load && template.tableLayout.equals(tableLayout)) {
+            Status st = Catalog.getCurrentSystemInfo().checkExceedDiskCapacityLimit(template.allBePathsMap, true);
+            if (!st.ok()) {
+                throw new DdlException(st.getErrorMsg());
+            }
+            return patch(template.params.deepCopy(), request);
+        }
+
+        StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
+        // the columns are rewritten when planning, so check them first
+        boolean cacheable = !hasNondeterministicFunction(streamLoadTask);
+        StreamLoadPlanner planner = new StreamLoadPlanner(db, table, streamLoadTask);
+        TExecPlanFragmentParams params = planner.plan(streamLoadTask.getId());
+        if (cacheable) {
+            currentCache.put(key, new PlanTemplate(table.getId(), tableLayout, locationEpoch,
+                    planner.getOlapTableSink().getAllBePathsMap(), params.deepCopy()));
+        }
+        return params;
+    }
+
+    public long size() {
+        Cache<TStreamLoadPutRequest, PlanTemplate> currentCache = cache;
+        return currentCache == null ? 0 : currentCache.size();
+    }
+
+    public void invalidateAll() {
+        Cache<TStreamLoadPutRequest, PlanTemplate> currentCache = cache;
+        if (currentCache != null) {
+            currentCache.invalidateAll();
+        }
+    }
+
+    private Cache<TStreamLoadPutRequest, PlanTemplate> getCache() {
+        Cache<TStreamLoadPutRequest, PlanTemplate> currentCache = cache;
+        if (currentCache == null) {
+            synchronized (this) {
+                if (cache == null) {
+                    cache = CacheBuilder.newBuilder().maximumSize(Config.stream_load_plan_cache_max_size).build();
+                }
+                currentCache = cache;
+            }
+        }
+        return currentCache;
+    }
+
+    // the request without the per-load fields, which are patched into the template
+    static TStreamLoadPutRequest toCacheKey(TStreamLoadPutRequest request) {
+        TStreamLoadPutRequest key = request.deepCopy();
+        key.unsetUser();
+        key.unsetPasswd();
+        key.unsetUserIp();
+        key.unsetLoadId();
+        key.unsetTxnId();
+        key.unsetAuthCode();
+        key.unsetAuthCodeUuid();
+        key.unsetThriftRpcTimeoutMs();
+        key.unsetTimeout();
+        key.unsetExecMemLimit();
+        key.unsetMaxFilterRatio();
+        return key;
+    }
+
+    // The schema and the partition layout that the plan depends on.
+    // The schema of an index is changed only by schema change, which creates a new index with a new schema hash.
+    static List<Long> getTableLayout(OlapTable table, boolean isTempPartition) {
+        List<Long> layout = Lists.newArrayList();
+        layout.add((long) table.getState().ordinal());
+        layout.add(table.getBaseIndexId());
+        for (Map.Entry<Long, MaterializedIndexMeta> entry : table.getIndexIdToMeta().entrySet()) {
+            layout.add(entry.getKey());
+            layout.add((long) entry.getValue().getSchemaHash());
+            layout.add((long) entry.getValue().getSchemaVersion());
+        }
+        for (Partition partition : isTempPartition ? table.getAllPartitions() : table.getPartitions()) {
+            layout.add(partition.getId());
+            layout.add((long) table.getPartitionInfo().getReplicaAllocation(partition.getId()).getTotalReplicaNum());
+            for (MaterializedIndex index : partition.getMaterializedIndices(MaterializedIndex.IndexExtState.ALL)) {
+                layout.add(index.getId());
+                layout.add((long) index.getState().ordinal());
+            }
+        }
+        return layout;
+    }
+
+    private static boolean hasNondeterministicFunction(StreamLoadTask streamLoadTask) {
+        List<Expr> exprs = Lists.newArrayList();
+        for (ImportColumnDesc desc : streamLoadTask.getColumnExprDescs().descs) {
+            if (desc.getExpr() != null) {
+                exprs.add(desc.getExpr());
+            }
+        }
+        if (streamLoadTask.getWhereExpr() != null) {
+            exprs.add(streamLoadTask.getWhereExpr());
+        }
+        if (streamLoadTask.getDeleteCondition() != null) {
+            exprs.add(streamLoadTask.getDeleteCondition());
+        }
+        List<FunctionCallExpr> functions = Lists.newArrayList();
+        for (Expr expr : exprs) {
+            expr.collect(FunctionCallExpr.class, functions);
+        }
+        for (FunctionCallExpr function : functions) {
+            if (Catalog.getCurrentCatalog().isNondeterministicFunction(function.getFnName().getFunction())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // patch the per-load fields in the same way as StreamLoadPlanner.plan()
+    static TExecPlanFragmentParams patch(TExecPlanFragmentParams params, TStreamLoadPutRequest request) {
+        TUniqueId loadId = request.getLoadId();
+        int timeout = request.isSetTimeout() ? request.getTimeout() : Config.stream_load_default_timeout_second;
+        long memLimit = request.isSetExecMemLimit() ? request.getExecMemLimit()
+                : StreamLoadTask.DEFAULT_EXEC_MEM_LIMIT;
+        double maxFilterRatio = request.isSetMaxFilterRatio() ? request.getMaxFilterRatio() : 0.0;
+
+        params.getParams().setQueryId(loadId);
+        params.getParams().setFragmentInstanceId(new TUniqueId(loadId.hi, loadId.lo + 1));
+        for (List<TScanRangeParams> scanRangeParams : params.getParams().getPerNodeScanRanges().values()) {
+            for (TScanRangeParams scanRangeParam : scanRangeParams) {
+                TScanRange scanRange = scanRangeParam.getScanRange();
+                if (!scanRange.isSetBrokerScanRange()) {
+                    continue;
+                }
+                for (TBrokerRangeDesc rangeDesc : scanRange.getBrokerScanRange().getRanges()) {
+                    if (rangeDesc.isSetLoadId()) {
+                        rangeDesc.setLoadId(loadId);
+                    }
+                }
+            }
+        }
+
+        TOlapTableSink sink = params.getFragment().getOutputSink().getOlapTableSink();
+        sink.setLoadId(loadId);
+        sink.setTxnId(request.getTxnId());
+        sink.setLoadChannelTimeoutS(timeout);
+
+        TQueryOptions queryOptions = params.getQueryOptions();
+        queryOptions.setQueryTimeout(timeout);
+        queryOptions.setMemLimit(memLimit);
+        queryOptions.setLoadMemLimit(memLimit);
+
+        TQueryGlobals queryGlobals = params.getQueryGlobals();
+        DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        queryGlobals.setNowString(dateFormat.format(new Date()));
+        queryGlobals.setTimestampMs(System.currentTimeMillis());
+        queryGlobals.setLoadZeroTolerance(maxFilterRatio <= 0.0);
+
+        params.unsetLoadErrorHubInfo();
+        LoadErrorHub.Param param = Catalog.getCurrentCatalog().getLoadInstance().getLoadErrorHubInfo();
+        if (param != null) {
+            TLoadErrorHubInfo info = param.toThrift();
+            if (info != null) {
+                params.setLoadErrorHubInfo(info);
+            }
+        }
+        return params;
+    }
+}
@@ -83,6 +83,7 @@ public class StreamLoadPlanner {
 
     private StreamLoadScanNode scanNode;
     private TupleDescriptor tupleDesc;
+    private OlapTableSink olapTableSink;
 
     public StreamLoadPlanner(Database db, OlapTable destTable, LoadTaskInfo taskInfo) {
         this.db = db;
@@ -103,6 +104,11 @@ public class StreamLoadPlanner {
         return destTable;
     }
 
+    // can only be called after "plan()", or it will return null
+    public OlapTableSink getOlapTableSink() {
+        return olapTableSink;
+    }
+
     // create the plan. the plan's query id and load id are same, using the parameter 'loadId'
     public TExecPlanFragmentParams plan(TUniqueId loadId) throws UserException {
         if (destTable.getKeysType() != KeysType.UNIQUE_KEYS
@@ -154,7 +160,7 @@ public class StreamLoadPlanner {
 
         // create dest sink
         List<Long> partitionIds = getAllPartitionIds();
-        OlapTableSink olapTableSink = new OlapTableSink(destTable, tupleDesc, partitionIds);
+        olapTableSink = new OlapTableSink(destTable, tupleDesc, partitionIds);
         olapTableSink.init(loadId, taskInfo.getTxnId(), db.getId(), taskInfo.getTimeout(),
                 taskInfo.getSendBatchParallelism(), taskInfo.isLoadToSingleTablet());
         olapTableSink.complete();
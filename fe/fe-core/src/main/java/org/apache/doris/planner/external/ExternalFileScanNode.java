@@ -224,6 +224,8 @@ public class ExternalFileScanNode extends ExternalScanNode {
 
     @Override
     public void finalize(Analyzer analyzer) throws UserException {
+        // the column ranges are used to prune the partitions of hive table
+        computeColumnFilter();
         try {
             buildScanRange();
         } catch (IOException e) {
@@ -235,7 +237,7 @@ public class ExternalFileScanNode extends ExternalScanNode {
     // If fileFormat is not null, we use fileFormat instead of check file's suffix
     private void buildScanRange() throws UserException, IOException {
         scanRangeLocations = Lists.newArrayList();
-        InputSplit[] inputSplits = scanProvider.getSplits(conjuncts);
+        InputSplit[] inputSplits = scanProvider.getSplits(conjuncts, columnNameToRange);
         if (0 == inputSplits.length) {
             return;
         }
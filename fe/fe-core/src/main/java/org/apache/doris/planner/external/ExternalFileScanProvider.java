@@ -21,6 +21,7 @@ import org.apache.doris.analysis.Expr;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
+import org.apache.doris.planner.ColumnRange;
 import org.apache.doris.thrift.TFileFormatType;
 import org.apache.doris.thrift.TFileType;
 
@@ -41,7 +42,8 @@ public interface ExternalFileScanProvider {
 
     String getMetaStoreUrl();
 
-    InputSplit[] getSplits(List<Expr> exprs) throws IOException, UserException;
+    InputSplit[] getSplits(List<Expr> exprs, Map<String, ColumnRange> columnNameToRange)
+            throws IOException, UserException;
 
     Table getRemoteHiveTable() throws DdlException, MetaNotFoundException;
 
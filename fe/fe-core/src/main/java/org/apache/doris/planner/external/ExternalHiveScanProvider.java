@@ -20,35 +20,41 @@ package org.apache.doris.planner.external;
 import org.apache.doris.analysis.Expr;
 import org.apache.doris.catalog.HiveMetaStoreClientHelper;
 import org.apache.doris.catalog.external.HMSExternalTable;
+import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
-import org.apache.doris.external.hive.util.HiveUtil;
+import org.apache.doris.datasource.MetaObjCache;
+import org.apache.doris.datasource.MetaObjCache.HivePartitionValues;
+import org.apache.doris.planner.ColumnRange;
+import org.apache.doris.planner.ListPartitionPrunerV2;
+import org.apache.doris.planner.PartitionPruner;
 import org.apache.doris.thrift.TFileFormatType;
 import org.apache.doris.thrift.TFileType;
 
-import org.apache.hadoop.conf.Configuration;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
 import org.apache.hadoop.hive.metastore.api.Partition;
 import org.apache.hadoop.hive.metastore.api.Table;
-import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
-import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
-import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
-import org.apache.hadoop.mapred.FileInputFormat;
-import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.InputSplit;
-import org.apache.hadoop.mapred.JobConf;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /**
  * A HiveScanProvider to get information for scan node.
  */
 public class ExternalHiveScanProvider implements ExternalFileScanProvider {
+    private static final Logger LOG = LogManager.getLogger(ExternalHiveScanProvider.class);
+
     protected HMSExternalTable hmsTable;
 
     public ExternalHiveScanProvider(HMSExternalTable hmsTable) {
@@ -81,59 +87,49 @@ public class ExternalHiveScanProvider implements ExternalFileScanProvider {
     }
 
     @Override
-    public InputSplit[] getSplits(List<Expr> exprs)
+    public InputSplit[] getSplits(List<Expr> exprs, Map<String, ColumnRange> columnNameToRange)
             throws IOException, UserException {
-        String splitsPath = getRemoteHiveTable().getSd().getLocation();
-        List<String> partitionKeys = getRemoteHiveTable().getPartitionKeys()
-                .stream().map(FieldSchema::getName).collect(Collectors.toList());
-
-        if (partitionKeys.size() > 0) {
-            ExprNodeGenericFuncDesc hivePartitionPredicate = extractHivePartitionPredicate(exprs, partitionKeys);
-
-            String metaStoreUris = getMetaStoreUrl();
-            List<Partition> hivePartitions = HiveMetaStoreClientHelper.getHivePartitions(
-                    metaStoreUris,  getRemoteHiveTable(), hivePartitionPredicate);
-            if (!hivePartitions.isEmpty()) {
-                splitsPath = hivePartitions.stream().map(x -> x.getSd().getLocation())
-                        .collect(Collectors.joining(","));
-            }
+        Table table = getRemoteHiveTable();
+        String metaStoreUris = getMetaStoreUrl();
+        MetaObjCache cache = MetaObjCache.get();
+        List<InputSplit> splits = Lists.newArrayList();
+        if (table.getPartitionKeys().isEmpty()) {
+            splits.addAll(cache.getSplits(metaStoreUris, table.getDbName(), table.getTableName(),
+                    table.getSd().getLocation(), table.getSd().getInputFormat()));
+            return splits.toArray(new InputSplit[0]);
         }
 
-        String inputFormatName = getRemoteHiveTable().getSd().getInputFormat();
-
-        Configuration configuration = new Configuration();
-        InputFormat<?, ?> inputFormat = HiveUtil.getInputFormat(configuration, inputFormatName, false);
-        JobConf jobConf = new JobConf(configuration);
-        FileInputFormat.setInputPaths(jobConf, splitsPath);
-        return inputFormat.getSplits(jobConf, 0);
+        // prune the partitions with the cached partition values, and only get the remaining ones.
+        HivePartitionValues partitionValues = cache.getPartitionValues(metaStoreUris, table.getDbName(),
+                table.getTableName());
+        Collection<Long> partitionIds = prunePartitions(partitionValues, columnNameToRange);
+        List<List<String>> values = Lists.newArrayListWithCapacity(partitionIds.size());
+        for (Long id : partitionIds) {
+            values.add(partitionValues.getValues(id));
+        }
+        LOG.debug("hive table {} has {} partitions, {} remain after pruning",
+                table.getTableName(), partitionValues.getPartitionNum(), values.size());
+
+        for (Partition partition : cache.getPartitions(metaStoreUris, table, values)) {
+            String inputFormat = partition.getSd().getInputFormat() == null
+                    ? table.getSd().getInputFormat() : partition.getSd().getInputFormat();
+            splits.addAll(cache.getSplits(metaStoreUris, table.getDbName(), table.getTableName(),
+                    partition.getSd().getLocation(), inputFormat));
+        }
+        return splits.toArray(new InputSplit[0]);
     }
 
-
-    private ExprNodeGenericFuncDesc extractHivePartitionPredicate(List<Expr> conjuncts, List<String> partitionKeys)
-            throws DdlException {
-        ExprNodeGenericFuncDesc hivePartitionPredicate;
-        List<ExprNodeDesc> exprNodeDescs = new ArrayList<>();
-        for (Expr conjunct : conjuncts) {
-            ExprNodeGenericFuncDesc hiveExpr = HiveMetaStoreClientHelper.convertToHivePartitionExpr(
-                    conjunct, partitionKeys, hmsTable.getName());
-            if (hiveExpr != null) {
-                exprNodeDescs.add(hiveExpr);
-            }
-        }
-        int count = exprNodeDescs.size();
-
-        if (count >= 2) {
-            hivePartitionPredicate = HiveMetaStoreClientHelper.getCompoundExpr(exprNodeDescs, "and");
-        } else if (count == 1) {
-            hivePartitionPredicate = (ExprNodeGenericFuncDesc) exprNodeDescs.get(0);
-        } else {
-            HiveMetaStoreClientHelper.ExprBuilder exprBuilder =
-                    new HiveMetaStoreClientHelper.ExprBuilder(hmsTable.getName());
-            hivePartitionPredicate = exprBuilder.val(TypeInfoFactory.intTypeInfo, 1)
-                    .val(TypeInfoFactory.intTypeInfo, 1)
-                    .pred("=", 2).build();
+    private Collection<Long> prunePartitions(HivePartitionValues partitionValues,
+            Map<String, ColumnRange> columnNameToRange) throws AnalysisException {
+        if (columnNameToRange.isEmpty() || partitionValues.getIdToPartitionItem().isEmpty()) {
+            return LongStream.range(0, partitionValues.getPartitionNum()).boxed().collect(Collectors.toList());
         }
-        return hivePartitionPredicate;
+        PartitionPruner pruner = new ListPartitionPrunerV2(partitionValues.getIdToPartitionItem(),
+                partitionValues.getPartitionColumns(), columnNameToRange);
+        Set<Long> partitionIds = Sets.newTreeSet(pruner.prune());
+        // the partitions with null value can not be pruned by partition item
+        partitionIds.addAll(partitionValues.getUnprunableIds());
+        return partitionIds;
     }
 
     @Override
@@ -23,6 +23,7 @@ import org.apache.doris.common.DdlException;
 import org.apache.doris.common.MetaNotFoundException;
 import org.apache.doris.common.UserException;
 import org.apache.doris.external.iceberg.util.IcebergUtils;
+import org.apache.doris.planner.ColumnRange;
 import org.apache.doris.thrift.TFileFormatType;
 import org.apache.doris.thrift.TFileType;
 
@@ -74,7 +75,8 @@ public class ExternalIcebergScanProvider extends ExternalHiveScanProvider {
     }
 
     @Override
-    public InputSplit[] getSplits(List<Expr> exprs) throws IOException, UserException {
+    public InputSplit[] getSplits(List<Expr> exprs, Map<String, ColumnRange> columnNameToRange)
+            throws IOException, UserException {
         List<Expression> expressions = new ArrayList<>();
         for (Expr conjunct : exprs) {
             Expression expression = IcebergUtils.convertToIcebergExpr(conjunct);
@@ -39,12 +39,14 @@ import org.apache.doris.transaction.TransactionEntry;
 import org.apache.doris.transaction.TransactionStatus;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.nio.channels.SocketChannel;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -143,6 +145,10 @@ public class ConnectContext {
 
     private SessionContext sessionContext;
 
+    // prepared statements of this connection, only accessed by the thread processing this connection
+    private final Map<Integer, PreparedStatementContext> preparedStmts = Maps.newHashMap();
+    private int nextPreparedStmtId = 1;
+
     public SessionContext getSessionContext() {
         return sessionContext;
     }
@@ -160,6 +166,26 @@ public class ConnectContext {
         return insertResult;
     }
 
+    public int getNextPreparedStmtId() {
+        return nextPreparedStmtId++;
+    }
+
+    public void addPreparedStmt(PreparedStatementContext preparedStmt) {
+        preparedStmts.put(preparedStmt.getStmtId(), preparedStmt);
+    }
+
+    public PreparedStatementContext getPreparedStmt(int stmtId) {
+        return preparedStmts.get(stmtId);
+    }
+
+    public void removePreparedStmt(int stmtId) {
+        preparedStmts.remove(stmtId);
+    }
+
+    public int getPreparedStmtCount() {
+        return preparedStmts.size();
+    }
+
     public static ConnectContext get() {
         return threadLocalInfo.get();
     }
@@ -453,6 +479,7 @@ public class ConnectContext {
         mysqlChannel.close();
         threadLocalInfo.remove();
         returnRows = 0;
+        preparedStmts.clear();
     }
 
     public boolean isKilled() {
@@ -19,6 +19,8 @@ package org.apache.doris.qe;
 
 import org.apache.doris.analysis.InsertStmt;
 import org.apache.doris.analysis.KillStmt;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
 import org.apache.doris.analysis.QueryStmt;
 import org.apache.doris.analysis.SqlParser;
 import org.apache.doris.analysis.SqlScanner;
@@ -27,6 +29,7 @@ import org.apache.doris.analysis.UserIdentity;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.DatabaseIf;
+import org.apache.doris.catalog.PrimitiveType;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.cluster.ClusterNamespace;
 import org.apache.doris.common.AnalysisException;
@@ -39,9 +42,11 @@ import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.common.util.SqlParserUtils;
 import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.mysql.MysqlBinaryProtocol;
 import org.apache.doris.mysql.MysqlChannel;
 import org.apache.doris.mysql.MysqlCommand;
 import org.apache.doris.mysql.MysqlPacket;
+import org.apache.doris.mysql.MysqlPrepareOkPacket;
 import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.mysql.MysqlSerializer;
 import org.apache.doris.mysql.MysqlServerStatusFlag;
@@ -61,6 +66,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousCloseException;
 import java.nio.charset.StandardCharsets;
@@ -168,18 +174,26 @@ public class ConnectProcessor {
         Catalog.getCurrentAuditEventProcessor().handleAuditEvent(ctx.getAuditEventBuilder().build());
     }
 
-    // Process COM_QUERY statement,
-    // only throw an exception when there is a problem interacting with the requesting client
-    private void handleQuery() {
-        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
-        // convert statement to Java string
+    // convert statement of COM_QUERY or COM_STMT_PREPARE to Java string
+    private String readStmtString() {
         byte[] bytes = packetBuf.array();
         int ending = packetBuf.limit() - 1;
         while (ending >= 1 && bytes[ending] == '\0') {
             ending--;
         }
-        String originStmt = new String(bytes, 1, ending, StandardCharsets.UTF_8);
+        return new String(bytes, 1, ending, StandardCharsets.UTF_8);
+    }
+
+    // Process COM_QUERY statement,
+    // only throw an exception when there is a problem interacting with the requesting client
+    private void handleQuery() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        executeQuery(readStmtString(), null);
+    }
 
+    // Execute the statements of origin stmt. If preparedStmt is not null, this is an execution of the prepared
+    // statement, and originStmt is the sql with parameters bound.
+    private void executeQuery(String originStmt, PreparedStatementContext preparedStmt) {
         String sqlHash = DigestUtils.md5Hex(originStmt);
         ctx.setSqlHash(sqlHash);
         ctx.getAuditEventBuilder().reset();
@@ -196,7 +210,10 @@ public class ConnectProcessor {
         boolean alreadyAddedToAuditInfoList = false;
         try {
             List<StatementBase> stmts = null;
-            if (ctx.getSessionVariable().isEnableNereids()) {
+            if (preparedStmt != null && preparedStmt.isQuery()) {
+                // the prepared query has been parsed, just clone it with the bound parameters
+                stmts = Lists.<StatementBase>newArrayList(preparedStmt.cloneBoundQuery());
+            } else if (ctx.getSessionVariable().isEnableNereids()) {
                 NereidsParser nereidsParser = new NereidsParser();
                 try {
                     stmts = nereidsParser.parseSQL(originStmt);
@@ -220,6 +237,10 @@ public class ConnectProcessor {
                 parsedStmt.setOrigStmt(new OriginStatement(originStmt, i));
                 parsedStmt.setUserInfo(ctx.getCurrentUserIdentity());
                 executor = new StmtExecutor(ctx, parsedStmt);
+                executor.setBinaryProtocol(preparedStmt != null);
+                if (preparedStmt != null && preparedStmt.isQuery()) {
+                    executor.setPreparedStmt(preparedStmt);
+                }
                 ctx.setExecutor(executor);
                 executor.execute();
 
@@ -269,10 +290,17 @@ public class ConnectProcessor {
 
     // analyze the origin stmt and return multi-statements
     private List<StatementBase> parse(String originStmt) throws AnalysisException, DdlException {
-        LOG.debug("the originStmts are: {}", originStmt);
-        // Parse statement with parser generated by CUP&FLEX
+        return parse(originStmt, newParser(originStmt));
+    }
+
+    // Parse statement with parser generated by CUP&FLEX
+    private SqlParser newParser(String originStmt) {
         SqlScanner input = new SqlScanner(new StringReader(originStmt), ctx.getSessionVariable().getSqlMode());
-        SqlParser parser = new SqlParser(input);
+        return new SqlParser(input);
+    }
+
+    private List<StatementBase> parse(String originStmt, SqlParser parser) throws AnalysisException, DdlException {
+        LOG.debug("the originStmts are: {}", originStmt);
         try {
             return SqlParserUtils.getMultiStmts(parser);
         } catch (Error e) {
@@ -332,6 +360,144 @@ public class ConnectProcessor {
         ctx.getState().setEof();
     }
 
+    // COM_STMT_PREPARE: parse the statement and keep it in this connection.
+    private void handleStmtPrepare() throws IOException {
+        String originStmt = readStmtString();
+        if (ctx.getPreparedStmtCount() >= Config.max_prepared_stmt_count_per_connection) {
+            ctx.getState().setError(ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED,
+                    ErrorCode.ERR_MAX_PREPARED_STMT_COUNT_REACHED.formatErrorMsg(
+                            Config.max_prepared_stmt_count_per_connection));
+            return;
+        }
+
+        PreparedStatementContext preparedStmt;
+        try {
+            SqlParser parser = newParser(originStmt);
+            List<StatementBase> stmts = parse(originStmt, parser);
+            if (stmts.size() != 1) {
+                throw new AnalysisException("Only one statement can be prepared");
+            }
+            preparedStmt = new PreparedStatementContext(ctx.getNextPreparedStmtId(), originStmt, stmts.get(0),
+                    parser.placeholders);
+        } catch (UserException e) {
+            LOG.debug("prepare statement failed: {}", originStmt, e);
+            ctx.getState().setError(e.getMysqlErrorCode(), e.getMessage());
+            return;
+        }
+        ctx.addPreparedStmt(preparedStmt);
+
+        // The result columns are unknown before the statement is analyzed, so they are sent by each execution.
+        MysqlSerializer serializer = ctx.getSerializer();
+        MysqlChannel channel = ctx.getMysqlChannel();
+        int numParams = preparedStmt.getNumParams();
+        serializer.reset();
+        new MysqlPrepareOkPacket(preparedStmt.getStmtId(), 0, numParams).writeTo(serializer);
+        if (numParams == 0) {
+            channel.sendAndFlush(serializer.toByteBuffer());
+            ctx.getState().setNoop();
+            return;
+        }
+        channel.sendOnePacket(serializer.toByteBuffer());
+        for (int i = 0; i < numParams; i++) {
+            serializer.reset();
+            serializer.writeField("?", PrimitiveType.VARCHAR);
+            channel.sendOnePacket(serializer.toByteBuffer());
+        }
+        ctx.getState().setEof();
+    }
+
+    // COM_STMT_EXECUTE: bind the parameters to the prepared statement and execute it.
+    // The result rows are sent in binary protocol.
+    private void handleStmtExecute() {
+        MetricRepo.COUNTER_REQUEST_ALL.increase(1L);
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStatementContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt == null) {
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER,
+                    "Unknown prepared statement handler (" + stmtId + ") given to COM_STMT_EXECUTE");
+            return;
+        }
+
+        String boundStmt;
+        try {
+            // flags: cursor is not supported, the whole result set is always sent
+            MysqlProto.readInt1(packetBuf);
+            // iteration count: always 1
+            MysqlProto.readInt4(packetBuf);
+            boundStmt = preparedStmt.bind(readParams(preparedStmt));
+        } catch (AnalysisException | BufferUnderflowException e) {
+            LOG.debug("bind parameters of prepared statement {} failed", stmtId, e);
+            ctx.getState().setError(ErrorCode.ERR_WRONG_ARGUMENTS,
+                    ErrorCode.ERR_WRONG_ARGUMENTS.formatErrorMsg("COM_STMT_EXECUTE") + ": " + e.getMessage());
+            return;
+        } finally {
+            preparedStmt.resetLongData();
+        }
+        executeQuery(boundStmt, preparedStmt);
+    }
+
+    private List<LiteralExpr> readParams(PreparedStatementContext preparedStmt) throws AnalysisException {
+        int numParams = preparedStmt.getNumParams();
+        List<LiteralExpr> values = Lists.newArrayListWithCapacity(numParams);
+        if (numParams == 0) {
+            return values;
+        }
+        byte[] nullBitmap = MysqlProto.readFixedString(packetBuf, (numParams + 7) / 8);
+        // the types are only sent when they are changed, eg, in the first execution
+        if (MysqlProto.readInt1(packetBuf) == 1) {
+            int[] types = new int[numParams];
+            for (int i = 0; i < numParams; i++) {
+                types[i] = MysqlProto.readInt2(packetBuf);
+            }
+            preparedStmt.setParamTypes(types);
+        }
+        int[] types = preparedStmt.getParamTypes();
+        if (types == null) {
+            throw new AnalysisException("Types of parameters are not sent");
+        }
+        for (int i = 0; i < numParams; i++) {
+            byte[] longData = preparedStmt.getLongData(i);
+            if (MysqlBinaryProtocol.isNull(nullBitmap, i, 0)) {
+                values.add(new NullLiteral());
+            } else if (longData != null) {
+                values.add(MysqlBinaryProtocol.readParam(longData, types[i]));
+            } else {
+                values.add(MysqlBinaryProtocol.readParam(packetBuf, types[i]));
+            }
+        }
+        return values;
+    }
+
+    // COM_STMT_SEND_LONG_DATA: append data to a parameter, there is no response.
+    private void handleStmtSendLongData() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        int paramIndex = MysqlProto.readInt2(packetBuf);
+        PreparedStatementContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt != null && paramIndex < preparedStmt.getNumParams()) {
+            preparedStmt.appendLongData(paramIndex, MysqlProto.readEofString(packetBuf));
+        }
+        ctx.getState().setNoop();
+    }
+
+    // COM_STMT_CLOSE: release the prepared statement, there is no response.
+    private void handleStmtClose() {
+        ctx.removePreparedStmt(MysqlProto.readInt4(packetBuf));
+        ctx.getState().setNoop();
+    }
+
+    // COM_STMT_RESET: clear the data sent by COM_STMT_SEND_LONG_DATA.
+    private void handleStmtReset() {
+        int stmtId = MysqlProto.readInt4(packetBuf);
+        PreparedStatementContext preparedStmt = ctx.getPreparedStmt(stmtId);
+        if (preparedStmt == null) {
+            ctx.getState().setError(ErrorCode.ERR_UNKNOWN_STMT_HANDLER,
+                    "Unknown prepared statement handler (" + stmtId + ") given to COM_STMT_RESET");
+            return;
+        }
+        preparedStmt.resetLongData();
+        ctx.getState().setOk();
+    }
+
     private void dispatch() throws IOException {
         int code = packetBuf.get();
         MysqlCommand command = MysqlCommand.fromCode(code);
@@ -360,6 +526,21 @@ public class ConnectProcessor {
             case COM_PING:
                 handlePing();
                 break;
+            case COM_STMT_PREPARE:
+                handleStmtPrepare();
+                break;
+            case COM_STMT_EXECUTE:
+                handleStmtExecute();
+                break;
+            case COM_STMT_SEND_LONG_DATA:
+                handleStmtSendLongData();
+                break;
+            case COM_STMT_CLOSE:
+                handleStmtClose();
+                break;
+            case COM_STMT_RESET:
+                handleStmtReset();
+                break;
             default:
                 ctx.getState().setError(ErrorCode.ERR_UNKNOWN_COM_ERROR, "Unsupported command(" + command + ")");
                 LOG.warn("Unsupported command(" + command + ")");
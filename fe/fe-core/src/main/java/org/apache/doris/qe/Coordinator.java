@@ -27,6 +27,7 @@ import org.apache.doris.common.MarkedCountDownLatch;
 import org.apache.doris.common.Pair;
 import org.apache.doris.common.Reference;
 import org.apache.doris.common.Status;
+import org.apache.doris.common.ThreadPoolManager;
 import org.apache.doris.common.UserException;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.common.util.ListUtil;
@@ -77,6 +78,7 @@ import org.apache.doris.thrift.TExecPlanFragmentParamsList;
 import org.apache.doris.thrift.TLoadErrorHubInfo;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPaloScanRange;
+import org.apache.doris.thrift.TPlanFragment;
 import org.apache.doris.thrift.TPlanFragmentDestination;
 import org.apache.doris.thrift.TPlanFragmentExecParams;
 import org.apache.doris.thrift.TQueryGlobals;
@@ -93,6 +95,7 @@ import org.apache.doris.thrift.TScanRangeParams;
 import org.apache.doris.thrift.TStatusCode;
 import org.apache.doris.thrift.TTabletCommitInfo;
 import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.thrift.TUnit;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -121,8 +124,11 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -136,6 +142,19 @@ public class Coordinator {
     // Random is used to shuffle instances of partitioned
     private static final Random instanceRandom = new Random();
 
+    // Keys of the fragment dispatch phases recorded in the query profile
+    public static final String KEY_BUILD_FRAGMENT_PARAMS = "Build Fragment Params Time";
+    public static final String KEY_SERIALIZE_FRAGMENTS = "Serialize Fragments Time";
+    public static final String KEY_SEND_FRAGMENTS = "Send Fragments Time";
+    public static final String KEY_WAIT_FRAGMENTS = "Wait Fragments Time";
+    public static final String KEY_START_FRAGMENTS = "Start Fragments Time";
+
+    // Serializes the plan fragment requests of different backends concurrently.
+    // If all threads are busy, the caller serializes the request itself.
+    private static final ThreadPoolExecutor fragmentDispatchPool = ThreadPoolManager.newDaemonThreadPool(
+            Config.fragment_dispatch_thread_num, Config.fragment_dispatch_thread_num, 60, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy(), "fragment-dispatch-pool", true);
+
     // Overall status of the entire query; set to the first reported fragment error
     // status or to CANCELLED, if Cancel() is called.
     Status queryStatus = new Status();
@@ -584,6 +603,7 @@ public class Coordinator {
             // For example: select * from numbers("10","w") will generate ExchangeNode and TableValuedFunctionScanNode,
             // we should ensure TableValuedFunctionScanNode does not send data until ExchangeNode is ready to receive.
             boolean twoPhaseExecution = fragments.size() >= 2;
+            long buildStartTime = System.nanoTime();
             for (PlanFragment fragment : fragments) {
                 FragmentExecParams params = fragmentExecParamsMap.get(fragment.getFragmentId());
 
@@ -644,22 +664,61 @@ public class Coordinator {
                 profileFragmentId += 1;
             } // end for fragments
 
+            long sendStartTime = System.nanoTime();
+            queryProfile.addInfoString(KEY_BUILD_FRAGMENT_PARAMS,
+                    RuntimeProfile.printCounter(sendStartTime - buildStartTime, TUnit.TIME_NS));
+
             // 4. send and wait fragments rpc
+            List<BackendExecStates> statesList = Lists.newArrayList(beToExecStates.values());
+            for (BackendExecStates states : statesList) {
+                states.unsetFields();
+            }
             List<Pair<BackendExecStates, Future<InternalService.PExecPlanFragmentResult>>> futures
                     = Lists.newArrayList();
-            for (BackendExecStates states : beToExecStates.values()) {
-                states.unsetFields();
-                futures.add(Pair.create(states, states.execRemoteFragmentsAsync()));
+            AtomicLong serializeTime = new AtomicLong(0);
+            if (Config.enable_pipelined_fragment_dispatch && statesList.size() > 1) {
+                // serialize the requests concurrently, and send each of them as soon as it is ready,
+                // so that the rpc of one backend overlaps with the serialization of the others.
+                List<Future<InternalService.PExecPlanFragmentRequest>> requests = Lists.newArrayList();
+                for (BackendExecStates states : statesList) {
+                    requests.add(fragmentDispatchPool.submit(() -> states.serializeRequest(serializeTime)));
+                }
+                try {
+                    for (int i = 0; i < statesList.size(); i++) {
+                        BackendExecStates states = statesList.get(i);
+                        futures.add(Pair.create(states, states.execRemoteFragmentsAsync(
+                                getSerializedRequest(requests.get(i)))));
+                    }
+                } finally {
+                    for (Future<InternalService.PExecPlanFragmentRequest> request : requests) {
+                        request.cancel(true);
+                    }
+                }
+            } else {
+                for (BackendExecStates states : statesList) {
+                    futures.add(Pair.create(states,
+                            states.execRemoteFragmentsAsync(states.serializeRequest(serializeTime))));
+                }
             }
+            long waitStartTime = System.nanoTime();
+            queryProfile.addInfoString(KEY_SERIALIZE_FRAGMENTS,
+                    RuntimeProfile.printCounter(serializeTime.get(), TUnit.TIME_NS));
+            queryProfile.addInfoString(KEY_SEND_FRAGMENTS,
+                    RuntimeProfile.printCounter(waitStartTime - sendStartTime, TUnit.TIME_NS));
             waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send fragments");
+            long waitFinishTime = System.nanoTime();
+            queryProfile.addInfoString(KEY_WAIT_FRAGMENTS,
+                    RuntimeProfile.printCounter(waitFinishTime - waitStartTime, TUnit.TIME_NS));
 
             if (twoPhaseExecution) {
                 // 5. send and wait execution start rpc
                 futures.clear();
-                for (BackendExecStates states : beToExecStates.values()) {
+                for (BackendExecStates states : statesList) {
                     futures.add(Pair.create(states, states.execPlanFragmentStartAsync()));
                 }
                 waitRpc(futures, this.timeoutDeadline - System.currentTimeMillis(), "send execution start");
+                queryProfile.addInfoString(KEY_START_FRAGMENTS,
+                        RuntimeProfile.printCounter(System.nanoTime() - waitFinishTime, TUnit.TIME_NS));
             }
 
             attachInstanceProfileToFragmentProfile();
@@ -668,6 +727,20 @@ public class Coordinator {
         }
     }
 
+    private InternalService.PExecPlanFragmentRequest getSerializedRequest(
+            Future<InternalService.PExecPlanFragmentRequest> request) throws TException, UserException {
+        try {
+            return request.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TException) {
+                throw (TException) e.getCause();
+            }
+            throw new UserException("failed to serialize plan fragments: " + e.getCause().getMessage(), e);
+        } catch (InterruptedException e) {
+            throw new UserException("interrupted when serializing plan fragments", e);
+        }
+    }
+
     private void waitRpc(List<Pair<BackendExecStates, Future<PExecPlanFragmentResult>>> futures, long timeoutMs,
             String operation) throws RpcException, UserException {
         if (timeoutMs <= 0) {
@@ -2183,14 +2256,27 @@ public class Coordinator {
             }
         }
 
-        public Future<InternalService.PExecPlanFragmentResult> execRemoteFragmentsAsync() throws TException {
+        /**
+         * Serialize all fragment instances of this BE into one request.
+         * The time spent is added to 'serializeTime', in nanoseconds.
+         */
+        public InternalService.PExecPlanFragmentRequest serializeRequest(AtomicLong serializeTime)
+                throws TException {
+            long startTime = System.nanoTime();
+            TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
+            for (BackendExecState state : states) {
+                paramsList.addToParamsList(state.rpcParams);
+            }
+            InternalService.PExecPlanFragmentRequest request =
+                    BackendServiceProxy.buildExecPlanFragmentsRequest(paramsList);
+            serializeTime.addAndGet(System.nanoTime() - startTime);
+            return request;
+        }
+
+        public Future<InternalService.PExecPlanFragmentResult> execRemoteFragmentsAsync(
+                InternalService.PExecPlanFragmentRequest request) {
             try {
-                TExecPlanFragmentParamsList paramsList = new TExecPlanFragmentParamsList();
-                for (BackendExecState state : states) {
-                    paramsList.addToParamsList(state.rpcParams);
-                }
-                return BackendServiceProxy.getInstance()
-                        .execPlanFragmentsAsync(brpcAddr, paramsList, twoPhaseExecution);
+                return BackendServiceProxy.getInstance().execPlanFragmentsAsync(brpcAddr, request, twoPhaseExecution);
             } catch (RpcException e) {
                 // DO NOT throw exception here, return a complete future with error code,
                 // so that the following logic will cancel the fragment.
@@ -2264,11 +2350,13 @@ public class Coordinator {
         List<TExecPlanFragmentParams> toThrift(int backendNum) {
             List<TExecPlanFragmentParams> paramsList = Lists.newArrayList();
 
+            // the plan is the same for all instances of the fragment, so build it only once and share it
+            TPlanFragment tFragment = fragment.toThrift();
             for (int i = 0; i < instanceExecParams.size(); ++i) {
                 final FInstanceExecParam instanceExecParam = instanceExecParams.get(i);
                 TExecPlanFragmentParams params = new TExecPlanFragmentParams();
                 params.setProtocolVersion(PaloInternalServiceVersion.V1);
-                params.setFragment(fragment.toThrift());
+                params.setFragment(tFragment);
                 params.setDescTbl(descTable);
                 params.setParams(new TPlanFragmentExecParams());
                 params.setResourceInfo(tResourceInfo);
@@ -0,0 +1,312 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.util.DebugUtil;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.service.FrontendOptions;
+import org.apache.doris.thrift.TFileFormatType;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TMergeType;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TTxnParams;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.transaction.TransactionEntry;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+import org.apache.doris.transaction.TransactionStatus;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * GroupCommitManager merges the rows of concurrent group commit inserts into the same table into one load
+ * transaction, which is executed in the same way as an explicit transaction of inserts, by InsertStreamTxnExecutor.
+ *
+ * The first insert into a table opens a batch, and the following ones append their rows to it. The batch is
+ * committed insert_group_commit_interval_ms after it is opened, or once its rows reach
+ * insert_group_commit_max_rows. All inserts of the batch wait for the shared transaction, and are acknowledged
+ * with its label and status once it is visible, or fail together with it. If it is not visible after the
+ * timeout of the batch but already committed, the inserts are acknowledged with COMMITTED status.
+ *
+ * An insert which times out before its batch is closed withdraws its rows from the batch. Once the batch is closed,
+ * its rows are being committed, so the insert waits for the outcome of the shared transaction instead.
+ */
+public class GroupCommitManager {
+    private static final Logger LOG = LogManager.getLogger(GroupCommitManager.class);
+
+    private static final GroupCommitManager INSTANCE = new GroupCommitManager();
+
+    // max num of rows sent to backend in one rpc
+    private static final int MAX_ROWS_PER_SEND = 1000;
+
+    // interval to check whether the transaction is finished after the rows are committed on backend
+    private static final long TXN_STATUS_CHECK_INTERVAL_MS = 50;
+
+    // (table id, strict mode) -> the open batch, the inserts of different strict modes are not merged
+    private final Map<Pair<Long, Boolean>, GroupCommitBatch> openBatches = Maps.newHashMap();
+
+    private final ExecutorService commitExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.insert_group_commit_threads_num, Integer.MAX_VALUE, "insert-group-commit-pool", true);
+    private final ScheduledExecutorService commitTimer = ThreadPoolManager.newDaemonScheduledThreadPool(
+            1, "insert-group-commit-timer", false);
+
+    public static GroupCommitManager getInstance() {
+        return INSTANCE;
+    }
+
+    public static class GroupCommitResult {
+        private final String label;
+        private final long txnId;
+        private final TransactionStatus status;
+
+        public GroupCommitResult(String label, long txnId, TransactionStatus status) {
+            this.label = label;
+            this.txnId = txnId;
+            this.status = status;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getTxnId() {
+            return txnId;
+        }
+
+        public TransactionStatus getStatus() {
+            return status;
+        }
+    }
+
+    private static class GroupCommitBatch {
+        private final Pair<Long, Boolean> key;
+        private final Database db;
+        private final OlapTable table;
+        private final boolean strict;
+        // the rows of each insert, so that an insert can withdraw its rows before the batch is closed
+        private final List<List<InternalService.PDataRow>> insertRows = Lists.newArrayList();
+        private int rowNum = 0;
+        private final CompletableFuture<GroupCommitResult> future = new CompletableFuture<>();
+        private long timeoutSecond = 0;
+        // no more rows are added to or withdrawn from a closed batch, guarded by GroupCommitManager
+        private boolean closed = false;
+
+        GroupCommitBatch(Pair<Long, Boolean> key, Database db, OlapTable table, boolean strict) {
+            this.key = key;
+            this.db = db;
+            this.table = table;
+            this.strict = strict;
+        }
+    }
+
+    /**
+     * Add the rows to the open batch of the table, and wait for the batch to be committed.
+     */
+    public GroupCommitResult commit(Database db, OlapTable table, List<InternalService.PDataRow> rows,
+            boolean strict, long timeoutSecond) throws UserException {
+        GroupCommitBatch batch;
+        List<InternalService.PDataRow> ownRows = Lists.newArrayList(rows);
+        boolean isFull;
+        synchronized (this) {
+            Pair<Long, Boolean> key = Pair.create(table.getId(), strict);
+            batch = openBatches.get(key);
+            if (batch == null) {
+                GroupCommitBatch newBatch = new GroupCommitBatch(key, db, table, strict);
+                openBatches.put(key, newBatch);
+                commitTimer.schedule(() -> close(newBatch), Config.insert_group_commit_interval_ms,
+                        TimeUnit.MILLISECONDS);
+                batch = newBatch;
+            }
+            batch.insertRows.add(ownRows);
+            batch.rowNum += ownRows.size();
+            batch.timeoutSecond = Math.max(batch.timeoutSecond, timeoutSecond);
+            isFull = batch.rowNum >= Config.insert_group_commit_max_rows;
+        }
+        if (isFull) {
+            close(batch);
+        }
+
+        try {
+            try {
+                return batch.future.get(timeoutSecond, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                if (withdraw(batch, ownRows)) {
+                    throw new UserException("group commit timeout after " + timeoutSecond + " seconds");
+                }
+                // the rows are being committed, the transaction is aborted if it is not finished before its timeout
+                return batch.future.get(batch.timeoutSecond, TimeUnit.SECONDS);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            throw new UserException("group commit failed: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            throw new UserException("group commit timeout, the result of the transaction is unknown");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserException("group commit is interrupted");
+        }
+    }
+
+    // remove the rows of an insert from the batch, return false if the batch is already closed
+    private synchronized boolean withdraw(GroupCommitBatch batch, List<InternalService.PDataRow> ownRows) {
+        if (batch.closed) {
+            return false;
+        }
+        for (int i = 0; i < batch.insertRows.size(); i++) {
+            if (batch.insertRows.get(i) == ownRows) {
+                batch.insertRows.remove(i);
+                batch.rowNum -= ownRows.size();
+                break;
+            }
+        }
+        return true;
+    }
+
+    // stop appending rows to the batch and commit it, it may be called by the timer and the inserts concurrently
+    private void close(GroupCommitBatch batch) {
+        synchronized (this) {
+            if (openBatches.get(batch.key) != batch) {
+                return;
+            }
+            openBatches.remove(batch.key);
+            batch.closed = true;
+            if (batch.rowNum == 0) {
+                // all inserts of the batch have timed out
+                return;
+            }
+        }
+        commitExecutor.submit(() -> execute(batch));
+    }
+
+    private void execute(GroupCommitBatch batch) {
+        UUID uuid = UUID.randomUUID();
+        TUniqueId loadId = new TUniqueId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        String label = "group_commit_" + DebugUtil.printId(loadId);
+        TTxnParams txnConf = new TTxnParams();
+        txnConf.setNeedTxn(true).setThriftRpcTimeoutMs(5000).setTxnId(-1).setDbId(batch.db.getId())
+                .setDb(batch.db.getFullName()).setTbl(batch.table.getName())
+                .setMaxFilterRatio(batch.strict ? 0 : 1.0);
+        TransactionEntry txnEntry = new TransactionEntry(txnConf, batch.db, batch.table);
+        txnEntry.setLabel(label);
+        InsertStreamTxnExecutor executor = new InsertStreamTxnExecutor(txnEntry);
+
+        boolean isBackendBegun = false;
+        try {
+            long txnId = Catalog.getCurrentGlobalTransactionMgr().beginTransaction(batch.db.getId(),
+                    Lists.newArrayList(batch.table.getId()), label,
+                    new TxnCoordinator(TxnSourceType.FE, FrontendOptions.getLocalHostAddress()),
+                    LoadJobSourceType.INSERT_STREAMING, batch.timeoutSecond);
+            txnConf.setTxnId(txnId);
+            txnConf.setAuthCodeUuid(Catalog.getCurrentGlobalTransactionMgr()
+                    .getTransactionState(batch.db.getId(), txnId).getAuthCode());
+
+            TStreamLoadPutRequest request = new TStreamLoadPutRequest();
+            request.setTxnId(txnId).setDb(txnConf.getDb()).setTbl(txnConf.getTbl())
+                    .setFileType(TFileType.FILE_STREAM).setFormatType(TFileFormatType.FORMAT_CSV_PLAIN)
+                    .setMergeType(TMergeType.APPEND).setThriftRpcTimeoutMs(5000).setLoadId(loadId);
+            executor.beginTransaction(request);
+            isBackendBegun = true;
+
+            List<InternalService.PDataRow> allRows = Lists.newArrayListWithCapacity(batch.rowNum);
+            batch.insertRows.forEach(allRows::addAll);
+            for (List<InternalService.PDataRow> rows : Lists.partition(allRows, MAX_ROWS_PER_SEND)) {
+                txnEntry.setDataToSend(Lists.newArrayList(rows));
+                executor.sendData();
+            }
+            // the backend only finishes the stream here, and the transaction is committed after the fragment is done
+            executor.commitTransaction();
+
+            TransactionState txnState = waitTxnFinished(batch.db.getId(), txnId,
+                    System.currentTimeMillis() + batch.timeoutSecond * 1000);
+            TransactionStatus txnStatus = txnState == null ? TransactionStatus.UNKNOWN
+                    : txnState.getTransactionStatus();
+            if (txnStatus != TransactionStatus.COMMITTED && txnStatus != TransactionStatus.VISIBLE) {
+                String reason = txnState == null ? "" : txnState.getReason();
+                throw new UserException("txn " + txnId + " is " + txnStatus.name() + ". " + reason);
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_LOAD_FINISHED.increase(1L);
+            }
+            LOG.info("group commit {} rows into table {} with label {}, txn id: {}",
+                    batch.rowNum, batch.table.getName(), label, txnId);
+            batch.future.complete(new GroupCommitResult(label, txnId, txnStatus));
+        } catch (Throwable t) {
+            LOG.warn("group commit failed, label: {}", label, t);
+            abort(executor, txnConf, isBackendBegun, t.getMessage());
+            batch.future.completeExceptionally(t);
+        }
+    }
+
+    /*
+     * Wait for the transaction to be visible or aborted, in the same way as GlobalTransactionMgr.getWaitingTxnStatus()
+     * for the commit of an explicit transaction, but bounded by the timeout of the batch. The transaction is returned
+     * in its last status when the deadline is reached, which may be still PREPARE or COMMITTED.
+     */
+    private TransactionState waitTxnFinished(long dbId, long txnId, long deadlineMs) throws InterruptedException {
+        while (true) {
+            TransactionState txnState = Catalog.getCurrentGlobalTransactionMgr().getTransactionState(dbId, txnId);
+            if (txnState == null || txnState.getTransactionStatus().isFinalStatus()
+                    || System.currentTimeMillis() >= deadlineMs) {
+                return txnState;
+            }
+            Thread.sleep(TXN_STATUS_CHECK_INTERVAL_MS);
+        }
+    }
+
+    private void abort(InsertStreamTxnExecutor executor, TTxnParams txnConf, boolean isBackendBegun, String reason) {
+        if (isBackendBegun) {
+            try {
+                executor.abortTransaction();
+            } catch (Exception e) {
+                LOG.warn("failed to rollback group commit on backend, txn id: {}", txnConf.getTxnId(), e);
+            }
+        }
+        if (txnConf.getTxnId() != -1) {
+            try {
+                Catalog.getCurrentGlobalTransactionMgr().abortTransaction(txnConf.getDbId(), txnConf.getTxnId(),
+                        reason == null ? "unknown reason" : reason);
+            } catch (Exception e) {
+                // the transaction may be already aborted by the backend
+                LOG.debug("failed to abort group commit txn {}", txnConf.getTxnId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,596 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.Analyzer;
+import org.apache.doris.analysis.BaseTableRef;
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.CompoundPredicate;
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.FunctionCallExpr;
+import org.apache.doris.analysis.InPredicate;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.OrderByElement;
+import org.apache.doris.analysis.PlaceHolderExpr;
+import org.apache.doris.analysis.QueryStmt;
+import org.apache.doris.analysis.SelectListItem;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.MaterializedIndexMeta;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.UserException;
+import org.apache.doris.mysql.privilege.PrivPredicate;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.planner.PlanFragment;
+import org.apache.doris.planner.PlanNode;
+import org.apache.doris.planner.Planner;
+import org.apache.doris.thrift.TQueryOptions;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A statement prepared by COM_STMT_PREPARE in one connection.
+ *
+ * The statement is parsed only once when prepared. For a query, the parsed statement is kept as a template,
+ * and each execution binds the parameters to the place holders and clones the template, so the sql is not
+ * lexed and parsed again. For other statements, the parameters are substituted into the origin sql at the
+ * positions of the place holders, and the bound sql is executed as a normal one.
+ *
+ * The bound sql is also used as the origin statement of each execution, so audit log, sql cache and
+ * forwarding to master see the real values.
+ *
+ * The analyzed statement and the plan of a simple query on one olap table are also kept by savePlan(), if the
+ * parameters are only used by the comparison and in predicates on the table. The following executions rebind
+ * the parameters to the literals in these predicates and compute the partitions and tablets to scan again,
+ * without analyzing and planning, as long as the schema and the partition versions of the table, the query
+ * options and the current database are not changed. Otherwise the cloned statement is analyzed and planned again.
+ */
+public class PreparedStatementContext {
+    private final int stmtId;
+    private final String originStmt;
+    private final StatementBase stmt;
+    private final List<PlaceHolderExpr> placeholders;
+    // the origin sql split by the place holders, its size is always the number of place holders + 1
+    private final List<String> sqlParts;
+    // the parameter types sent by the last COM_STMT_EXECUTE, which may be omitted by the following ones
+    private int[] paramTypes;
+    // parameter index -> the data sent by COM_STMT_SEND_LONG_DATA
+    private final Map<Integer, ByteArrayOutputStream> longData = Maps.newHashMap();
+    // the plan kept for the following executions, null if there is no reusable one
+    private PlanTemplate planTemplate;
+
+    private static class PlanTemplate {
+        private final SelectStmt stmt;
+        private final Analyzer analyzer;
+        private final Planner planner;
+        private final OlapScanNode scanNode;
+        private final TQueryOptions queryOptions;
+        private final String database;
+        private final long dbId;
+        private final long tableId;
+        private final String tableName;
+        private final List<Long> tableVersions;
+        private final List<Type> paramTypes;
+        private final List<ParamRef> paramRefs;
+
+        PlanTemplate(SelectStmt stmt, Analyzer analyzer, Planner planner, OlapScanNode scanNode,
+                TQueryOptions queryOptions, String database, long dbId, OlapTable table, List<Type> paramTypes,
+                List<ParamRef> paramRefs) {
+            this.stmt = stmt;
+            this.analyzer = analyzer;
+            this.planner = planner;
+            this.scanNode = scanNode;
+            this.queryOptions = queryOptions;
+            this.database = database;
+            this.dbId = dbId;
+            this.tableId = table.getId();
+            this.tableName = table.getName();
+            this.tableVersions = getTableVersions(table);
+            this.paramTypes = paramTypes;
+            this.paramRefs = paramRefs;
+        }
+    }
+
+    // a literal bound from a parameter, which is the child of a predicate in the plan
+    private static class ParamRef {
+        private final Expr parent;
+        private final int childIdx;
+        private final int paramIndex;
+        private final Type type;
+
+        ParamRef(Expr parent, int childIdx, int paramIndex, Type type) {
+            this.parent = parent;
+            this.childIdx = childIdx;
+            this.paramIndex = paramIndex;
+            this.type = type;
+        }
+    }
+
+    public PreparedStatementContext(int stmtId, String originStmt, StatementBase stmt,
+            List<PlaceHolderExpr> placeholders) throws AnalysisException {
+        this.stmtId = stmtId;
+        this.originStmt = originStmt;
+        this.stmt = stmt;
+        this.placeholders = placeholders;
+        this.sqlParts = splitByPlaceholders(originStmt);
+        if (sqlParts.size() != placeholders.size() + 1) {
+            throw new AnalysisException("Unsupported position of parameter markers in prepared statement");
+        }
+    }
+
+    public int getStmtId() {
+        return stmtId;
+    }
+
+    public String getOriginStmt() {
+        return originStmt;
+    }
+
+    public int getNumParams() {
+        return placeholders.size();
+    }
+
+    public boolean isQuery() {
+        return stmt instanceof QueryStmt;
+    }
+
+    public int[] getParamTypes() {
+        return paramTypes;
+    }
+
+    public void setParamTypes(int[] paramTypes) {
+        this.paramTypes = paramTypes;
+    }
+
+    public void appendLongData(int paramIndex, byte[] data) {
+        longData.computeIfAbsent(paramIndex, k -> new ByteArrayOutputStream()).write(data, 0, data.length);
+    }
+
+    // return null if no long data is sent for this parameter
+    public byte[] getLongData(int paramIndex) {
+        ByteArrayOutputStream data = longData.get(paramIndex);
+        return data == null ? null : data.toByteArray();
+    }
+
+    public void resetLongData() {
+        longData.clear();
+    }
+
+    /**
+     * Bind the values to the place holders, and return the sql with the values substituted.
+     */
+    public String bind(List<LiteralExpr> values) throws AnalysisException {
+        Preconditions.checkArgument(values.size() == placeholders.size());
+        StringBuilder sb = new StringBuilder(sqlParts.get(0));
+        for (int i = 0; i < values.size(); i++) {
+            LiteralExpr value = values.get(i);
+            placeholders.get(i).bind(value);
+            sb.append(toSqlLiteral(value)).append(sqlParts.get(i + 1));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Return a copy of the template query with the values bound by the last call of bind().
+     */
+    public QueryStmt cloneBoundQuery() {
+        Preconditions.checkState(isQuery());
+        return ((QueryStmt) stmt).clone();
+    }
+
+    public SelectStmt getPlannedStmt() {
+        return planTemplate.stmt;
+    }
+
+    public Analyzer getPlannedAnalyzer() {
+        return planTemplate.analyzer;
+    }
+
+    public Planner getPlanner() {
+        return planTemplate.planner;
+    }
+
+    /**
+     * Keep the analyzed query and its plan for the following executions, if they only depend on the parameters
+     * by the predicates on the scanned table. The caller should hold the read lock of the table.
+     */
+    public void savePlan(ConnectContext ctx, TQueryOptions queryOptions, StatementBase analyzedStmt,
+            Analyzer analyzer, Planner planner) {
+        planTemplate = createPlanTemplate(ctx, queryOptions, analyzedStmt, analyzer, planner);
+    }
+
+    /**
+     * Rebind the parameters of this execution to the plan kept by the last one, and compute the scan ranges again.
+     * Return false if there is no valid plan, then the query should be analyzed and planned again.
+     */
+    public boolean rebindPlan(ConnectContext ctx, TQueryOptions queryOptions) {
+        PlanTemplate template = planTemplate;
+        if (template == null) {
+            return false;
+        }
+        // the plan is kept again by savePlan() if it is still reusable after planning
+        planTemplate = null;
+        List<LiteralExpr> values = getBoundValues();
+        if (values == null || !isPlanReusable(ctx) || !template.queryOptions.equals(queryOptions)
+                || !Objects.equals(template.database, ctx.getDatabase())) {
+            return false;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).getType().equals(template.paramTypes.get(i))) {
+                return false;
+            }
+        }
+        Database db = Catalog.getCurrentCatalog().getInternalDataSource().getDbNullable(template.dbId);
+        Table table = db == null ? null : db.getTableNullable(template.tableId);
+        if (!(table instanceof OlapTable) || !table.getName().equals(template.tableName)
+                || !Catalog.getCurrentCatalog().getAuth().checkTblPriv(ctx, db.getFullName(), table.getName(),
+                        PrivPredicate.SELECT)) {
+            return false;
+        }
+        // convert all the values first, so that the plan is not changed if one of them can not be converted
+        List<LiteralExpr> literals = Lists.newArrayListWithCapacity(template.paramRefs.size());
+        for (ParamRef paramRef : template.paramRefs) {
+            LiteralExpr literal = convertParam(values.get(paramRef.paramIndex), paramRef.type);
+            if (literal == null) {
+                return false;
+            }
+            literal.setParamIndex(paramRef.paramIndex);
+            literals.add(literal);
+        }
+        table.readLock();
+        try {
+            if (!template.tableVersions.equals(getTableVersions((OlapTable) table))) {
+                return false;
+            }
+            for (int i = 0; i < literals.size(); i++) {
+                ParamRef paramRef = template.paramRefs.get(i);
+                paramRef.parent.setChild(paramRef.childIdx, literals.get(i));
+            }
+            template.scanNode.recomputeScanRanges(template.analyzer);
+        } catch (UserException e) {
+            return false;
+        } finally {
+            table.readUnlock();
+        }
+        planTemplate = template;
+        return true;
+    }
+
+    private PlanTemplate createPlanTemplate(ConnectContext ctx, TQueryOptions queryOptions,
+            StatementBase analyzedStmt, Analyzer analyzer, Planner planner) {
+        List<LiteralExpr> values = getBoundValues();
+        if (values == null || !isPlanReusable(ctx) || !(stmt instanceof SelectStmt)
+                || !(analyzedStmt instanceof SelectStmt) || hasNondeterministicFunction((SelectStmt) stmt)
+                || hasDisjunction(((SelectStmt) stmt).getWhereClause())) {
+            return null;
+        }
+        SelectStmt selectStmt = (SelectStmt) analyzedStmt;
+        if (selectStmt.isExplain() || selectStmt.hasOutFileClause() || selectStmt.getAggInfo() != null
+                || selectStmt.getAnalyticInfo() != null || selectStmt.getTableRefs().size() != 1
+                || !(selectStmt.getTableRefs().get(0) instanceof BaseTableRef)
+                || planner.getScanNodes().size() != 1 || !(planner.getScanNodes().get(0) instanceof OlapScanNode)
+                || hasParam(selectStmt.getResultExprs())) {
+            return null;
+        }
+        OlapScanNode scanNode = (OlapScanNode) planner.getScanNodes().get(0);
+        // the literals in the where clause are rebound too, though only the plan is executed
+        Set<Expr> visited = Sets.newIdentityHashSet();
+        List<ParamRef> paramRefs = Lists.newArrayList();
+        for (PlanFragment fragment : planner.getFragments()) {
+            if (!collectParamRefs(fragment.getPlanRoot(), scanNode, values, visited, paramRefs)) {
+                return null;
+            }
+        }
+        if (selectStmt.getWhereClause() != null
+                && !collectParamRefs(selectStmt.getWhereClause(), values, visited, paramRefs)) {
+            return null;
+        }
+        // a parameter which is not found may be folded with others or used elsewhere, eg, an ordinal of order by
+        Set<Integer> paramIndexes = Sets.newHashSet();
+        for (ParamRef paramRef : paramRefs) {
+            paramIndexes.add(paramRef.paramIndex);
+        }
+        if (paramIndexes.size() != placeholders.size()) {
+            return null;
+        }
+        Database db = Catalog.getCurrentCatalog().getInternalDataSource()
+                .getDbNullable(selectStmt.getTableRefs().get(0).getName().getDb());
+        if (db == null) {
+            return null;
+        }
+        List<Type> paramTypes = Lists.newArrayListWithCapacity(values.size());
+        for (LiteralExpr value : values) {
+            paramTypes.add(value.getType());
+        }
+        return new PlanTemplate(selectStmt, analyzer, planner, scanNode, queryOptions, ctx.getDatabase(),
+                db.getId(), scanNode.getOlapTable(), paramTypes, paramRefs);
+    }
+
+    // The parameters are only allowed in the conjuncts of the scan node.
+    private static boolean collectParamRefs(PlanNode node, OlapScanNode scanNode, List<LiteralExpr> values,
+            Set<Expr> visited, List<ParamRef> paramRefs) {
+        for (Expr conjunct : node.getConjuncts()) {
+            if (node != scanNode ? hasParam(conjunct) : !collectParamRefs(conjunct, values, visited, paramRefs)) {
+                return false;
+            }
+        }
+        for (PlanNode child : node.getChildren()) {
+            if (!collectParamRefs(child, scanNode, values, visited, paramRefs)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Return false if a literal bound from a parameter is not an operand of a comparison or in predicate,
+    // or it is not the value of the parameter, eg, which is cast to another type with a different value.
+    private static boolean collectParamRefs(Expr expr, List<LiteralExpr> values, Set<Expr> visited,
+            List<ParamRef> paramRefs) {
+        if (expr instanceof LiteralExpr && ((LiteralExpr) expr).getParamIndex() >= 0) {
+            return false;
+        }
+        if (!visited.add(expr)) {
+            return true;
+        }
+        for (int i = 0; i < expr.getChildren().size(); i++) {
+            Expr child = expr.getChild(i);
+            if (!(child instanceof LiteralExpr) || ((LiteralExpr) child).getParamIndex() < 0) {
+                if (!collectParamRefs(child, values, visited, paramRefs)) {
+                    return false;
+                }
+                continue;
+            }
+            int paramIndex = ((LiteralExpr) child).getParamIndex();
+            if (!(expr instanceof BinaryPredicate) && !(expr instanceof InPredicate)) {
+                return false;
+            }
+            LiteralExpr expected = convertParam(values.get(paramIndex), child.getType());
+            if (expected == null || expected.getClass() != child.getClass()
+                    || !expected.toSql().equals(child.toSql())) {
+                return false;
+            }
+            paramRefs.add(new ParamRef(expr, i, paramIndex, child.getType()));
+        }
+        return true;
+    }
+
+    private static boolean hasParam(List<Expr> exprs) {
+        for (Expr expr : exprs) {
+            if (hasParam(expr)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasParam(Expr expr) {
+        if (expr instanceof LiteralExpr && ((LiteralExpr) expr).getParamIndex() >= 0) {
+            return true;
+        }
+        return hasParam(expr.getChildren());
+    }
+
+    // Convert the value of a parameter to the type of the literal in the plan.
+    // Return null if it can not be converted without changing the value.
+    static LiteralExpr convertParam(LiteralExpr value, Type type) {
+        LiteralExpr literal;
+        if (value.getType().equals(type)) {
+            literal = (LiteralExpr) value.clone();
+        } else {
+            try {
+                literal = LiteralExpr.create(value.getStringValue(), type);
+            } catch (AnalysisException e) {
+                return null;
+            }
+            if (!literal.getType().equals(type) || !literal.getStringValue().equals(value.getStringValue())) {
+                return null;
+            }
+        }
+        return literal;
+    }
+
+    // return null if a parameter is null, which may be folded by the analyzer
+    private List<LiteralExpr> getBoundValues() {
+        List<LiteralExpr> values = Lists.newArrayListWithCapacity(placeholders.size());
+        for (PlaceHolderExpr placeholder : placeholders) {
+            LiteralExpr value = placeholder.getValue();
+            if (value == null || value instanceof NullLiteral) {
+                return null;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    // The query results are cached by the sql, and the row policies are rewritten into the statement,
+    // so the plan is not reused for them.
+    private static boolean isPlanReusable(ConnectContext ctx) {
+        return !ctx.getSessionVariable().isEnableSqlCache() && !ctx.getSessionVariable().isEnablePartitionCache()
+                && !Catalog.getCurrentCatalog().getPolicyMgr().existPolicy(ctx.getQualifiedUser());
+    }
+
+    // the functions like now() are folded by the analyzer
+    private static boolean hasNondeterministicFunction(SelectStmt selectStmt) {
+        List<Expr> exprs = Lists.newArrayList();
+        for (SelectListItem item : selectStmt.getSelectList().getItems()) {
+            if (item.getExpr() != null) {
+                exprs.add(item.getExpr());
+            }
+        }
+        if (selectStmt.getWhereClause() != null) {
+            exprs.add(selectStmt.getWhereClause());
+        }
+        if (selectStmt.getOrderByElements() != null) {
+            for (OrderByElement element : selectStmt.getOrderByElements()) {
+                exprs.add(element.getExpr());
+            }
+        }
+        List<Expr> functions = Lists.newArrayList();
+        for (Expr expr : exprs) {
+            expr.collectAll(Predicates.instanceOf(FunctionCallExpr.class), functions);
+        }
+        for (Expr function : functions) {
+            if (Catalog.getCurrentCatalog().isNondeterministicFunction(
+                    ((FunctionCallExpr) function).getFnName().getFunction())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the predicates with OR and NOT may be rewritten by the values, eg, extracting the common factors
+    private static boolean hasDisjunction(Expr expr) {
+        if (expr == null) {
+            return false;
+        }
+        if (expr instanceof CompoundPredicate && ((CompoundPredicate) expr).getOp() != CompoundPredicate.Operator.AND) {
+            return true;
+        }
+        for (Expr child : expr.getChildren()) {
+            if (hasDisjunction(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The schema and the data versions of the table, on which the plan depends.
+    static List<Long> getTableVersions(OlapTable table) {
+        List<Long> versions = Lists.newArrayList();
+        versions.add((long) table.getState().ordinal());
+        versions.add(table.getBaseIndexId());
+        for (Map.Entry<Long, MaterializedIndexMeta> entry : table.getIndexIdToMeta().entrySet()) {
+            versions.add(entry.getKey());
+            versions.add((long) entry.getValue().getSchemaHash());
+            versions.add((long) entry.getValue().getSchemaVersion());
+        }
+        for (Partition partition : table.getAllPartitions()) {
+            versions.add(partition.getId());
+            versions.add(partition.getVisibleVersion());
+        }
+        return versions;
+    }
+
+    // The literal is parsed by the scanner again, so strings are escaped as the scanner expects,
+    // and negative numbers are enclosed to avoid forming a comment with a preceding '-'.
+    static String toSqlLiteral(LiteralExpr value) throws AnalysisException {
+        if (value instanceof NullLiteral) {
+            return "NULL";
+        } else if (value instanceof StringLiteral || value instanceof DateLiteral) {
+            String str = value.getStringValue();
+            StringBuilder sb = new StringBuilder(str.length() + 2).append('\'');
+            for (int i = 0; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c == '\\' || c == '\'') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+            return sb.append('\'').toString();
+        }
+        String str;
+        if (value instanceof FloatLiteral) {
+            double d = value.getDoubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                throw new AnalysisException("Unsupported parameter value: " + d);
+            }
+            str = BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
+        } else {
+            str = value.getStringValue();
+        }
+        return str.startsWith("-") ? "(" + str + ")" : str;
+    }
+
+    // Split the sql by the parameter markers which the scanner recognizes as tokens,
+    // that is, skip the ones in quoted strings, quoted identifiers and comments.
+    static List<String> splitByPlaceholders(String sql) {
+        List<String> parts = Lists.newArrayList();
+        int start = 0;
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(sql, i, c);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*' && !isHintBegin(sql, i + 2)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '?') {
+                parts.add(sql.substring(start, i));
+                start = ++i;
+            } else {
+                i++;
+            }
+        }
+        parts.add(sql.substring(start));
+        return parts;
+    }
+
+    // return the position after the closing quote
+    private static int skipQuoted(String sql, int begin, char quote) {
+        int i = begin + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                // a doubled quote is an escaped quote
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    // plan hints are written as "/*+ ... */", and the content is scanned as tokens
+    private static boolean isHintBegin(String sql, int pos) {
+        while (pos < sql.length() && sql.charAt(pos) == ' ') {
+            pos++;
+        }
+        return pos < sql.length() && sql.charAt(pos) == '+';
+    }
+}
@@ -18,52 +18,127 @@
 package org.apache.doris.qe;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 // Queue of QueryDetail.
 // It's used to collect queries for monitor.
-// The default copacity is 10000.
+// The queries are kept in a ring of segments, the capacity is about 10000.
+// It's updated on the path of every query, so it's lock free: a query takes a slot by an atomic sequence,
+// and when the ring wraps, the oldest segment is evicted as a whole.
+// Readers iterate the segments without blocking writers, and skip the segments whose queries are all
+// older than the requested event time.
 public class QueryDetailQueue {
-    private static Map<String, QueryDetail> runningQueries = Maps.newHashMap();
-    private static LinkedList<QueryDetail> totalQueries = new LinkedList<QueryDetail>();
-    private static int queryCapacity = 10000;
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int SEGMENT_NUM = 10;
 
-    public static synchronized void addOrUpdateQueryDetail(QueryDetail queryDetail) {
-        if (runningQueries.get(queryDetail.getQueryId()) == null) {
+    private static final AtomicLong nextSeq = new AtomicLong(0);
+    private static final AtomicReferenceArray<Segment> segments = new AtomicReferenceArray<>(SEGMENT_NUM);
+    // query id -> sequence of the running query
+    private static final Map<String, Long> runningQueries = new ConcurrentHashMap<>();
+
+    private static class Segment {
+        // sequence of the first slot is id * SEGMENT_SIZE
+        private final long id;
+        private final AtomicReferenceArray<QueryDetail> slots = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        private final AtomicLong maxEventTime = new AtomicLong(Long.MIN_VALUE);
+
+        Segment(long id) {
+            this.id = id;
+        }
+
+        void updateMaxEventTime(long eventTime) {
+            maxEventTime.accumulateAndGet(eventTime, Math::max);
+        }
+    }
+
+    public static void addOrUpdateQueryDetail(QueryDetail queryDetail) {
+        String queryId = queryDetail.getQueryId();
+        Long seq = runningQueries.get(queryId);
+        if (seq == null) {
+            seq = nextSeq.getAndIncrement();
+            Segment segment = getOrCreateSegment(seq);
+            if (segment == null) {
+                // the ring has wrapped around before this query is added
+                return;
+            }
             if (queryDetail.getState() == QueryDetail.QueryMemState.RUNNING) {
-                runningQueries.put(queryDetail.getQueryId(), queryDetail);
-                totalQueries.add(queryDetail);
-            } else {
-                totalQueries.add(queryDetail);
+                runningQueries.put(queryId, seq);
+            }
+            segment.slots.set((int) (seq % SEGMENT_SIZE), queryDetail);
+            segment.updateMaxEventTime(queryDetail.getEventTime());
+        } else if (queryDetail.getState() != QueryDetail.QueryMemState.RUNNING) {
+            if (!runningQueries.remove(queryId, seq)) {
+                return;
             }
-        } else {
-            if (queryDetail.getState() != QueryDetail.QueryMemState.RUNNING) {
-                QueryDetail qDetail = runningQueries.remove(queryDetail.getQueryId());
+            Segment segment = getSegment(seq);
+            QueryDetail qDetail = segment == null ? null : segment.slots.get((int) (seq % SEGMENT_SIZE));
+            if (qDetail != null) {
                 qDetail.setLatency(queryDetail.getLatency());
                 qDetail.setState(queryDetail.getState());
+                segment.updateMaxEventTime(qDetail.getEventTime());
             }
         }
-        if (totalQueries.size() > queryCapacity) {
-            QueryDetail qDetail = totalQueries.remove();
-            runningQueries.remove(qDetail.getQueryId());
-        }
     }
 
-    public static synchronized List<QueryDetail> getQueryDetails(long eventTime) {
+    public static List<QueryDetail> getQueryDetails(long eventTime) {
+        List<Segment> snapshot = Lists.newArrayListWithCapacity(SEGMENT_NUM);
+        for (int i = 0; i < SEGMENT_NUM; i++) {
+            Segment segment = segments.get(i);
+            if (segment != null && segment.maxEventTime.get() > eventTime) {
+                snapshot.add(segment);
+            }
+        }
+        snapshot.sort(Comparator.comparingLong(segment -> segment.id));
+
         List<QueryDetail> results = Lists.newArrayList();
-        Iterator<QueryDetail> it = totalQueries.iterator();
-        while (it.hasNext()) {
-            QueryDetail queryDetail = it.next();
-            if (queryDetail.getEventTime() > eventTime) {
-                results.add(queryDetail);
+        for (Segment segment : snapshot) {
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                QueryDetail queryDetail = segment.slots.get(i);
+                if (queryDetail != null && queryDetail.getEventTime() > eventTime) {
+                    results.add(queryDetail);
+                }
             }
         }
         return results;
     }
 
+    private static Segment getSegment(long seq) {
+        long segmentId = seq / SEGMENT_SIZE;
+        Segment segment = segments.get((int) (segmentId % SEGMENT_NUM));
+        return segment != null && segment.id == segmentId ? segment : null;
+    }
+
+    // return null if the segment of seq has been evicted
+    private static Segment getOrCreateSegment(long seq) {
+        long segmentId = seq / SEGMENT_SIZE;
+        int index = (int) (segmentId % SEGMENT_NUM);
+        while (true) {
+            Segment segment = segments.get(index);
+            if (segment != null && segment.id >= segmentId) {
+                return segment.id == segmentId ? segment : null;
+            }
+            Segment newSegment = new Segment(segmentId);
+            if (segments.compareAndSet(index, segment, newSegment)) {
+                if (segment != null) {
+                    evict(segment);
+                }
+                return newSegment;
+            }
+        }
+    }
+
+    private static void evict(Segment segment) {
+        for (int i = 0; i < SEGMENT_SIZE; i++) {
+            QueryDetail queryDetail = segment.slots.get(i);
+            if (queryDetail != null) {
+                runningQueries.remove(queryDetail.getQueryId(), segment.id * SEGMENT_SIZE + i);
+            }
+        }
+    }
 }
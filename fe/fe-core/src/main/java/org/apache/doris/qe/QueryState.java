@@ -65,6 +65,11 @@ public class QueryState {
         return stateType;
     }
 
+    // the command has sent its response by itself, or it needs no response at all
+    public void setNoop() {
+        stateType = MysqlStateType.NOOP;
+    }
+
     public void setEof() {
         stateType = MysqlStateType.EOF;
     }
@@ -17,6 +17,7 @@
 
 package org.apache.doris.qe;
 
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
 import org.apache.doris.proto.InternalService;
 import org.apache.doris.proto.Types;
@@ -47,6 +48,11 @@ public class ResultReceiver {
     private Types.PUniqueId finstId;
     private Long backendId;
     private Thread currentThread;
+    // reused for all the batches of this receiver
+    private final TDeserializer deserializer = new TDeserializer();
+    // the fetch of the next batch, which is issued before the current batch is returned,
+    // so it overlaps with the sending of the current batch to the client.
+    private Future<InternalService.PFetchDataResult> prefetchFuture;
 
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, long timeoutTs) {
         this.finstId = Types.PUniqueId.newBuilder().setHi(tid.hi).setLo(tid.lo).build();
@@ -62,14 +68,12 @@ public class ResultReceiver {
         final RowBatch rowBatch = new RowBatch();
         try {
             while (!isDone && !isCancel) {
-                InternalService.PFetchDataRequest request = InternalService.PFetchDataRequest.newBuilder()
-                        .setFinstId(finstId)
-                        .setRespInAttachment(false)
-                        .build();
-
                 currentThread = Thread.currentThread();
-                Future<InternalService.PFetchDataResult> future
-                        = BackendServiceProxy.getInstance().fetchDataAsync(address, request);
+                Future<InternalService.PFetchDataResult> future = prefetchFuture;
+                prefetchFuture = null;
+                if (future == null) {
+                    future = fetchDataAsync();
+                }
                 InternalService.PFetchDataResult pResult = null;
                 while (pResult == null) {
                     long currentTs = System.currentTimeMillis();
@@ -107,14 +111,17 @@ public class ResultReceiver {
                 if (pResult.hasEmptyBatch() && pResult.getEmptyBatch()) {
                     LOG.info("get first empty rowbatch");
                     rowBatch.setEos(false);
+                    prefetch();
                     return rowBatch;
                 } else if (pResult.hasRowBatch() && pResult.getRowBatch().size() > 0) {
+                    // the rows of the deserialized batch are slices of 'serialResult', so they are
+                    // sent to the client without any more copy.
                     byte[] serialResult = pResult.getRowBatch().toByteArray();
                     TResultBatch resultBatch = new TResultBatch();
-                    TDeserializer deserializer = new TDeserializer();
                     deserializer.deserialize(resultBatch, serialResult);
                     rowBatch.setBatch(resultBatch);
                     rowBatch.setEos(pResult.getEos());
+                    prefetch();
                     return rowBatch;
                 }
             }
@@ -146,6 +153,28 @@ public class ResultReceiver {
         return rowBatch;
     }
 
+    // Issue the fetch of the next batch after the current one is built. If it fails, the current batch is
+    // still returned, and the next batch is fetched again in next getNext(), which reports the error if any.
+    private void prefetch() {
+        if (isDone || !Config.enable_result_prefetch) {
+            return;
+        }
+        try {
+            prefetchFuture = fetchDataAsync();
+        } catch (RpcException e) {
+            LOG.warn("prefetch result rpc exception, finstId={}", finstId, e);
+            prefetchFuture = null;
+        }
+    }
+
+    private Future<InternalService.PFetchDataResult> fetchDataAsync() throws RpcException {
+        InternalService.PFetchDataRequest request = InternalService.PFetchDataRequest.newBuilder()
+                .setFinstId(finstId)
+                .setRespInAttachment(false)
+                .build();
+        return BackendServiceProxy.getInstance().fetchDataAsync(address, request);
+    }
+
     public void cancel() {
         isCancel = true;
         synchronized (this) {
@@ -192,6 +192,14 @@ public class SessionVariable implements Serializable, Writable {
 
     public static final String ENABLE_NEREIDS = "enable_nereids";
 
+    public static final String ENABLE_NEREIDS_PARALLEL_OPTIMIZE = "enable_nereids_parallel_optimize";
+
+    public static final String NEREIDS_MAX_GROUP_EXPRESSIONS = "nereids_max_group_expressions";
+
+    public static final String NEREIDS_EXPLORATION_TIMEOUT_MS = "nereids_exploration_timeout_ms";
+
+    public static final String ENABLE_INSERT_GROUP_COMMIT = "enable_insert_group_commit";
+
     // session origin value
     public Map<Field, String> sessionOriginValue = new HashMap<Field, String>();
     // check stmt is or not [select /*+ SET_VAR(...)*/ ...]
@@ -480,6 +488,31 @@ public class SessionVariable implements Serializable, Writable {
     @VariableMgr.VarAttr(name = ENABLE_NEREIDS)
     private boolean enableNereids = false;
 
+    /**
+     * Execute the independent optimization jobs of new optimizer concurrently.
+     * It is disabled by default until the concurrent memo is proven in production.
+     */
+    @VariableMgr.VarAttr(name = ENABLE_NEREIDS_PARALLEL_OPTIMIZE)
+    private boolean enableNereidsParallelOptimize = false;
+
+    /**
+     * Budget of join exploration of new optimizer. After the memo has so many group expressions,
+     * or the exploration takes so long, no more join orders are explored, and the best plan is chosen
+     * from the ones explored. Non-positive means no limit.
+     */
+    @VariableMgr.VarAttr(name = NEREIDS_MAX_GROUP_EXPRESSIONS)
+    private int nereidsMaxGroupExpressions = 10000;
+
+    @VariableMgr.VarAttr(name = NEREIDS_EXPLORATION_TIMEOUT_MS)
+    private long nereidsExplorationTimeoutMs = 3000;
+
+    /**
+     * Merge the small INSERT INTO ... VALUES into one load transaction with the concurrent ones into the same
+     * table, and return after the shared transaction is committed.
+     */
+    @VariableMgr.VarAttr(name = ENABLE_INSERT_GROUP_COMMIT, needForward = true)
+    private boolean enableInsertGroupCommit = false;
+
     public String getBlockEncryptionMode() {
         return blockEncryptionMode;
     }
@@ -992,6 +1025,38 @@ public class SessionVariable implements Serializable, Writable {
         this.enableNereids = enableNereids;
     }
 
+    public boolean isEnableNereidsParallelOptimize() {
+        return enableNereidsParallelOptimize;
+    }
+
+    public void setEnableNereidsParallelOptimize(boolean enableNereidsParallelOptimize) {
+        this.enableNereidsParallelOptimize = enableNereidsParallelOptimize;
+    }
+
+    public int getNereidsMaxGroupExpressions() {
+        return nereidsMaxGroupExpressions;
+    }
+
+    public void setNereidsMaxGroupExpressions(int nereidsMaxGroupExpressions) {
+        this.nereidsMaxGroupExpressions = nereidsMaxGroupExpressions;
+    }
+
+    public long getNereidsExplorationTimeoutMs() {
+        return nereidsExplorationTimeoutMs;
+    }
+
+    public void setNereidsExplorationTimeoutMs(long nereidsExplorationTimeoutMs) {
+        this.nereidsExplorationTimeoutMs = nereidsExplorationTimeoutMs;
+    }
+
+    public boolean isEnableInsertGroupCommit() {
+        return enableInsertGroupCommit;
+    }
+
+    public void setEnableInsertGroupCommit(boolean enableInsertGroupCommit) {
+        this.enableInsertGroupCommit = enableInsertGroupCommit;
+    }
+
     /**
      * Serialize to thrift object.
      * Used for rest api.
@@ -56,6 +56,7 @@ import org.apache.doris.analysis.UseStmt;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
 import org.apache.doris.catalog.PrimitiveType;
 import org.apache.doris.catalog.ScalarType;
 import org.apache.doris.catalog.Table;
@@ -84,8 +85,11 @@ import org.apache.doris.common.util.TimeUtils;
 import org.apache.doris.common.util.VectorizedUtil;
 import org.apache.doris.load.EtlJobType;
 import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.mysql.MysqlBinaryProtocol;
 import org.apache.doris.mysql.MysqlChannel;
+import org.apache.doris.mysql.MysqlColType;
 import org.apache.doris.mysql.MysqlEofPacket;
+import org.apache.doris.mysql.MysqlProto;
 import org.apache.doris.mysql.MysqlSerializer;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.nereids.NereidsPlanner;
@@ -135,6 +139,7 @@ import org.apache.thrift.TException;
 import java.io.IOException;
 import java.io.StringReader;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -174,6 +179,12 @@ public class StmtExecutor implements ProfileWriter {
     private ShowResultSet proxyResultSet = null;
     private Data.PQueryStatistics.Builder statisticsForAuditLog;
     private boolean isCached;
+    // send result rows in binary protocol, which is used by executing a prepared statement
+    private boolean isBinaryProtocol = false;
+    // the prepared statement of this execution, whose plan may be reused
+    private PreparedStatementContext preparedStmt;
+    // types of the result columns sent to client, used to convert rows to binary protocol
+    private List<MysqlColType> resultColTypes;
 
     private QueryPlannerProfile plannerProfile = new QueryPlannerProfile();
 
@@ -185,6 +196,14 @@ public class StmtExecutor implements ProfileWriter {
         this.isProxy = isProxy;
     }
 
+    public void setBinaryProtocol(boolean isBinaryProtocol) {
+        this.isBinaryProtocol = isBinaryProtocol;
+    }
+
+    public void setPreparedStmt(PreparedStatementContext preparedStmt) {
+        this.preparedStmt = preparedStmt;
+    }
+
     // this constructor is only for test now.
     public StmtExecutor(ConnectContext context, String stmt) {
         this(context, new OriginStatement(stmt, 0), false);
@@ -582,6 +601,18 @@ public class StmtExecutor implements ProfileWriter {
             return;
         }
 
+        if (preparedStmt != null && preparedStmt.rebindPlan(context, tQueryOptions)) {
+            // the plan of the last execution is reused with the parameters of this one
+            OriginStatement boundStmt = parsedStmt.getOrigStmt();
+            parsedStmt = preparedStmt.getPlannedStmt();
+            parsedStmt.setOrigStmt(boundStmt);
+            analyzer = preparedStmt.getPlannedAnalyzer();
+            planner = preparedStmt.getPlanner();
+            plannerProfile.setQueryAnalysisFinishTime();
+            plannerProfile.setQueryPlanFinishTime();
+            return;
+        }
+
         analyzer = new Analyzer(context.getCatalog(), context);
         // Convert show statement to select statement here
         if (parsedStmt instanceof ShowStmt) {
@@ -616,6 +647,9 @@ public class StmtExecutor implements ProfileWriter {
                 MetaLockUtils.readLockTables(tables);
                 try {
                     analyzeAndGenerateQueryPlan(tQueryOptions);
+                    if (preparedStmt != null) {
+                        preparedStmt.savePlan(context, tQueryOptions, parsedStmt, analyzer, planner);
+                    }
                     break;
                 } catch (MVSelectFailedException e) {
                     /*
@@ -695,6 +729,12 @@ public class StmtExecutor implements ProfileWriter {
 
     private void analyzeAndGenerateQueryPlan(TQueryOptions tQueryOptions) throws UserException {
         parsedStmt.analyze(analyzer);
+        if (parsedStmt instanceof InsertStmt && ((InsertStmt) parsedStmt).isGroupCommit()) {
+            // the rows are sent to the load transaction by GroupCommitManager, so no plan is needed
+            plannerProfile.setQueryAnalysisFinishTime();
+            plannerProfile.setQueryPlanFinishTime();
+            return;
+        }
         if (parsedStmt instanceof QueryStmt || parsedStmt instanceof InsertStmt) {
             ExprRewriter rewriter = analyzer.getExprRewriter();
             rewriter.reset();
@@ -857,7 +897,7 @@ public class StmtExecutor implements ProfileWriter {
         for (InternalService.PCacheValue value : cacheValues) {
             TResultBatch resultBatch = new TResultBatch();
             for (ByteString one : value.getRowsList()) {
-                resultBatch.addToRows(ByteBuffer.wrap(one.toByteArray()));
+                resultBatch.addToRows(one.asReadOnlyByteBuffer());
             }
             resultBatch.setPacketSeq(1);
             resultBatch.setIsCompressed(false);
@@ -870,7 +910,7 @@ public class StmtExecutor implements ProfileWriter {
                 isSend = true;
             }
             for (ByteBuffer row : batch.getBatch().getRows()) {
-                channel.sendOnePacket(row);
+                sendRow(channel, row);
             }
             context.updateReturnRows(batch.getBatch().getRows().size());
         }
@@ -1028,7 +1068,7 @@ public class StmtExecutor implements ProfileWriter {
                     isSendFields = true;
                 }
                 for (ByteBuffer row : batch.getBatch().getRows()) {
-                    channel.sendOnePacket(row);
+                    sendRow(channel, row);
                 }
                 context.updateReturnRows(batch.getBatch().getRows().size());
             }
@@ -1057,6 +1097,59 @@ public class StmtExecutor implements ProfileWriter {
         plannerProfile.setQueryFetchResultFinishTime();
     }
 
+    /**
+     * Execute a query for an internal task, e.g. the statistics collection, and return the result rows
+     * instead of sending them to the client. The values are strings as in the mysql text protocol, or null for NULL.
+     */
+    public List<List<String>> executeInternalQuery() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        context.setQueryId(new TUniqueId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        context.setStartTime();
+        context.setStmtId(STMT_ID_GENERATOR.incrementAndGet());
+        analyze(context.getSessionVariable().toThrift());
+        if (!(parsedStmt instanceof QueryStmt)) {
+            throw new UserException("Only query can be executed internally: " + originStmt.originStmt);
+        }
+        int columnNum = ((QueryStmt) parsedStmt).getResultExprs().size();
+
+        List<List<String>> rows = Lists.newArrayList();
+        coord = new Coordinator(context, analyzer, planner);
+        QeProcessorImpl.INSTANCE.registerQuery(context.queryId(),
+                new QeProcessorImpl.QueryInfo(context, originStmt.originStmt, coord));
+        try {
+            coord.exec();
+            while (true) {
+                RowBatch batch = coord.getNext();
+                if (batch.getBatch() != null) {
+                    for (ByteBuffer row : batch.getBatch().getRows()) {
+                        rows.add(readTextRow(row, columnNum));
+                    }
+                }
+                if (batch.isEos()) {
+                    break;
+                }
+            }
+        } finally {
+            QeProcessorImpl.INSTANCE.unregisterQuery(context.queryId());
+        }
+        return rows;
+    }
+
+    // every column of a text protocol row is a length encoded string, or 0xFB for NULL
+    private static List<String> readTextRow(ByteBuffer row, int columnNum) {
+        ByteBuffer buffer = row.duplicate();
+        List<String> values = Lists.newArrayListWithCapacity(columnNum);
+        for (int i = 0; i < columnNum; i++) {
+            if ((buffer.get(buffer.position()) & 0xFF) == 0xFB) {
+                buffer.get();
+                values.add(null);
+            } else {
+                values.add(new String(MysqlProto.readLenEncodedString(buffer), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
     private TWaitingTxnStatusResult getWaitingTxnStatus(TWaitingTxnStatusRequest request) throws Exception {
         TWaitingTxnStatusResult statusResult = null;
         if (Catalog.getCurrentCatalog().isMaster()) {
@@ -1312,6 +1405,19 @@ public class StmtExecutor implements ProfileWriter {
             loadedRows = executeForTxn(insertStmt);
             label = context.getTxnEntry().getLabel();
             txnId = context.getTxnEntry().getTxnConf().getTxnId();
+        } else if (insertStmt.isGroupCommit()) {
+            List<InternalService.PDataRow> rows = Lists.newArrayList();
+            for (List<Expr> row : ((SelectStmt) insertStmt.getQueryStmt()).getValueList().getRows()) {
+                rows.add(getRowStringValue(row));
+            }
+            GroupCommitManager.GroupCommitResult result = GroupCommitManager.getInstance().commit(
+                    insertStmt.getDbObj(), (OlapTable) insertStmt.getTargetTable(), rows,
+                    context.getSessionVariable().getEnableInsertStrict(),
+                    context.getSessionVariable().getQueryTimeoutS());
+            label = result.getLabel();
+            txnId = result.getTxnId();
+            txnStatus = result.getStatus();
+            loadedRows = rows.size();
         } else {
             label = insertStmt.getLabel();
             LOG.info("Do insert [{}] with query id: {}", label, DebugUtil.printId(context.queryId()));
@@ -1490,7 +1596,9 @@ public class StmtExecutor implements ProfileWriter {
         serializer.writeVInt(metaData.getColumnCount());
         context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
         // send field one by one
+        resultColTypes = Lists.newArrayListWithCapacity(metaData.getColumnCount());
         for (Column col : metaData.getColumns()) {
+            resultColTypes.add(col.getType().getPrimitiveType().toMysqlType());
             serializer.reset();
             // TODO(zhaochun): only support varchar type
             serializer.writeField(col.getName(), col.getType().getPrimitiveType());
@@ -1509,7 +1617,9 @@ public class StmtExecutor implements ProfileWriter {
         serializer.writeVInt(colNames.size());
         context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
         // send field one by one
+        resultColTypes = Lists.newArrayListWithCapacity(colNames.size());
         for (int i = 0; i < colNames.size(); ++i) {
+            resultColTypes.add(types.get(i).toMysqlType());
             serializer.reset();
             serializer.writeField(colNames.get(i), types.get(i));
             context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
@@ -1521,6 +1631,16 @@ public class StmtExecutor implements ProfileWriter {
         context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
     }
 
+    // The row is always encoded in text protocol, convert it if the client expects binary protocol.
+    private void sendRow(MysqlChannel channel, ByteBuffer row) throws IOException {
+        if (isBinaryProtocol) {
+            serializer.reset();
+            MysqlBinaryProtocol.writeBinaryRow(row, resultColTypes, serializer);
+            row = serializer.toByteBuffer();
+        }
+        channel.sendOnePacket(row);
+    }
+
     public void sendResultSet(ResultSet resultSet) throws IOException {
         context.updateReturnRows(resultSet.getResultRows().size());
         // Send meta data.
@@ -1536,7 +1656,7 @@ public class StmtExecutor implements ProfileWriter {
                     serializer.writeLenEncodedString(item);
                 }
             }
-            context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
+            sendRow(context.getMysqlChannel(), serializer.toByteBuffer());
         }
 
         context.getState().setEof();
@@ -1575,7 +1695,7 @@ public class StmtExecutor implements ProfileWriter {
         for (String item : result.split("\n")) {
             serializer.reset();
             serializer.writeLenEncodedString(item);
-            context.getMysqlChannel().sendOnePacket(serializer.toByteBuffer());
+            sendRow(context.getMysqlChannel(), serializer.toByteBuffer());
         }
         context.getState().setEof();
     }
@@ -0,0 +1,98 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.thrift.TStatusCode;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps the sql cache in the memory of FE, see FeResultCache.
+ * Only the sql cache, which has one value per sql key, is supported.
+ */
+public class CacheFeProxy extends CacheProxy {
+    private static final Logger LOG = LogManager.getLogger(CacheFeProxy.class);
+
+    private final FeResultCache resultCache;
+
+    public CacheFeProxy() {
+        this(FeResultCache.getInstance());
+    }
+
+    public CacheFeProxy(FeResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    private static FeResultCache.Key toKey(Types.PUniqueId sqlKey) {
+        return new FeResultCache.Key(sqlKey.getHi(), sqlKey.getLo());
+    }
+
+    @Override
+    public void updateCache(InternalService.PUpdateCacheRequest request, int timeoutMs, Status status) {
+        if (request.getCacheType() != InternalService.CacheType.SQL_CACHE || request.getValuesCount() != 1) {
+            status.setStatus(InternalService.PCacheStatus.PARAM_ERROR.toString());
+            return;
+        }
+        InternalService.PCacheValue value = request.getValues(0);
+        InternalService.PCacheParam param = value.getParam();
+        if (resultCache.put(toKey(request.getSqlKey()), param.getPartitionKey(), param.getLastVersion(),
+                param.getLastVersionTime(), value.getRowsList())) {
+            status.setStatus(new Status(TStatusCode.OK, "CACHE_OK"));
+        } else {
+            LOG.debug("result is too large to cache in fe, sqlKey {}, data size {}",
+                    request.getSqlKey(), value.getDataSize());
+            status.setStatus(InternalService.PCacheStatus.SIZE_OVER_LIMIT.toString());
+        }
+    }
+
+    @Override
+    public InternalService.PFetchCacheResult fetchCache(InternalService.PFetchCacheRequest request,
+                                                        int timeoutMs, Status status) {
+        if (request.getParamsCount() != 1) {
+            return InternalService.PFetchCacheResult.newBuilder()
+                    .setStatus(InternalService.PCacheStatus.PARAM_ERROR).build();
+        }
+        InternalService.PCacheParam param = request.getParams(0);
+        FeResultCache.Entry entry = resultCache.get(toKey(request.getSqlKey()), param.getPartitionKey(),
+                param.getLastVersion(), param.getLastVersionTime());
+        if (entry == null) {
+            return InternalService.PFetchCacheResult.newBuilder()
+                    .setStatus(InternalService.PCacheStatus.NO_SQL_KEY).build();
+        }
+        return InternalService.PFetchCacheResult.newBuilder()
+                .setStatus(InternalService.PCacheStatus.CACHE_OK)
+                .addValues(InternalService.PCacheValue.newBuilder()
+                        .setParam(param)
+                        .setDataSize(entry.getDataSize())
+                        .addAllRows(entry.getRows()))
+                .build();
+    }
+
+    @Override
+    public void clearCache(InternalService.PClearCacheRequest request) {
+        if (request.getClearType() == InternalService.PClearType.CLEAR_SQL_KEY && request.hasSqlKey()) {
+            resultCache.remove(toKey(request.getSqlKey()));
+        } else {
+            resultCache.clear();
+        }
+    }
+}
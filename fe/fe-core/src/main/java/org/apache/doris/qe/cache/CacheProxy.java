@@ -50,6 +50,9 @@ public abstract class CacheProxy {
         if (CacheProxyType.BE == type) {
             return new CacheBeProxy();
         }
+        if (CacheProxyType.FE == type) {
+            return new CacheFeProxy();
+        }
         return null;
     }
 
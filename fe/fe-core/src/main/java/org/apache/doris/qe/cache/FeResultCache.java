@@ -0,0 +1,245 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A memory bounded LRU cache of query results, which is the FE local tier of the sql cache.
+ *
+ * The rows of a result are the serialized mysql row packets, they are stored in a direct buffer,
+ * so the cached results do not burden the heap and the GC. The total size of the buffers is bounded
+ * by Config.cache_fe_sql_cache_max_bytes, the least recently used results are evicted when it is exceeded.
+ *
+ * A result is valid only for the version of the latest partition it was built on. A lookup with
+ * another version removes the stale result.
+ */
+public class FeResultCache {
+    private static final Logger LOG = LogManager.getLogger(FeResultCache.class);
+
+    private static final FeResultCache INSTANCE = new FeResultCache();
+
+    // access ordered, so the eldest entry is the least recently used one.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictCount = 0;
+
+    // visible for test
+    FeResultCache() {
+    }
+
+    public static FeResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static class Key {
+        private final long hi;
+        private final long lo;
+
+        public Key(long hi, long lo) {
+            this.hi = hi;
+            this.lo = lo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hi == other.hi && lo == other.lo;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hi, lo);
+        }
+    }
+
+    public static class Entry {
+        private final long partitionKey;
+        private final long lastVersion;
+        private final long lastVersionTime;
+        private final int rowCount;
+        // [row length, row bytes] * rowCount
+        private final ByteBuffer data;
+
+        private Entry(long partitionKey, long lastVersion, long lastVersionTime, List<ByteString> rows) {
+            this.partitionKey = partitionKey;
+            this.lastVersion = lastVersion;
+            this.lastVersionTime = lastVersionTime;
+            this.rowCount = rows.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(encodedSize(rows));
+            for (ByteString row : rows) {
+                buffer.putInt(row.size());
+                row.copyTo(buffer);
+            }
+            buffer.flip();
+            this.data = buffer.asReadOnlyBuffer();
+        }
+
+        private static int encodedSize(List<ByteString> rows) {
+            long size = 0;
+            for (ByteString row : rows) {
+                size += 4 + row.size();
+            }
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        private boolean matches(long partitionKey, long lastVersion, long lastVersionTime) {
+            return this.partitionKey == partitionKey && this.lastVersion == lastVersion
+                    && this.lastVersionTime == lastVersionTime;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public int getDataSize() {
+            return data.capacity();
+        }
+
+        public List<ByteString> getRows() {
+            List<ByteString> rows = Lists.newArrayListWithCapacity(rowCount);
+            // duplicate the buffer so concurrent readers do not share the position.
+            ByteBuffer buffer = data.duplicate();
+            for (int i = 0; i < rowCount; i++) {
+                int len = buffer.getInt();
+                ByteBuffer row = buffer.slice();
+                row.limit(len);
+                rows.add(ByteString.copyFrom(row));
+                buffer.position(buffer.position() + len);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Returns the result of the key if it is built on the given version of the latest partition,
+     * otherwise returns null. A result of another version is removed.
+     */
+    public Entry get(Key key, long partitionKey, long lastVersion, long lastVersionTime) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+            if (!entry.matches(partitionKey, lastVersion, lastVersionTime)) {
+                missCount++;
+                removeEntry(key);
+                return null;
+            }
+            hitCount++;
+            return entry;
+        }
+    }
+
+    /**
+     * Caches the rows of the key, returns false if the rows are too large to cache.
+     */
+    public boolean put(Key key, long partitionKey, long lastVersion, long lastVersionTime, List<ByteString> rows) {
+        long maxBytes = Config.cache_fe_sql_cache_max_bytes;
+        // one result should not evict too many others.
+        if (Entry.encodedSize(rows) > maxBytes / 4) {
+            return false;
+        }
+        // copy into the direct buffer out of the lock
+        Entry entry = new Entry(partitionKey, lastVersion, lastVersionTime, rows);
+        synchronized (entries) {
+            removeEntry(key);
+            Iterator<Map.Entry<Key, Entry>> iter = entries.entrySet().iterator();
+            while (usedBytes + entry.getDataSize() > maxBytes && iter.hasNext()) {
+                usedBytes -= iter.next().getValue().getDataSize();
+                iter.remove();
+                evictCount++;
+            }
+            entries.put(key, entry);
+            usedBytes += entry.getDataSize();
+        }
+        return true;
+    }
+
+    public void remove(Key key) {
+        synchronized (entries) {
+            removeEntry(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            LOG.info("clear fe result cache, entry num {}, used bytes {}", entries.size(), usedBytes);
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    private void removeEntry(Key key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            usedBytes -= old.getDataSize();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getUsedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public long getHitCount() {
+        synchronized (entries) {
+            return hitCount;
+        }
+    }
+
+    public long getMissCount() {
+        synchronized (entries) {
+            return missCount;
+        }
+    }
+
+    public long getEvictCount() {
+        synchronized (entries) {
+            return evictCount;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.doris.qe.cache;
 
 import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.common.Config;
 import org.apache.doris.common.Status;
 import org.apache.doris.common.util.DebugUtil;
 import org.apache.doris.metric.MetricRepo;
@@ -32,6 +33,8 @@ import org.apache.logging.log4j.Logger;
 public class SqlCache extends Cache {
     private static final Logger LOG = LogManager.getLogger(SqlCache.class);
 
+    private final CacheProxy feProxy = CacheProxy.getCacheProxy(CacheProxy.CacheProxyType.FE);
+
     public SqlCache(TUniqueId queryId, SelectStmt selectStmt) {
         super(queryId, selectStmt);
     }
@@ -59,15 +62,39 @@ public class SqlCache extends Cache {
                         .setLastVersionTime(latestTable.latestTime))
                 .build();
 
+        // try the fe local tier first, which answers without any rpc.
+        if (Config.cache_enable_fe_sql_cache) {
+            InternalService.PFetchCacheResult cacheResult = feProxy.fetchCache(request, 0, status);
+            if (isCacheOk(status, cacheResult)) {
+                MetricRepo.COUNTER_CACHE_HIT_SQL_FE.increase(1L);
+                return onHit(cacheResult);
+            }
+        }
+
         InternalService.PFetchCacheResult cacheResult = proxy.fetchCache(request, 10000, status);
-        if (status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK) {
-            cacheResult = cacheResult.toBuilder().setAllCount(1).build();
-            MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
-            hitRange = HitRange.Full;
+        if (isCacheOk(status, cacheResult)) {
+            if (Config.cache_enable_fe_sql_cache) {
+                // so the following queries of the same version are answered by this fe.
+                feProxy.updateCache(InternalService.PUpdateCacheRequest.newBuilder()
+                        .setSqlKey(request.getSqlKey())
+                        .setCacheType(InternalService.CacheType.SQL_CACHE)
+                        .addAllValues(cacheResult.getValuesList()).build(), 0, new Status());
+            }
+            cacheResult = onHit(cacheResult);
         }
         return cacheResult;
     }
 
+    private static boolean isCacheOk(Status status, InternalService.PFetchCacheResult cacheResult) {
+        return status.ok() && cacheResult != null && cacheResult.getStatus() == InternalService.PCacheStatus.CACHE_OK;
+    }
+
+    private InternalService.PFetchCacheResult onHit(InternalService.PFetchCacheResult cacheResult) {
+        MetricRepo.COUNTER_CACHE_HIT_SQL.increase(1L);
+        hitRange = HitRange.Full;
+        return cacheResult.toBuilder().setAllCount(1).build();
+    }
+
     public SelectStmt getRewriteStmt() {
         return null;
     }
@@ -88,6 +115,9 @@ public class SqlCache extends Cache {
                 rowBatchBuilder.buildSqlUpdateRequest(getSqlWithViewStmt(), latestTable.latestPartitionId,
                         latestTable.latestVersion, latestTable.latestTime);
         if (updateRequest.getValuesCount() > 0) {
+            if (Config.cache_enable_fe_sql_cache) {
+                feProxy.updateCache(updateRequest, 0, new Status());
+            }
             CacheBeProxy proxy = new CacheBeProxy();
             Status status = new Status();
             proxy.updateCache(updateRequest, CacheProxy.UPDATE_TIMEOUT, status);
@@ -28,6 +28,7 @@ import org.apache.doris.thrift.TUniqueId;
 
 import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
@@ -95,20 +96,34 @@ public class BackendServiceProxy {
 
     public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
             TExecPlanFragmentParamsList paramsList, boolean twoPhaseExecution) throws TException, RpcException {
+        return execPlanFragmentsAsync(address, buildExecPlanFragmentsRequest(paramsList), twoPhaseExecution);
+    }
+
+    /**
+     * Serialize the fragment instances into a request which can be sent by
+     * {@link #execPlanFragmentsAsync(TNetworkAddress, InternalService.PExecPlanFragmentRequest, boolean)}.
+     * It does not touch any rpc client, so the requests of different backends can be built concurrently.
+     */
+    public static InternalService.PExecPlanFragmentRequest buildExecPlanFragmentsRequest(
+            TExecPlanFragmentParamsList paramsList) throws TException {
         InternalService.PExecPlanFragmentRequest.Builder builder =
                 InternalService.PExecPlanFragmentRequest.newBuilder();
+        // the serialized bytes are owned by the request only, so wrap them instead of copying
         if (Config.use_compact_thrift_rpc) {
-            builder.setRequest(
-                    ByteString.copyFrom(new TSerializer(new TCompactProtocol.Factory()).serialize(paramsList)));
+            builder.setRequest(UnsafeByteOperations.unsafeWrap(
+                    new TSerializer(new TCompactProtocol.Factory()).serialize(paramsList)));
             builder.setCompact(true);
         } else {
-            builder.setRequest(ByteString.copyFrom(new TSerializer().serialize(paramsList))).build();
+            builder.setRequest(UnsafeByteOperations.unsafeWrap(new TSerializer().serialize(paramsList)));
             builder.setCompact(false);
         }
         // VERSION 2 means we send TExecPlanFragmentParamsList, not single TExecPlanFragmentParams
         builder.setVersion(InternalService.PFragmentRequestVersion.VERSION_2);
+        return builder.build();
+    }
 
-        final InternalService.PExecPlanFragmentRequest pRequest = builder.build();
+    public Future<InternalService.PExecPlanFragmentResult> execPlanFragmentsAsync(TNetworkAddress address,
+            InternalService.PExecPlanFragmentRequest pRequest, boolean twoPhaseExecution) throws RpcException {
         try {
             final BackendServiceClient client = getProxy(address);
             if (twoPhaseExecution) {
@@ -46,14 +46,13 @@ import org.apache.doris.datasource.InternalDataSource;
 import org.apache.doris.master.MasterImpl;
 import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.mysql.privilege.PrivPredicate;
-import org.apache.doris.planner.StreamLoadPlanner;
+import org.apache.doris.planner.StreamLoadPlanCache;
 import org.apache.doris.qe.ConnectContext;
 import org.apache.doris.qe.ConnectProcessor;
 import org.apache.doris.qe.QeProcessorImpl;
 import org.apache.doris.qe.VariableMgr;
 import org.apache.doris.system.Frontend;
 import org.apache.doris.system.SystemInfoService;
-import org.apache.doris.task.StreamLoadTask;
 import org.apache.doris.thrift.FrontendService;
 import org.apache.doris.thrift.FrontendServiceVersion;
 import org.apache.doris.thrift.TColumnDef;
@@ -897,9 +896,7 @@ public class FrontendServiceImpl implements FrontendService.Iface {
                     + fullDbName + ",table=" + table.getName());
         }
         try {
-            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request);
-            StreamLoadPlanner planner = new StreamLoadPlanner(db, (OlapTable) table, streamLoadTask);
-            TExecPlanFragmentParams plan = planner.plan(streamLoadTask.getId());
+            TExecPlanFragmentParams plan = StreamLoadPlanCache.getInstance().getPlan(db, (OlapTable) table, request);
             // add table indexes to transaction state
             TransactionState txnState = Catalog.getCurrentGlobalTransactionMgr()
                     .getTransactionState(db.getId(), request.getTxnId());
@@ -0,0 +1,114 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.common.io.Hll;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.io.Writable;
+import org.apache.doris.persist.gson.GsonUtils;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * The sampled histogram and HLL ndv sketch of a column in one partition.
+ * The sketches of all partitions are merged into the column stats of the table, see {@link ColumnStats}.
+ * It is also the edit log of updating the sketches, so the sketches survive the restart of FE.
+ *
+ * @partitionId: the partition the sketches are collected from, or -1 if they are collected from the whole table.
+ */
+public class ColumnSketch implements Writable {
+    public static final long WHOLE_TABLE = -1L;
+
+    @SerializedName(value = "tableId")
+    private long tableId;
+    @SerializedName(value = "columnName")
+    private String columnName;
+    @SerializedName(value = "partitionId")
+    private long partitionId;
+    @SerializedName(value = "histogram")
+    private Histogram histogram;
+    // the serialized HLL, in the same format as the HLL column of BE
+    @SerializedName(value = "ndvSketch")
+    private String ndvSketch;
+
+    public ColumnSketch(long tableId, String columnName, long partitionId, Histogram histogram, String ndvSketch) {
+        this.tableId = tableId;
+        this.columnName = columnName;
+        this.partitionId = partitionId;
+        this.histogram = histogram;
+        this.ndvSketch = ndvSketch;
+    }
+
+    private ColumnSketch() {
+    }
+
+    public long getTableId() {
+        return tableId;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public long getPartitionId() {
+        return partitionId;
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    // return a new HLL every time, so that it can be merged into by the caller.
+    public Hll getNdvSketch() throws IOException {
+        return ndvSketch == null ? null : deserializeHll(ndvSketch);
+    }
+
+    public static String serializeHll(Hll hll) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        hll.serialize(new DataOutputStream(bytes));
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static Hll deserializeHll(String value) throws IOException {
+        Hll hll = new Hll();
+        byte[] bytes = Base64.getDecoder().decode(value);
+        if (!hll.deserialize(new DataInputStream(new ByteArrayInputStream(bytes)))) {
+            throw new IOException("Invalid ndv sketch");
+        }
+        return hll;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        Text.writeString(out, GsonUtils.GSON.toJson(this));
+    }
+
+    public static ColumnSketch read(DataInput in) throws IOException {
+        String json = Text.readString(in);
+        return GsonUtils.GSON.fromJson(json, ColumnSketch.class);
+    }
+}
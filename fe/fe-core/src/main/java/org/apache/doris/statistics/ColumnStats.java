@@ -29,11 +29,15 @@ import org.apache.doris.catalog.PrimitiveType;
 import org.apache.doris.catalog.ScalarType;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.io.Hll;
 import org.apache.doris.common.util.Util;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -50,6 +54,12 @@ import java.util.function.Predicate;
  * 4. @numNulls: The number of nulls.
  * 5. @minValue: The min value of column.
  * 6. @maxValue: The max value of column.
+ * 7. @histogram: The equi-height histogram of column, used to estimate the selectivity of skewed data.
+ * <p>
+ * The histogram and the sample ndv are derived from the sampled sketches of partitions, see {@link ColumnSketch}.
+ * The sketches of all partitions are merged, so that analyzing a partition again only replaces its own sketch.
+ * The sample ndv only counts the distinct values of the sampled rows, which is not scaled to the whole table,
+ * so it is kept apart from the @ndv of the full analysis, and only used as a lower bound of it when deriving stats.
  * <p>
  * The granularity of the statistics is whole table.
  * For example:
@@ -75,6 +85,11 @@ public class ColumnStats {
     private long numNulls = -1;
     private LiteralExpr minValue;
     private LiteralExpr maxValue;
+    private volatile Histogram histogram;
+    // the ndv of the sampled rows, estimated by the merged ndv sketches
+    private volatile long sampleNdv = -1;
+    // partition id -> the sampled sketches of this column in the partition
+    private final Map<Long, ColumnSketch> partitionIdToSketch = Maps.newConcurrentMap();
 
     public void updateStats(Type columnType, Map<StatsType, String> statsNameToValue) throws AnalysisException {
         for (Map.Entry<StatsType, String> entry : statsNameToValue.entrySet()) {
@@ -108,6 +123,71 @@ public class ColumnStats {
         }
     }
 
+    /**
+     * Replace the sketch of the partition, and re-merge the histogram and sample ndv of the column.
+     * A sketch of the whole table replaces all the partition ones, and vice versa.
+     */
+    public synchronized void updateSketch(ColumnSketch sketch) throws IOException {
+        if (sketch.getPartitionId() == ColumnSketch.WHOLE_TABLE) {
+            partitionIdToSketch.clear();
+        } else {
+            partitionIdToSketch.remove(ColumnSketch.WHOLE_TABLE);
+        }
+        partitionIdToSketch.put(sketch.getPartitionId(), sketch);
+
+        Histogram mergedHistogram = null;
+        Hll mergedNdvSketch = null;
+        for (ColumnSketch partitionSketch : partitionIdToSketch.values()) {
+            mergedHistogram = Histogram.merge(mergedHistogram, partitionSketch.getHistogram());
+            Hll ndvSketch = partitionSketch.getNdvSketch();
+            if (ndvSketch == null) {
+                continue;
+            }
+            if (mergedNdvSketch == null) {
+                mergedNdvSketch = ndvSketch;
+            } else {
+                mergedNdvSketch.merge(ndvSketch);
+            }
+        }
+        histogram = mergedHistogram;
+        sampleNdv = mergedNdvSketch == null ? -1 : mergedNdvSketch.estimateCardinality();
+    }
+
+    public Collection<ColumnSketch> getSketches() {
+        return partitionIdToSketch.values();
+    }
+
+    public long getNdv() {
+        return ndv;
+    }
+
+    // a lower bound of the ndv, return -1 if no ndv sketch is collected
+    public long getSampleNdv() {
+        return sampleNdv;
+    }
+
+    /**
+     * The ndv used to derive the stats of plans, return -1 if it's unknown.
+     * The analyzed ndv is raised to the sample ndv, and the sample ndv is used as is if the column is only sampled.
+     */
+    public long getEstimatedNdv() {
+        long sampleNdv = this.sampleNdv;
+        return ndv < 0 ? sampleNdv : Math.max(ndv, sampleNdv);
+    }
+
+    public float getAvgSize() {
+        return avgSize;
+    }
+
+    public long getNumNulls() {
+        return numNulls;
+    }
+
+    // return null if no histogram is collected
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
     public List<String> getShowInfo() {
         List<String> result = Lists.newArrayList();
         result.add(Long.toString(ndv));
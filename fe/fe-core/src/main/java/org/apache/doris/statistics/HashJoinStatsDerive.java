@@ -22,6 +22,7 @@ import org.apache.doris.analysis.Expr;
 import org.apache.doris.analysis.JoinOperator;
 import org.apache.doris.analysis.SlotDescriptor;
 import org.apache.doris.analysis.SlotRef;
+import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.ColumnStats;
 import org.apache.doris.common.CheckedMath;
 import org.apache.doris.common.UserException;
@@ -164,10 +165,15 @@ public class HashJoinStatsDerive extends BaseStatsDerive {
             return -1;
         }
         ColumnStats stats = slotDesc.getStats();
-        if (!stats.hasNumDistinctValues()) {
+        if (stats.hasNumDistinctValues()) {
+            return stats.getNumDistinctValues();
+        }
+        // fall back to the collected statistics, which may only be sampled
+        if (slotDesc.getColumn() == null || slotDesc.getParent().getTable() == null) {
             return -1;
         }
-        return stats.getNumDistinctValues();
+        return Catalog.getCurrentCatalog().getStatisticsManager().getStatistics()
+                .getNdv(slotDesc.getParent().getTable().getId(), slotDesc.getColumn().getName());
     }
 
     private long getJoinrowCount() {
@@ -223,6 +229,13 @@ public class HashJoinStatsDerive extends BaseStatsDerive {
 
         long result = -1;
         for (HashJoinNode.EqJoinConjunctScanSlots slots : eqJoinConjunctSlots) {
+            // the histograms of both sides take the skew of join keys into account
+            double histogramJoinCard = slots.histogramJoinCardinality(lhsCard, rhsCard);
+            if (histogramJoinCard >= 0) {
+                long joinCard = Math.round(histogramJoinCard);
+                result = result == -1 ? joinCard : Math.min(result, joinCard);
+                continue;
+            }
             // Adjust the NDVs on both sides to account for predicates. Intuitively, the NDVs
             // should only decrease. We ignore adjustments that would lead to an increase.
             double lhsAdjNdv = slots.lhsNdv();
@@ -0,0 +1,424 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.persist.gson.GsonUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An equi-height histogram of the non-null values of a column.
+ * <p>
+ * Values are mapped to double by {@link #toDouble(LiteralExpr)}, so numbers, dates and strings share the same
+ * bucket representation. Each bucket covers [lower, upper] and records the (scaled) row count and the number of
+ * distinct values in it. A value that occurs at least as often as the height of a bucket gets a bucket of its own
+ * whose lower equals upper, so the frequent values of skewed data are estimated by their real row counts instead
+ * of the average count per distinct value.
+ * <p>
+ * Histograms are built from the sampled values of one partition and merged across partitions,
+ * see {@link ColumnStats}.
+ */
+public class Histogram {
+    public static final int DEFAULT_MAX_BUCKETS = 128;
+
+    @SerializedName(value = "maxBuckets")
+    private int maxBuckets;
+    // sorted by (lower, upper), and the buckets do not overlap except at the bound values
+    @SerializedName(value = "buckets")
+    private List<Bucket> buckets;
+
+    public static class Bucket {
+        @SerializedName(value = "lower")
+        private double lower;
+        @SerializedName(value = "upper")
+        private double upper;
+        @SerializedName(value = "count")
+        private double count;
+        @SerializedName(value = "ndv")
+        private double ndv;
+
+        public Bucket(double lower, double upper, double count, double ndv) {
+            this.lower = lower;
+            this.upper = upper;
+            this.count = count;
+            this.ndv = ndv;
+        }
+
+        public double getLower() {
+            return lower;
+        }
+
+        public double getUpper() {
+            return upper;
+        }
+
+        public double getCount() {
+            return count;
+        }
+
+        public double getNdv() {
+            return ndv;
+        }
+
+        public boolean isSingleValue() {
+            return lower == upper;
+        }
+
+        // the estimated row count of each distinct value in this bucket
+        private double countPerValue() {
+            return count / Math.max(1.0, ndv);
+        }
+    }
+
+    private Histogram(int maxBuckets, List<Bucket> buckets) {
+        this.maxBuckets = maxBuckets;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Build a histogram from the sampled values.
+     *
+     * @param values the sampled non-null values, sorted in place
+     * @param scale the factor to scale the sampled row count to the row count of the whole data
+     * @param maxBuckets the expected max number of buckets
+     */
+    public static Histogram build(double[] values, double scale, int maxBuckets) {
+        Preconditions.checkArgument(maxBuckets > 0 && scale > 0);
+        Arrays.sort(values);
+        // each run of the same value is a bucket at first, and the runs are coalesced into equi-height buckets
+        List<Bucket> runs = Lists.newArrayList();
+        int i = 0;
+        while (i < values.length) {
+            int j = i + 1;
+            while (j < values.length && values[j] == values[i]) {
+                j++;
+            }
+            runs.add(new Bucket(values[i], values[i], (j - i) * scale, 1));
+            i = j;
+        }
+        return new Histogram(maxBuckets, coalesce(runs, values.length * scale, maxBuckets));
+    }
+
+    /**
+     * Merge two histograms, eg, of two partitions of the same column, into a new one.
+     * The overlapped parts of buckets are assumed to share the distinct values.
+     */
+    public static Histogram merge(Histogram h1, Histogram h2) {
+        if (h1 == null || h1.buckets.isEmpty()) {
+            return h2;
+        }
+        if (h2 == null || h2.buckets.isEmpty()) {
+            return h1;
+        }
+        TreeSet<Double> bounds = new TreeSet<>();
+        h1.collectBounds(bounds);
+        h2.collectBounds(bounds);
+        // split all buckets at the bounds of both histograms, and sum up the pieces of the same range
+        Map<List<Double>, Bucket> pieces = Maps.newTreeMap((a, b) -> {
+            int c = Double.compare(a.get(0), b.get(0));
+            return c != 0 ? c : Double.compare(a.get(1), b.get(1));
+        });
+        for (Histogram h : Arrays.asList(h1, h2)) {
+            for (Bucket piece : h.split(bounds)) {
+                List<Double> key = Arrays.asList(piece.lower, piece.upper);
+                Bucket old = pieces.get(key);
+                if (old == null) {
+                    pieces.put(key, piece);
+                } else {
+                    old.count += piece.count;
+                    old.ndv = Math.max(old.ndv, piece.ndv);
+                }
+            }
+        }
+        List<Bucket> merged = Lists.newArrayList(pieces.values());
+        int maxBuckets = Math.max(h1.maxBuckets, h2.maxBuckets);
+        return new Histogram(maxBuckets, coalesce(merged, h1.getRowCount() + h2.getRowCount(), maxBuckets));
+    }
+
+    // Coalesce the adjacent buckets until each one is about rowCount / maxBuckets rows high.
+    // A bucket higher than that is kept alone.
+    private static List<Bucket> coalesce(List<Bucket> pieces, double rowCount, int maxBuckets) {
+        double height = rowCount / maxBuckets;
+        List<Bucket> result = Lists.newArrayList();
+        Bucket current = null;
+        for (Bucket piece : pieces) {
+            if (piece.count >= height) {
+                if (current != null) {
+                    result.add(current);
+                    current = null;
+                }
+                result.add(new Bucket(piece.lower, piece.upper, piece.count, piece.ndv));
+                continue;
+            }
+            if (current == null) {
+                current = new Bucket(piece.lower, piece.upper, piece.count, piece.ndv);
+            } else {
+                current.upper = Math.max(current.upper, piece.upper);
+                current.count += piece.count;
+                current.ndv += piece.ndv;
+            }
+            if (current.count >= height) {
+                result.add(current);
+                current = null;
+            }
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    private void collectBounds(TreeSet<Double> bounds) {
+        for (Bucket bucket : buckets) {
+            bounds.add(bucket.lower);
+            bounds.add(bucket.upper);
+        }
+    }
+
+    // Split the buckets at the given bounds, assuming the values are uniformly distributed in a bucket.
+    private List<Bucket> split(TreeSet<Double> bounds) {
+        List<Bucket> pieces = Lists.newArrayList();
+        for (Bucket bucket : buckets) {
+            if (bucket.isSingleValue()) {
+                pieces.add(new Bucket(bucket.lower, bucket.upper, bucket.count, bucket.ndv));
+                continue;
+            }
+            double width = bucket.upper - bucket.lower;
+            double lower = bucket.lower;
+            for (double bound : bounds.subSet(bucket.lower, false, bucket.upper, true)) {
+                double fraction = (bound - lower) / width;
+                pieces.add(new Bucket(lower, bound, bucket.count * fraction, bucket.ndv * fraction));
+                lower = bound;
+            }
+        }
+        return pieces;
+    }
+
+    public List<Bucket> getBuckets() {
+        return Collections.unmodifiableList(buckets);
+    }
+
+    public double getRowCount() {
+        double rowCount = 0;
+        for (Bucket bucket : buckets) {
+            rowCount += bucket.count;
+        }
+        return rowCount;
+    }
+
+    public double getNdv() {
+        double ndv = 0;
+        for (Bucket bucket : buckets) {
+            ndv += bucket.ndv;
+        }
+        return ndv;
+    }
+
+    /**
+     * Returns the estimated number of rows equal to the value.
+     */
+    public double estimateEqualRows(double value) {
+        double singleValueRows = 0;
+        double rangeRows = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.isSingleValue()) {
+                if (bucket.lower == value) {
+                    singleValueRows += bucket.count;
+                }
+            } else if (bucket.lower <= value && value <= bucket.upper) {
+                // the value may be the bound of two adjacent buckets
+                rangeRows = Math.max(rangeRows, bucket.countPerValue());
+            }
+        }
+        return singleValueRows > 0 ? singleValueRows : rangeRows;
+    }
+
+    /**
+     * Returns the estimated number of rows in the range. Use infinity for an unbounded side.
+     */
+    public double estimateRangeRows(double lower, boolean lowerInclusive, double upper, boolean upperInclusive) {
+        double rows = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.isSingleValue()) {
+                double v = bucket.lower;
+                if ((v > lower || (lowerInclusive && v == lower)) && (v < upper || (upperInclusive && v == upper))) {
+                    rows += bucket.count;
+                }
+                continue;
+            }
+            double overlap = Math.min(upper, bucket.upper) - Math.max(lower, bucket.lower);
+            if (overlap > 0) {
+                rows += bucket.count * Math.min(1.0, overlap / (bucket.upper - bucket.lower));
+            } else if (overlap == 0 && lowerInclusive && upperInclusive && lower <= bucket.upper
+                    && upper >= bucket.lower) {
+                // the range is a single value on the bound of the bucket
+                rows += bucket.countPerValue();
+            }
+        }
+        return rows;
+    }
+
+    public double estimateEqualSelectivity(double value) {
+        return toSelectivity(estimateEqualRows(value));
+    }
+
+    public double estimateRangeSelectivity(double lower, boolean lowerInclusive,
+                                           double upper, boolean upperInclusive) {
+        return toSelectivity(estimateRangeRows(lower, lowerInclusive, upper, upperInclusive));
+    }
+
+    /**
+     * Returns the estimated selectivity of "column op value", or -1 if the operator is not supported.
+     */
+    public double estimateSelectivity(BinaryPredicate.Operator op, double value) {
+        switch (op) {
+            case EQ:
+            case EQ_FOR_NULL:
+                return estimateEqualSelectivity(value);
+            case NE:
+                return 1.0 - estimateEqualSelectivity(value);
+            case LT:
+                return estimateRangeSelectivity(Double.NEGATIVE_INFINITY, false, value, false);
+            case LE:
+                return estimateRangeSelectivity(Double.NEGATIVE_INFINITY, false, value, true);
+            case GT:
+                return estimateRangeSelectivity(value, false, Double.POSITIVE_INFINITY, false);
+            case GE:
+                return estimateRangeSelectivity(value, true, Double.POSITIVE_INFINITY, false);
+            default:
+                return -1;
+        }
+    }
+
+    private double toSelectivity(double rows) {
+        double rowCount = getRowCount();
+        if (rowCount <= 0) {
+            return 0;
+        }
+        return Math.max(0.0, Math.min(1.0, rows / rowCount));
+    }
+
+    /**
+     * Returns the fraction of rows taken by the most frequent value.
+     * It is the share of the busiest instance when the data is hash partitioned by this column.
+     */
+    public double getMaxValueFraction() {
+        double rowCount = getRowCount();
+        if (rowCount <= 0) {
+            return 0;
+        }
+        double maxCount = 0;
+        for (Bucket bucket : buckets) {
+            maxCount = Math.max(maxCount, bucket.isSingleValue() ? bucket.count : bucket.countPerValue());
+        }
+        return maxCount / rowCount;
+    }
+
+    /**
+     * Estimate the row count of the equi-join of the data described by this and the other histogram.
+     * The frequent values are matched by the equal rows of the other side, and the other parts are matched by
+     * range, where each distinct value of the side with less distinct values is assumed to have a match.
+     */
+    public double estimateJoinRows(Histogram other) {
+        double rows = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.isSingleValue()) {
+                rows += bucket.count * other.estimateEqualRows(bucket.lower);
+            }
+        }
+        for (Bucket bucket : other.buckets) {
+            if (bucket.isSingleValue() && !hasSingleValueBucket(bucket.lower)) {
+                rows += bucket.count * estimateEqualRows(bucket.lower);
+            }
+        }
+        TreeSet<Double> bounds = new TreeSet<>();
+        collectBounds(bounds);
+        other.collectBounds(bounds);
+        Map<Double, Bucket> otherPieces = Maps.newHashMap();
+        for (Bucket piece : other.split(bounds)) {
+            if (!piece.isSingleValue()) {
+                otherPieces.put(piece.lower, piece);
+            }
+        }
+        for (Bucket piece : split(bounds)) {
+            if (piece.isSingleValue()) {
+                continue;
+            }
+            Bucket otherPiece = otherPieces.get(piece.lower);
+            if (otherPiece != null) {
+                rows += piece.count * otherPiece.count / Math.max(1.0, Math.max(piece.ndv, otherPiece.ndv));
+            }
+        }
+        return rows;
+    }
+
+    private boolean hasSingleValueBucket(double value) {
+        for (Bucket bucket : buckets) {
+            if (bucket.isSingleValue() && bucket.lower == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map a literal to the value domain of histograms. The order of values is kept, that is,
+     * v1 < v2 implies toDouble(v1) <= toDouble(v2).
+     * Strings have no such mapping which is also free of collisions, so there are no histograms of strings.
+     *
+     * @return NaN if the literal has no position in histograms, eg, null and strings
+     */
+    public static double toDouble(LiteralExpr literal) {
+        if (literal instanceof NullLiteral || literal instanceof StringLiteral) {
+            return Double.NaN;
+        } else if (literal instanceof DateLiteral) {
+            return literal.getLongValue();
+        }
+        return literal.getDoubleValue();
+    }
+
+    /**
+     * Whether the values of the type can be built into histograms, see {@link #toDouble(LiteralExpr)}.
+     */
+    public static boolean isSupportedType(Type type) {
+        return type.isScalarType() && !type.isOnlyMetricType() && !type.isStringType();
+    }
+
+    public String toJson() {
+        return GsonUtils.GSON.toJson(this);
+    }
+
+    public static Histogram fromJson(String json) {
+        return GsonUtils.GSON.fromJson(json, Histogram.class);
+    }
+}
@@ -97,10 +97,9 @@ public class OlapScanStatsDerive extends BaseStatsDerive {
         }
     }
 
-    //TODO:Implement the getStatistics interface
-    //now there is nothing in statistics, need to wait for collection finished
     /**
      * Desc: Get ndv and dataSize from statistics.
+     * The ndv is bounded by the sample ndv estimated by the ndv sketches, see {@link ColumnStats#getEstimatedNdv()}.
      *
      * @param pair TableId and ColumnName
      * @return {@link Pair}
@@ -108,21 +107,15 @@ public class OlapScanStatsDerive extends BaseStatsDerive {
     public Pair<Long, Float> getNdvAndDataSizeFromStatistics(Pair<Long, String> pair) {
         long ndv = -1;
         float dataSize = -1;
-        /*
-        if (Catalog.getCurrentCatalog()
-                    .getStatisticsManager()
-                    .getStatistics()
-                    .getColumnStats(pair.first) != null) {
-                ndv = Catalog.getCurrentCatalog()
-                        .getStatisticsManager()
-                        .getStatistics()
-                        .getColumnStats(pair.first).get(pair.second).getNdv();
-                dataSize = Catalog.getCurrentCatalog()
-                        .getStatisticsManager()
-                        .getStatistics()
-                        .getColumnStats(pair.first).get(pair.second).getDataSize();
-         }
-         */
+        Map<String, ColumnStats> nameToColumnStats = Catalog.getCurrentCatalog()
+                .getStatisticsManager()
+                .getStatistics()
+                .getColumnStats(pair.first);
+        ColumnStats columnStats = nameToColumnStats == null ? null : nameToColumnStats.get(pair.second);
+        if (columnStats != null) {
+            ndv = columnStats.getEstimatedNdv();
+            dataSize = columnStats.getAvgSize();
+        }
         return new Pair<>(ndv, dataSize);
     }
 }
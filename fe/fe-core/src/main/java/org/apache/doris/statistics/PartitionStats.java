@@ -0,0 +1,112 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * There are the statistics of a partition, which are maintained incrementally by loads.
+ * <p>
+ * The description of partition stats are following:
+ * 1. @rowCount: The row count of the partition.
+ * 2. @dataSize: The data size of the partition.
+ * <p>
+ * They are the row count and data size reported by the replicas of the base index, plus the rows and bytes
+ * counted by the backends for the loads which become visible after the report. Whenever a newer report arrives,
+ * the stats are re-based on it, and the loads covered by it are dropped, so that deletes and compactions are
+ * reflected too. If a load does not count its rows, such as stream load and insert, they are only counted
+ * after the next report.
+ * <p>
+ * The reports are only received by the master, so at most MAX_LOADS_AFTER_REPORT loads are kept, and the oldest
+ * ones are merged into the reported stats, which keeps the stats bounded on the followers and observers too.
+ */
+public class PartitionStats {
+    private static final int MAX_LOADS_AFTER_REPORT = 128;
+
+    private long reportedRowCount;
+    private long reportedDataSize;
+    // the visible version of the partition covered by the report
+    private long reportedVersion;
+    // visible version -> {rows, bytes} of the loads after the report
+    private final NavigableMap<Long, long[]> versionToLoaded = Maps.newTreeMap();
+    // the sum of the rows and bytes in versionToLoaded
+    private long loadedRowCount;
+    private long loadedDataSize;
+
+    public PartitionStats(long reportedRowCount, long reportedDataSize, long reportedVersion) {
+        this.reportedRowCount = reportedRowCount;
+        this.reportedDataSize = reportedDataSize;
+        this.reportedVersion = reportedVersion;
+    }
+
+    /**
+     * Apply the rows and bytes of the load which makes the partition visible at the version, -1 means unknown.
+     */
+    public synchronized void applyLoad(long version, long loadedRows, long loadedBytes) {
+        if (version <= reportedVersion) {
+            return;
+        }
+        long[] loaded = {Math.max(loadedRows, 0), Math.max(loadedBytes, 0)};
+        long[] replaced = versionToLoaded.put(version, loaded);
+        if (replaced != null) {
+            removeLoaded(replaced);
+        }
+        loadedRowCount += loaded[0];
+        loadedDataSize += loaded[1];
+        while (versionToLoaded.size() > MAX_LOADS_AFTER_REPORT) {
+            Map.Entry<Long, long[]> oldest = versionToLoaded.pollFirstEntry();
+            removeLoaded(oldest.getValue());
+            reportedRowCount += oldest.getValue()[0];
+            reportedDataSize += oldest.getValue()[1];
+            reportedVersion = oldest.getKey();
+        }
+    }
+
+    /**
+     * Re-base the stats on the row count and data size reported when the partition is visible at the version.
+     */
+    public synchronized void rebase(long rowCount, long dataSize, long version) {
+        if (version < reportedVersion) {
+            return;
+        }
+        reportedRowCount = rowCount;
+        reportedDataSize = dataSize;
+        reportedVersion = version;
+        NavigableMap<Long, long[]> covered = versionToLoaded.headMap(version, true);
+        for (long[] loaded : covered.values()) {
+            removeLoaded(loaded);
+        }
+        covered.clear();
+    }
+
+    private void removeLoaded(long[] loaded) {
+        loadedRowCount -= loaded[0];
+        loadedDataSize -= loaded[1];
+    }
+
+    public synchronized long getRowCount() {
+        return reportedRowCount + loadedRowCount;
+    }
+
+    public synchronized long getDataSize() {
+        return reportedDataSize + loadedDataSize;
+    }
+}
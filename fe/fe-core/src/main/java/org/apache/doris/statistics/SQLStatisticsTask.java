@@ -18,6 +18,14 @@
 package org.apache.doris.statistics;
 
 import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.UserIdentity;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.UserException;
+import org.apache.doris.mysql.privilege.PaloAuth;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.system.SystemInfoService;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
@@ -30,7 +38,7 @@ A statistics task that collects statistics by executing query.
 The results of the query will be returned as @StatisticsTaskResult.
  */
 public class SQLStatisticsTask extends StatisticsTask {
-    private SelectStmt query;
+    protected SelectStmt query;
 
     public SQLStatisticsTask(long jobId, StatsGranularityDesc granularityDesc,
                              StatsCategoryDesc categoryDesc, List<StatsType> statsTypeList) {
@@ -43,25 +51,43 @@ public class SQLStatisticsTask extends StatisticsTask {
         // step1: construct query by statsDescList
         constructQuery();
         // step2: execute query
-        // the result should be sequence by @statsTypeList
-        List<String> queryResultList = executeQuery(query);
+        // the result of a stats query is one row in the sequence of @statsTypeList
+        List<List<String>> queryResultRows = executeQuery(query);
         // step3: construct StatisticsTaskResult by query result
-        constructTaskResult(queryResultList);
-        return null;
+        return constructTaskResult(queryResultRows);
     }
 
-    protected void constructQuery() {
+    protected void constructQuery() throws UserException {
         // TODO
         // step1: construct FROM by @granularityDesc
         // step2: construct SELECT LIST by @statsTypeList
     }
 
-    protected List<String> executeQuery(SelectStmt query) {
-        // TODO (ML)
-        return null;
+    /**
+     * Execute the query in an internal context of root, and return the result rows.
+     */
+    protected List<List<String>> executeQuery(SelectStmt query) throws Exception {
+        ConnectContext context = new ConnectContext();
+        context.setCatalog(Catalog.getCurrentCatalog());
+        context.setCluster(SystemInfoService.DEFAULT_CLUSTER);
+        context.setCurrentUserIdentity(UserIdentity.ROOT);
+        context.setQualifiedUser(PaloAuth.ROOT_USER);
+        ConnectContext origin = ConnectContext.get();
+        context.setThreadLocalInfo();
+        try {
+            return new StmtExecutor(context, query).executeInternalQuery();
+        } finally {
+            if (origin == null) {
+                ConnectContext.remove();
+            } else {
+                origin.setThreadLocalInfo();
+            }
+        }
     }
 
-    protected StatisticsTaskResult constructTaskResult(List<String> queryResultList) {
+    protected StatisticsTaskResult constructTaskResult(List<List<String>> queryResultRows) throws AnalysisException {
+        Preconditions.checkState(queryResultRows.size() == 1);
+        List<String> queryResultList = queryResultRows.get(0);
         Preconditions.checkState(statsTypeList.size() == queryResultList.size());
         Map<StatsType, String> statsTypeToValue = Maps.newHashMap();
         for (int i = 0; i < statsTypeList.size(); i++) {
@@ -17,27 +17,185 @@
 
 package org.apache.doris.statistics;
 
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.SelectStmt;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.io.Hll;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.qe.OriginStatement;
+import org.apache.doris.statistics.StatsGranularityDesc.StatsGranularity;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /*
 The @SampleSQLStatisticsTask is also a statistical task that executes a query
 and uses the query result as a statistical value (same as @SQLStatisticsTask).
 The only difference from the SQLStatisticsTask is that the query is a sampling table query.
+
+For the histogram and ndv sketch, the sample query scans @samplePercentage of the tablets of the partition
+and returns the non-null values of the column, which are built into an equi-height histogram and an HLL sketch.
+The sampled row count is scaled by the ratio of all tablets to the sampled ones.
+The values are fetched into the memory of FE, so fewer tablets are sampled if they have more rows than
+cbo_max_sample_rows, and the query is limited by it as well.
  */
 public class SampleSQLStatisticsTask extends SQLStatisticsTask {
     private float samplePercentage = Config.cbo_default_sample_percentage;
+    // the tablets scanned by the sample query of the histogram and ndv sketch
+    private List<Long> sampleTabletIds = Lists.newArrayList();
+    private double sampleScale = 1.0;
+    private long rowCount = 0;
+    private int maxSampleRows = Config.cbo_max_sample_rows;
+    private Type columnType;
 
     public SampleSQLStatisticsTask(long jobId, StatsGranularityDesc granularityDesc,
                                    StatsCategoryDesc categoryDesc, List<StatsType> statsTypeList) {
         super(jobId, granularityDesc, categoryDesc, statsTypeList);
     }
 
+    public List<Long> getSampleTabletIds() {
+        return sampleTabletIds;
+    }
+
     @Override
-    protected void constructQuery() {
-        // TODO
+    protected void constructQuery() throws UserException {
         super.constructQuery();
         // step1: construct table sample
+        if (isSketchTask()) {
+            constructSketchQuery();
+        }
+    }
+
+    private boolean isSketchTask() {
+        return statsTypeList.contains(StatsType.HISTOGRAM) || statsTypeList.contains(StatsType.NDV_SKETCH);
+    }
+
+    private void constructSketchQuery() throws UserException {
+        Database db = Catalog.getCurrentInternalCatalog().getDbOrAnalysisException(categoryDesc.getDbId());
+        OlapTable table = (OlapTable) db.getTableOrAnalysisException(categoryDesc.getTableId());
+        String columnName = categoryDesc.getColumnName();
+        List<Partition> partitions;
+        List<Long> tabletIds = Lists.newArrayList();
+        table.readLock();
+        try {
+            Column column = table.getColumn(columnName);
+            if (column == null) {
+                throw new AnalysisException("Column " + columnName + " does not exist in table " + table.getName());
+            }
+            columnType = column.getType();
+            if (granularityDesc.getGranularity() == StatsGranularity.PARTITION) {
+                Partition partition = table.getPartition(granularityDesc.getPartitionId());
+                if (partition == null) {
+                    throw new AnalysisException("Partition " + granularityDesc.getPartitionId()
+                            + " does not exist in table " + table.getName());
+                }
+                partitions = Collections.singletonList(partition);
+            } else {
+                partitions = Lists.newArrayList(table.getPartitions());
+            }
+            for (Partition partition : partitions) {
+                tabletIds.addAll(partition.getBaseIndex().getTabletIdsInOrder());
+                rowCount += partition.getBaseIndex().getRowCount();
+            }
+        } finally {
+            table.readUnlock();
+        }
+
+        // keep the rows of the sampled tablets under the limit, on the assumption that the rows are even
+        int maxTabletNum = Integer.MAX_VALUE;
+        if (rowCount > 0 && !tabletIds.isEmpty()) {
+            maxTabletNum = (int) Math.min(Integer.MAX_VALUE, (long) maxSampleRows * tabletIds.size() / rowCount);
+        }
+        sampleTabletIds = selectSampleTablets(tabletIds, samplePercentage, maxTabletNum);
+        sampleScale = sampleTabletIds.isEmpty() ? 1.0 : (double) tabletIds.size() / sampleTabletIds.size();
+
+        StringBuilder sql = new StringBuilder("SELECT `").append(columnName).append("` FROM `")
+                .append(db.getFullName()).append("`.`").append(table.getName()).append("`");
+        if (granularityDesc.getGranularity() == StatsGranularity.PARTITION) {
+            sql.append(" PARTITION (").append(partitions.stream().map(p -> "`" + p.getName() + "`")
+                    .collect(Collectors.joining(", "))).append(")");
+        }
+        sql.append(" WHERE `").append(columnName).append("` IS NOT NULL LIMIT ").append(maxSampleRows);
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql.toString())));
+        try {
+            query = (SelectStmt) SqlParserUtils.getFirstStmt(parser);
+            query.setOrigStmt(new OriginStatement(sql.toString(), 0));
+        } catch (Exception e) {
+            throw new AnalysisException("Failed to construct sample query: " + sql + ", " + e.getMessage());
+        }
+        // the sql can not express the tablets, so the scan is restricted through the table ref
+        query.getTableRefs().get(0).setSampleTabletIds(sampleTabletIds);
+    }
+
+    /**
+     * Select the given percentage of tablets, at least one and at most maxNum, evenly from the tablets.
+     */
+    static List<Long> selectSampleTablets(List<Long> tabletIds, float percentage, int maxNum) {
+        if (tabletIds.isEmpty()) {
+            return Lists.newArrayList();
+        }
+        int size = tabletIds.size();
+        int num = (int) Math.max(1, Math.min(Math.min(size, maxNum), Math.ceil(size * percentage / 100.0)));
+        List<Long> result = Lists.newArrayListWithCapacity(num);
+        for (int i = 0; i < num; i++) {
+            result.add(tabletIds.get((int) ((long) i * size / num)));
+        }
+        return result;
+    }
+
+    @Override
+    protected StatisticsTaskResult constructTaskResult(List<List<String>> queryResultRows) throws AnalysisException {
+        if (!isSketchTask()) {
+            return super.constructTaskResult(queryResultRows);
+        }
+        // the sample query returns the non-null values of the column
+        List<String> queryResultList = queryResultRows.stream().map(row -> row.get(0)).collect(Collectors.toList());
+        double[] values = new double[queryResultList.size()];
+        int num = 0;
+        Hll ndvSketch = new Hll();
+        for (String value : queryResultList) {
+            ndvSketch.updateWithHash(value);
+            double v = Histogram.toDouble(LiteralExpr.create(value, columnType));
+            if (!Double.isNaN(v)) {
+                values[num++] = v;
+            }
+        }
+        // the sampled tablets have more rows than the reported ones, and the values are cut by the limit
+        double scale = sampleScale;
+        if (queryResultList.size() >= maxSampleRows && rowCount > 0) {
+            scale = Math.max(scale, (double) rowCount / queryResultList.size());
+        }
+        Map<StatsType, String> statsTypeToValue = Maps.newHashMap();
+        if (statsTypeList.contains(StatsType.HISTOGRAM)) {
+            Histogram histogram = Histogram.build(Arrays.copyOf(values, num), scale,
+                    Histogram.DEFAULT_MAX_BUCKETS);
+            statsTypeToValue.put(StatsType.HISTOGRAM, histogram.toJson());
+        }
+        if (statsTypeList.contains(StatsType.NDV_SKETCH)) {
+            try {
+                statsTypeToValue.put(StatsType.NDV_SKETCH, ColumnSketch.serializeHll(ndvSketch));
+            } catch (IOException e) {
+                throw new AnalysisException("Failed to serialize ndv sketch: " + e.getMessage());
+            }
+        }
+        return new StatisticsTaskResult(granularityDesc, categoryDesc, statsTypeToValue);
     }
 }
@@ -20,8 +20,11 @@ package org.apache.doris.statistics;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -59,6 +62,80 @@ public class Statistics {
         tableStats.updateColumnStats(columnName, columnType, statsTypeToValue);
     }
 
+    public void updateColumnSketch(ColumnSketch sketch) throws IOException {
+        TableStats tableStats = idToTableStats.computeIfAbsent(sketch.getTableId(), k -> new TableStats());
+        tableStats.updateColumnSketch(sketch);
+    }
+
+    public void applyLoad(long tableId, long partitionId, long version, long loadedRows, long loadedBytes,
+                          long reportedRowCount, long reportedDataSize) {
+        TableStats tableStats = idToTableStats.computeIfAbsent(tableId, k -> new TableStats());
+        tableStats.applyLoad(partitionId, version, loadedRows, loadedBytes, reportedRowCount, reportedDataSize);
+    }
+
+    // re-base the partition stats maintained by loads on the newly reported row count and data size
+    public void rebasePartitionStats(long tableId, long partitionId, long rowCount, long dataSize, long version) {
+        TableStats tableStats = idToTableStats.get(tableId);
+        PartitionStats partitionStats = tableStats == null ? null : tableStats.getPartitionStats(partitionId);
+        if (partitionStats != null) {
+            partitionStats.rebase(rowCount, dataSize, version);
+        }
+    }
+
+    public void removeTableStats(long tableId) {
+        idToTableStats.remove(tableId);
+    }
+
+    public void removePartitionStats(long tableId, long partitionId) {
+        TableStats tableStats = idToTableStats.get(tableId);
+        if (tableStats != null) {
+            tableStats.removePartitionStats(partitionId);
+        }
+    }
+
+    public List<ColumnSketch> getColumnSketches() {
+        List<ColumnSketch> sketches = Lists.newArrayList();
+        for (TableStats tableStats : idToTableStats.values()) {
+            for (ColumnStats columnStats : tableStats.getNameToColumnStats().values()) {
+                sketches.addAll(columnStats.getSketches());
+            }
+        }
+        return sketches;
+    }
+
+    // return null if there is no histogram of the column
+    public Histogram getHistogram(long tableId, String columnName) {
+        Map<String, ColumnStats> nameToColumnStats = getColumnStats(tableId);
+        if (nameToColumnStats == null) {
+            return null;
+        }
+        ColumnStats columnStats = nameToColumnStats.get(columnName);
+        return columnStats == null ? null : columnStats.getHistogram();
+    }
+
+    // return -1 if the ndv of the column is unknown
+    public long getNdv(long tableId, String columnName) {
+        Map<String, ColumnStats> nameToColumnStats = getColumnStats(tableId);
+        if (nameToColumnStats == null) {
+            return -1;
+        }
+        ColumnStats columnStats = nameToColumnStats.get(columnName);
+        return columnStats == null ? -1 : columnStats.getEstimatedNdv();
+    }
+
+    // return 0 if the fraction of nulls of the column is unknown
+    public double getNullFraction(long tableId, String columnName) {
+        TableStats tableStats = getTableStats(tableId);
+        if (tableStats == null || tableStats.getRowCount() <= 0) {
+            return 0;
+        }
+        ColumnStats columnStats = tableStats.getNameToColumnStats().get(columnName);
+        if (columnStats == null || columnStats.getNumNulls() <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, (double) columnStats.getNumNulls() / tableStats.getRowCount());
+    }
+
     public TableStats getTableStats(long tableId) {
         return idToTableStats.get(tableId);
     }
@@ -28,10 +28,13 @@ import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
 import org.apache.doris.common.UserException;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -94,6 +97,58 @@ public class StatisticsJobManager {
         }
     }
 
+    /**
+     * Create statistics jobs for the analyzed tables whose staleness exceeds Config.cbo_auto_analyze_staleness_ratio,
+     * see TableStats#getStaleness. Only the columns which have been analyzed are analyzed again.
+     * The tables which have unfinished statistics jobs are skipped, and they will be checked again next time.
+     */
+    public void analyzeStaleTables() {
+        if (Config.cbo_auto_analyze_staleness_ratio <= 0) {
+            return;
+        }
+        Statistics statistics = Catalog.getCurrentCatalog().getStatisticsManager().getStatistics();
+        for (Long dbId : Catalog.getCurrentInternalCatalog().getDbIds()) {
+            Database db = Catalog.getCurrentInternalCatalog().getDbNullable(dbId);
+            if (db == null) {
+                continue;
+            }
+            for (Table table : db.getTables()) {
+                TableStats tableStats = statistics.getTableStats(table.getId());
+                if (table.getType() != Table.TableType.OLAP || tableStats == null) {
+                    continue;
+                }
+                double staleness = tableStats.getStaleness(table.getRowCount());
+                if (staleness <= Config.cbo_auto_analyze_staleness_ratio) {
+                    continue;
+                }
+                List<String> columnNames = Lists.newArrayList();
+                for (String columnName : tableStats.getNameToColumnStats().keySet()) {
+                    if (table.getColumn(columnName) != null) {
+                        columnNames.add(columnName);
+                    }
+                }
+                Map<Long, List<String>> tableIdToColumnName = Maps.newHashMap();
+                tableIdToColumnName.put(table.getId(), columnNames);
+                Map<String, String> properties = Maps.newHashMap();
+                properties.put(AnalyzeStmt.CBO_STATISTICS_TASK_TIMEOUT_SEC,
+                        String.valueOf(Config.max_cbo_statistics_task_timeout_sec));
+                StatisticsJob statisticsJob = new StatisticsJob(dbId, Sets.newHashSet(table.getId()),
+                        tableIdToColumnName, properties);
+                writeLock();
+                try {
+                    checkRestrict(dbId, statisticsJob.getTblIds());
+                    createStatisticsJob(statisticsJob);
+                    LOG.info("create statistics job(id={}) for table {} whose staleness is {}",
+                            statisticsJob.getId(), table.getName(), staleness);
+                } catch (AnalysisException | DdlException e) {
+                    LOG.info("failed to analyze the stale table {}: {}", table.getName(), e.getMessage());
+                } finally {
+                    writeUnlock();
+                }
+            }
+        }
+    }
+
     /**
      * The statistical job has the following restrict:
      * - Rule1: The same table cannot have two unfinished statistics jobs
@@ -65,12 +65,19 @@ public class StatisticsJobScheduler extends MasterDaemon {
     public final Queue<StatisticsJob> pendingJobQueue
             = Queues.newLinkedBlockingQueue(Config.cbo_max_statistics_job_num);
 
+    private long lastStaleCheckTime = System.currentTimeMillis();
+
     public StatisticsJobScheduler() {
         super("Statistics job scheduler", 0);
     }
 
     @Override
     protected void runAfterCatalogReady() {
+        long now = System.currentTimeMillis();
+        if (now - lastStaleCheckTime >= Config.cbo_auto_analyze_check_interval_sec * 1000L) {
+            lastStaleCheckTime = now;
+            Catalog.getCurrentCatalog().getStatisticsJobManager().analyzeStaleTables();
+        }
         StatisticsJob pendingJob = pendingJobQueue.peek();
         if (pendingJob != null) {
             try {
@@ -113,10 +120,13 @@ public class StatisticsJobScheduler extends MasterDaemon {
      * - num_nulls: number of nulls.
      * - avg_col_len: the average length of a column, in bytes, is used for memory and network IO evaluation.
      * - max_col_len: the Max length of the column, in bytes, is used for memory and network IO evaluation.
+     * - histogram: the equi-height histogram, used to estimate the selectivity and join size of skewed data.
+     * - ndv_sketch: the HLL sketch of distinct values, which can be merged across partitions.
      * <p>
      * Divide:
      * - min, max, ndv: These three full indicators are collected by a sub-task.
      * - max_col_lens, avg_col_lens: Two sampling indicators were collected by a sub-task.
+     * - histogram, ndv_sketch: Two sampling indicators were collected by a sub-task of each partition.
      * <p>
      * If the table row-count is greater than the maximum number of Be scans for a single BE,
      * we'll divide subtasks by partition. relevant values(3700000000L&600000000L) are derived from test.
@@ -228,6 +238,25 @@ public class StatisticsJobScheduler extends MasterDaemon {
                     tasks.add(metaTask);
                 }
             }
+
+            // step 6: generate [histogram, ndv_sketch] task, there are no histograms of strings
+            // the sketches are sampled by partition and merged, so each task only scans a few tablets
+            for (String columnName : columnNameList) {
+                Type colType = tbl.getColumn(columnName).getType();
+                if (!colType.isScalarType() || colType.isOnlyMetricType()) {
+                    continue;
+                }
+                List<StatsType> statsTypes = Histogram.isSupportedType(colType)
+                        ? Arrays.asList(StatsType.HISTOGRAM, StatsType.NDV_SKETCH)
+                        : Collections.singletonList(StatsType.NDV_SKETCH);
+                for (Long partitionId : partitionIds) {
+                    StatsCategoryDesc columnCategory = getColStatsCategoryDesc(dbId, tblId, columnName);
+                    StatsGranularityDesc columnGranularity = getPartitionStatsGranularityDesc(tblId, partitionId);
+                    SQLStatisticsTask sampleSqlTask = new SampleSQLStatisticsTask(
+                            jobId, columnGranularity, columnCategory, statsTypes);
+                    tasks.add(sampleSqlTask);
+                }
+            }
         }
     }
 
@@ -19,29 +19,40 @@ package org.apache.doris.statistics;
 
 import org.apache.doris.analysis.AlterColumnStatsStmt;
 import org.apache.doris.analysis.AlterTableStatsStmt;
+import org.apache.doris.analysis.SlotDescriptor;
 import org.apache.doris.analysis.TableName;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Column;
 import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.DatabaseIf;
+import org.apache.doris.catalog.MaterializedIndex;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
 import org.apache.doris.catalog.Table;
 import org.apache.doris.catalog.TableIf;
 import org.apache.doris.catalog.Type;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.ErrorCode;
 import org.apache.doris.common.ErrorReport;
+import org.apache.doris.common.io.Writable;
 import org.apache.doris.mysql.privilege.PrivPredicate;
 import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.statistics.StatsGranularityDesc.StatsGranularity;
+import org.apache.doris.transaction.TxnCommitAttachment;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
-public class StatisticsManager {
+public class StatisticsManager implements Writable {
     private static final Logger LOG = LogManager.getLogger(StatisticsManager.class);
 
     private Statistics statistics;
@@ -132,7 +143,7 @@ public class StatisticsManager {
         }
         List<String> row = Lists.newArrayList();
         row.add(table.getName());
-        row.addAll(tableStats.getShowInfo());
+        row.addAll(tableStats.getShowInfo(table.getRowCount()));
         return row;
     }
 
@@ -153,10 +164,94 @@ public class StatisticsManager {
         Table table = db.getTableOrAnalysisException(tblId);
         String columnName = categoryDesc.getColumnName();
         Type columnType = table.getColumn(columnName).getType();
-        Map<StatsType, String> statsTypeToValue = taskResult.getStatsTypeToValue();
+        Map<StatsType, String> statsTypeToValue = Maps.newHashMap(taskResult.getStatsTypeToValue());
+        // the sketches are merged across partitions instead of being overwritten
+        String histogram = statsTypeToValue.remove(StatsType.HISTOGRAM);
+        String ndvSketch = statsTypeToValue.remove(StatsType.NDV_SKETCH);
+        if (histogram != null || ndvSketch != null) {
+            StatsGranularityDesc granularityDesc = taskResult.getGranularityDesc();
+            long partitionId = granularityDesc.getGranularity() == StatsGranularity.PARTITION
+                    ? granularityDesc.getPartitionId() : ColumnSketch.WHOLE_TABLE;
+            updateColumnSketch(new ColumnSketch(tblId, columnName, partitionId,
+                    histogram == null ? null : Histogram.fromJson(histogram), ndvSketch));
+        }
         statistics.updateColumnStats(tblId, columnName, columnType, statsTypeToValue);
     }
 
+    private void updateColumnSketch(ColumnSketch sketch) throws AnalysisException {
+        try {
+            statistics.updateColumnSketch(sketch);
+        } catch (IOException e) {
+            throw new AnalysisException("Invalid ndv sketch of column " + sketch.getColumnName()
+                    + ": " + e.getMessage());
+        }
+        Catalog.getCurrentCatalog().getEditLog().logUpdateColumnSketch(sketch);
+    }
+
+    public void replayUpdateColumnSketch(ColumnSketch sketch) {
+        try {
+            statistics.updateColumnSketch(sketch);
+        } catch (IOException e) {
+            LOG.warn("failed to replay column sketch of table {}, column {}",
+                    sketch.getTableId(), sketch.getColumnName(), e);
+        }
+    }
+
+    /**
+     * Update the statistics of the table incrementally when a load transaction becomes visible.
+     * It is called both on master and when replaying the transaction, so no extra edit log is needed.
+     * The rows and bytes are counted by the backends for the whole transaction,
+     * so they are distributed evenly to the loaded partitions.
+     */
+    public void updateStatsAfterLoad(OlapTable table, List<Long> partitionIds, TxnCommitAttachment attachment) {
+        long loadedRows = attachment == null ? -1 : attachment.getLoadedRows();
+        long loadedBytes = attachment == null ? -1 : attachment.getLoadedBytes();
+        int partitionNum = partitionIds.size();
+        for (int i = 0; i < partitionNum; i++) {
+            Partition partition = table.getPartition(partitionIds.get(i));
+            if (partition == null) {
+                continue;
+            }
+            MaterializedIndex baseIndex = partition.getBaseIndex();
+            statistics.applyLoad(table.getId(), partition.getId(), partition.getVisibleVersion(),
+                    share(loadedRows, partitionNum, i), share(loadedBytes, partitionNum, i),
+                    baseIndex.getRowCount(), baseIndex.getDataSize());
+        }
+    }
+
+    // the i-th of the n shares of the value, -1 means unknown
+    private static long share(long value, int n, int i) {
+        if (value < 0) {
+            return -1;
+        }
+        return value / n + (i < value % n ? 1 : 0);
+    }
+
+    /**
+     * Returns the histogram of the column that the slot comes from,
+     * or null if the slot is not a table column or there is no histogram of it.
+     */
+    public Histogram getHistogram(SlotDescriptor slotDesc) {
+        if (slotDesc == null || slotDesc.getColumn() == null || slotDesc.getParent() == null
+                || slotDesc.getParent().getTable() == null) {
+            return null;
+        }
+        // the histograms of strings, which may be collected by the older versions, are not order-preserving
+        if (!Histogram.isSupportedType(slotDesc.getColumn().getType())) {
+            return null;
+        }
+        return statistics.getHistogram(slotDesc.getParent().getTable().getId(), slotDesc.getColumn().getName());
+    }
+
+    // return 0 if the fraction of nulls is unknown
+    public double getNullFraction(SlotDescriptor slotDesc) {
+        if (slotDesc == null || slotDesc.getColumn() == null || slotDesc.getParent() == null
+                || slotDesc.getParent().getTable() == null) {
+            return 0;
+        }
+        return statistics.getNullFraction(slotDesc.getParent().getTable().getId(), slotDesc.getColumn().getName());
+    }
+
     private TableIf validateTableName(TableName dbTableName) throws AnalysisException {
         String dbName = dbTableName.getDb();
         String tableName = dbTableName.getTbl();
@@ -184,4 +279,21 @@ public class StatisticsManager {
         return statistics;
     }
 
+    // Only the sampled sketches are persisted, the other statistics are collected again after restart.
+    @Override
+    public void write(DataOutput out) throws IOException {
+        List<ColumnSketch> sketches = statistics.getColumnSketches();
+        out.writeInt(sketches.size());
+        for (ColumnSketch sketch : sketches) {
+            sketch.write(out);
+        }
+    }
+
+    public void readFields(DataInput in) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            statistics.updateColumnSketch(ColumnSketch.read(in));
+        }
+    }
+
 }
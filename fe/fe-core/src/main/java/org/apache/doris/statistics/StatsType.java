@@ -27,7 +27,9 @@ public enum StatsType {
     MIN_VALUE("min_value"),
     MAX_VALUE("max_value"),
     MAX_COL_LENS("max_col_lens"),
-    AVG_COL_LENS("avg_col_lens");
+    AVG_COL_LENS("avg_col_lens"),
+    HISTOGRAM("histogram"),
+    NDV_SKETCH("ndv_sketch");
     private final String value;
 
     StatsType(String value) {
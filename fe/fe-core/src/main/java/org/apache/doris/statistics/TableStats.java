@@ -24,6 +24,7 @@ import org.apache.doris.common.util.Util;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -41,6 +42,11 @@ import java.util.function.Predicate;
  *      Those @ColumnStats are recorded in @nameToColumnStats form of MAP.
  *      This facilitates the optimizer to quickly find the corresponding
  *      @ColumnStats based on the column name.
+ * 4. @idToPartitionStats: <@Long partitionId, @PartitionStats partitionStats>
+ *      The stats of partitions, which are maintained incrementally by the visible loads.
+ * <p>
+ * The row count and data size of an analyzed table are also increased by the loads,
+ * and the rows loaded since the last analysis measure how stale the statistics are, see {@link #getStaleness}.
  *
  * @rowCount: The row count of table.
  * @dataSize: The data size of table.
@@ -57,11 +63,15 @@ public class TableStats {
     private static final Predicate<Long> DESIRED_ROW_COUNT_PRED = (v) -> v >= -1L;
     private static final Predicate<Long> DESIRED_DATA_SIZE_PRED = (v) -> v >= -1L;
 
-    private long rowCount = -1;
-    private long dataSize = -1;
+    private volatile long rowCount = -1;
+    private volatile long dataSize = -1;
     private Map<String, ColumnStats> nameToColumnStats = Maps.newConcurrentMap();
+    private Map<Long, PartitionStats> idToPartitionStats = Maps.newConcurrentMap();
+    // the row count when the table is analyzed last time, -1 means that it has never been analyzed
+    private long analyzedRowCount = -1;
+    private long loadedRowsSinceAnalyze = 0;
 
-    public void updateTableStats(Map<StatsType, String> statsTypeToValue) throws AnalysisException {
+    public synchronized void updateTableStats(Map<StatsType, String> statsTypeToValue) throws AnalysisException {
         for (Map.Entry<StatsType, String> entry : statsTypeToValue.entrySet()) {
             StatsType statsType = entry.getKey();
             if (statsType == ROW_COUNT) {
@@ -72,6 +82,46 @@ public class TableStats {
                         DESIRED_DATA_SIZE_PRED, DATA_SIZE + " should >= -1");
             }
         }
+        if (statsTypeToValue.containsKey(ROW_COUNT)) {
+            // the partition stats are initialized by the reported ones again at the next load
+            analyzedRowCount = rowCount;
+            loadedRowsSinceAnalyze = 0;
+            idToPartitionStats.clear();
+        }
+    }
+
+    /**
+     * Apply the rows and bytes loaded into a partition by a visible transaction, -1 means unknown.
+     * The partition becomes visible at the version by the load.
+     * The reported row count and data size are the ones of the base index of the partition.
+     */
+    public synchronized void applyLoad(long partitionId, long version, long loadedRows, long loadedBytes,
+            long reportedRowCount, long reportedDataSize) {
+        idToPartitionStats.computeIfAbsent(partitionId,
+                k -> new PartitionStats(reportedRowCount, reportedDataSize, version - 1))
+                .applyLoad(version, loadedRows, loadedBytes);
+        if (loadedRows > 0) {
+            loadedRowsSinceAnalyze += loadedRows;
+            if (rowCount >= 0) {
+                rowCount += loadedRows;
+            }
+        }
+        if (loadedBytes > 0 && dataSize >= 0) {
+            dataSize += loadedBytes;
+        }
+    }
+
+    /**
+     * Returns the ratio of the rows changed since the last analysis to the analyzed row count,
+     * or -1 if the table has never been analyzed.
+     * The loads which do not count their rows are covered by the change of the reported row count.
+     */
+    public synchronized double getStaleness(long reportedRowCount) {
+        if (analyzedRowCount < 0) {
+            return -1;
+        }
+        long changedRows = Math.max(loadedRowsSinceAnalyze, Math.abs(reportedRowCount - analyzedRowCount));
+        return (double) changedRows / Math.max(analyzedRowCount, 1);
     }
 
     public void updateColumnStats(String columnName, Type columnType, Map<StatsType, String> statsTypeToValue)
@@ -84,10 +134,17 @@ public class TableStats {
         columnStats.updateStats(columnType, statsTypeToValue);
     }
 
-    public List<String> getShowInfo() {
+    public void updateColumnSketch(ColumnSketch sketch) throws IOException {
+        ColumnStats columnStats = nameToColumnStats.computeIfAbsent(sketch.getColumnName(), k -> new ColumnStats());
+        columnStats.updateSketch(sketch);
+    }
+
+    public List<String> getShowInfo(long reportedRowCount) {
         List<String> result = Lists.newArrayList();
         result.add(Long.toString(rowCount));
         result.add(Long.toString(dataSize));
+        double staleness = getStaleness(reportedRowCount);
+        result.add(staleness < 0 ? "N/A" : String.format("%.4f", staleness));
         return result;
     }
 
@@ -95,6 +152,14 @@ public class TableStats {
         return nameToColumnStats;
     }
 
+    public PartitionStats getPartitionStats(long partitionId) {
+        return idToPartitionStats.get(partitionId);
+    }
+
+    public void removePartitionStats(long partitionId) {
+        idToPartitionStats.remove(partitionId);
+    }
+
     public long getRowCount() {
         return rowCount;
     }
@@ -103,7 +168,7 @@ public class TableStats {
         return dataSize;
     }
 
-    public void setRowCount(long rowCount) {
+    public synchronized void setRowCount(long rowCount) {
         this.rowCount = rowCount;
     }
 }
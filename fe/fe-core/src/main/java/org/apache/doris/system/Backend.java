@@ -21,6 +21,7 @@ import org.apache.doris.alter.DecommissionType;
 import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.DiskInfo;
 import org.apache.doris.catalog.DiskInfo.DiskState;
+import org.apache.doris.catalog.TabletLocationCache;
 import org.apache.doris.common.FeConstants;
 import org.apache.doris.common.io.Text;
 import org.apache.doris.common.io.Writable;
@@ -214,7 +215,10 @@ public class Backend implements Writable {
     }
 
     public void setLoadDisabled(boolean isLoadDisabled) {
-        this.backendStatus.isLoadDisabled = isLoadDisabled;
+        if (this.backendStatus.isLoadDisabled != isLoadDisabled) {
+            this.backendStatus.isLoadDisabled = isLoadDisabled;
+            TabletLocationCache.getInstance().invalidateAll();
+        }
     }
 
     // for test only
@@ -237,6 +241,7 @@ public class Backend implements Writable {
             this.lastStartTime = currentTime;
             LOG.info("{} is alive,", this.toString());
             this.isAlive.set(true);
+            TabletLocationCache.getInstance().invalidateAll();
         }
 
         heartbeatErrMsg = "";
@@ -255,7 +260,9 @@ public class Backend implements Writable {
     }
 
     public void setAlive(boolean isAlive) {
-        this.isAlive.set(isAlive);
+        if (this.isAlive.getAndSet(isAlive) != isAlive) {
+            TabletLocationCache.getInstance().invalidateAll();
+        }
     }
 
     public void setBePort(int agentPort) {
@@ -664,6 +671,7 @@ public class Backend implements Writable {
                 this.lastStartTime = hbResponse.getBeStartTime();
                 LOG.info("{} is alive, last start time: {}", this.toString(), hbResponse.getBeStartTime());
                 this.isAlive.set(true);
+                TabletLocationCache.getInstance().invalidateAll();
             } else if (this.lastStartTime <= 0) {
                 this.lastStartTime = hbResponse.getBeStartTime();
             }
@@ -672,6 +680,7 @@ public class Backend implements Writable {
         } else {
             if (isAlive.compareAndSet(true, false)) {
                 isChanged = true;
+                TabletLocationCache.getInstance().invalidateAll();
                 LOG.warn("{} is dead,", this.toString());
             }
 
@@ -165,7 +165,12 @@ public class HeartbeatMgr extends MasterDaemon {
                 BackendHbResponse hbResponse = (BackendHbResponse) response;
                 Backend be = nodeMgr.getBackend(hbResponse.getBeId());
                 if (be != null) {
+                    boolean wasAlive = be.isAlive();
                     boolean isChanged = be.handleHbResponse(hbResponse);
+                    if (wasAlive != be.isAlive() && !isReplay) {
+                        // replicas on this backend become unavailable or available again
+                        Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(be.getId());
+                    }
                     if (hbResponse.getStatus() != HbStatus.OK) {
                         // invalid all connections cached in ClientPool
                         ClientPool.backendPool.clearPool(new TNetworkAddress(be.getHost(), be.getBePort()));
@@ -22,6 +22,7 @@ import org.apache.doris.catalog.Catalog;
 import org.apache.doris.catalog.Database;
 import org.apache.doris.catalog.DiskInfo;
 import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.catalog.TabletLocationCache;
 import org.apache.doris.cluster.Cluster;
 import org.apache.doris.common.AnalysisException;
 import org.apache.doris.common.Config;
@@ -125,6 +126,7 @@ public class SystemInfoService {
         copiedBackends.put(backend.getId(), backend);
         ImmutableMap<Long, Backend> newIdToBackend = ImmutableMap.copyOf(copiedBackends);
         idToBackendRef = newIdToBackend;
+        TabletLocationCache.getInstance().invalidateAll();
     }
 
     private void setBackendOwner(Backend backend, String clusterName) {
@@ -144,6 +146,7 @@ public class SystemInfoService {
         copiedBackends.put(newBackend.getId(), newBackend);
         ImmutableMap<Long, Backend> newIdToBackend = ImmutableMap.copyOf(copiedBackends);
         idToBackendRef = newIdToBackend;
+        TabletLocationCache.getInstance().invalidateAll();
 
         // set new backend's report version as 0L
         Map<Long, AtomicLong> copiedReportVersions = Maps.newHashMap(idToReportVersionRef);
@@ -208,6 +211,7 @@ public class SystemInfoService {
         copiedBackends.remove(droppedBackend.getId());
         ImmutableMap<Long, Backend> newIdToBackend = ImmutableMap.copyOf(copiedBackends);
         idToBackendRef = newIdToBackend;
+        TabletLocationCache.getInstance().invalidateAll();
 
         // update idToReportVersion
         Map<Long, AtomicLong> copiedReportVersions = Maps.newHashMap(idToReportVersionRef);
@@ -226,6 +230,9 @@ public class SystemInfoService {
         Catalog.getCurrentCatalog().getEditLog().logDropBackend(droppedBackend);
         LOG.info("finished to drop {}", droppedBackend);
 
+        // replicas on the dropped backend are lost
+        Catalog.getCurrentCatalog().getTabletChecker().markBackendDirty(droppedBackend.getId());
+
         // backends is changed, regenerated tablet number metrics
         MetricRepo.generateBackendsTabletMetrics();
     }
@@ -234,6 +241,7 @@ public class SystemInfoService {
     public void dropAllBackend() {
         // update idToBackend
         idToBackendRef = ImmutableMap.<Long, Backend>of();
+        TabletLocationCache.getInstance().invalidateAll();
         // update idToReportVersion
         idToReportVersionRef = ImmutableMap.<Long, AtomicLong>of();
     }
@@ -951,6 +959,7 @@ public class SystemInfoService {
         copiedBackends.put(newBackend.getId(), newBackend);
         ImmutableMap<Long, Backend> newIdToBackend = ImmutableMap.copyOf(copiedBackends);
         idToBackendRef = newIdToBackend;
+        TabletLocationCache.getInstance().invalidateAll();
 
         // set new backend's report version as 0L
         Map<Long, AtomicLong> copiedReportVersions = Maps.newHashMap(idToReportVersionRef);
@@ -978,6 +987,7 @@ public class SystemInfoService {
         copiedBackends.remove(backend.getId());
         ImmutableMap<Long, Backend> newIdToBackend = ImmutableMap.copyOf(copiedBackends);
         idToBackendRef = newIdToBackend;
+        TabletLocationCache.getInstance().invalidateAll();
 
         // update idToReportVersion
         Map<Long, AtomicLong> copiedReportVersions = Maps.newHashMap(idToReportVersionRef);
@@ -1096,8 +1106,8 @@ public class SystemInfoService {
     }
 
     // update the path info when disk report
-    // there is only one thread can update path info, so no need to worry about concurrency control
-    public void updatePathInfo(List<DiskInfo> addedDisks, List<DiskInfo> removedDisks) {
+    // disk reports of different backends are handled concurrently, so updates are serialized here
+    public synchronized void updatePathInfo(List<DiskInfo> addedDisks, List<DiskInfo> removedDisks) {
         Map<Long, DiskInfo> copiedPathInfos = Maps.newHashMap(pathHashToDishInfoRef);
         for (DiskInfo diskInfo : addedDisks) {
             copiedPathInfos.put(diskInfo.getPathHash(), diskInfo);
@@ -144,6 +144,13 @@ public class AgentBatchTask implements Runnable {
         return count;
     }
 
+    // send the tasks through the per-backend channels of AgentTaskDispatcher instead of a thread of its own
+    public void dispatch() {
+        for (Map.Entry<Long, List<AgentTask>> entry : backendIdToTasks.entrySet()) {
+            AgentTaskDispatcher.getInstance().submit(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public void run() {
         for (Long backendId : this.backendIdToTasks.keySet()) {
@@ -184,7 +191,7 @@ public class AgentBatchTask implements Runnable {
         } // end for backend
     }
 
-    private TAgentTaskRequest toAgentTaskRequest(AgentTask task) {
+    static TAgentTaskRequest toAgentTaskRequest(AgentTask task) {
         TAgentTaskRequest tAgentTaskRequest = new TAgentTaskRequest();
         tAgentTaskRequest.setProtocolVersion(TAgentServiceVersion.V1);
         tAgentTaskRequest.setSignature(task.getSignature());
@@ -0,0 +1,190 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.task;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.ClientPool;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.ThreadPoolManager;
+import org.apache.doris.metric.MetricRepo;
+import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.BackendService;
+import org.apache.doris.thrift.TAgentTaskRequest;
+import org.apache.doris.thrift.TNetworkAddress;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * AgentTaskDispatcher sends agent tasks to backends through per-backend channels.
+ *
+ * The tasks submitted for a backend are queued in its channel, and sent by a small shared thread pool in batches
+ * of at most agent_task_rpc_batch_size tasks. If no batch of the backend is in flight, the tasks are sent at once.
+ * Otherwise they are coalesced, and sent when the queue reaches the batch size, when a batch in flight finishes,
+ * or agent_task_rpc_batch_interval_ms after the first task is queued, whichever comes first. Each channel has at most
+ * agent_task_rpc_max_in_flight_per_backend batches in flight, so a slow backend only makes its own queue grow,
+ * and does not occupy the threads of other backends.
+ *
+ * A task which fails to be sent is not retried here, it remains in AgentTaskQueue and is resent when the
+ * backend reports its running tasks, the same as a task sent by AgentBatchTask.run().
+ */
+public class AgentTaskDispatcher {
+    private static final Logger LOG = LogManager.getLogger(AgentTaskDispatcher.class);
+
+    private static final AgentTaskDispatcher INSTANCE = new AgentTaskDispatcher();
+
+    private final Map<Long, BackendChannel> channels = new ConcurrentHashMap<>();
+    // the queued sending jobs are bounded by the number of backends and the in-flight window
+    private final ExecutorService sendExecutor = ThreadPoolManager.newDaemonFixedThreadPool(
+            Config.agent_task_rpc_threads_num, Integer.MAX_VALUE, "agent-task-rpc-pool", true);
+    private final ScheduledExecutorService flushTimer = ThreadPoolManager.newDaemonScheduledThreadPool(
+            1, "agent-task-rpc-timer", false);
+
+    public static AgentTaskDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    private class BackendChannel {
+        private final long backendId;
+        private final Queue<AgentTask> pendingTasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingNum = new AtomicInteger(0);
+        private final AtomicInteger inFlightNum = new AtomicInteger(0);
+        private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+        BackendChannel(long backendId) {
+            this.backendId = backendId;
+        }
+
+        void offer(List<AgentTask> tasks) {
+            pendingTasks.addAll(tasks);
+            int num = pendingNum.addAndGet(tasks.size());
+            // only coalesce the tasks while a batch is in flight, an idle channel does not wait
+            if (num >= Config.agent_task_rpc_batch_size || Config.agent_task_rpc_batch_interval_ms <= 0
+                    || inFlightNum.get() == 0) {
+                trySend();
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                flushTimer.schedule(() -> {
+                    flushScheduled.set(false);
+                    trySend();
+                }, Config.agent_task_rpc_batch_interval_ms, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Start sending batches until the in-flight window is full or there is no pending task.
+        // The tasks of a batch are taken from the pending ones before it is submitted, so no empty batch is
+        // submitted, and a batch in flight always has tasks to send.
+        synchronized void trySend() {
+            int maxInFlight = Math.max(1, Config.agent_task_rpc_max_in_flight_per_backend);
+            // if the window is full, the finished batch will continue sending
+            while (pendingNum.get() > 0 && inFlightNum.get() < maxInFlight) {
+                int num = Math.min(pendingNum.get(), Math.max(1, Config.agent_task_rpc_batch_size));
+                pendingNum.addAndGet(-num);
+                inFlightNum.incrementAndGet();
+                sendExecutor.submit(() -> sendBatch(num));
+            }
+        }
+
+        private void sendBatch(int num) {
+            try {
+                // the tasks are queued before they are counted in pendingNum, so there are at least num tasks
+                List<AgentTask> batch = Lists.newArrayListWithCapacity(num);
+                for (int i = 0; i < num; i++) {
+                    batch.add(pendingTasks.poll());
+                }
+                send(backendId, batch);
+            } finally {
+                inFlightNum.decrementAndGet();
+            }
+            trySend();
+        }
+    }
+
+    public void submit(long backendId, List<AgentTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        channels.computeIfAbsent(backendId, BackendChannel::new).offer(tasks);
+    }
+
+    public int getPendingNum(long backendId) {
+        BackendChannel channel = channels.get(backendId);
+        return channel == null ? 0 : channel.pendingNum.get();
+    }
+
+    public int getInFlightNum(long backendId) {
+        BackendChannel channel = channels.get(backendId);
+        return channel == null ? 0 : channel.inFlightNum.get();
+    }
+
+    static void send(long backendId, List<AgentTask> tasks) {
+        BackendService.Client client = null;
+        TNetworkAddress address = null;
+        boolean ok = false;
+        try {
+            Backend backend = Catalog.getCurrentSystemInfo().getBackend(backendId);
+            if (backend == null || !backend.isAlive()) {
+                ok = true;
+                return;
+            }
+            List<TAgentTaskRequest> agentTaskRequests = Lists.newArrayListWithCapacity(tasks.size());
+            for (AgentTask task : tasks) {
+                agentTaskRequests.add(AgentBatchTask.toAgentTaskRequest(task));
+            }
+            String host = FeConstants.runningUnitTest ? "127.0.0.1" : backend.getHost();
+            address = new TNetworkAddress(host, backend.getBePort());
+            client = ClientPool.backendPool.borrowObject(address);
+            client.submitTasks(agentTaskRequests);
+            if (LOG.isDebugEnabled()) {
+                for (AgentTask task : tasks) {
+                    LOG.debug("send task: type[{}], backend[{}], signature[{}]",
+                            task.getTaskType(), backendId, task.getSignature());
+                }
+            }
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_AGENT_TASK_RPC_SENT.increase((long) tasks.size());
+            }
+            ok = true;
+        } catch (Exception e) {
+            LOG.warn("task exec error. backend[{}], task num: {}", backendId, tasks.size(), e);
+            if (MetricRepo.isInit) {
+                MetricRepo.COUNTER_AGENT_TASK_RPC_FAILED.increase((long) tasks.size());
+            }
+        } finally {
+            if (address != null) {
+                if (ok) {
+                    ClientPool.backendPool.returnObject(address, client);
+                } else {
+                    ClientPool.backendPool.invalidateObject(address, client);
+                }
+            }
+        }
+    }
+}
@@ -35,6 +35,10 @@ public class AgentTaskExecutor {
         if (task == null) {
             return;
         }
+        if (Config.enable_agent_task_async_dispatch) {
+            task.dispatch();
+            return;
+        }
         EXECUTOR.submit(task);
     }
 
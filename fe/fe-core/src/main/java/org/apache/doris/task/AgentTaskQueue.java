@@ -20,156 +20,134 @@ package org.apache.doris.task;
 import org.apache.doris.thrift.TPushType;
 import org.apache.doris.thrift.TTaskType;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Table;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Task queue
+ *
+ * Tasks are indexed by (backend, task type, signature) in concurrent maps, so the reports and the finished tasks
+ * from different backends do not contend with each other. A task is added or removed atomically with its
+ * signature entry, and the secondary indexes by tablet and db are maintained in the same step.
  */
 public class AgentTaskQueue {
     private static final Logger LOG = LogManager.getLogger(AgentTaskQueue.class);
 
     // backend id -> (task type -> (signature -> agent task))
-    private static Table<Long, TTaskType, Map<Long, AgentTask>> tasks = HashBasedTable.create();
-    private static int taskNum = 0;
-
-    public static synchronized void addBatchTask(AgentBatchTask batchTask) {
+    private static final Map<Long, Map<TTaskType, Map<Long, AgentTask>>> tasks = new ConcurrentHashMap<>();
+    // tablet id -> tasks of the tablet
+    private static final Map<Long, Set<AgentTask>> tabletIdToTasks = new ConcurrentHashMap<>();
+    // db id -> tasks of the db
+    private static final Map<Long, Set<AgentTask>> dbIdToTasks = new ConcurrentHashMap<>();
+    private static final AtomicInteger taskNum = new AtomicInteger(0);
+
+    public static void addBatchTask(AgentBatchTask batchTask) {
         for (AgentTask task : batchTask.getAllTasks()) {
             addTask(task);
         }
     }
 
-    public static synchronized boolean addTask(AgentTask task) {
+    public static boolean addTask(AgentTask task) {
         long backendId = task.getBackendId();
         TTaskType type = task.getTaskType();
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (signatureMap == null) {
-            signatureMap = Maps.newHashMap();
-            tasks.put(backendId, type, signatureMap);
-        }
-
         long signature = task.getSignature();
-        if (signatureMap.containsKey(signature)) {
+
+        Map<Long, AgentTask> signatureMap = tasks.computeIfAbsent(backendId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+        boolean[] added = {false};
+        signatureMap.computeIfAbsent(signature, k -> {
+            addToIndex(tabletIdToTasks, task.getTabletId(), task);
+            addToIndex(dbIdToTasks, task.getDbId(), task);
+            added[0] = true;
+            return task;
+        });
+        if (!added[0]) {
             return false;
         }
-        signatureMap.put(signature, task);
-        ++taskNum;
+        taskNum.incrementAndGet();
         LOG.debug("add task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
         return true;
     }
 
     // remove all task in AgentBatchTask.
     // the caller should make sure all tasks in AgentBatchTask is type of 'type'
-    public static synchronized void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
+    public static void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
         for (AgentTask task : batchTask.getAllTasks()) {
             removeTask(task.getBackendId(), type, task.getSignature());
         }
     }
 
-    public static synchronized void removeTask(long backendId, TTaskType type, long signature) {
-        if (!tasks.contains(backendId, type)) {
-            return;
-        }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (!signatureMap.containsKey(signature)) {
-            return;
-        }
-        signatureMap.remove(signature);
-        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
-        --taskNum;
+    public static void removeTask(long backendId, TTaskType type, long signature) {
+        removeTaskIf(backendId, type, signature, task -> true);
     }
 
     /*
      * we cannot define a push task with only 'backendId', 'signature' and 'TTaskType'
      * add version and TPushType to help
      */
-    public static synchronized void removePushTask(long backendId, long signature, long version,
-                                                   TPushType pushType, TTaskType taskType) {
-        if (!tasks.contains(backendId, taskType)) {
-            return;
-        }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, taskType);
-        AgentTask task = signatureMap.get(signature);
-        if (task == null) {
-            return;
-        }
-
-        PushTask pushTask = (PushTask) task;
-        if (pushTask.getVersion() != version || pushTask.getPushType() != pushType) {
-            return;
-        }
-
-        signatureMap.remove(signature);
-        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", taskType, backendId, signature);
-        --taskNum;
+    public static void removePushTask(long backendId, long signature, long version,
+                                      TPushType pushType, TTaskType taskType) {
+        removeTaskIf(backendId, taskType, signature, task -> {
+            PushTask pushTask = (PushTask) task;
+            return pushTask.getVersion() == version && pushTask.getPushType() == pushType;
+        });
     }
 
-    public static synchronized void removeTaskOfType(TTaskType type, long signature) {
-        // be id -> (signature -> task)
-        Map<Long, Map<Long, AgentTask>> map = tasks.column(type);
-        for (Map<Long, AgentTask> innerMap : map.values()) {
-            innerMap.remove(signature);
+    public static void removeTaskOfType(TTaskType type, long signature) {
+        for (long backendId : tasks.keySet()) {
+            removeTaskIf(backendId, type, signature, task -> true);
         }
     }
 
-    public static synchronized AgentTask getTask(long backendId, TTaskType type, long signature) {
-        if (!tasks.contains(backendId, type)) {
-            return null;
-        }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        return signatureMap.get(signature);
+    public static AgentTask getTask(long backendId, TTaskType type, long signature) {
+        Map<Long, AgentTask> signatureMap = getSignatureMap(backendId, type);
+        return signatureMap == null ? null : signatureMap.get(signature);
     }
 
     // this is just for unit test
-    public static synchronized List<AgentTask> getTask(TTaskType type) {
+    public static List<AgentTask> getTask(TTaskType type) {
         List<AgentTask> res = Lists.newArrayList();
-        for (Map<Long, AgentTask> agentTasks : tasks.column(TTaskType.ALTER).values()) {
-            res.addAll(agentTasks.values());
+        for (Map<TTaskType, Map<Long, AgentTask>> backendTasks : tasks.values()) {
+            Map<Long, AgentTask> signatureMap = backendTasks.get(type);
+            if (signatureMap != null) {
+                res.addAll(signatureMap.values());
+            }
         }
         return res;
     }
 
-    public static synchronized List<AgentTask> getTask(long dbId, TTaskType type) {
-        Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-        Map<Long, AgentTask> signatureMap = taskMap == null ? null : taskMap.get(dbId);
-        return signatureMap == null ? new ArrayList<>() : new ArrayList<>(signatureMap.values());
+    public static List<AgentTask> getTask(long dbId, TTaskType type) {
+        List<AgentTask> res = new ArrayList<>();
+        for (AgentTask task : dbIdToTasks.getOrDefault(dbId, Collections.emptySet())) {
+            if (task.getTaskType() == type) {
+                res.add(task);
+            }
+        }
+        return res;
     }
 
-    public static synchronized List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+    public static List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
         List<AgentTask> diffTasks = new ArrayList<AgentTask>();
-        if (!tasks.containsRow(backendId)) {
+        Map<TTaskType, Map<Long, AgentTask>> backendAllTasks = tasks.get(backendId);
+        if (backendAllTasks == null) {
             return diffTasks;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendAllTasks = tasks.row(backendId);
         for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendAllTasks.entrySet()) {
-            TTaskType taskType = entry.getKey();
-            Map<Long, AgentTask> tasks = entry.getValue();
-            Set<Long> excludeSignatures = new HashSet<Long>();
-            if (runningTasks.containsKey(taskType)) {
-                excludeSignatures = runningTasks.get(taskType);
-            }
-
-            for (Map.Entry<Long, AgentTask> taskEntry : tasks.entrySet()) {
-                long signature = taskEntry.getKey();
-                AgentTask task = taskEntry.getValue();
-                if (!excludeSignatures.contains(signature)) {
-                    diffTasks.add(task);
+            Set<Long> excludeSignatures = runningTasks.getOrDefault(entry.getKey(), Collections.emptySet());
+            for (Map.Entry<Long, AgentTask> taskEntry : entry.getValue().entrySet()) {
+                if (!excludeSignatures.contains(taskEntry.getKey())) {
+                    diffTasks.add(taskEntry.getValue());
                 }
             } // end for tasks
         } // end for backendAllTasks
@@ -177,73 +155,48 @@ public class AgentTaskQueue {
         return diffTasks;
     }
 
-    public static synchronized void removeReplicaRelatedTasks(long backendId, long tabletId) {
-        if (!tasks.containsRow(backendId)) {
+    public static void removeReplicaRelatedTasks(long backendId, long tabletId) {
+        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.row(backendId);
-        for (TTaskType type : TTaskType.values()) {
-            if (backendTasks.containsKey(type)) {
-                Map<Long, AgentTask> typeTasks = backendTasks.get(type);
-                if (type == TTaskType.REALTIME_PUSH) {
-                    Iterator<AgentTask> taskIterator = typeTasks.values().iterator();
-                    while (taskIterator.hasNext()) {
-                        PushTask realTimePushTask = (PushTask) taskIterator.next();
-                        if (tabletId == realTimePushTask.getTabletId()) {
-                            taskIterator.remove();
-                        }
-                    }
-                } else {
-                    if (typeTasks.containsKey(tabletId)) {
-                        typeTasks.remove(tabletId);
-                        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, tabletId);
-                        --taskNum;
-                    }
-                }
+        // the signature of a realtime push task is not the tablet id, so find them by the tablet index
+        for (AgentTask task : tabletIdToTasks.getOrDefault(tabletId, Collections.emptySet())) {
+            if (task.getBackendId() == backendId && task.getTaskType() == TTaskType.REALTIME_PUSH) {
+                removeTaskIf(backendId, TTaskType.REALTIME_PUSH, task.getSignature(), t -> t == task);
+            }
+        }
+        for (TTaskType type : backendTasks.keySet()) {
+            if (type != TTaskType.REALTIME_PUSH) {
+                removeTaskIf(backendId, type, tabletId, task -> true);
             }
-        } // end for types
+        }
     }
 
     // only for test now
-    public static synchronized void clearAllTasks() {
+    public static void clearAllTasks() {
+        for (Map.Entry<Long, Map<TTaskType, Map<Long, AgentTask>>> backendEntry : tasks.entrySet()) {
+            for (Map.Entry<TTaskType, Map<Long, AgentTask>> typeEntry : backendEntry.getValue().entrySet()) {
+                for (long signature : typeEntry.getValue().keySet()) {
+                    removeTaskIf(backendEntry.getKey(), typeEntry.getKey(), signature, task -> true);
+                }
+            }
+        }
         tasks.clear();
-        taskNum = 0;
     }
 
-    public static synchronized int getTaskNum() {
-        return taskNum;
+    public static int getTaskNum() {
+        return taskNum.get();
     }
 
-    public static synchronized int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
+    public static int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
         int taskNum = 0;
         if (backendId != -1) {
-            Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
-            if (taskMap != null) {
-                if (isFailed) {
-                    for (AgentTask task : taskMap.values()) {
-                        if (task.getFailedTimes() > 0) {
-                            ++taskNum;
-                        }
-                    }
-                } else {
-                    taskNum += taskMap.size();
-                }
-            }
+            taskNum += countTasks(getSignatureMap(backendId, type), isFailed);
         } else {
-            Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-            if (taskMap != null) {
-                for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
-                    if (isFailed) {
-                        for (AgentTask task : signatureMap.values()) {
-                            if (task.getFailedTimes() > 0) {
-                                ++taskNum;
-                            }
-                        }
-                    } else {
-                        taskNum += signatureMap.size();
-                    }
-                }
+            for (Map<TTaskType, Map<Long, AgentTask>> backendTasks : tasks.values()) {
+                taskNum += countTasks(backendTasks.get(type), isFailed);
             }
         }
 
@@ -252,8 +205,8 @@ public class AgentTaskQueue {
         return taskNum;
     }
 
-    public static synchronized List<AgentTask> getFailedTask(long backendId, TTaskType type) {
-        Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+    public static List<AgentTask> getFailedTask(long backendId, TTaskType type) {
+        Map<Long, AgentTask> taskMap = getSignatureMap(backendId, type);
         List<AgentTask> tasks = Lists.newArrayList();
         if (taskMap != null) {
             for (AgentTask task : taskMap.values()) {
@@ -264,4 +217,71 @@ public class AgentTaskQueue {
         }
         return tasks;
     }
+
+    private static Map<Long, AgentTask> getSignatureMap(long backendId, TTaskType type) {
+        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.get(backendId);
+        return backendTasks == null ? null : backendTasks.get(type);
+    }
+
+    private static int countTasks(Map<Long, AgentTask> signatureMap, boolean isFailed) {
+        if (signatureMap == null) {
+            return 0;
+        }
+        if (!isFailed) {
+            return signatureMap.size();
+        }
+        int num = 0;
+        for (AgentTask task : signatureMap.values()) {
+            if (task.getFailedTimes() > 0) {
+                ++num;
+            }
+        }
+        return num;
+    }
+
+    // remove the task if it exists and satisfies the predicate, together with its index entries
+    private static void removeTaskIf(long backendId, TTaskType type, long signature, Predicate<AgentTask> predicate) {
+        Map<Long, AgentTask> signatureMap = getSignatureMap(backendId, type);
+        if (signatureMap == null) {
+            return;
+        }
+        boolean[] removed = {false};
+        signatureMap.computeIfPresent(signature, (k, task) -> {
+            if (!predicate.test(task)) {
+                return task;
+            }
+            removeFromIndex(tabletIdToTasks, task.getTabletId(), task);
+            removeFromIndex(dbIdToTasks, task.getDbId(), task);
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0]) {
+            taskNum.decrementAndGet();
+            LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
+        }
+    }
+
+    // the tasks without tablet or db, whose id is -1, are not indexed
+    private static void addToIndex(Map<Long, Set<AgentTask>> index, long id, AgentTask task) {
+        if (id < 0) {
+            return;
+        }
+        index.compute(id, (k, indexedTasks) -> {
+            if (indexedTasks == null) {
+                indexedTasks = ConcurrentHashMap.newKeySet();
+            }
+            indexedTasks.add(task);
+            return indexedTasks;
+        });
+    }
+
+    private static void removeFromIndex(Map<Long, Set<AgentTask>> index, long id, AgentTask task) {
+        if (id < 0) {
+            return;
+        }
+        index.computeIfPresent(id, (k, indexedTasks) -> {
+            indexedTasks.remove(task);
+            return indexedTasks.isEmpty() ? null : indexedTasks;
+        });
+    }
 }
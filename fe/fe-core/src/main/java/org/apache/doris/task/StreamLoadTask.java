@@ -46,6 +46,8 @@ public class StreamLoadTask implements LoadTaskInfo {
 
     private static final Logger LOG = LogManager.getLogger(StreamLoadTask.class);
 
+    public static final long DEFAULT_EXEC_MEM_LIMIT = 2 * 1024 * 1024 * 1024L; // default is 2GB
+
     private TUniqueId id;
     private long txnId;
     private TFileType fileType;
@@ -68,7 +70,7 @@ public class StreamLoadTask implements LoadTaskInfo {
     private boolean strictMode = false; // default is false
     private String timezone = TimeUtils.DEFAULT_TIME_ZONE;
     private int timeout = Config.stream_load_default_timeout_second;
-    private long execMemLimit = 2 * 1024 * 1024 * 1024L; // default is 2GB
+    private long execMemLimit = DEFAULT_EXEC_MEM_LIMIT;
     private LoadTask.MergeType mergeType = LoadTask.MergeType.APPEND; // default is all data is load no delete
     private Expr deleteCondition;
     private String sequenceCol;
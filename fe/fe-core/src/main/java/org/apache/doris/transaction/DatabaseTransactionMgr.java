@@ -651,6 +651,8 @@ public class DatabaseTransactionMgr {
         // update nextVersion because of the failure of persistent transaction resulting in error version
         updateCatalogAfterCommitted(transactionState, db);
         LOG.info("transaction:[{}] successfully committed", transactionState);
+        // publish the transaction right away instead of waiting for the next round
+        catalog.getPublishVersionDaemon().wakeUp();
     }
 
     public boolean waitForTransactionFinished(Database db, long transactionId, long timeoutMillis)
@@ -1543,6 +1545,7 @@ public class DatabaseTransactionMgr {
                 }
                 List<MaterializedIndex> allIndices = partition
                         .getMaterializedIndices(MaterializedIndex.IndexExtState.ALL);
+                boolean hasFailedReplica = false;
                 for (MaterializedIndex index : allIndices) {
                     for (Tablet tablet : index.getTablets()) {
                         for (Replica replica : tablet.getReplicas()) {
@@ -1579,9 +1582,14 @@ public class DatabaseTransactionMgr {
                                 }
                             }
                             replica.updateVersionWithFailedInfo(newVersion, lastFailedVersion, lastSuccessVersion);
+                            hasFailedReplica |= replica.getLastFailedVersion() > 0;
                         }
                     }
                 } // end for indices
+                if (hasFailedReplica) {
+                    // let TabletChecker repair the lagging replicas without waiting for a full check
+                    Catalog.getCurrentCatalog().getTabletChecker().markPartitionDirty(db.getId(), tableId, partitionId);
+                }
                 long version = partitionCommitInfo.getVersion();
                 long versionTime = partitionCommitInfo.getVersionTime();
                 partition.updateVisibleVersionAndTime(version, versionTime);
@@ -1590,6 +1598,9 @@ public class DatabaseTransactionMgr {
                             transactionState, partition.getId(), version);
                 }
             }
+            Catalog.getCurrentCatalog().getStatisticsManager().updateStatsAfterLoad(table,
+                    Lists.newArrayList(tableCommitInfo.getIdToPartitionCommitInfo().keySet()),
+                    transactionState.getTxnCommitAttachment());
         }
         return true;
     }
@@ -28,6 +28,7 @@ import org.apache.doris.catalog.Tablet;
 import org.apache.doris.catalog.TabletInvertedIndex;
 import org.apache.doris.common.Config;
 import org.apache.doris.common.util.MasterDaemon;
+import org.apache.doris.metric.MetricRepo;
 import org.apache.doris.task.AgentBatchTask;
 import org.apache.doris.task.AgentTaskExecutor;
 import org.apache.doris.task.AgentTaskQueue;
@@ -45,6 +46,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Publish the versions of the committed transactions to backends, and finish the transactions
+ * whose publish version tasks are finished.
+ * <p>
+ * The daemon is woken up right away when a transaction is committed or a publish version task is finished,
+ * and Config.publish_version_interval_ms is only the interval of checking the timeout of publishing.
+ * The wake-ups during a round are merged into the next round, so the transactions committed meanwhile
+ * are published together, and the tasks of all of them for a backend are sent in one request.
+ */
 public class PublishVersionDaemon extends MasterDaemon {
 
     private static final Logger LOG = LogManager.getLogger(PublishVersionDaemon.class);
@@ -130,6 +140,10 @@ public class PublishVersionDaemon extends MasterDaemon {
                 transactionState.addPublishVersionTask(backendId, task);
             }
             transactionState.setHasSendTask(true);
+            if (MetricRepo.isInit) {
+                MetricRepo.HISTO_TXN_COMMIT_TO_PUBLISH_LATENCY.update(
+                        createPublishVersionTaskTime - transactionState.getCommitTime());
+            }
             LOG.info("send publish tasks for transaction: {}", transactionState.getTransactionId());
         }
         if (!batchTask.getAllTasks().isEmpty()) {
@@ -252,6 +266,10 @@ public class PublishVersionDaemon extends MasterDaemon {
             }
 
             if (transactionState.getTransactionStatus() == TransactionStatus.VISIBLE) {
+                if (MetricRepo.isInit) {
+                    MetricRepo.HISTO_TXN_COMMIT_TO_VISIBLE_LATENCY.update(
+                            transactionState.getFinishTime() - transactionState.getCommitTime());
+                }
                 for (PublishVersionTask task : transactionState.getPublishVersionTasks().values()) {
                     AgentTaskQueue.removeTask(task.getBackendId(), TTaskType.PUBLISH_VERSION, task.getSignature());
                 }
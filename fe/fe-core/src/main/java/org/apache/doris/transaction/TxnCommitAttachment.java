@@ -42,6 +42,16 @@ public abstract class TxnCommitAttachment implements Writable {
         this.isTypeRead = isTypeRead;
     }
 
+    // the number of rows loaded by the transaction, -1 means unknown
+    public long getLoadedRows() {
+        return -1;
+    }
+
+    // the number of bytes loaded by the transaction, -1 means unknown
+    public long getLoadedBytes() {
+        return -1;
+    }
+
     public static TxnCommitAttachment fromThrift(TTxnCommitAttachment txnCommitAttachment) {
         if (txnCommitAttachment != null) {
             switch (txnCommitAttachment.getLoadType()) {
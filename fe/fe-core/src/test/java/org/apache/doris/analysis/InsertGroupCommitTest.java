@@ -0,0 +1,90 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.analysis;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.utframe.UtFrameUtils;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+public class InsertGroupCommitTest {
+    private static final String RUNNING_DIR = UtFrameUtils.generateRandomFeRunningDir(InsertGroupCommitTest.class);
+    private static ConnectContext connectContext;
+    private static long queryIdLo = 0;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        UtFrameUtils.createDorisCluster(RUNNING_DIR);
+        connectContext = UtFrameUtils.createDefaultCtx();
+        CreateDbStmt createDbStmt = (CreateDbStmt) UtFrameUtils.parseAndAnalyzeStmt(
+                "create database test;", connectContext);
+        Catalog.getCurrentCatalog().createDb(createDbStmt);
+        CreateTableStmt createTableStmt = (CreateTableStmt) UtFrameUtils.parseAndAnalyzeStmt(
+                "create table test.tbl1 (k1 int, v1 varchar(10)) duplicate key (k1) distributed by hash (k1) "
+                        + "buckets 1 properties ('replication_num' = '1');", connectContext);
+        Catalog.getCurrentCatalog().createTable(createTableStmt);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        UtFrameUtils.cleanDorisFeDir(RUNNING_DIR);
+    }
+
+    private static InsertStmt parseAndAnalyze(String sql) throws Exception {
+        connectContext.setQueryId(new TUniqueId(1, ++queryIdLo));
+        SqlParser parser = new SqlParser(new SqlScanner(
+                new StringReader(sql), connectContext.getSessionVariable().getSqlMode()));
+        InsertStmt insertStmt = (InsertStmt) SqlParserUtils.getFirstStmt(parser);
+        Analyzer analyzer = new Analyzer(connectContext.getCatalog(), connectContext);
+        insertStmt.analyze(analyzer);
+        return insertStmt;
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        connectContext.getSessionVariable().setEnableInsertGroupCommit(true);
+        try {
+            InsertStmt insertStmt = parseAndAnalyze("insert into test.tbl1 values (1, 'a'), (2, null);");
+            Assert.assertTrue(insertStmt.isGroupCommit());
+            // the transaction is begun by GroupCommitManager
+            Assert.assertFalse(insertStmt.isTransactionBegin());
+            Assert.assertNull(insertStmt.getDataSink());
+
+            // the inserts with label, column list or non-literal values are not group committed
+            Assert.assertFalse(parseAndAnalyze("insert into test.tbl1 with label l1 values (1, 'a');")
+                    .isGroupCommit());
+            Assert.assertFalse(parseAndAnalyze("insert into test.tbl1 (k1, v1) values (1, 'a');").isGroupCommit());
+            Assert.assertFalse(parseAndAnalyze("insert into test.tbl1 values (1 + 1, 'a');").isGroupCommit());
+            Assert.assertFalse(parseAndAnalyze("insert into test.tbl1 select 1, 'a';").isGroupCommit());
+        } finally {
+            connectContext.getSessionVariable().setEnableInsertGroupCommit(false);
+        }
+
+        InsertStmt insertStmt = parseAndAnalyze("insert into test.tbl1 values (1, 'a');");
+        Assert.assertFalse(insertStmt.isGroupCommit());
+        Assert.assertTrue(insertStmt.isTransactionBegin());
+    }
+}
@@ -0,0 +1,145 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.thrift.TStorageMedium;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TabletInvertedIndexTest {
+    private static final long DB_ID = 1;
+    private static final long TABLE_ID = 2;
+    private static final long PARTITION_ID = 3;
+    private static final long INDEX_ID = 4;
+    private static final int REPLICA_NUM = 3;
+
+    private static void addTablets(TabletInvertedIndex invertedIndex, long tabletNum, int backendNum) {
+        TabletMeta tabletMeta = new TabletMeta(DB_ID, TABLE_ID, PARTITION_ID, INDEX_ID, 1, TStorageMedium.HDD);
+        long replicaId = tabletNum + 1;
+        for (long tabletId = 1; tabletId <= tabletNum; tabletId++) {
+            invertedIndex.addTablet(tabletId, tabletMeta);
+            for (int i = 0; i < REPLICA_NUM; i++) {
+                long backendId = 10000 + (tabletId + i) % backendNum;
+                invertedIndex.addReplica(tabletId, new Replica(replicaId++, backendId, 1, ReplicaState.NORMAL));
+            }
+        }
+    }
+
+    @Test
+    public void testAddAndDelete() {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        addTablets(invertedIndex, 1000, 5);
+
+        Assert.assertEquals(1000, invertedIndex.getTabletMetaMap().size());
+        Assert.assertEquals(3000, invertedIndex.getReplicaToTabletMap().size());
+        Assert.assertEquals(REPLICA_NUM, invertedIndex.getReplicasByTabletId(1).size());
+        Assert.assertEquals(600, invertedIndex.getTabletNumByBackendId(10000));
+        Assert.assertEquals(600, invertedIndex.getTabletIdsByBackendId(10001).size());
+        Assert.assertEquals(PARTITION_ID, invertedIndex.getTabletMeta(10).getPartitionId());
+        Assert.assertNull(invertedIndex.getTabletMeta(1001));
+
+        invertedIndex.deleteTablet(2);
+        Assert.assertNull(invertedIndex.getTabletMeta(2));
+        Assert.assertTrue(invertedIndex.getReplicasByTabletId(2).isEmpty());
+        Assert.assertEquals(999, invertedIndex.getTabletMetaMap().size());
+        Assert.assertEquals(3000 - REPLICA_NUM, invertedIndex.getReplicaToTabletMap().size());
+
+        Replica replica = invertedIndex.getReplica(1, 10001);
+        Assert.assertNotNull(replica);
+        Assert.assertEquals(Long.valueOf(1), invertedIndex.getTabletIdByReplica(replica.getId()));
+
+        // replace the replica on the same backend
+        invertedIndex.addReplica(1, new Replica(99999, 10001, 1, ReplicaState.NORMAL));
+        Assert.assertEquals(REPLICA_NUM, invertedIndex.getReplicasByTabletId(1).size());
+        Assert.assertEquals(99999, invertedIndex.getReplica(1, 10001).getId());
+
+        invertedIndex.deleteReplica(1, 10001);
+        Assert.assertNull(invertedIndex.getReplica(1, 10001));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(99999));
+        Assert.assertEquals(REPLICA_NUM - 1, invertedIndex.getReplicasByTabletId(1).size());
+        // delete a non-existent replica should do nothing
+        invertedIndex.deleteReplica(1, 10001);
+
+        invertedIndex.clear();
+        Assert.assertTrue(invertedIndex.getTabletMetaMap().isEmpty());
+        Assert.assertEquals(0, invertedIndex.getTabletNumByBackendId(10000));
+    }
+
+    /**
+     * Benchmark of the memory footprint and the throughput of the inverted index with 1M/5M/10M tablets.
+     * Run it manually with a large heap, eg, -Xmx32g.
+     */
+    @Ignore
+    @Test
+    public void benchmark() {
+        for (long tabletNum : new long[] {1000000L, 5000000L, 10000000L}) {
+            runBenchmark(tabletNum, 100);
+        }
+    }
+
+    private void runBenchmark(long tabletNum, int backendNum) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        long start = System.nanoTime();
+        addTablets(invertedIndex, tabletNum, backendNum);
+        long addNs = System.nanoTime() - start;
+
+        System.gc();
+        long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        start = System.nanoTime();
+        long found = 0;
+        for (long tabletId = 1; tabletId <= tabletNum; tabletId++) {
+            if (invertedIndex.getReplica(tabletId, 10000 + tabletId % backendNum) != null) {
+                found++;
+            }
+        }
+        long lookupNs = System.nanoTime() - start;
+        Assert.assertEquals(tabletNum, found);
+
+        start = System.nanoTime();
+        long tabletsOnBackends = 0;
+        for (int i = 0; i < backendNum; i++) {
+            tabletsOnBackends += invertedIndex.getTabletNumByBackendId(10000 + i);
+        }
+        long backendScanNs = System.nanoTime() - start;
+        Assert.assertEquals(tabletNum * REPLICA_NUM, tabletsOnBackends);
+
+        start = System.nanoTime();
+        Map<Long, TabletMeta> tabletMetaMap = invertedIndex.getTabletMetaMap();
+        List<Long> tabletIds = invertedIndex.getTabletIdsByBackendId(10000);
+        long snapshotNs = System.nanoTime() - start;
+        Assert.assertEquals(tabletNum, tabletMetaMap.size());
+        Assert.assertFalse(tabletIds.isEmpty());
+
+        System.out.printf("tablets: %d, replicas: %d, heap: %d MB, add: %.0f ops/s, lookup: %.0f ops/s,"
+                        + " per backend scan: %.2f ms, snapshot: %.2f ms%n",
+                tabletNum, tabletNum * REPLICA_NUM, (usedAfter - usedBefore) >> 20,
+                tabletNum * 1e9 / addNs, tabletNum * 1e9 / lookupNs,
+                backendScanNs / 1e6 / backendNum, snapshotNs / 1e6);
+    }
+}
@@ -0,0 +1,102 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog;
+
+import org.apache.doris.catalog.Replica.ReplicaState;
+import org.apache.doris.catalog.TabletLocationCache.TabletLocations;
+import org.apache.doris.common.Config;
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TabletLocationCacheTest {
+    private TabletLocationCache cache;
+    private SystemInfoService systemInfo;
+    private Tablet tablet;
+    private Replica replica1;
+    private Replica replica2;
+
+    @Before
+    public void setUp() {
+        Config.enable_scan_range_location_cache = true;
+        cache = new TabletLocationCache();
+        systemInfo = new SystemInfoService();
+        systemInfo.addBackend(new Backend(10001, "192.168.0.1", 9050));
+        systemInfo.addBackend(new Backend(10002, "192.168.0.2", 9050));
+        replica1 = new Replica(1, 10001, 2, 0, 0L, 0L, ReplicaState.NORMAL, -1, 2);
+        replica2 = new Replica(2, 10002, 2, 0, 0L, 0L, ReplicaState.NORMAL, -1, 2);
+        tablet = new Tablet(100, Lists.newArrayList(replica1, replica2));
+    }
+
+    @After
+    public void tearDown() {
+        Config.enable_scan_range_location_cache = true;
+    }
+
+    @Test
+    public void testCachedForVersion() {
+        TabletLocations locations = cache.getLocations(tablet, 2, systemInfo);
+        Assert.assertEquals(2, locations.size());
+        Assert.assertSame(systemInfo.getBackend(locations.getReplica(0).getBackendId()), locations.getBackend(0));
+        Assert.assertSame(locations, cache.getLocations(tablet, 2, systemInfo));
+        Assert.assertEquals(1, cache.size());
+
+        // replicas do not catch up with the new version
+        TabletLocations newLocations = cache.getLocations(tablet, 3, systemInfo);
+        Assert.assertNotSame(locations, newLocations);
+        Assert.assertTrue(newLocations.isEmpty());
+    }
+
+    @Test
+    public void testInvalidate() {
+        TabletLocations locations = cache.getLocations(tablet, 2, systemInfo);
+        cache.invalidateAll();
+        TabletLocations newLocations = cache.getLocations(tablet, 2, systemInfo);
+        Assert.assertNotSame(locations, newLocations);
+        Assert.assertEquals(2, newLocations.size());
+
+        // the global cache is invalidated by replica state changes
+        TabletLocationCache globalCache = TabletLocationCache.getInstance();
+        locations = globalCache.getLocations(tablet, 2, systemInfo);
+        replica1.setBad(true);
+        newLocations = globalCache.getLocations(tablet, 2, systemInfo);
+        Assert.assertNotSame(locations, newLocations);
+        Assert.assertEquals(1, newLocations.size());
+        Assert.assertSame(replica2, newLocations.getReplica(0));
+        Assert.assertEquals(0, newLocations.randomStart());
+
+        replica1.setBad(false);
+        replica2.setState(ReplicaState.CLONE);
+        newLocations = globalCache.getLocations(tablet, 2, systemInfo);
+        Assert.assertEquals(1, newLocations.size());
+        Assert.assertSame(replica1, newLocations.getReplica(0));
+    }
+
+    @Test
+    public void testDisabled() {
+        Config.enable_scan_range_location_cache = false;
+        TabletLocations locations = cache.getLocations(tablet, 2, systemInfo);
+        Assert.assertNotSame(locations, cache.getLocations(tablet, 2, systemInfo));
+        Assert.assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,109 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.catalog.external;
+
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.HiveMetaStoreClientHelper;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.common.DdlException;
+import org.apache.doris.datasource.HMSExternalDataSource;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class HMSExternalTableTest {
+    private static final String URI = "thrift://127.0.0.1:9083";
+
+    private List<FieldSchema> remoteSchema;
+    private boolean failSchema = false;
+
+    private void mockMetaStore() {
+        new MockUp<HiveMetaStoreClientHelper>() {
+            @Mock
+            public Table getTable(String dbName, String tableName, String metaStoreUris) {
+                Table table = new Table();
+                table.setDbName(dbName);
+                table.setTableName(tableName);
+                table.setParameters(Maps.newHashMap());
+                StorageDescriptor sd = new StorageDescriptor();
+                sd.setInputFormat("org.apache.hadoop.mapred.TextInputFormat");
+                table.setSd(sd);
+                return table;
+            }
+
+            @Mock
+            public List<FieldSchema> getSchema(String dbName, String tableName, String metaStoreUris)
+                    throws DdlException {
+                if (failSchema) {
+                    throw new DdlException("mock failure");
+                }
+                return remoteSchema;
+            }
+        };
+    }
+
+    @Test
+    public void testSchemaAfterRefreshTable() throws Exception {
+        mockMetaStore();
+        remoteSchema = Lists.newArrayList(new FieldSchema("k1", "int", ""));
+        HMSExternalTable table = new HMSExternalTable(1L, "tbl1", "db1", URI);
+        Assert.assertEquals(HMSExternalTable.DLAType.HIVE, table.getDlaType());
+
+        List<Column> schema = table.getFullSchema();
+        Assert.assertEquals(1, schema.size());
+        Assert.assertEquals(PrimitiveType.INT, schema.get(0).getDataType());
+        // the converted columns are reused while the cached hive schema is not changed
+        Assert.assertSame(schema, table.getFullSchema());
+
+        // the change of hive schema is not seen until the table is refreshed
+        remoteSchema = Lists.newArrayList(new FieldSchema("k1", "int", ""), new FieldSchema("k2", "string", ""));
+        Assert.assertEquals(1, table.getFullSchema().size());
+        Assert.assertNull(table.getColumn("k2"));
+
+        Map<String, String> props = Maps.newHashMap();
+        props.put("hive.metastore.uris", URI);
+        new HMSExternalDataSource("hms", props).refreshTable("db1", "tbl1");
+        schema = table.getFullSchema();
+        Assert.assertEquals(2, schema.size());
+        Assert.assertNotNull(table.getColumn("k2"));
+    }
+
+    @Test
+    public void testFailedSchemaNotMemoized() throws Exception {
+        mockMetaStore();
+        remoteSchema = Lists.newArrayList(new FieldSchema("k1", "int", ""));
+        HMSExternalTable table = new HMSExternalTable(2L, "tbl2", "db2", URI);
+
+        failSchema = true;
+        Assert.assertTrue(table.getFullSchema().isEmpty());
+
+        failSchema = false;
+        Assert.assertEquals(1, table.getFullSchema().size());
+        Assert.assertNotNull(table.getColumn("k1"));
+    }
+}
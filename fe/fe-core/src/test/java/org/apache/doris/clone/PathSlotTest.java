@@ -0,0 +1,99 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.clone;
+
+import org.apache.doris.clone.TabletScheduler.PathSlot;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PathSlotTest {
+
+    @Test
+    public void testTakeAndFreeSlot() throws Exception {
+        PathSlot pathSlot = new PathSlot(Lists.newArrayList(10001L, 10002L), 2);
+        Assert.assertEquals(4, pathSlot.getTotalAvailSlotNum());
+
+        Assert.assertEquals(10001L, pathSlot.takeSlot(10001L));
+        Assert.assertEquals(10001L, pathSlot.takeSlot(10001L));
+        Assert.assertEquals(-1L, pathSlot.takeSlot(10001L));
+        Assert.assertEquals(-1L, pathSlot.takeSlot(10003L));
+        Assert.assertEquals(0, pathSlot.peekSlot(10001L));
+
+        // free more than taken, available num should not exceed the total
+        pathSlot.freeSlot(10001L);
+        pathSlot.freeSlot(10001L);
+        pathSlot.freeSlot(10001L);
+        Assert.assertEquals(2, pathSlot.peekSlot(10001L));
+
+        // decrease the total, available num is bounded by the new total
+        pathSlot.updateSlot(Lists.newArrayList(10001L), -5);
+        Assert.assertEquals(1, pathSlot.peekSlot(10001L));
+        Assert.assertEquals(10001L, pathSlot.takeSlot(10001L));
+        Assert.assertEquals(-1L, pathSlot.takeSlot(10001L));
+    }
+
+    @Test
+    public void testBalanceSlot() {
+        PathSlot pathSlot = new PathSlot(Lists.newArrayList(10001L), 2);
+        int balanceSlotNum = pathSlot.getAvailBalanceSlotNum();
+        for (int i = 0; i < balanceSlotNum; i++) {
+            Assert.assertEquals(10001L, pathSlot.takeBalanceSlot(10001L));
+        }
+        Assert.assertEquals(-1L, pathSlot.takeBalanceSlot(10001L));
+        Assert.assertTrue(pathSlot.getAvailPathsForBalance().isEmpty());
+
+        for (int i = 0; i < balanceSlotNum + 1; i++) {
+            pathSlot.freeBalanceSlot(10001L);
+        }
+        Assert.assertEquals(balanceSlotNum, pathSlot.getAvailBalanceSlotNum());
+    }
+
+    @Test
+    public void testConcurrentTakeSlot() throws Exception {
+        int slotNum = 10;
+        PathSlot pathSlot = new PathSlot(Lists.newArrayList(10001L), slotNum);
+        AtomicInteger taken = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(8);
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < 100; j++) {
+                        if (pathSlot.takeSlot(10001L) != -1) {
+                            taken.incrementAndGet();
+                        }
+                    }
+                } catch (SchedException e) {
+                    Assert.fail(e.getMessage());
+                } finally {
+                    latch.countDown();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        latch.await();
+        Assert.assertEquals(slotNum, taken.get());
+        Assert.assertEquals(0, pathSlot.peekSlot(10001L));
+    }
+}
@@ -0,0 +1,221 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.clone;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.CatalogTestUtil;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.ReplicaAllocation;
+import org.apache.doris.catalog.Tablet;
+import org.apache.doris.catalog.Tablet.TabletStatus;
+import org.apache.doris.catalog.TabletInvertedIndex;
+import org.apache.doris.catalog.TabletMeta;
+import org.apache.doris.clone.TabletScheduler.AddResult;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.datasource.InternalDataSource;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TStorageMedium;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.collect.Table;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class TabletCheckerTest {
+    @Mocked
+    private Catalog catalog;
+    @Mocked
+    private SystemInfoService infoService;
+    @Mocked
+    private TabletInvertedIndex invertedIndex;
+    @Mocked
+    private InternalDataSource internalDataSource;
+
+    private TabletChecker createChecker(boolean isMaster) {
+        return createChecker(isMaster, null);
+    }
+
+    private TabletChecker createChecker(boolean isMaster, TabletScheduler tabletScheduler) {
+        new Expectations() {
+            {
+                catalog.isMaster();
+                minTimes = 0;
+                result = isMaster;
+
+                Catalog.getCurrentInvertedIndex();
+                minTimes = 0;
+                result = invertedIndex;
+            }
+        };
+        return new TabletChecker(catalog, infoService, tabletScheduler, new TabletSchedulerStat());
+    }
+
+    @Test
+    public void testMarkDirty() {
+        TabletChecker checker = createChecker(true);
+        Assert.assertTrue(checker.isFullCheckRequested());
+
+        checker.markPartitionDirty(1, 2, 3);
+        checker.markPartitionDirty(1, 2, 4);
+        checker.markPartitionDirty(1, 2, 3);
+        // the whole table is dirty, partitions marked later are covered
+        checker.markTableDirty(1, 5);
+        checker.markPartitionDirty(1, 5, 6);
+
+        Table<Long, Long, Set<Long>> dirty = checker.pollDirtyPartitions();
+        Assert.assertEquals(2, dirty.size());
+        Assert.assertEquals(Sets.newHashSet(3L, 4L), dirty.get(1L, 2L));
+        Assert.assertTrue(dirty.get(1L, 5L).isEmpty());
+
+        // marks are cleared after being polled
+        Assert.assertTrue(checker.pollDirtyPartitions().isEmpty());
+    }
+
+    @Test
+    public void testMarkTabletAndBackendDirty() {
+        TabletChecker checker = createChecker(true);
+        new Expectations() {
+            {
+                invertedIndex.getTabletMeta(10L);
+                minTimes = 0;
+                result = new TabletMeta(1, 2, 3, 4, 0, TStorageMedium.HDD);
+
+                invertedIndex.getTabletMeta(11L);
+                minTimes = 0;
+                result = new TabletMeta(1, 2, 5, 6, 0, TStorageMedium.HDD);
+
+                invertedIndex.getTabletIdsByBackendId(100L);
+                minTimes = 0;
+                result = Lists.newArrayList(10L, 11L);
+            }
+        };
+
+        checker.markTabletDirty(10);
+        Assert.assertEquals(Sets.newHashSet(3L), checker.pollDirtyPartitions().get(1L, 2L));
+
+        checker.markBackendDirty(100);
+        Assert.assertEquals(Sets.newHashSet(3L, 5L), checker.pollDirtyPartitions().get(1L, 2L));
+    }
+
+    @Test
+    public void testNotMarkOnFollower() {
+        TabletChecker checker = createChecker(false);
+        checker.markPartitionDirty(1, 2, 3);
+        checker.markTableDirty(1, 5);
+        Assert.assertTrue(checker.pollDirtyPartitions().isEmpty());
+    }
+
+    // a checker in an incremental round, with the db of CatalogTestUtil whose tablets are all unhealthy
+    private TabletChecker createIncrementalChecker(AddResult addResult) {
+        new MockUp<TabletScheduler>() {
+            @Mock
+            public AddResult addTablet(TabletSchedCtx tablet, boolean force) {
+                return addResult;
+            }
+
+            @Mock
+            public boolean containsTablet(long tabletId) {
+                return false;
+            }
+        };
+        TabletScheduler tabletScheduler = new TabletScheduler(catalog, infoService, invertedIndex,
+                new TabletSchedulerStat(), "BeLoad");
+        TabletChecker checker = createChecker(true, tabletScheduler);
+        Database db = CatalogTestUtil.createSimpleDb(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1,
+                CatalogTestUtil.testPartitionId1, CatalogTestUtil.testIndexId1, CatalogTestUtil.testTabletId1,
+                CatalogTestUtil.testStartVersion);
+        new Expectations() {
+            {
+                catalog.getInternalDataSource();
+                minTimes = 0;
+                result = internalDataSource;
+
+                internalDataSource.getDbNullable(CatalogTestUtil.testDbId1);
+                minTimes = 0;
+                result = db;
+            }
+        };
+        new MockUp<Tablet>() {
+            @Mock
+            public Pair<TabletStatus, TabletSchedCtx.Priority> getHealthStatusWithPriority(
+                    SystemInfoService systemInfoService, String clusterName, long visibleVersion,
+                    ReplicaAllocation replicaAlloc, List<Long> aliveBeIdsInCluster) {
+                return Pair.create(TabletStatus.REPLICA_MISSING, TabletSchedCtx.Priority.NORMAL);
+            }
+
+            @Mock
+            public boolean readyToBeRepaired(TabletSchedCtx.Priority priority) {
+                return true;
+            }
+        };
+        // the first round after startup is a full check, skip it
+        Deencapsulation.setField(checker, "fullCheckRequested", false);
+        Deencapsulation.setField(checker, "lastFullCheckTime", System.currentTimeMillis());
+        Assert.assertTrue(Config.enable_incremental_tablet_check);
+        return checker;
+    }
+
+    @Test
+    public void testCheckDirtyPartitions() {
+        TabletChecker checker = createIncrementalChecker(AddResult.ADDED);
+        TabletSchedulerStat stat = Deencapsulation.getField(checker, "stat");
+
+        // nothing is dirty
+        checker.runAfterCatalogReady();
+        Assert.assertEquals(0, stat.counterTabletChecked.get());
+
+        // only the tablets of the dirty partition are checked
+        checker.markPartitionDirty(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1,
+                CatalogTestUtil.testPartitionId1);
+        checker.runAfterCatalogReady();
+        Assert.assertEquals(1, stat.counterTabletChecked.get());
+        Assert.assertEquals(1, stat.counterTabletAddToBeScheduled.get());
+        // the partition is unhealthy, so it is checked again in next round
+        Table<Long, Long, Set<Long>> dirty = checker.pollDirtyPartitions();
+        Assert.assertEquals(Sets.newHashSet(CatalogTestUtil.testPartitionId1),
+                dirty.get(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1));
+        Assert.assertFalse(checker.isFullCheckRequested());
+    }
+
+    @Test
+    public void testMarkAgainOnBreakOut() {
+        TabletChecker checker = createIncrementalChecker(AddResult.LIMIT_EXCEED);
+        checker.markPartitionDirty(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1,
+                CatalogTestUtil.testPartitionId1);
+        checker.markTableDirty(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId2);
+        checker.runAfterCatalogReady();
+
+        // the scheduler is full, so all the dirty partitions are marked again
+        Table<Long, Long, Set<Long>> dirty = checker.pollDirtyPartitions();
+        Assert.assertEquals(2, dirty.size());
+        Assert.assertEquals(Sets.newHashSet(CatalogTestUtil.testPartitionId1),
+                dirty.get(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1));
+        Assert.assertTrue(dirty.get(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId2).isEmpty());
+        Assert.assertFalse(checker.isFullCheckRequested());
+    }
+}
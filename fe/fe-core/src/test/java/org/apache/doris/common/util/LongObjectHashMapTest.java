@@ -0,0 +1,110 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void testBasic() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.put(1L, "a"));
+        Assert.assertNull(map.put(0L, "zero"));
+        Assert.assertNull(map.put(-1L, "minus"));
+        Assert.assertEquals("a", map.put(1L, "b"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("b", map.get(1L));
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals("minus", map.get(-1L));
+        Assert.assertNull(map.get(2L));
+        Assert.assertEquals("c", map.getOrDefault(2L, "c"));
+        Assert.assertEquals("b", map.putIfAbsent(1L, "c"));
+        Assert.assertTrue(map.containsKey(0L));
+
+        long[] keys = map.keys();
+        Arrays.sort(keys);
+        Assert.assertArrayEquals(new long[] {-1L, 0L, 1L}, keys);
+        Assert.assertEquals(3, map.values().size());
+
+        Assert.assertEquals("zero", map.remove(0L));
+        Assert.assertFalse(map.containsKey(0L));
+        Assert.assertNull(map.remove(0L));
+        Assert.assertEquals("b", map.remove(1L));
+        Assert.assertNull(map.remove(1L));
+        Assert.assertEquals(1, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(-1L));
+    }
+
+    @Test
+    public void testCompareWithHashMap() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        Map<Long, Long> expected = Maps.newHashMap();
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            // use a small key range so that there are lots of collisions and removals
+            long key = random.nextInt(5000) - 100;
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (long key = -100; key < 4900; key++) {
+            Assert.assertEquals(expected.get(key), map.get(key));
+        }
+        Map<Long, Long> visited = Maps.newHashMap();
+        map.forEach(visited::put);
+        Assert.assertEquals(expected, visited);
+    }
+
+    @Test
+    public void testLongLongHashMap() {
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = Maps.newHashMap();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                expected.put(key, (long) i);
+                map.put(key, i);
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 3000; key++) {
+            Assert.assertEquals(expected.getOrDefault(key, -1L).longValue(), map.get(key, -1L));
+            Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        Map<Long, Long> visited = Maps.newHashMap();
+        map.forEach(visited::put);
+        Assert.assertEquals(expected, visited);
+    }
+}
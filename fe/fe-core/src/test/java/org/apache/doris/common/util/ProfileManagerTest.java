@@ -0,0 +1,61 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ProfileManagerTest {
+
+    private static RuntimeProfile createProfile(String queryId) {
+        RuntimeProfile profile = new RuntimeProfile("Query");
+        RuntimeProfile summary = new RuntimeProfile("Summary");
+        summary.addInfoString(ProfileManager.QUERY_ID, queryId);
+        summary.addInfoString(ProfileManager.QUERY_TYPE, "Query");
+        summary.addInfoString(ProfileManager.SQL_STATEMENT, "select " + queryId);
+        profile.addChild(summary);
+        return profile;
+    }
+
+    @Test
+    public void testPushProfile() {
+        ProfileManager manager = ProfileManager.getInstance();
+        RuntimeProfile profile = createProfile("profile-test-0");
+        manager.pushProfile(profile);
+        Assert.assertEquals(profile.toString(), manager.getProfile("profile-test-0"));
+        Assert.assertNull(manager.getProfile("profile-test-not-exist"));
+
+        // update the profile of the same query, it's serialized when pushed so the change is seen after pushed again
+        profile.getChildList().get(0).first.addInfoString(ProfileManager.QUERY_STATE, "EOF");
+        Assert.assertNotEquals(profile.toString(), manager.getProfile("profile-test-0"));
+        manager.pushProfile(profile);
+        Assert.assertEquals(profile.toString(), manager.getProfile("profile-test-0"));
+
+        for (int i = 1; i <= 200; i++) {
+            manager.pushProfile(createProfile("profile-test-" + i));
+        }
+        List<List<String>> queries = manager.getQueryWithType(ProfileManager.ProfileType.QUERY);
+        Assert.assertEquals(100, queries.size());
+        // the latest one is the first
+        Assert.assertEquals("profile-test-200", queries.get(0).get(0));
+        Assert.assertEquals("profile-test-101", queries.get(99).get(0));
+        Assert.assertNull(manager.getProfile("profile-test-0"));
+    }
+}
@@ -173,4 +173,31 @@ public class RuntimeProfileTest {
         profile.computeTimeInProfile();
         profile.prettyPrint(builder, "");
     }
+
+    @Test
+    public void testToThrift() {
+        RuntimeProfile profile = new RuntimeProfile("ROOT");
+        profile.getCounterTotalTime().setValue(3000000000L);
+        profile.addInfoString("key", "value");
+        profile.addInfoString("nullKey", null);
+        RuntimeProfile child = new RuntimeProfile("A");
+        child.getCounterTotalTime().setValue(1000000000L);
+        child.addCounter("counterA1", TUnit.UNIT, "").setValue(1);
+        child.addCounter("counterA1Son", TUnit.BYTES, "counterA1").setValue(1234567L);
+        profile.addChild(child);
+        RuntimeProfile otherChild = new RuntimeProfile("B");
+        otherChild.addInfoString("BInfo2", "BValue2");
+        otherChild.addInfoString("BInfo1", "BValue1");
+        profile.addChild(otherChild);
+        profile.computeTimeInProfile();
+
+        // the profile rebuilt from thrift is the same as the original one
+        TRuntimeProfileTree tprofileTree = profile.toThrift();
+        Assert.assertEquals(3, tprofileTree.getNodesSize());
+        RuntimeProfile rebuilt = new RuntimeProfile(tprofileTree.getNodes().get(0).getName());
+        rebuilt.update(tprofileTree);
+        Assert.assertEquals(profile.toString(), rebuilt.toString());
+        Assert.assertEquals(child.getLocalTimePercent(),
+                rebuilt.getChildMap().get("A").getLocalTimePercent(), 0.001);
+    }
 }
@@ -0,0 +1,83 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.datasource;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Column;
+import org.apache.doris.catalog.PrimitiveType;
+import org.apache.doris.catalog.ScalarType;
+import org.apache.doris.datasource.MetaObjCache.HivePartitionValues;
+import org.apache.doris.planner.ColumnBound;
+import org.apache.doris.planner.ColumnRange;
+import org.apache.doris.planner.ListPartitionPrunerV2;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MetaObjCacheTest {
+
+    @Test
+    public void testPartitionValues() throws Exception {
+        List<Column> partitionColumns = Lists.newArrayList(
+                new Column("dt", ScalarType.createType(PrimitiveType.INT)),
+                new Column("city", ScalarType.createVarcharType(64)));
+        List<String> partitionNames = Lists.newArrayList(
+                "dt=20220101/city=beijing",
+                "dt=20220102/city=shang%2Fhai",
+                "dt=__HIVE_DEFAULT_PARTITION__/city=beijing",
+                "dt=abc/city=beijing");
+        HivePartitionValues partitionValues = new HivePartitionValues(partitionColumns, partitionNames);
+
+        Assert.assertEquals(4, partitionValues.getPartitionNum());
+        Assert.assertEquals(Lists.newArrayList("20220102", "shang/hai"), partitionValues.getValues(1));
+        Assert.assertEquals(2, partitionValues.getIdToPartitionItem().size());
+        // null value and the value which can not be converted to the column type can not be pruned
+        Assert.assertEquals(Sets.newHashSet(2L, 3L), partitionValues.getUnprunableIds());
+
+        // dt = 20220102
+        Map<String, ColumnRange> columnNameToRange = Maps.newHashMap();
+        ColumnRange dtRange = ColumnRange.create();
+        ColumnBound bound = ColumnBound.of(new IntLiteral(20220102, ScalarType.createType(PrimitiveType.INT)));
+        dtRange.intersect(Lists.newArrayList(Range.closed(bound, bound)));
+        columnNameToRange.put("dt", dtRange);
+        ListPartitionPrunerV2 pruner = new ListPartitionPrunerV2(partitionValues.getIdToPartitionItem(),
+                partitionValues.getPartitionColumns(), columnNameToRange);
+        Set<Long> partitionIds = Sets.newHashSet(pruner.prune());
+        Assert.assertEquals(Sets.newHashSet(1L), partitionIds);
+
+        // city = 'beijing'
+        columnNameToRange.clear();
+        ColumnRange cityRange = ColumnRange.create();
+        bound = ColumnBound.of(new StringLiteral("beijing"));
+        cityRange.intersect(Lists.newArrayList(Range.closed(bound, bound)));
+        columnNameToRange.put("city", cityRange);
+        pruner = new ListPartitionPrunerV2(partitionValues.getIdToPartitionItem(),
+                partitionValues.getPartitionColumns(), columnNameToRange);
+        partitionIds = Sets.newHashSet(pruner.prune());
+        Assert.assertEquals(Sets.newHashSet(0L), partitionIds);
+    }
+}
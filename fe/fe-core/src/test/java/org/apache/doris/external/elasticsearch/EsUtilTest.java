@@ -24,6 +24,8 @@ import org.apache.doris.common.ExceptionChecker;
 
 import mockit.Expectations;
 import mockit.Injectable;
+import mockit.Mock;
+import mockit.MockUp;
 import org.json.simple.JSONObject;
 import org.json.simple.JSONValue;
 import org.junit.Assert;
@@ -32,6 +34,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test for es util.
@@ -124,6 +127,59 @@ public class EsUtilTest extends EsTestCase {
 
     }
 
+    @Test
+    public void testUnchangedMappingNotResolved(@Injectable EsRestClient client) throws Exception {
+        EsTable table = fakeEsTable("fake", "test", "doc", columns);
+        SearchContext searchContext = new SearchContext(table);
+        String jsonMapping = loadJsonFromFile("data/es/test_index_mapping.json");
+        new Expectations(client) {
+            {
+                client.getMapping(anyString);
+                minTimes = 0;
+                returns(jsonMapping, jsonMapping, jsonMapping + "\n");
+            }
+        };
+        MappingPhase mappingPhase = new MappingPhase(client);
+        mappingPhase.execute(searchContext);
+        mappingPhase.postProcess(searchContext);
+        Assert.assertEquals("k3.keyword", searchContext.fetchFieldsContext().get("k3"));
+
+        // the same mapping is not resolved again
+        searchContext.fetchFieldsContext().clear();
+        mappingPhase.execute(searchContext);
+        mappingPhase.postProcess(searchContext);
+        Assert.assertTrue(searchContext.fetchFieldsContext().isEmpty());
+
+        // the changed mapping is resolved
+        mappingPhase.execute(searchContext);
+        mappingPhase.postProcess(searchContext);
+        Assert.assertEquals("k3.keyword", searchContext.fetchFieldsContext().get("k3"));
+    }
+
+    @Test
+    public void testFailedSyncKeepsMetaData() throws Exception {
+        EsTable table = fakeEsTable("fake", "test", "doc", columns);
+        EsTablePartitions partitions = new EsTablePartitions();
+        table.setEsTablePartitions(partitions);
+        AtomicInteger syncNum = new AtomicInteger(0);
+        new MockUp<EsMetaStateTracker>() {
+            @Mock
+            public void run() throws DorisEsException {
+                syncNum.incrementAndGet();
+                throw new DorisEsException("es is unavailable");
+            }
+        };
+        table.syncTableMetaDataIfStale(60 * 1000L);
+        Assert.assertEquals(1, syncNum.get());
+        Assert.assertSame(partitions, table.getEsTablePartitions());
+        Assert.assertNotNull(table.getLastMetaDataSyncException());
+        // the failed sync is not retried until the meta data is stale again
+        table.syncTableMetaDataIfStale(60 * 1000L);
+        Assert.assertEquals(1, syncNum.get());
+        table.syncTableMetaDataIfStale(-1L);
+        Assert.assertEquals(2, syncNum.get());
+    }
+
     @Test
     public void testMultTextFields() throws Exception {
         EsTable esTableAfter7X = fakeEsTable("fake", "test", "_doc", columns);
@@ -0,0 +1,56 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.journal;
+
+import org.apache.doris.common.io.Text;
+import org.apache.doris.persist.OperationType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+public class JournalBatchTest {
+    @Test
+    public void testAddJournal() throws IOException {
+        JournalBatch batch = new JournalBatch();
+        Assert.assertTrue(batch.isEmpty());
+
+        batch.addJournal(OperationType.OP_SAVE_NEXTID, new Text("1000"));
+        batch.addJournal(OperationType.OP_SAVE_NEXTID, new Text("2000"));
+        Assert.assertEquals(2, batch.size());
+
+        long totalSize = 0;
+        String[] expected = {"1000", "2000"};
+        for (int i = 0; i < batch.size(); i++) {
+            JournalBatch.Entity entity = batch.getJournalEntities().get(i);
+            Assert.assertEquals(OperationType.OP_SAVE_NEXTID, entity.getOpCode());
+            totalSize += entity.getLength();
+
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(entity.getData(), 0, entity.getLength()));
+            JournalEntity journal = new JournalEntity();
+            journal.readFields(in);
+            Assert.assertEquals(OperationType.OP_SAVE_NEXTID, journal.getOpCode());
+            Assert.assertEquals(expected[i], journal.getData().toString());
+        }
+        Assert.assertEquals(totalSize, batch.getTotalSize());
+    }
+}
@@ -0,0 +1,194 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.journal.bdbje;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.io.Text;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.journal.JournalBatch;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.persist.OperationType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public class BDBJEJournalTest { // CHECKSTYLE IGNORE THIS LINE: BDBJE should use uppercase
+    @Mocked
+    private Catalog catalog;
+
+    private File bdbDir;
+    private BDBJEJournal journal;
+
+    @Before
+    public void setUp() throws Exception {
+        bdbDir = new File("fe/mocked/BDBJEJournalTest/" + UUID.randomUUID().toString());
+        Assert.assertTrue(bdbDir.mkdirs());
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Pair<String, Integer> selfNode = Pair.create("127.0.0.1", port);
+        new Expectations() {
+            {
+                Catalog.getServingCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                Catalog.getCurrentCatalog();
+                minTimes = 0;
+                result = catalog;
+
+                catalog.getBdbDir();
+                minTimes = 0;
+                result = bdbDir.getAbsolutePath();
+
+                catalog.getSelfNode();
+                minTimes = 0;
+                result = selfNode;
+
+                catalog.getHelperNode();
+                minTimes = 0;
+                result = selfNode;
+
+                catalog.isElectable();
+                minTimes = 0;
+                result = true;
+
+                catalog.getReplayedJournalId();
+                minTimes = 0;
+                result = 0L;
+            }
+        };
+
+        journal = new BDBJEJournal("127.0.0.1_" + port);
+        journal.open();
+        // a single node group elects itself as master
+        BDBEnvironment bdbEnvironment = Deencapsulation.getField(journal, "bdbEnvironment");
+        long deadline = System.currentTimeMillis() + 60000;
+        while (!bdbEnvironment.getReplicatedEnvironment().getState().isMaster()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue(bdbEnvironment.getReplicatedEnvironment().getState().isMaster());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        FileUtils.deleteQuietly(bdbDir);
+    }
+
+    private String readData(long journalId) {
+        JournalEntity entity = journal.read(journalId);
+        Assert.assertNotNull(entity);
+        Assert.assertEquals(OperationType.OP_SAVE_NEXTID, entity.getOpCode());
+        return entity.getData().toString();
+    }
+
+    @Test
+    public void testWriteBatch() throws Exception {
+        Assert.assertEquals(1, journal.write(new JournalBatch()));
+        Assert.assertEquals(0, journal.getMaxJournalId());
+
+        journal.write(OperationType.OP_SAVE_NEXTID, new Text("single"));
+        JournalBatch batch = new JournalBatch();
+        for (int i = 0; i < 3; i++) {
+            batch.addJournal(OperationType.OP_SAVE_NEXTID, new Text("batch-" + i));
+        }
+        Assert.assertEquals(2, journal.write(batch));
+        journal.write(OperationType.OP_SAVE_NEXTID, new Text("after"));
+
+        Assert.assertEquals(5, journal.getMaxJournalId());
+        Assert.assertEquals("single", readData(1));
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("batch-" + i, readData(2 + i));
+        }
+        Assert.assertEquals("after", readData(5));
+    }
+
+    @Test
+    public void testConcurrentWrite() throws Exception {
+        int threadNum = 4;
+        int roundNum = 10;
+        int batchSize = 3;
+        // the data of the first journal of a batch -> the id of the first journal
+        Map<String, Long> batchFirstIds = Maps.newConcurrentMap();
+        List<Thread> threads = Lists.newArrayList();
+        List<Throwable> errors = Lists.newCopyOnWriteArrayList();
+        for (int t = 0; t < threadNum; t++) {
+            int threadId = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int r = 0; r < roundNum; r++) {
+                        journal.write(OperationType.OP_SAVE_NEXTID, new Text(threadId + "-" + r));
+                        JournalBatch batch = new JournalBatch();
+                        for (int i = 0; i < batchSize; i++) {
+                            batch.addJournal(OperationType.OP_SAVE_NEXTID, new Text(threadId + "-" + r + "-" + i));
+                        }
+                        batchFirstIds.put(threadId + "-" + r + "-0", journal.write(batch));
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertTrue(errors.isEmpty());
+
+        // the ids of all journals are continuous
+        long journalNum = threadNum * roundNum * (batchSize + 1);
+        Assert.assertEquals(journalNum, journal.getMaxJournalId());
+        Set<String> allData = Sets.newHashSet();
+        for (long id = 1; id <= journalNum; id++) {
+            Assert.assertTrue(allData.add(readData(id)));
+        }
+        Assert.assertEquals(journalNum, allData.size());
+
+        // the journals of a batch are not interleaved with others
+        Assert.assertEquals(threadNum * roundNum, batchFirstIds.size());
+        for (Map.Entry<String, Long> entry : batchFirstIds.entrySet()) {
+            String prefix = entry.getKey().substring(0, entry.getKey().length() - 1);
+            for (int i = 0; i < batchSize; i++) {
+                Assert.assertEquals(prefix + i, readData(entry.getValue() + i));
+            }
+        }
+    }
+}
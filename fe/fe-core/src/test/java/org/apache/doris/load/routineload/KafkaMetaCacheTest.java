@@ -0,0 +1,154 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.load.routineload;
+
+import org.apache.doris.common.LoadException;
+import org.apache.doris.common.Pair;
+import org.apache.doris.common.UserException;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.common.util.KafkaUtil;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KafkaMetaCacheTest {
+
+    @Test
+    public void testGetPartitions() throws Exception {
+        AtomicInteger rpcNum = new AtomicInteger(0);
+        new MockUp<KafkaUtil>() {
+            @Mock
+            public List<Integer> getAllKafkaPartitions(String brokerList, String topic,
+                    Map<String, String> convertedCustomProperties) throws UserException {
+                rpcNum.incrementAndGet();
+                return Lists.newArrayList(0, 1, 2);
+            }
+        };
+
+        KafkaMetaCache cache = KafkaMetaCache.getInstance();
+        Map<String, String> properties = Maps.newHashMap();
+        properties.put("group.id", "g1");
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2), cache.getPartitions("127.0.0.1:9092", "t1", properties));
+        // the jobs with the same source share the cached partitions
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2), cache.getPartitions("127.0.0.1:9092", "t1",
+                Maps.newHashMap(properties)));
+        Assert.assertEquals(1, rpcNum.get());
+
+        cache.getPartitions("127.0.0.1:9092", "t2", properties);
+        Assert.assertEquals(2, rpcNum.get());
+    }
+
+    @Test
+    public void testGetLatestOffsets() throws Exception {
+        List<List<Integer>> requests = Lists.newArrayList();
+        new MockUp<KafkaUtil>() {
+            @Mock
+            public List<Pair<Integer, Long>> getLatestOffsets(String brokerList, String topic,
+                    Map<String, String> convertedCustomProperties, List<Integer> partitionIds) throws LoadException {
+                synchronized (requests) {
+                    requests.add(Lists.newArrayList(partitionIds));
+                }
+                List<Pair<Integer, Long>> offsets = Lists.newArrayList();
+                for (Integer partitionId : partitionIds) {
+                    offsets.add(Pair.create(partitionId, 100L + partitionId));
+                }
+                return offsets;
+            }
+        };
+
+        KafkaMetaCache cache = KafkaMetaCache.getInstance();
+        Map<String, String> properties = Maps.newHashMap();
+        // not cached yet, it does not wait for the rpc
+        Map<Integer, Long> offsets = cache.getLatestOffsets("127.0.0.1:9092", "t3", properties,
+                Lists.newArrayList(0));
+        Assert.assertTrue(offsets.isEmpty() || offsets.get(0) == 100L);
+        waitForOffset(cache, "t3", 0);
+
+        // another job of the same source
+        cache.getLatestOffsets("127.0.0.1:9092", "t3", properties, Lists.newArrayList(1));
+        waitForOffset(cache, "t3", 1);
+        offsets = cache.getLatestOffsets("127.0.0.1:9092", "t3", properties, Lists.newArrayList(0, 1));
+        Assert.assertEquals(100L, (long) offsets.get(0));
+        Assert.assertEquals(101L, (long) offsets.get(1));
+
+        // the partitions of both jobs are got in one rpc
+        synchronized (requests) {
+            List<Integer> lastRequest = requests.get(requests.size() - 1);
+            Assert.assertTrue(lastRequest.contains(0));
+            Assert.assertTrue(lastRequest.contains(1));
+        }
+    }
+
+    @Test
+    public void testRefreshRejected() throws Exception {
+        new MockUp<KafkaUtil>() {
+            @Mock
+            public List<Pair<Integer, Long>> getLatestOffsets(String brokerList, String topic,
+                    Map<String, String> convertedCustomProperties, List<Integer> partitionIds) throws LoadException {
+                List<Pair<Integer, Long>> offsets = Lists.newArrayList();
+                for (Integer partitionId : partitionIds) {
+                    offsets.add(Pair.create(partitionId, 200L + partitionId));
+                }
+                return offsets;
+            }
+        };
+
+        KafkaMetaCache cache = KafkaMetaCache.getInstance();
+        ThreadPoolExecutor refreshPool = Deencapsulation.getField(cache, "refreshPool");
+        // a pool which rejects all tasks
+        ThreadPoolExecutor rejectingPool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        rejectingPool.shutdown();
+        Deencapsulation.setField(cache, "refreshPool", rejectingPool);
+        try {
+            // the rejected refresh neither blocks nor throws
+            Map<Integer, Long> offsets = cache.getLatestOffsets("127.0.0.1:9092", "t4", Maps.newHashMap(),
+                    Lists.newArrayList(0));
+            Assert.assertTrue(offsets.isEmpty());
+        } finally {
+            Deencapsulation.setField(cache, "refreshPool", refreshPool);
+        }
+        // the rejected refresh does not prevent the next one
+        waitForOffset(cache, "t4", 0);
+    }
+
+    private void waitForOffset(KafkaMetaCache cache, String topic, int partitionId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Map<Integer, Long> offsets = cache.getLatestOffsets("127.0.0.1:9092", topic, Maps.newHashMap(),
+                    Lists.newArrayList(partitionId));
+            if (offsets.containsKey(partitionId)) {
+                return;
+            }
+            Thread.sleep(50);
+            // the daemon is not started in test
+            Deencapsulation.invoke(cache, "runAfterCatalogReady");
+        }
+        Assert.fail("offset of partition " + partitionId + " is not refreshed");
+    }
+}
@@ -0,0 +1,177 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.master;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.master.ReportHandler.ReportTask;
+import org.apache.doris.thrift.TDisk;
+import org.apache.doris.thrift.TTablet;
+import org.apache.doris.thrift.TTaskType;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ReportHandlerTest {
+    private int threadNum;
+    // the backends whose reports are handled, in handling order
+    private List<Long> handledBackends = new CopyOnWriteArrayList<>();
+    // the report of backend 1 is blocked until 'release' is counted down
+    private CountDownLatch blocked = new CountDownLatch(1);
+    private CountDownLatch release = null;
+
+    @Before
+    public void setUp() {
+        threadNum = Config.report_handler_thread_num;
+        Config.report_handler_thread_num = 4;
+        new MockUp<ReportTask>() {
+            @Mock
+            protected void exec(Invocation invocation) throws InterruptedException {
+                ReportTask task = invocation.getInvokedInstance();
+                long beId = Deencapsulation.getField(task, "beId");
+                if (beId == 1L && release != null) {
+                    blocked.countDown();
+                    release.await();
+                }
+                handledBackends.add(beId);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.report_handler_thread_num = threadNum;
+    }
+
+    private static Map<TTaskType, Set<Long>> tasks(long signature) {
+        Map<TTaskType, Set<Long>> tasks = Maps.newHashMap();
+        tasks.put(TTaskType.CLONE, Sets.newHashSet(signature));
+        return tasks;
+    }
+
+    private static Map<String, TDisk> disks(String path) {
+        Map<String, TDisk> disks = Maps.newHashMap();
+        disks.put(path, new TDisk());
+        return disks;
+    }
+
+    private static Map<Long, TTablet> tablets(long tabletId) {
+        Map<Long, TTablet> tablets = Maps.newHashMap();
+        tablets.put(tabletId, new TTablet());
+        return tablets;
+    }
+
+    @Test
+    public void testMergeReports() {
+        ReportTask pending = new ReportTask(1L, tasks(1L), disks("/path1"), tablets(10L), 1L);
+
+        // a task report only replaces the pending tasks
+        ReportTask merged = pending.merge(new ReportTask(1L, tasks(2L), null, null, -1L));
+        Assert.assertEquals(tasks(2L), Deencapsulation.getField(merged, "tasks"));
+        Assert.assertEquals(disks("/path1").keySet(),
+                ((Map<String, TDisk>) Deencapsulation.getField(merged, "disks")).keySet());
+        Assert.assertEquals(tablets(10L).keySet(),
+                ((Map<Long, TTablet>) Deencapsulation.getField(merged, "tablets")).keySet());
+        Assert.assertEquals(1L, (long) Deencapsulation.getField(merged, "reportVersion"));
+
+        // the newer disks and tablets win, and the tablets come with their report version
+        merged = merged.merge(new ReportTask(1L, null, disks("/path2"), tablets(20L), 2L));
+        Assert.assertEquals(tasks(2L), Deencapsulation.getField(merged, "tasks"));
+        Assert.assertEquals(disks("/path2").keySet(),
+                ((Map<String, TDisk>) Deencapsulation.getField(merged, "disks")).keySet());
+        Assert.assertEquals(tablets(20L).keySet(),
+                ((Map<Long, TTablet>) Deencapsulation.getField(merged, "tablets")).keySet());
+        Assert.assertEquals(2L, (long) Deencapsulation.getField(merged, "reportVersion"));
+    }
+
+    @Test
+    public void testSameBackendSameQueue() throws Exception {
+        ReportHandler handler = new ReportHandler();
+        for (long beId = 0; beId < 10; beId++) {
+            Assert.assertSame(handler.getReportQueue(beId), handler.getReportQueue(beId));
+            Assert.assertSame(handler.getReportQueue(beId), handler.getReportQueue(beId + 4));
+        }
+
+        // the second report of the backend is merged into the pending one
+        handler.putToQueue(new ReportTask(1L, tasks(1L), null, null, -1L));
+        handler.putToQueue(new ReportTask(1L, null, null, tablets(10L), 1L));
+        BlockingQueue<Long> queue = handler.getReportQueue(1L);
+        Assert.assertEquals(1, queue.size());
+        ReportTask pending = handler.getPendingReport(1L);
+        Assert.assertEquals(tasks(1L), Deencapsulation.getField(pending, "tasks"));
+        Assert.assertEquals(1L, (long) Deencapsulation.getField(pending, "reportVersion"));
+
+        handler.handleOneReport(queue);
+        Assert.assertEquals(1, handledBackends.size());
+        Assert.assertNull(handler.getPendingReport(1L));
+
+        // a report received after the pending one is taken is queued again
+        handler.putToQueue(new ReportTask(1L, tasks(2L), null, null, -1L));
+        Assert.assertEquals(1, queue.size());
+        Assert.assertNotNull(handler.getPendingReport(1L));
+    }
+
+    @Test
+    public void testDifferentBackendsIndependent() throws Exception {
+        ReportHandler handler = new ReportHandler();
+        Assert.assertNotSame(handler.getReportQueue(1L), handler.getReportQueue(2L));
+
+        // the report of backend 1 takes a long time
+        release = new CountDownLatch(1);
+        handler.putToQueue(new ReportTask(1L, tasks(1L), null, null, -1L));
+        Thread slowThread = new Thread(() -> {
+            try {
+                handler.handleOneReport(handler.getReportQueue(1L));
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        slowThread.start();
+        Assert.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        // backend 2 is handled while the report of backend 1 is still running
+        handler.putToQueue(new ReportTask(2L, tasks(2L), null, null, -1L));
+        handler.handleOneReport(handler.getReportQueue(2L));
+        Assert.assertEquals(Sets.newHashSet(2L), Sets.newHashSet(handledBackends));
+
+        // the new report of backend 1 waits for the running one
+        handler.putToQueue(new ReportTask(1L, tasks(3L), null, null, -1L));
+        Assert.assertNotNull(handler.getPendingReport(1L));
+
+        release.countDown();
+        slowThread.join();
+        Assert.assertEquals(2, handledBackends.size());
+        Assert.assertEquals(2L, (long) handledBackends.get(0));
+        Assert.assertEquals(1L, (long) handledBackends.get(1));
+    }
+}
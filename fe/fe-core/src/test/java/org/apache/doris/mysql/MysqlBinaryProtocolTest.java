@@ -0,0 +1,151 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.mysql;
+
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LargeIntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class MysqlBinaryProtocolTest {
+
+    private static ByteBuffer toBuffer(MysqlSerializer serializer) {
+        return serializer.toByteBuffer();
+    }
+
+    @Test
+    public void testReadIntParam() throws AnalysisException {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt1(0xFF);
+        serializer.writeInt1(0xFF);
+        serializer.writeInt4(-5);
+        serializer.writeInt8(-1L);
+        ByteBuffer buffer = toBuffer(serializer);
+
+        int tiny = MysqlColType.MYSQL_TYPE_TINY.getCode();
+        LiteralExpr value = MysqlBinaryProtocol.readParam(buffer, tiny);
+        Assert.assertEquals(-1, value.getLongValue());
+        value = MysqlBinaryProtocol.readParam(buffer, tiny | MysqlBinaryProtocol.UNSIGNED_FLAG);
+        Assert.assertEquals(255, value.getLongValue());
+        value = MysqlBinaryProtocol.readParam(buffer, MysqlColType.MYSQL_TYPE_LONG.getCode());
+        Assert.assertTrue(value instanceof IntLiteral);
+        Assert.assertEquals(-5, value.getLongValue());
+        value = MysqlBinaryProtocol.readParam(buffer,
+                MysqlColType.MYSQL_TYPE_LONGLONG.getCode() | MysqlBinaryProtocol.UNSIGNED_FLAG);
+        Assert.assertTrue(value instanceof LargeIntLiteral);
+        Assert.assertEquals("18446744073709551615", value.getStringValue());
+        Assert.assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void testReadOtherParam() throws AnalysisException {
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        serializer.writeInt8(Double.doubleToLongBits(1.5));
+        serializer.writeInt1(7);
+        serializer.writeInt2(2022);
+        serializer.writeInt1(3);
+        serializer.writeInt1(4);
+        serializer.writeInt1(5);
+        serializer.writeInt1(6);
+        serializer.writeInt1(7);
+        serializer.writeInt1(4);
+        serializer.writeInt2(2022);
+        serializer.writeInt1(12);
+        serializer.writeInt1(31);
+        serializer.writeLenEncodedString("it's");
+        serializer.writeLenEncodedString("12.30");
+        ByteBuffer buffer = toBuffer(serializer);
+
+        LiteralExpr value = MysqlBinaryProtocol.readParam(buffer, MysqlColType.MYSQL_TYPE_DOUBLE.getCode());
+        Assert.assertTrue(value instanceof FloatLiteral);
+        Assert.assertEquals(1.5, value.getDoubleValue(), 0);
+        value = MysqlBinaryProtocol.readParam(buffer, MysqlColType.MYSQL_TYPE_DATETIME.getCode());
+        Assert.assertTrue(value instanceof DateLiteral);
+        Assert.assertEquals(Type.DATETIME, value.getType());
+        Assert.assertEquals("2022-03-04 05:06:07", value.getStringValue());
+        value = MysqlBinaryProtocol.readParam(buffer, MysqlColType.MYSQL_TYPE_DATE.getCode());
+        Assert.assertEquals("2022-12-31", value.getStringValue());
+        value = MysqlBinaryProtocol.readParam(buffer, MysqlColType.MYSQL_TYPE_VARSTRING.getCode());
+        Assert.assertTrue(value instanceof StringLiteral);
+        Assert.assertEquals("it's", value.getStringValue());
+        value = MysqlBinaryProtocol.readParam(buffer, MysqlColType.MYSQL_TYPE_NEWDECIMAL.getCode());
+        Assert.assertEquals("12.30", value.getStringValue());
+        Assert.assertEquals(0, buffer.remaining());
+
+        value = MysqlBinaryProtocol.readParam("long data".getBytes(StandardCharsets.UTF_8),
+                MysqlColType.MYSQL_TYPE_BLOB.getCode());
+        Assert.assertEquals("long data", value.getStringValue());
+    }
+
+    @Test(expected = AnalysisException.class)
+    public void testReadUnknownParam() throws AnalysisException {
+        MysqlBinaryProtocol.readParam(ByteBuffer.allocate(8), 100);
+    }
+
+    @Test
+    public void testWriteBinaryRow() {
+        MysqlSerializer text = MysqlSerializer.newInstance();
+        text.writeLenEncodedString("-3");
+        text.writeNull();
+        text.writeLenEncodedString("1234567890123");
+        text.writeLenEncodedString("2.5");
+        text.writeLenEncodedString("2022-03-04 05:06:07");
+        text.writeLenEncodedString("2022-12-31");
+        text.writeLenEncodedString("abc");
+
+        MysqlSerializer binary = MysqlSerializer.newInstance();
+        MysqlBinaryProtocol.writeBinaryRow(text.toByteBuffer(), Lists.newArrayList(
+                MysqlColType.MYSQL_TYPE_SHORT, MysqlColType.MYSQL_TYPE_LONG, MysqlColType.MYSQL_TYPE_LONGLONG,
+                MysqlColType.MYSQL_TYPE_DOUBLE, MysqlColType.MYSQL_TYPE_DATETIME, MysqlColType.MYSQL_TYPE_DATE,
+                MysqlColType.MYSQL_TYPE_VARSTRING), binary);
+        ByteBuffer buffer = binary.toByteBuffer();
+
+        // header
+        Assert.assertEquals(0, MysqlProto.readInt1(buffer));
+        // null bitmap of 7 columns with offset 2: the 2nd column is null
+        Assert.assertEquals(1 << 3, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(0, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(-3, (short) MysqlProto.readInt2(buffer));
+        Assert.assertEquals(1234567890123L, MysqlProto.readInt8(buffer));
+        Assert.assertEquals(2.5, Double.longBitsToDouble(MysqlProto.readInt8(buffer)), 0);
+        Assert.assertEquals(7, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(2022, MysqlProto.readInt2(buffer));
+        Assert.assertEquals(3, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(4, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(5, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(6, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(7, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(4, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(2022, MysqlProto.readInt2(buffer));
+        Assert.assertEquals(12, MysqlProto.readInt1(buffer));
+        Assert.assertEquals(31, MysqlProto.readInt1(buffer));
+        Assert.assertEquals("abc", new String(MysqlProto.readLenEncodedString(buffer), StandardCharsets.UTF_8));
+        Assert.assertEquals(0, buffer.remaining());
+    }
+}
@@ -61,4 +61,12 @@ public class MysqlColTypeTest {
         Assert.assertEquals("NULL", type.toString());
     }
 
+    @Test
+    public void testFromCode() {
+        Assert.assertEquals(MysqlColType.MYSQL_TYPE_LONGLONG, MysqlColType.fromCode(8));
+        Assert.assertEquals(MysqlColType.MYSQL_TYPE_VARSTRING, MysqlColType.fromCode(253));
+        Assert.assertNull(MysqlColType.fromCode(100));
+        Assert.assertNull(MysqlColType.fromCode(-1));
+    }
+
 }
@@ -0,0 +1,70 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids;
+
+import org.apache.doris.nereids.analyzer.UnboundRelation;
+import org.apache.doris.nereids.memo.Memo;
+import org.apache.doris.nereids.operators.plans.logical.LogicalProject;
+import org.apache.doris.nereids.trees.expressions.SlotReference;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.Plans;
+import org.apache.doris.nereids.types.StringType;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OptimizerContextTest implements Plans {
+    private OptimizerContext createContext() {
+        LogicalProject project = new LogicalProject(
+                ImmutableList.of(new SlotReference("name", StringType.INSTANCE, true, ImmutableList.of("test"))));
+        Plan root = plan(project, plan(new UnboundRelation(Lists.newArrayList("test"))));
+        Memo memo = new Memo();
+        memo.initialize(root);
+        return new OptimizerContext(memo);
+    }
+
+    @Test
+    public void testNoBudget() {
+        OptimizerContext context = createContext();
+        Assertions.assertFalse(context.isExplorationBudgetExhausted());
+        context.setExplorationBudget(0, 0);
+        Assertions.assertFalse(context.isExplorationBudgetExhausted());
+    }
+
+    @Test
+    public void testMaxGroupExpressions() {
+        OptimizerContext context = createContext();
+        context.setExplorationBudget(3, 0);
+        Assertions.assertFalse(context.isExplorationBudgetExhausted());
+        context.setExplorationBudget(2, 0);
+        Assertions.assertTrue(context.isExplorationBudgetExhausted());
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        OptimizerContext context = createContext();
+        context.setExplorationBudget(0, 1);
+        Thread.sleep(10);
+        Assertions.assertTrue(context.isExplorationBudgetExhausted());
+        // exhausted until a new budget is set
+        context.setExplorationBudget(0, 0);
+        Assertions.assertFalse(context.isExplorationBudgetExhausted());
+    }
+}
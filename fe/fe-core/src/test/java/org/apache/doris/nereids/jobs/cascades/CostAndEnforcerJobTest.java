@@ -0,0 +1,186 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.cascades;
+
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.IdGenerator;
+import org.apache.doris.nereids.OptimizerContext;
+import org.apache.doris.nereids.PlannerContext;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.memo.GroupExpression;
+import org.apache.doris.nereids.memo.GroupId;
+import org.apache.doris.nereids.memo.Memo;
+import org.apache.doris.nereids.operators.plans.JoinType;
+import org.apache.doris.nereids.operators.plans.physical.PhysicalHashJoin;
+import org.apache.doris.nereids.operators.plans.physical.PhysicalOlapScan;
+import org.apache.doris.nereids.operators.plans.physical.PhysicalProject;
+import org.apache.doris.nereids.properties.LogicalProperties;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+
+public class CostAndEnforcerJobTest {
+    private final PhysicalProperties properties = new PhysicalProperties();
+    private PlannerContext context;
+    private Group left;
+    private Group right;
+    private Group root;
+    private GroupExpression join;
+
+    @BeforeEach
+    public void setUp() {
+        IdGenerator<GroupId> idGenerator = GroupId.createGenerator();
+        context = new PlannerContext(new OptimizerContext(new Memo()), null, properties);
+        left = new Group(idGenerator.getNextId(), new GroupExpression(new PhysicalProject(Lists.newArrayList())),
+                null);
+        right = new Group(idGenerator.getNextId(), new GroupExpression(new PhysicalProject(Lists.newArrayList())),
+                null);
+        join = new GroupExpression(new PhysicalHashJoin(JoinType.INNER_JOIN, Optional.empty()),
+                Lists.newArrayList(left, right));
+        root = new Group(idGenerator.getNextId(), join, null);
+    }
+
+    @Test
+    public void testCostWithinUpperBound() {
+        left.updateLowestCostPlan(properties, 3, left.getPhysicalExpressions().get(0));
+        right.updateLowestCostPlan(properties, 4, right.getPhysicalExpressions().get(0));
+        context.setCostUpperBound(20);
+        new CostAndEnforcerJob(join, context).execute();
+
+        // the join itself costs 3: both children output 1 row, and the right one is built
+        Assertions.assertEquals(10, root.getLowestCostPlan(properties).get().first, 0.001);
+        Assertions.assertSame(join, root.getLowestCostPlan(properties).get().second);
+        // the other plans of root group are bounded by the best one
+        Assertions.assertEquals(10, context.getCostUpperBound(), 0.001);
+    }
+
+    @Test
+    public void testPruneByChildrenCost() {
+        left.updateLowestCostPlan(properties, 3, left.getPhysicalExpressions().get(0));
+        right.updateLowestCostPlan(properties, 4, right.getPhysicalExpressions().get(0));
+        context.setCostUpperBound(8);
+        new CostAndEnforcerJob(join, context).execute();
+
+        Assertions.assertFalse(root.getLowestCostPlan(properties).isPresent());
+        Assertions.assertEquals(8, context.getCostUpperBound(), 0.001);
+    }
+
+    @Test
+    public void testPruneBySelfCost() {
+        context.setCostUpperBound(2);
+        new CostAndEnforcerJob(join, context).execute();
+
+        // no child is optimized, since the join itself costs 3
+        Assertions.assertTrue(context.getOptimizerContext().getJobPool().isEmpty());
+        Assertions.assertFalse(root.getLowestCostPlan(properties).isPresent());
+    }
+
+    @Test
+    public void testPruneByChildLowerBound() {
+        left.updateLowestCostPlan(properties, 3, left.getPhysicalExpressions().get(0));
+        right.setCostLowerBound(4);
+        context.setCostUpperBound(9);
+        new CostAndEnforcerJob(join, context).execute();
+
+        // the right child is not optimized, since it costs at least 4 but only 3 is left
+        Assertions.assertTrue(context.getOptimizerContext().getJobPool().isEmpty());
+        Assertions.assertFalse(root.getLowestCostPlan(properties).isPresent());
+    }
+
+    @Test
+    public void testOptimizeChildWithCostLeft() {
+        left.updateLowestCostPlan(properties, 3, left.getPhysicalExpressions().get(0));
+        context.setCostUpperBound(10);
+        CostAndEnforcerJob job = new CostAndEnforcerJob(join, context);
+        job.execute();
+
+        // the right child is optimized within the cost left, then the job continues
+        Job optimizeRight = context.getOptimizerContext().getJobPool().pop();
+        Assertions.assertTrue(optimizeRight instanceof OptimizeGroupJob);
+        Assertions.assertSame(job, context.getOptimizerContext().getJobPool().pop());
+
+        right.updateLowestCostPlan(properties, 2, right.getPhysicalExpressions().get(0));
+        job.execute();
+        Assertions.assertEquals(8, root.getLowestCostPlan(properties).get().first, 0.001);
+    }
+
+    @Test
+    public void testPruneMoreExpensiveAlternative() {
+        IdGenerator<GroupId> idGenerator = GroupId.createGenerator();
+        Group big = createScanGroup(idGenerator.getNextId(), 1000);
+        Group small = createScanGroup(idGenerator.getNextId(), 10);
+        GroupExpression bigProbe = new GroupExpression(new PhysicalHashJoin(JoinType.INNER_JOIN, Optional.empty()),
+                Lists.newArrayList(big, small));
+        GroupExpression smallProbe = new GroupExpression(new PhysicalHashJoin(JoinType.INNER_JOIN, Optional.empty()),
+                Lists.newArrayList(small, big));
+        Group joinGroup = new Group(idGenerator.getNextId(), bigProbe, null);
+        joinGroup.addGroupExpression(smallProbe);
+
+        // building the small table costs 1020, and 2030 with the scans
+        new CostAndEnforcerJob(bigProbe, context).execute();
+        Assertions.assertEquals(2030, context.getCostUpperBound(), 0.001);
+        // building the big table costs 2010, which exceeds the bound with the scans
+        new CostAndEnforcerJob(smallProbe, context).execute();
+
+        Assertions.assertSame(bigProbe, joinGroup.getLowestCostPlan(properties).get().second);
+        Assertions.assertEquals(2030, joinGroup.getLowestCostPlan(properties).get().first, 0.001);
+        Assertions.assertFalse(smallProbe.getLowestCostTable().containsKey(properties));
+        Assertions.assertTrue(context.getOptimizerContext().getJobPool().isEmpty());
+    }
+
+    private Group createScanGroup(GroupId groupId, long rowCount) {
+        OlapTable table = new OlapTable() {
+            @Override
+            public long getRowCount() {
+                return rowCount;
+            }
+        };
+        GroupExpression scan = new GroupExpression(new PhysicalOlapScan(table, Lists.newArrayList("t")));
+        Group group = new Group(groupId, scan, new LogicalProperties(Collections::emptyList));
+        // a scan costs as many as the rows of its table
+        new CostAndEnforcerJob(scan, context.withCostUpperBound(Double.MAX_VALUE)).execute();
+        Assertions.assertEquals(rowCount, group.getLowestCostPlan(properties).get().first, 0.001);
+        return group;
+    }
+
+    @Test
+    public void testExtractPlanByRequiredProperties() {
+        IdGenerator<GroupId> idGenerator = GroupId.createGenerator();
+        GroupExpression scan = new GroupExpression(new PhysicalOlapScan(new OlapTable(), Lists.newArrayList("t")));
+        GroupExpression otherScan = new GroupExpression(
+                new PhysicalOlapScan(new OlapTable(), Lists.newArrayList("t")));
+        Group group = new Group(idGenerator.getNextId(), scan, new LogicalProperties(Collections::emptyList));
+        group.addGroupExpression(otherScan);
+        PhysicalProperties otherProperties = new PhysicalProperties();
+        scan.updateLowestCostTable(properties, Collections.emptyList(), 5);
+        group.updateLowestCostPlan(properties, 5, scan);
+        otherScan.updateLowestCostTable(otherProperties, Collections.emptyList(), 1);
+        group.updateLowestCostPlan(otherProperties, 1, otherScan);
+
+        // the cheaper plan meeting other properties is not chosen
+        Assertions.assertSame(scan.getOperator(), group.extractPlan(properties).getOperator());
+        Assertions.assertSame(otherScan.getOperator(), group.extractPlan(otherProperties).getOperator());
+    }
+}
@@ -0,0 +1,202 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.nereids.jobs.scheduler;
+
+import org.apache.doris.nereids.OptimizerContext;
+import org.apache.doris.nereids.PlannerContext;
+import org.apache.doris.nereids.analyzer.UnboundRelation;
+import org.apache.doris.nereids.jobs.Job;
+import org.apache.doris.nereids.jobs.JobType;
+import org.apache.doris.nereids.jobs.cascades.FinishExploreGroupJob;
+import org.apache.doris.nereids.memo.Group;
+import org.apache.doris.nereids.memo.Memo;
+import org.apache.doris.nereids.properties.PhysicalProperties;
+import org.apache.doris.nereids.trees.plans.Plan;
+import org.apache.doris.nereids.trees.plans.Plans;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ParallelJobSchedulerTest implements Plans {
+    private static class RecordJob extends Job<Plan> {
+        private final String name;
+        private final boolean parallelizable;
+        private final List<RecordJob> children;
+        private final List<String> trace;
+        private CountDownLatch latch;
+        private boolean metOthers;
+
+        RecordJob(String name, boolean parallelizable, List<String> trace, RecordJob... children) {
+            super(JobType.OPTIMIZE_PLAN, null);
+            this.name = name;
+            this.parallelizable = parallelizable;
+            this.children = Arrays.asList(children);
+            this.trace = trace;
+        }
+
+        void setContext(PlannerContext context) {
+            this.context = context;
+            children.forEach(child -> child.setContext(context));
+        }
+
+        @Override
+        public boolean isParallelizable() {
+            return parallelizable;
+        }
+
+        @Override
+        public void execute() {
+            if (latch != null) {
+                latch.countDown();
+                try {
+                    metOthers = latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            trace.add(name);
+            children.forEach(this::pushTask);
+        }
+    }
+
+    // root pushes: cont, a, b, c
+    // a pushes: a-cont, a1, a2, b pushes: b1, c pushes: c-cont
+    private RecordJob buildJobs(List<String> trace) {
+        RecordJob a = new RecordJob("a", true, trace,
+                new RecordJob("a-cont", false, trace),
+                new RecordJob("a1", true, trace, new RecordJob("a1-1", false, trace)),
+                new RecordJob("a2", true, trace));
+        RecordJob b = new RecordJob("b", true, trace, new RecordJob("b1", false, trace));
+        RecordJob c = new RecordJob("c", true, trace, new RecordJob("c-cont", false, trace));
+        return new RecordJob("root", false, trace, new RecordJob("cont", false, trace), a, b, c);
+    }
+
+    private void execute(RecordJob root, JobScheduler scheduler) {
+        PlannerContext context = new PlannerContext(new OptimizerContext(new Memo(), scheduler), null,
+                new PhysicalProperties());
+        root.setContext(context);
+        context.getOptimizerContext().pushJob(root);
+        context.getOptimizerContext().getJobScheduler().executeJobPool(context);
+    }
+
+    @Test
+    public void testDeterministic() {
+        List<String> expected = Lists.newArrayList();
+        execute(buildJobs(expected), new SimpleJobScheduler());
+        Assertions.assertEquals(Lists.newArrayList("root", "c", "c-cont", "b", "b1", "a", "a2", "a1", "a1-1",
+                "a-cont", "cont"), expected);
+
+        List<String> trace = Lists.newArrayList();
+        execute(buildJobs(trace), new ParallelJobScheduler(true));
+        Assertions.assertEquals(expected, trace);
+    }
+
+    @Test
+    public void testParallel() {
+        List<String> trace = Collections.synchronizedList(Lists.newArrayList());
+        RecordJob root = buildJobs(trace);
+        // b and c can only finish if they are executed at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        RecordJob b = root.children.get(2);
+        RecordJob c = root.children.get(3);
+        b.latch = latch;
+        c.latch = latch;
+        execute(root, new ParallelJobScheduler());
+
+        Assertions.assertTrue(b.metOthers);
+        Assertions.assertTrue(c.metOthers);
+        Assertions.assertEquals(11, trace.size());
+        Assertions.assertEquals("root", trace.get(0));
+        // the job pushed before the parallel jobs runs after all of them
+        Assertions.assertEquals("cont", trace.get(trace.size() - 1));
+        Assertions.assertTrue(trace.indexOf("b1") > trace.indexOf("b"));
+        Assertions.assertTrue(trace.indexOf("c-cont") > trace.indexOf("c"));
+        Assertions.assertTrue(trace.indexOf("a1-1") > trace.indexOf("a1"));
+        Assertions.assertTrue(trace.indexOf("a-cont") > trace.indexOf("a1-1"));
+        Assertions.assertTrue(trace.indexOf("a-cont") > trace.indexOf("a2"));
+    }
+
+    private Group newGroup() {
+        Memo memo = new Memo();
+        memo.initialize(plan(new UnboundRelation(Lists.newArrayList("test"))));
+        return memo.getRoot();
+    }
+
+    @Test
+    public void testWaitExploringGroup() throws Exception {
+        Group group = newGroup();
+        CountDownLatch marked = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean(false);
+        Thread explorer = new Thread(() -> {
+            Assertions.assertTrue(group.markExplored());
+            marked.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.set(true);
+            group.finishExploring();
+        });
+        explorer.start();
+        Assertions.assertTrue(marked.await(10, TimeUnit.SECONDS));
+        // the group is not explored again, and it is waited for until the exploration finishes
+        Assertions.assertFalse(group.markExplored());
+        group.waitExplored();
+        Assertions.assertTrue(finished.get());
+        explorer.join();
+
+        // the exploration in current thread is not waited for
+        Group other = newGroup();
+        Assertions.assertTrue(other.markExplored());
+        other.waitExplored();
+    }
+
+    @Test
+    public void testAbortAfterFailure() throws Exception {
+        Group group = newGroup();
+        Assertions.assertTrue(group.markExplored());
+        List<String> trace = Lists.newArrayList();
+        RecordJob root = new RecordJob("root", false, trace) {
+            @Override
+            public void execute() {
+                pushTask(new FinishExploreGroupJob(group, context));
+                pushTask(new RecordJob("fail", false, trace) {
+                    @Override
+                    public void execute() {
+                        throw new RuntimeException("fail");
+                    }
+                });
+            }
+        };
+        Assertions.assertThrows(RuntimeException.class, () -> execute(root, new ParallelJobScheduler(true)));
+        // the exploration is finished by the aborted job, so the other threads do not wait forever
+        Thread waiter = new Thread(group::waitExplored);
+        waiter.start();
+        waiter.join(10000);
+        Assertions.assertFalse(waiter.isAlive());
+    }
+}
@@ -17,11 +17,32 @@
 
 package org.apache.doris.persist;
 
+import org.apache.doris.common.Config;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.journal.JournalBatch;
+import org.apache.doris.journal.JournalEntity;
+import org.apache.doris.journal.bdbje.BDBJEJournal;
+
+import com.google.common.collect.Lists;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EditLogTest {
     private String meta = "editLogTestDir/";
@@ -102,4 +123,159 @@ public class EditLogTest {
     public void test() {
 
     }
+
+    // start the threads which log the next id 0 .. threadNum - 1, and count the threads which return normally
+    private List<Thread> logConcurrently(EditLog editLog, int threadNum, AtomicInteger returned,
+            AtomicInteger failed) {
+        List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < threadNum; i++) {
+            long nextId = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    editLog.logSaveNextId(nextId);
+                    returned.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    failed.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        return threads;
+    }
+
+    // wait until the journals are queued while the group commit thread is writing
+    private void waitQueued(EditLog editLog, int num) throws InterruptedException {
+        Queue<?> journalQueue = Deencapsulation.getField(editLog, "journalQueue");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (journalQueue.size() < num && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(num, journalQueue.size());
+    }
+
+    private static String readData(JournalBatch.Entity entity) throws IOException {
+        JournalEntity journal = new JournalEntity();
+        journal.readFields(new DataInputStream(new ByteArrayInputStream(entity.getData(), 0, entity.getLength())));
+        return journal.getData().toString();
+    }
+
+    @Test
+    public void testGroupCommit(@Mocked BDBJEJournal journal) throws Exception {
+        boolean enableGroupCommit = Config.enable_edit_log_group_commit;
+        Config.enable_edit_log_group_commit = true;
+        try {
+            CountDownLatch writing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger firstBatchSize = new AtomicInteger(0);
+            List<Integer> batchSizes = Collections.synchronizedList(Lists.newArrayList());
+            List<String> written = Collections.synchronizedList(Lists.newArrayList());
+            new Expectations() {
+                {
+                    journal.write((JournalBatch) any);
+                    minTimes = 0;
+                    result = new Delegate<Long>() {
+                        long write(JournalBatch batch) throws Exception {
+                            // the first batch is blocked, so the other journals are queued
+                            firstBatchSize.compareAndSet(0, batch.size());
+                            writing.countDown();
+                            release.await();
+                            batchSizes.add(batch.size());
+                            for (JournalBatch.Entity entity : batch.getJournalEntities()) {
+                                written.add(readData(entity));
+                            }
+                            return written.size() - batch.size() + 1;
+                        }
+                    };
+                }
+            };
+
+            EditLog editLog = new EditLog("test");
+            int threadNum = 8;
+            AtomicInteger returned = new AtomicInteger(0);
+            AtomicInteger failed = new AtomicInteger(0);
+            List<Thread> threads = logConcurrently(editLog, threadNum, returned, failed);
+            Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+            waitQueued(editLog, threadNum - firstBatchSize.get());
+            // no one is released before its batch is written, even the ones of the batch being written
+            Assert.assertEquals(0, returned.get());
+
+            release.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            Assert.assertEquals(threadNum, returned.get());
+            Assert.assertEquals(0, failed.get());
+            // the queued journals are written in one batch
+            Assert.assertEquals(firstBatchSize.get(), (int) batchSizes.get(0));
+            if (firstBatchSize.get() < threadNum) {
+                Assert.assertEquals(Lists.newArrayList(firstBatchSize.get(), threadNum - firstBatchSize.get()),
+                        batchSizes);
+            }
+            List<String> expected = Lists.newArrayList();
+            for (int i = 0; i < threadNum; i++) {
+                expected.add(String.valueOf(i));
+            }
+            Collections.sort(written);
+            Assert.assertEquals(expected, written);
+        } finally {
+            Config.enable_edit_log_group_commit = enableGroupCommit;
+        }
+    }
+
+    @Test
+    public void testGroupCommitFailed(@Mocked BDBJEJournal journal) throws Exception {
+        boolean enableGroupCommit = Config.enable_edit_log_group_commit;
+        Config.enable_edit_log_group_commit = true;
+        AtomicInteger exitNum = new AtomicInteger(0);
+        new MockUp<System>() {
+            @Mock
+            public void exit(int status) {
+                exitNum.incrementAndGet();
+                throw new IllegalStateException("exit " + status);
+            }
+        };
+        try {
+            CountDownLatch writing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger firstBatchSize = new AtomicInteger(0);
+            AtomicInteger writeNum = new AtomicInteger(0);
+            new Expectations() {
+                {
+                    journal.write((JournalBatch) any);
+                    minTimes = 0;
+                    result = new Delegate<Long>() {
+                        long write(JournalBatch batch) throws Exception {
+                            writeNum.incrementAndGet();
+                            firstBatchSize.compareAndSet(0, batch.size());
+                            writing.countDown();
+                            release.await();
+                            throw new IOException("write failed");
+                        }
+                    };
+                }
+            };
+
+            EditLog editLog = new EditLog("test");
+            int threadNum = 8;
+            AtomicInteger returned = new AtomicInteger(0);
+            AtomicInteger failed = new AtomicInteger(0);
+            List<Thread> threads = logConcurrently(editLog, threadNum, returned, failed);
+            Assert.assertTrue(writing.await(10, TimeUnit.SECONDS));
+            waitQueued(editLog, threadNum - firstBatchSize.get());
+
+            release.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            // the failure reaches all waiters, including the ones which are not in the failed batch
+            Assert.assertEquals(0, returned.get());
+            Assert.assertEquals(threadNum, failed.get());
+            Assert.assertEquals(threadNum, exitNum.get());
+            // nothing is written after the failure
+            Assert.assertEquals(1, writeNum.get());
+        } finally {
+            Config.enable_edit_log_group_commit = enableGroupCommit;
+        }
+    }
 }
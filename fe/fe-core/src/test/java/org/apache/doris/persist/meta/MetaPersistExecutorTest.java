@@ -0,0 +1,81 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.meta.MetaContext;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class MetaPersistExecutorTest {
+
+    @Test
+    public void testDependencies() throws IOException {
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeConstants.meta_version);
+        metaContext.setThreadLocalInfo();
+        try (MetaPersistExecutor executor = new MetaPersistExecutor(4, 3, "test")) {
+            AtomicBoolean firstDone = new AtomicBoolean(false);
+            CompletableFuture<Long> first = executor.submit(() -> {
+                Thread.sleep(100);
+                firstDone.set(true);
+                return 1L;
+            }, Collections.emptyList());
+            List<CompletableFuture<?>> dependencies = Lists.newArrayList(first);
+            CompletableFuture<Long> second = executor.submit(() -> {
+                Assert.assertTrue(firstDone.get());
+                // the meta context of caller is visible in worker
+                return (long) MetaContext.get().getMetaVersion();
+            }, dependencies);
+            Assert.assertEquals(FeConstants.meta_version, (long) MetaPersistExecutor.get(second));
+            Assert.assertEquals(1L, (long) MetaPersistExecutor.get(first));
+        } finally {
+            MetaContext.remove();
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        try (MetaPersistExecutor executor = new MetaPersistExecutor(2, 2, "test")) {
+            CompletableFuture<Long> failed = executor.submit(() -> {
+                throw new IOException("read failed");
+            }, Collections.emptyList());
+            AtomicBoolean run = new AtomicBoolean(false);
+            List<CompletableFuture<?>> dependencies = Lists.newArrayList(failed);
+            CompletableFuture<Long> dependent = executor.submit(() -> {
+                run.set(true);
+                return 0L;
+            }, dependencies);
+            try {
+                MetaPersistExecutor.get(dependent);
+                Assert.fail();
+            } catch (IOException e) {
+                Assert.assertEquals("read failed", e.getMessage());
+            }
+            Assert.assertFalse(run.get());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.persist.meta;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.CatalogTestUtil;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.common.jmockit.Deencapsulation;
+import org.apache.doris.load.loadv2.MiniLoadJob;
+import org.apache.doris.meta.MetaContext;
+import org.apache.doris.persist.EditLog;
+import org.apache.doris.qe.VariableMgr;
+import org.apache.doris.system.Backend;
+import org.apache.doris.system.SystemInfoService;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.transaction.GlobalTransactionMgr;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionState.TxnSourceType;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import mockit.Mocked;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class MetaReaderTest {
+    @Mocked
+    private EditLog editLog;
+
+    private File imageDir;
+    private int loadParallelism;
+    private int saveParallelism;
+
+    @Before
+    public void setUp() {
+        imageDir = new File("fe/mocked/MetaReaderTest/" + UUID.randomUUID().toString());
+        Assert.assertTrue(imageDir.mkdirs());
+        loadParallelism = Config.image_load_parallelism;
+        saveParallelism = Config.image_save_parallelism;
+        // the serving catalog sets its own meta context when created, so create it before setting ours
+        Catalog.getServingCatalog();
+        MetaContext metaContext = new MetaContext();
+        metaContext.setMetaVersion(FeConstants.meta_version);
+        metaContext.setThreadLocalInfo();
+        // work on the checkpoint catalog, as the checkpoint thread does
+        Catalog.setCheckpointWorker(true);
+        VariableMgr.createDefaultSessionVariableForCkpt();
+    }
+
+    @After
+    public void tearDown() {
+        VariableMgr.destroyDefaultSessionVariableForCkpt();
+        Catalog.destroyCheckpoint();
+        Catalog.setCheckpointWorker(false);
+        MetaContext.remove();
+        Config.image_load_parallelism = loadParallelism;
+        Config.image_save_parallelism = saveParallelism;
+        FileUtils.deleteQuietly(imageDir);
+    }
+
+    // load the image into a new catalog, and save it again by one thread
+    private File reload(File image, int loadParallelism, int saveParallelism, String name) throws Exception {
+        Catalog.destroyCheckpoint();
+        Catalog catalog = Catalog.getCurrentCatalog();
+        Config.image_load_parallelism = loadParallelism;
+        MetaReader.read(image, catalog);
+
+        Database db = catalog.getInternalDataSource().getDbOrMetaException(CatalogTestUtil.testDb1);
+        OlapTable table = (OlapTable) db.getTableOrMetaException(CatalogTestUtil.testTable1);
+        Assert.assertNotNull(table.getPartition(CatalogTestUtil.testPartition1));
+        Assert.assertNotNull(Catalog.getCurrentSystemInfo().getBackend(CatalogTestUtil.testBackendId1));
+
+        Config.image_save_parallelism = saveParallelism;
+        File newImage = new File(imageDir, name);
+        catalog.saveImage(newImage, 0);
+        return newImage;
+    }
+
+    // create a catalog with some backends, the default cluster and a simple db
+    private Catalog createCatalog() {
+        Catalog catalog = Catalog.getCurrentCatalog();
+        catalog.setEditLog(editLog);
+        for (long backendId : new long[] {CatalogTestUtil.testBackendId1, CatalogTestUtil.testBackendId2,
+                CatalogTestUtil.testBackendId3}) {
+            Backend backend = CatalogTestUtil.createBackend(backendId, "host" + backendId, 123, 124, 125);
+            backend.setOwnerClusterName(SystemInfoService.DEFAULT_CLUSTER);
+            Catalog.getCurrentSystemInfo().addBackend(backend);
+        }
+        catalog.initDefaultCluster();
+        Database db = CatalogTestUtil.createSimpleDb(CatalogTestUtil.testDbId1, CatalogTestUtil.testTableId1,
+                CatalogTestUtil.testPartitionId1, CatalogTestUtil.testIndexId1, CatalogTestUtil.testTabletId1,
+                CatalogTestUtil.testStartVersion);
+        for (Table table : db.getTables()) {
+            if (!(table instanceof OlapTable)) {
+                continue;
+            }
+            // the in memory property is required when writing the partition info
+            OlapTable olapTable = (OlapTable) table;
+            for (Partition partition : olapTable.getPartitions()) {
+                olapTable.getPartitionInfo().setIsInMemory(partition.getId(), false);
+            }
+        }
+        catalog.unprotectCreateDb(db);
+        return catalog;
+    }
+
+    @Test
+    public void testParallelLoad() throws Exception {
+        Catalog catalog = createCatalog();
+        Config.image_save_parallelism = 1;
+        File image = new File(imageDir, "image.0");
+        catalog.saveImage(image, 0);
+
+        File serialImage = reload(image, 1, 1, "image.serial");
+        File parallelImage = reload(image, 4, 1, "image.parallel");
+        // the catalog loaded in parallel is the same as the one loaded serially
+        Assert.assertTrue(FileUtils.contentEquals(serialImage, parallelImage));
+        // and so is the image saved in parallel
+        File parallelSavedImage = reload(image, 4, 4, "image.parallel.saved");
+        Assert.assertTrue(FileUtils.contentEquals(serialImage, parallelSavedImage));
+        Assert.assertTrue(FileUtils.contentEquals(image, serialImage));
+    }
+
+    @Test
+    public void testPendingLoadJobWithTxn() throws Exception {
+        Catalog catalog = createCatalog();
+        long txnId = 10000L;
+        TransactionState txnState = new TransactionState(CatalogTestUtil.testDbId1,
+                Lists.newArrayList(CatalogTestUtil.testTableId1), txnId, "label", new TUniqueId(1L, 2L),
+                LoadJobSourceType.BACKEND_STREAMING, new TxnCoordinator(TxnSourceType.FE, "127.0.0.1"), -1L,
+                60 * 1000L);
+        catalog.getGlobalTransactionMgr().replayUpsertTransactionState(txnState);
+        // a PENDING mini load job is dropped when loading the image if its txn is not found
+        long jobId = 20000L;
+        MiniLoadJob loadJob = new MiniLoadJob();
+        Deencapsulation.setField(loadJob, "id", jobId);
+        Deencapsulation.setField(loadJob, "dbId", CatalogTestUtil.testDbId1);
+        Deencapsulation.setField(loadJob, "label", "label");
+        Deencapsulation.setField(loadJob, "transactionId", txnId);
+        Deencapsulation.setField(loadJob, "tableName", CatalogTestUtil.testTable1);
+        catalog.getLoadManager().replayCreateLoadJob(loadJob);
+        Config.image_save_parallelism = 1;
+        File image = new File(imageDir, "image.0");
+        catalog.saveImage(image, 0);
+
+        new MockUp<GlobalTransactionMgr>() {
+            // slow down loading the txns, so that the load jobs are loaded first if they do not wait for them
+            @Mock
+            public void readFields(Invocation invocation, DataInput in) throws InterruptedException {
+                Thread.sleep(500);
+                invocation.proceed(in);
+            }
+        };
+        File serialImage = reload(image, 1, 1, "image.serial");
+        Assert.assertNotNull(Catalog.getCurrentCatalog().getLoadManager().getLoadJob(jobId));
+        File parallelImage = reload(image, 4, 1, "image.parallel");
+        Assert.assertNotNull(Catalog.getCurrentCatalog().getLoadManager().getLoadJob(jobId));
+        Assert.assertNotNull(Catalog.getCurrentGlobalTransactionMgr()
+                .getTransactionState(CatalogTestUtil.testDbId1, txnId));
+        Assert.assertTrue(FileUtils.contentEquals(serialImage, parallelImage));
+    }
+
+    @Test
+    public void testModuleDependencies() {
+        List<String> moduleNames = PersistMetaModules.MODULE_NAMES;
+        for (Map.Entry<String, ImmutableList<String>> entry : PersistMetaModules.MODULE_DEPENDENCIES.entrySet()) {
+            int index = moduleNames.indexOf(entry.getKey());
+            Assert.assertTrue(entry.getKey(), index >= 0);
+            // a module is submitted after the modules it depends on, otherwise it does not wait for them
+            for (String dependency : entry.getValue()) {
+                int dependencyIndex = moduleNames.indexOf(dependency);
+                Assert.assertTrue(entry.getKey() + " -> " + dependency, dependencyIndex >= 0 && dependencyIndex < index);
+            }
+        }
+    }
+}
@@ -17,10 +17,19 @@
 
 package org.apache.doris.planner;
 
+import org.apache.doris.analysis.SlotDescriptor;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.io.Hll;
 import org.apache.doris.qe.SessionVariable;
 import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.statistics.ColumnSketch;
+import org.apache.doris.statistics.Statistics;
+import org.apache.doris.statistics.StatsType;
 import org.apache.doris.utframe.TestWithFeService;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 
@@ -273,4 +282,43 @@ public class StatisticDeriveTest extends TestWithFeService {
         System.out.println(getSQLPlanOrErrorMsg("explain " + sql));
         assertSQLPlanOrErrorMsgContains(sql, "UNION");
     }
+
+    @Test
+    public void testSampleNdvStatsDerive() throws Exception {
+        OlapTable table = (OlapTable) Catalog.getCurrentInternalCatalog()
+                .getDbOrAnalysisException("default_cluster:test").getTableOrAnalysisException("join1");
+        Statistics statistics = Catalog.getCurrentCatalog().getStatisticsManager().getStatistics();
+        Hll hll = new Hll();
+        for (int i = 0; i < 100; i++) {
+            hll.updateWithHash(i);
+        }
+        statistics.updateColumnSketch(new ColumnSketch(table.getId(), "id", ColumnSketch.WHOLE_TABLE, null,
+                ColumnSketch.serializeHll(hll)));
+        try {
+            // the column is only sampled
+            Assert.assertEquals(100, deriveScanNdv("id"), 5);
+            // the analyzed ndv is raised to the sample ndv
+            statistics.updateColumnStats(table.getId(), "id", Type.INT, ImmutableMap.of(StatsType.NDV, "50"));
+            Assert.assertEquals(100, deriveScanNdv("id"), 5);
+            statistics.updateColumnStats(table.getId(), "id", Type.INT, ImmutableMap.of(StatsType.NDV, "5000"));
+            Assert.assertEquals(5000, deriveScanNdv("id"));
+        } finally {
+            statistics.removeTableStats(table.getId());
+        }
+    }
+
+    private long deriveScanNdv(String columnName) throws Exception {
+        SessionVariable sessionVariable = connectContext.getSessionVariable();
+        sessionVariable.setEnableJoinReorderBasedCost(true);
+        sessionVariable.setDisableJoinReorder(false);
+        StmtExecutor stmtExecutor = new StmtExecutor(connectContext, "select " + columnName + " from test.join1");
+        stmtExecutor.execute();
+        OlapScanNode scanNode = (OlapScanNode) stmtExecutor.planner().getScanNodes().get(0);
+        for (SlotDescriptor slot : scanNode.getTupleDesc().getSlots()) {
+            if (slot.getColumn().getName().equals(columnName)) {
+                return scanNode.getStatsDeriveResult().getColumnToNdv().get(slot.getId());
+            }
+        }
+        throw new IllegalStateException("no slot of " + columnName);
+    }
 }
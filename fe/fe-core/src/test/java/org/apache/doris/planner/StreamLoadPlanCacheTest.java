@@ -0,0 +1,154 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.planner;
+
+import org.apache.doris.analysis.CreateDbStmt;
+import org.apache.doris.analysis.CreateTableStmt;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Table;
+import org.apache.doris.common.FeConstants;
+import org.apache.doris.qe.ConnectContext;
+import org.apache.doris.task.StreamLoadTask;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
+import org.apache.doris.thrift.TFileFormatType;
+import org.apache.doris.thrift.TFileType;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.thrift.TUniqueId;
+import org.apache.doris.utframe.UtFrameUtils;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.UUID;
+
+public class StreamLoadPlanCacheTest {
+    private static String runningDir = "fe/mocked/StreamLoadPlanCacheTest/" + UUID.randomUUID().toString() + "/";
+    private static ConnectContext ctx;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        FeConstants.runningUnitTest = true;
+        UtFrameUtils.createDorisCluster(runningDir);
+        ctx = UtFrameUtils.createDefaultCtx();
+        String createDbStmtStr = "create database db1;";
+        CreateDbStmt createDbStmt = (CreateDbStmt) UtFrameUtils.parseAndAnalyzeStmt(createDbStmtStr, ctx);
+        Catalog.getCurrentCatalog().createDb(createDbStmt);
+        String createTblStmtStr = "create table db1.tbl1(k1 int, k2 int, v1 int) duplicate key(k1, k2) "
+                + "partition by range(k1) (partition p1 values less than (\"10\"), "
+                + "partition p2 values less than (\"20\")) "
+                + "distributed by hash(k2) buckets 3 properties('replication_num' = '1');";
+        CreateTableStmt createTableStmt = (CreateTableStmt) UtFrameUtils.parseAndAnalyzeStmt(createTblStmtStr, ctx);
+        Catalog.getCurrentCatalog().createTable(createTableStmt);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        File file = new File(runningDir);
+        file.delete();
+    }
+
+    private TStreamLoadPutRequest createRequest(long txnId, TUniqueId loadId) {
+        TStreamLoadPutRequest request = new TStreamLoadPutRequest();
+        request.setUser("root");
+        request.setPasswd("");
+        request.setDb("db1");
+        request.setTbl("tbl1");
+        request.setLoadId(loadId);
+        request.setTxnId(txnId);
+        request.setFileType(TFileType.FILE_STREAM);
+        request.setFormatType(TFileFormatType.FORMAT_CSV_PLAIN);
+        request.setColumns("k1, k2, v1");
+        return request;
+    }
+
+    @Test
+    public void testCacheKey() {
+        TStreamLoadPutRequest request1 = createRequest(1, new TUniqueId(1, 1));
+        TStreamLoadPutRequest request2 = createRequest(2, new TUniqueId(2, 2));
+        request2.setTimeout(100);
+        request2.setExecMemLimit(1024);
+        request2.setMaxFilterRatio(0.1);
+        request2.setUserIp("127.0.0.1");
+        // the per-load fields are not part of the key
+        Assert.assertEquals(StreamLoadPlanCache.toCacheKey(request1), StreamLoadPlanCache.toCacheKey(request2));
+        // the request itself is not changed
+        Assert.assertEquals(2, request2.getTxnId());
+        Assert.assertEquals(100, request2.getTimeout());
+
+        // the load properties are part of the key
+        request2.setColumns("k1, k2, v1 = k1 + 1");
+        Assert.assertNotEquals(StreamLoadPlanCache.toCacheKey(request1), StreamLoadPlanCache.toCacheKey(request2));
+        request2.setColumns("k1, k2, v1");
+        request2.setWhere("k1 > 1");
+        Assert.assertNotEquals(StreamLoadPlanCache.toCacheKey(request1), StreamLoadPlanCache.toCacheKey(request2));
+    }
+
+    // the time of the plan is the only field which is not the same in two plans
+    private static void clearTime(TExecPlanFragmentParams params) {
+        params.getQueryGlobals().unsetNowString();
+        params.getQueryGlobals().unsetTimestampMs();
+    }
+
+    @Test
+    public void testPatchedPlan() throws Exception {
+        Database db = Catalog.getCurrentInternalCatalog().getDbOrMetaException("default_cluster:db1");
+        OlapTable table = (OlapTable) db.getTableOrMetaException("tbl1", Table.TableType.OLAP);
+        StreamLoadPlanCache planCache = new StreamLoadPlanCache();
+
+        TStreamLoadPutRequest request1 = createRequest(1, new TUniqueId(1, 1));
+        TStreamLoadPutRequest request2 = createRequest(2, new TUniqueId(2, 2));
+        request2.setTimeout(100);
+        request2.setExecMemLimit(1024 * 1024 * 1024L);
+        request2.setMaxFilterRatio(0.1);
+
+        TExecPlanFragmentParams plan1;
+        TExecPlanFragmentParams cachedPlan;
+        TExecPlanFragmentParams freshPlan;
+        table.readLock();
+        try {
+            plan1 = planCache.getPlan(db, table, request1);
+            Assert.assertEquals(1, planCache.size());
+            cachedPlan = planCache.getPlan(db, table, request2);
+            Assert.assertEquals(1, planCache.size());
+            StreamLoadTask streamLoadTask = StreamLoadTask.fromTStreamLoadPutRequest(request2);
+            freshPlan = new StreamLoadPlanner(db, table, streamLoadTask).plan(streamLoadTask.getId());
+        } finally {
+            table.readUnlock();
+        }
+
+        // the per-load fields are patched
+        Assert.assertEquals(request2.getLoadId(), cachedPlan.getParams().getQueryId());
+        Assert.assertEquals(2, cachedPlan.getFragment().getOutputSink().getOlapTableSink().getTxnId());
+        Assert.assertEquals(100, cachedPlan.getQueryOptions().getQueryTimeout());
+        Assert.assertEquals(1024 * 1024 * 1024L, cachedPlan.getQueryOptions().getMemLimit());
+        Assert.assertFalse(cachedPlan.getQueryGlobals().isLoadZeroTolerance());
+        // the plan got from the template is not changed by patching
+        Assert.assertEquals(request1.getLoadId(), plan1.getParams().getQueryId());
+        Assert.assertEquals(1, plan1.getFragment().getOutputSink().getOlapTableSink().getTxnId());
+
+        // the patched plan is the same as the plan made from scratch
+        clearTime(cachedPlan);
+        clearTime(freshPlan);
+        Assert.assertEquals(freshPlan, cachedPlan);
+    }
+}
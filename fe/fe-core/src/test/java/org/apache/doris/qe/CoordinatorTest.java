@@ -40,6 +40,7 @@ import org.apache.doris.planner.PlanNodeId;
 import org.apache.doris.planner.ScanNode;
 import org.apache.doris.service.FrontendOptions;
 import org.apache.doris.system.Backend;
+import org.apache.doris.thrift.TExecPlanFragmentParams;
 import org.apache.doris.thrift.TNetworkAddress;
 import org.apache.doris.thrift.TPartitionType;
 import org.apache.doris.thrift.TScanRangeLocation;
@@ -845,4 +846,29 @@ public class CoordinatorTest extends Coordinator {
             Assert.assertTrue(host.hostname.equals("0.0.0.2"));
         }
     }
+
+    @Test
+    public void testInstancesShareFragmentPlan() {
+        PlanFragmentId planFragmentId = new PlanFragmentId(1);
+        ArrayList<TupleId> tupleIds = new ArrayList<>();
+        tupleIds.add(new TupleId(0));
+        EmptySetNode emptySetNode = new EmptySetNode(new PlanNodeId(1), tupleIds);
+        PlanFragment fragment = new PlanFragment(planFragmentId, emptySetNode,
+                new DataPartition(TPartitionType.UNPARTITIONED));
+        FragmentExecParams params = new FragmentExecParams(fragment);
+        for (int i = 0; i < 3; i++) {
+            params.instanceExecParams.add(new FInstanceExecParam(new TUniqueId(1, i),
+                    new TNetworkAddress("0.0.0." + i, 9060), i, params));
+        }
+
+        List<TExecPlanFragmentParams> tParams = params.toThrift(0);
+        Assert.assertEquals(3, tParams.size());
+        // the plan of the fragment is built only once and shared by all instances
+        for (TExecPlanFragmentParams tParam : tParams) {
+            Assert.assertSame(tParams.get(0).getFragment(), tParam.getFragment());
+        }
+        Assert.assertEquals(2, tParams.get(2).getBackendNum());
+        Assert.assertSame(params.instanceExecParams.get(1).instanceId,
+                tParams.get(1).getParams().getFragmentInstanceId());
+    }
 }
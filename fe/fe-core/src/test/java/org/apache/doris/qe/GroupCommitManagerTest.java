@@ -0,0 +1,276 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.KeysType;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.RandomDistributionInfo;
+import org.apache.doris.catalog.SinglePartitionInfo;
+import org.apache.doris.common.Config;
+import org.apache.doris.common.UserException;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.qe.GroupCommitManager.GroupCommitResult;
+import org.apache.doris.thrift.TStreamLoadPutRequest;
+import org.apache.doris.transaction.GlobalTransactionMgr;
+import org.apache.doris.transaction.TransactionState;
+import org.apache.doris.transaction.TransactionState.LoadJobSourceType;
+import org.apache.doris.transaction.TransactionState.TxnCoordinator;
+import org.apache.doris.transaction.TransactionStatus;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GroupCommitManagerTest {
+    private static final int INSERT_NUM = 5;
+
+    private final Database db = new Database(1L, "db1");
+    private final AtomicLong nextTxnId = new AtomicLong(1000L);
+    private final Map<Long, TransactionState> txnStates = Maps.newConcurrentMap();
+    private final Set<Long> abortedTxnIds = Sets.newConcurrentHashSet();
+    private final AtomicInteger sentRowNum = new AtomicInteger(0);
+    private volatile long sendDelayMs = 0;
+    private volatile boolean failCommit = false;
+    private volatile boolean failPublish = false;
+    private final ScheduledExecutorService backendExecutor = Executors.newSingleThreadScheduledExecutor();
+    private int intervalMs;
+
+    @Before
+    public void setUp() {
+        intervalMs = Config.insert_group_commit_interval_ms;
+        GlobalTransactionMgr globalTransactionMgr = new GlobalTransactionMgr(null);
+        new MockUp<Catalog>() {
+            @Mock
+            public GlobalTransactionMgr getCurrentGlobalTransactionMgr() {
+                return globalTransactionMgr;
+            }
+        };
+        new MockUp<GlobalTransactionMgr>() {
+            @Mock
+            public long beginTransaction(long dbId, List<Long> tableIdList, String label, TxnCoordinator coordinator,
+                    LoadJobSourceType sourceType, long timeoutSecond) {
+                long txnId = nextTxnId.incrementAndGet();
+                TransactionState txnState = new TransactionState(dbId, tableIdList, txnId, label, null, sourceType,
+                        coordinator, -1, timeoutSecond * 1000);
+                txnState.setTransactionStatus(TransactionStatus.PREPARE);
+                txnStates.put(txnId, txnState);
+                return txnId;
+            }
+
+            @Mock
+            public TransactionState getTransactionState(long dbId, long transactionId) {
+                return txnStates.get(transactionId);
+            }
+
+            @Mock
+            public void abortTransaction(long dbId, long transactionId, String reason) {
+                abortedTxnIds.add(transactionId);
+            }
+        };
+        new MockUp<InsertStreamTxnExecutor>() {
+            @Mock
+            public void beginTransaction(TStreamLoadPutRequest request) {
+            }
+
+            @Mock
+            public void sendData(Invocation invocation) throws InterruptedException {
+                InsertStreamTxnExecutor executor = invocation.getInvokedInstance();
+                sentRowNum.addAndGet(executor.getTxnEntry().getDataToSend().size());
+                Thread.sleep(sendDelayMs);
+            }
+
+            @Mock
+            public void commitTransaction(Invocation invocation) throws UserException {
+                if (failCommit) {
+                    throw new UserException("mock commit failure");
+                }
+                // like the backend, only finish the stream here, the txn is committed when the fragment is done
+                InsertStreamTxnExecutor executor = invocation.getInvokedInstance();
+                TransactionState txnState = txnStates.get(executor.getTxnEntry().getTxnConf().getTxnId());
+                if (failPublish) {
+                    backendExecutor.schedule(() -> {
+                        txnState.setReason("mock load failure");
+                        txnState.setTransactionStatus(TransactionStatus.ABORTED);
+                    }, 100, TimeUnit.MILLISECONDS);
+                } else {
+                    backendExecutor.schedule(() -> txnState.setTransactionStatus(TransactionStatus.COMMITTED),
+                            100, TimeUnit.MILLISECONDS);
+                    backendExecutor.schedule(() -> txnState.setTransactionStatus(TransactionStatus.VISIBLE),
+                            200, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            @Mock
+            public void abortTransaction() {
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.insert_group_commit_interval_ms = intervalMs;
+        backendExecutor.shutdownNow();
+    }
+
+    private static OlapTable createTable(long tableId) {
+        return new OlapTable(tableId, "tbl" + tableId, Lists.newArrayList(), KeysType.DUP_KEYS,
+                new SinglePartitionInfo(), new RandomDistributionInfo(1));
+    }
+
+    private static List<InternalService.PDataRow> createRows(int rowNum) {
+        List<InternalService.PDataRow> rows = Lists.newArrayList();
+        for (int i = 0; i < rowNum; i++) {
+            rows.add(InternalService.PDataRow.newBuilder().build());
+        }
+        return rows;
+    }
+
+    private List<Future<GroupCommitResult>> commitConcurrently(ExecutorService pool, OlapTable table) {
+        List<Future<GroupCommitResult>> futures = Lists.newArrayList();
+        for (int i = 0; i < INSERT_NUM; i++) {
+            futures.add(pool.submit(() -> GroupCommitManager.getInstance().commit(db, table, createRows(2),
+                    false, 10)));
+        }
+        return futures;
+    }
+
+    @Test
+    public void testSharedTransaction() throws Exception {
+        Config.insert_group_commit_interval_ms = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(INSERT_NUM);
+        try {
+            Set<Long> txnIds = Sets.newHashSet();
+            Set<String> labels = Sets.newHashSet();
+            for (Future<GroupCommitResult> future : commitConcurrently(pool, createTable(10L))) {
+                GroupCommitResult result = future.get();
+                Assert.assertEquals(TransactionStatus.VISIBLE, result.getStatus());
+                txnIds.add(result.getTxnId());
+                labels.add(result.getLabel());
+            }
+            Assert.assertEquals(1, txnIds.size());
+            Assert.assertEquals(1, labels.size());
+            Assert.assertEquals(1, txnStates.size());
+            Assert.assertEquals(INSERT_NUM * 2, sentRowNum.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailTogether() throws Exception {
+        Config.insert_group_commit_interval_ms = 500;
+        failCommit = true;
+        ExecutorService pool = Executors.newFixedThreadPool(INSERT_NUM);
+        try {
+            for (Future<GroupCommitResult> future : commitConcurrently(pool, createTable(11L))) {
+                try {
+                    future.get();
+                    Assert.fail("group commit should fail");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof UserException);
+                    Assert.assertTrue(e.getCause().getMessage().contains("mock commit failure"));
+                }
+            }
+            // the shared transaction is begun once and aborted
+            Assert.assertEquals(1, txnStates.size());
+            Assert.assertEquals(txnStates.keySet(), abortedTxnIds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAbortedAfterCommit() throws Exception {
+        // the rows are committed on backend, but the load fails before the transaction is committed
+        Config.insert_group_commit_interval_ms = 500;
+        failPublish = true;
+        ExecutorService pool = Executors.newFixedThreadPool(INSERT_NUM);
+        try {
+            for (Future<GroupCommitResult> future : commitConcurrently(pool, createTable(14L))) {
+                try {
+                    future.get();
+                    Assert.fail("group commit should fail");
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof UserException);
+                    Assert.assertTrue(e.getCause().getMessage().contains("mock load failure"));
+                }
+            }
+            Assert.assertEquals(1, txnStates.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeoutBeforeClose() throws Exception {
+        // the batch is still open when the first insert times out
+        Config.insert_group_commit_interval_ms = 2000;
+        OlapTable table = createTable(12L);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<GroupCommitResult> timeoutInsert = pool.submit(
+                    () -> GroupCommitManager.getInstance().commit(db, table, createRows(3), false, 1));
+            Thread.sleep(100);
+            Future<GroupCommitResult> normalInsert = pool.submit(
+                    () -> GroupCommitManager.getInstance().commit(db, table, createRows(2), false, 10));
+            try {
+                timeoutInsert.get();
+                Assert.fail("group commit should timeout");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause().getMessage().contains("timeout"));
+            }
+            Assert.assertEquals(TransactionStatus.VISIBLE, normalInsert.get().getStatus());
+            // the rows of the timed out insert are withdrawn
+            Assert.assertEquals(2, sentRowNum.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeoutAfterClose() throws Exception {
+        // the batch is closed and being committed when the insert times out
+        Config.insert_group_commit_interval_ms = 100;
+        sendDelayMs = 1200;
+        GroupCommitResult result = GroupCommitManager.getInstance().commit(db, createTable(13L), createRows(2),
+                false, 1);
+        Assert.assertEquals(TransactionStatus.VISIBLE, result.getStatus());
+        Assert.assertEquals(2, sentRowNum.get());
+    }
+}
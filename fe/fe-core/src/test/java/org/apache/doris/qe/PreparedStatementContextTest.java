@@ -0,0 +1,78 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.BinaryPredicate;
+import org.apache.doris.analysis.DateLiteral;
+import org.apache.doris.analysis.Expr;
+import org.apache.doris.analysis.FloatLiteral;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.PlaceHolderExpr;
+import org.apache.doris.analysis.SlotRef;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PreparedStatementContextTest {
+
+    @Test
+    public void testSplitByPlaceholders() {
+        Assert.assertEquals(Lists.newArrayList("select * from t where a = ", " and b in (", ", ", ")"),
+                PreparedStatementContext.splitByPlaceholders("select * from t where a = ? and b in (?, ?)"));
+        // the markers in strings, quoted identifiers and comments are not parameters
+        String sql = "select '?', \"it\\\"s ?\", `?` /* ? */ -- ?\nfrom t where a = ?";
+        Assert.assertEquals(2, PreparedStatementContext.splitByPlaceholders(sql).size());
+        Assert.assertEquals(Lists.newArrayList("select 'it''s ?', "),
+                PreparedStatementContext.splitByPlaceholders("select 'it''s ?', "));
+        // the content of plan hint is scanned as tokens
+        Assert.assertEquals(2, PreparedStatementContext.splitByPlaceholders("select /*+ ? */ 1").size());
+    }
+
+    @Test
+    public void testToSqlLiteral() throws AnalysisException {
+        Assert.assertEquals("NULL", PreparedStatementContext.toSqlLiteral(new NullLiteral()));
+        Assert.assertEquals("(-1)", PreparedStatementContext.toSqlLiteral(new IntLiteral(-1)));
+        Assert.assertEquals("0.0001", PreparedStatementContext.toSqlLiteral(new FloatLiteral(1e-4, Type.DOUBLE)));
+        Assert.assertEquals("'it\\'s a\\\\b'", PreparedStatementContext.toSqlLiteral(new StringLiteral("it's a\\b")));
+        Assert.assertEquals("'2022-01-02'",
+                PreparedStatementContext.toSqlLiteral(new DateLiteral("2022-01-02", Type.DATE)));
+    }
+
+    @Test
+    public void testBindPlaceholder() {
+        PlaceHolderExpr placeholder = new PlaceHolderExpr(0);
+        BinaryPredicate predicate = new BinaryPredicate(BinaryPredicate.Operator.EQ, new SlotRef(null, "k1"),
+                placeholder);
+        Assert.assertEquals("`k1` = ?", predicate.toSql());
+
+        placeholder.bind(new IntLiteral(10));
+        Expr bound = predicate.clone();
+        Assert.assertTrue(bound.getChild(1) instanceof IntLiteral);
+        Assert.assertEquals("`k1` = 10", bound.toSql());
+
+        // the template can be bound again, and the cloned one is not affected
+        placeholder.bind(new StringLiteral("a"));
+        Assert.assertEquals("`k1` = 'a'", predicate.clone().toSql());
+        Assert.assertEquals("`k1` = 10", bound.toSql());
+    }
+}
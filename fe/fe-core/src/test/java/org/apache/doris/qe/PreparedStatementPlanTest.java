@@ -0,0 +1,119 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.LiteralExpr;
+import org.apache.doris.analysis.SqlParser;
+import org.apache.doris.analysis.SqlScanner;
+import org.apache.doris.analysis.StatementBase;
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.catalog.Partition;
+import org.apache.doris.common.util.SqlParserUtils;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.planner.Planner;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+public class PreparedStatementPlanTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("db1");
+        useDatabase("db1");
+        createTable("create table db1.tbl1 (k1 int, k2 int, v1 int) duplicate key (k1, k2) "
+                + "partition by range(k1) (partition p1 values less than ('10'), "
+                + "partition p2 values less than ('20')) "
+                + "distributed by hash(k2) buckets 3 properties('replication_num' = '1');");
+    }
+
+    private PreparedStatementContext prepare(String sql) throws Exception {
+        SqlParser parser = new SqlParser(new SqlScanner(new StringReader(sql),
+                connectContext.getSessionVariable().getSqlMode()));
+        StatementBase stmt = SqlParserUtils.getFirstStmt(parser);
+        return new PreparedStatementContext(connectContext.getNextPreparedStmtId(), sql, stmt, parser.placeholders);
+    }
+
+    // analyze and plan an execution of the prepared query as ConnectProcessor does
+    private StmtExecutor execute(PreparedStatementContext preparedStmt, LiteralExpr... values) throws Exception {
+        String boundStmt = preparedStmt.bind(Lists.newArrayList(values));
+        StatementBase stmt = preparedStmt.cloneBoundQuery();
+        stmt.setOrigStmt(new OriginStatement(boundStmt, 0));
+        stmt.setUserInfo(connectContext.getCurrentUserIdentity());
+        StmtExecutor executor = new StmtExecutor(connectContext, stmt);
+        executor.setPreparedStmt(preparedStmt);
+        executor.analyze(connectContext.getSessionVariable().toThrift());
+        return executor;
+    }
+
+    private static OlapScanNode getScanNode(Planner planner) {
+        return (OlapScanNode) planner.getScanNodes().get(0);
+    }
+
+    @Test
+    public void testReusePlan() throws Exception {
+        OlapTable table = (OlapTable) Catalog.getCurrentInternalCatalog()
+                .getDbOrAnalysisException("default_cluster:db1").getTableOrAnalysisException("tbl1");
+        Partition p1 = table.getPartition("p1");
+        Partition p2 = table.getPartition("p2");
+        PreparedStatementContext preparedStmt = prepare("select * from tbl1 where k1 = ? and k2 = ?");
+
+        StmtExecutor first = execute(preparedStmt, new IntLiteral(1), new IntLiteral(2));
+        Planner planner = first.planner();
+        Assertions.assertEquals(Lists.newArrayList(p1.getId()), getScanNode(planner).getSelectedPartitionIds());
+        Assertions.assertEquals(1L, getScanNode(planner).getSelectedTabletsNum().longValue());
+
+        // the second execution skips analysis and planning, only the scan ranges are computed again
+        StmtExecutor second = execute(preparedStmt, new IntLiteral(15), new IntLiteral(3));
+        Assertions.assertSame(first.getParsedStmt(), second.getParsedStmt());
+        Assertions.assertSame(planner, second.planner());
+        Assertions.assertEquals("select * from tbl1 where k1 = 15 and k2 = 3",
+                second.getParsedStmt().getOrigStmt().originStmt);
+        Assertions.assertEquals(Lists.newArrayList(p2.getId()), getScanNode(planner).getSelectedPartitionIds());
+        Assertions.assertEquals(1L, getScanNode(planner).getSelectedTabletsNum().longValue());
+        Assertions.assertEquals(1, getScanNode(planner).getScanRangeLocations(0).size());
+        String conjuncts = getScanNode(planner).getConjuncts().toString();
+        Assertions.assertTrue(conjuncts.contains("15") && conjuncts.contains("3"), conjuncts);
+
+        // the plan is built again after the partition version is changed
+        p2.updateVisibleVersion(p2.getVisibleVersion() + 1);
+        StmtExecutor third = execute(preparedStmt, new IntLiteral(16), new IntLiteral(3));
+        Assertions.assertNotSame(planner, third.planner());
+        Assertions.assertNotSame(first.getParsedStmt(), third.getParsedStmt());
+        Assertions.assertSame(third.planner(), execute(preparedStmt, new IntLiteral(5), new IntLiteral(3)).planner());
+    }
+
+    @Test
+    public void testNotReusePlan() throws Exception {
+        // the parameter is used as the ordinal of order by, which is not a predicate on the table
+        PreparedStatementContext preparedStmt = prepare("select k1, k2 from tbl1 where k1 = ? order by ?");
+        Planner planner = execute(preparedStmt, new IntLiteral(1), new IntLiteral(1)).planner();
+        Assertions.assertNotSame(planner, execute(preparedStmt, new IntLiteral(1), new IntLiteral(2)).planner());
+
+        // the value is folded with the constant
+        preparedStmt = prepare("select * from tbl1 where k1 = ? + 1");
+        planner = execute(preparedStmt, new IntLiteral(1)).planner();
+        Assertions.assertNotSame(planner, execute(preparedStmt, new IntLiteral(2)).planner());
+    }
+}
@@ -64,4 +64,29 @@ public class QueryDetailQueueTest {
                               + "\"sql\":\"select * from table1 limit 1\"}]";
         Assert.assertEquals(jsonString, queryDetailString);
     }
+
+    @Test
+    public void testEvict() {
+        long eventTime = 1000L;
+        for (int i = 0; i < 20000; i++) {
+            QueryDetail queryDetail = new QueryDetail(eventTime + i, "evict-" + i, eventTime + i, -1, -1,
+                    QueryDetail.QueryMemState.RUNNING, "default_cluster:testDb", "select " + i);
+            QueryDetailQueue.addOrUpdateQueryDetail(queryDetail);
+        }
+        List<QueryDetail> queryDetails = QueryDetailQueue.getQueryDetails(eventTime - 1);
+        Assert.assertTrue(queryDetails.size() <= 10240);
+        Assert.assertTrue(queryDetails.size() >= 9216);
+        // the queries are returned in the order they are added, and the oldest ones are evicted
+        Assert.assertEquals("evict-19999", queryDetails.get(queryDetails.size() - 1).getQueryId());
+        Assert.assertEquals(20000 - queryDetails.size(),
+                queryDetails.get(0).getEventTime() - eventTime);
+
+        QueryDetail finished = queryDetails.get(queryDetails.size() - 1);
+        finished.setEventTime(eventTime + 30000);
+        finished.setState(QueryDetail.QueryMemState.FINISHED);
+        QueryDetailQueue.addOrUpdateQueryDetail(finished);
+        queryDetails = QueryDetailQueue.getQueryDetails(eventTime + 20000);
+        Assert.assertEquals(1, queryDetails.size());
+        Assert.assertEquals(QueryDetail.QueryMemState.FINISHED, queryDetails.get(0).getState());
+    }
 }
@@ -0,0 +1,149 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+import org.apache.doris.rpc.BackendServiceProxy;
+import org.apache.doris.rpc.RpcException;
+import org.apache.doris.thrift.TNetworkAddress;
+import org.apache.doris.thrift.TUniqueId;
+
+import com.google.common.collect.Lists;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+public class ResultReceiverTest {
+    @Mocked
+    private BackendServiceProxy proxy;
+
+    private final List<InternalService.PFetchDataRequest> requests = Lists.newArrayList();
+    // the rpc of this fetch, counted from 0, fails once
+    private int failedFetch = -1;
+    private int fetchNum = 0;
+
+    @After
+    public void tearDown() {
+        Config.enable_result_prefetch = true;
+    }
+
+    private void mockFetch(int numPackets) throws RpcException {
+        new Expectations() {
+            {
+                BackendServiceProxy.getInstance();
+                minTimes = 0;
+                result = proxy;
+
+                proxy.fetchDataAsync((TNetworkAddress) any, (InternalService.PFetchDataRequest) any);
+                minTimes = 0;
+                result = new Delegate<Future<InternalService.PFetchDataResult>>() {
+                    Future<InternalService.PFetchDataResult> fetchDataAsync(TNetworkAddress address,
+                            InternalService.PFetchDataRequest request) throws RpcException {
+                        if (fetchNum++ == failedFetch) {
+                            throw new RpcException(address.getHostname(), "fetch failed");
+                        }
+                        int seq = requests.size();
+                        requests.add(request);
+                        Assert.assertTrue(seq < numPackets);
+                        return CompletableFuture.completedFuture(InternalService.PFetchDataResult.newBuilder()
+                                .setStatus(Types.PStatus.newBuilder().setStatusCode(0))
+                                .setPacketSeq(seq)
+                                .setEos(seq == numPackets - 1)
+                                .setEmptyBatch(seq != numPackets - 1)
+                                .build());
+                    }
+                };
+            }
+        };
+    }
+
+    private ResultReceiver createReceiver() {
+        return new ResultReceiver(new TUniqueId(1, 2), 10001L, new TNetworkAddress("127.0.0.1", 8060),
+                System.currentTimeMillis() + 60000);
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        mockFetch(3);
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        RowBatch batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertFalse(batch.isEos());
+        // the fetch of the next packet has been issued before the batch is returned
+        Assert.assertEquals(2, requests.size());
+
+        batch = receiver.getNext(status);
+        Assert.assertFalse(batch.isEos());
+        Assert.assertEquals(3, requests.size());
+
+        // the last packet is eos, nothing more to fetch
+        batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertTrue(batch.isEos());
+        Assert.assertEquals(3, requests.size());
+        Assert.assertNull(receiver.getNext(status));
+    }
+
+    @Test
+    public void testNoPrefetch() throws Exception {
+        Config.enable_result_prefetch = false;
+        mockFetch(2);
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        RowBatch batch = receiver.getNext(status);
+        Assert.assertFalse(batch.isEos());
+        Assert.assertEquals(1, requests.size());
+
+        batch = receiver.getNext(status);
+        Assert.assertTrue(batch.isEos());
+        Assert.assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void testPrefetchFailed() throws Exception {
+        failedFetch = 1;
+        mockFetch(2);
+        ResultReceiver receiver = createReceiver();
+        Status status = new Status();
+
+        // the prefetch fails, but the current batch is still returned
+        RowBatch batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertFalse(batch.isEos());
+        Assert.assertEquals(1, requests.size());
+
+        // the next batch is fetched again
+        batch = receiver.getNext(status);
+        Assert.assertTrue(status.ok());
+        Assert.assertTrue(batch.isEos());
+        Assert.assertEquals(2, requests.size());
+    }
+}
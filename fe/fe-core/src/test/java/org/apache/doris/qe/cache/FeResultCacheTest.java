@@ -0,0 +1,131 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.qe.cache;
+
+import org.apache.doris.common.Config;
+import org.apache.doris.common.Status;
+import org.apache.doris.proto.InternalService;
+import org.apache.doris.proto.Types;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class FeResultCacheTest {
+    private long maxBytes;
+
+    @Before
+    public void setUp() {
+        maxBytes = Config.cache_fe_sql_cache_max_bytes;
+    }
+
+    @After
+    public void tearDown() {
+        Config.cache_fe_sql_cache_max_bytes = maxBytes;
+    }
+
+    private static List<ByteString> rows(String... values) {
+        List<ByteString> rows = Lists.newArrayList();
+        for (String value : values) {
+            rows.add(ByteString.copyFrom(value, StandardCharsets.UTF_8));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testGetAndInvalidate() {
+        FeResultCache cache = new FeResultCache();
+        FeResultCache.Key key = new FeResultCache.Key(1, 2);
+        Assert.assertNull(cache.get(key, 10, 2, 1000));
+
+        Assert.assertTrue(cache.put(key, 10, 2, 1000, rows("a", "bc", "")));
+        FeResultCache.Entry entry = cache.get(new FeResultCache.Key(1, 2), 10, 2, 1000);
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(3, entry.getRowCount());
+        Assert.assertEquals(rows("a", "bc", ""), entry.getRows());
+        Assert.assertEquals(3 * 4 + 3, cache.getUsedBytes());
+
+        // a new version of the partition invalidates the result
+        Assert.assertNull(cache.get(key, 10, 3, 2000));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getUsedBytes());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testEvictByBytes() {
+        Config.cache_fe_sql_cache_max_bytes = 100;
+        FeResultCache cache = new FeResultCache();
+        // 4 + 16 bytes each
+        String row = "0123456789abcdef";
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(cache.put(new FeResultCache.Key(0, i), 1, 1, 1, rows(row)));
+        }
+        Assert.assertEquals(100, cache.getUsedBytes());
+        // touch key 0, so key 1 is the least recently used
+        Assert.assertNotNull(cache.get(new FeResultCache.Key(0, 0), 1, 1, 1));
+        Assert.assertTrue(cache.put(new FeResultCache.Key(0, 5), 1, 1, 1, rows(row)));
+        Assert.assertEquals(5, cache.size());
+        Assert.assertEquals(1, cache.getEvictCount());
+        Assert.assertNull(cache.get(new FeResultCache.Key(0, 1), 1, 1, 1));
+        Assert.assertNotNull(cache.get(new FeResultCache.Key(0, 0), 1, 1, 1));
+
+        // too large to cache
+        Assert.assertFalse(cache.put(new FeResultCache.Key(0, 6), 1, 1, 1, rows(row, row)));
+        Assert.assertNull(cache.get(new FeResultCache.Key(0, 6), 1, 1, 1));
+    }
+
+    @Test
+    public void testFeProxy() {
+        CacheFeProxy proxy = new CacheFeProxy(new FeResultCache());
+        Types.PUniqueId sqlKey = CacheProxy.getMd5("select * from t");
+        InternalService.PCacheParam param = InternalService.PCacheParam.newBuilder()
+                .setPartitionKey(10).setLastVersion(2).setLastVersionTime(1000).build();
+        InternalService.PFetchCacheRequest fetchRequest = InternalService.PFetchCacheRequest.newBuilder()
+                .setSqlKey(sqlKey).addParams(param).build();
+
+        Status status = new Status();
+        InternalService.PFetchCacheResult result = proxy.fetchCache(fetchRequest, 0, status);
+        Assert.assertNotEquals(InternalService.PCacheStatus.CACHE_OK, result.getStatus());
+
+        proxy.updateCache(InternalService.PUpdateCacheRequest.newBuilder()
+                .setSqlKey(sqlKey)
+                .setCacheType(InternalService.CacheType.SQL_CACHE)
+                .addValues(InternalService.PCacheValue.newBuilder()
+                        .setParam(param).setDataSize(3).addAllRows(rows("x", "yz")))
+                .build(), 0, status);
+        Assert.assertTrue(status.ok());
+
+        result = proxy.fetchCache(fetchRequest, 0, status);
+        Assert.assertEquals(InternalService.PCacheStatus.CACHE_OK, result.getStatus());
+        Assert.assertEquals(1, result.getValuesCount());
+        Assert.assertEquals(rows("x", "yz"), result.getValues(0).getRowsList());
+
+        proxy.clearCache(InternalService.PClearCacheRequest.newBuilder()
+                .setClearType(InternalService.PClearType.CLEAR_ALL).build());
+        result = proxy.fetchCache(fetchRequest, 0, status);
+        Assert.assertNotEquals(InternalService.PCacheStatus.CACHE_OK, result.getStatus());
+    }
+}
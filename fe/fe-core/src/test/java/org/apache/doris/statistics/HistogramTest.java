@@ -0,0 +1,172 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.analysis.BinaryPredicate.Operator;
+import org.apache.doris.analysis.IntLiteral;
+import org.apache.doris.analysis.NullLiteral;
+import org.apache.doris.analysis.StringLiteral;
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.io.Hll;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class HistogramTest {
+
+    private static double[] range(int from, int to) {
+        return IntStream.range(from, to).asDoubleStream().toArray();
+    }
+
+    @Test
+    public void testSkewedValue() {
+        double[] values = new double[1100];
+        System.arraycopy(range(0, 100), 0, values, 0, 100);
+        Arrays.fill(values, 100, 1100, 7);
+        Histogram histogram = Histogram.build(values, 1.0, 16);
+
+        Assert.assertEquals(1100, histogram.getRowCount(), 0.001);
+        // the frequent value is estimated by its real row count instead of rows / ndv
+        Assert.assertEquals(1001.0 / 1100, histogram.estimateSelectivity(Operator.EQ, 7), 0.001);
+        Assert.assertTrue(histogram.estimateSelectivity(Operator.EQ, 50) < 0.01);
+        Assert.assertEquals(1001.0 / 1100, histogram.getMaxValueFraction(), 0.001);
+        Assert.assertEquals(1.0 - 1001.0 / 1100, histogram.estimateSelectivity(Operator.NE, 7), 0.001);
+    }
+
+    @Test
+    public void testRange() {
+        Histogram histogram = Histogram.build(range(0, 1000), 10.0, 32);
+        Assert.assertEquals(10000, histogram.getRowCount(), 0.001);
+        Assert.assertEquals(0.25, histogram.estimateSelectivity(Operator.LT, 250), 0.02);
+        Assert.assertEquals(0.75, histogram.estimateSelectivity(Operator.GE, 250), 0.02);
+        Assert.assertEquals(0, histogram.estimateSelectivity(Operator.GT, 2000), 0.001);
+        Assert.assertEquals(1, histogram.estimateSelectivity(Operator.LE, 2000), 0.001);
+        Assert.assertEquals(0.001, histogram.estimateSelectivity(Operator.EQ, 500), 0.001);
+    }
+
+    @Test
+    public void testMerge() {
+        Histogram h1 = Histogram.build(range(0, 500), 2.0, 16);
+        Histogram h2 = Histogram.build(range(500, 1000), 2.0, 16);
+        Histogram merged = Histogram.merge(h1, h2);
+        Assert.assertEquals(2000, merged.getRowCount(), 0.001);
+        Assert.assertEquals(0.5, merged.estimateSelectivity(Operator.LT, 500), 0.02);
+        Assert.assertTrue(merged.getBuckets().size() <= 17);
+
+        // the overlapped values are not counted as new distinct values
+        Histogram overlapped = Histogram.merge(h1, Histogram.build(range(0, 500), 2.0, 16));
+        Assert.assertEquals(2000, overlapped.getRowCount(), 0.001);
+        Assert.assertEquals(500, overlapped.getNdv(), 50);
+
+        Assert.assertSame(h1, Histogram.merge(null, h1));
+    }
+
+    @Test
+    public void testJoin() {
+        Histogram unique1 = Histogram.build(range(0, 1000), 1.0, 32);
+        Histogram unique2 = Histogram.build(range(0, 1000), 1.0, 32);
+        Assert.assertEquals(1000, unique1.estimateJoinRows(unique2), 100);
+
+        double[] skewed = new double[2000];
+        System.arraycopy(range(0, 1000), 0, skewed, 0, 1000);
+        Arrays.fill(skewed, 1000, 2000, 7);
+        Histogram skewedHistogram = Histogram.build(skewed, 1.0, 32);
+        double[] other = new double[1100];
+        System.arraycopy(range(0, 1000), 0, other, 0, 1000);
+        Arrays.fill(other, 1000, 1100, 7);
+        Histogram otherHistogram = Histogram.build(other, 1.0, 32);
+        // value 7 alone joins 1001 * 101 rows
+        Assert.assertTrue(skewedHistogram.estimateJoinRows(otherHistogram) > 1001 * 101);
+        Assert.assertEquals(skewedHistogram.estimateJoinRows(otherHistogram),
+                otherHistogram.estimateJoinRows(skewedHistogram), 1000);
+    }
+
+    @Test
+    public void testToDouble() {
+        // strings have no order-preserving and collision-free position in histograms
+        Assert.assertTrue(Double.isNaN(Histogram.toDouble(new StringLiteral("abc"))));
+        Assert.assertTrue(Double.isNaN(Histogram.toDouble(new NullLiteral())));
+        Assert.assertEquals(10.0, Histogram.toDouble(new IntLiteral(10)), 0.0001);
+        Assert.assertFalse(Histogram.isSupportedType(Type.VARCHAR));
+        Assert.assertFalse(Histogram.isSupportedType(Type.STRING));
+        Assert.assertTrue(Histogram.isSupportedType(Type.INT));
+        Assert.assertTrue(Histogram.isSupportedType(Type.DATE));
+    }
+
+    @Test
+    public void testJson() {
+        Histogram histogram = Histogram.build(range(0, 100), 3.0, 8);
+        Histogram read = Histogram.fromJson(histogram.toJson());
+        Assert.assertEquals(histogram.getBuckets().size(), read.getBuckets().size());
+        Assert.assertEquals(histogram.getRowCount(), read.getRowCount(), 0.001);
+        Assert.assertEquals(histogram.estimateSelectivity(Operator.LT, 30),
+                read.estimateSelectivity(Operator.LT, 30), 0.0001);
+    }
+
+    @Test
+    public void testSampleTablets() {
+        Assert.assertEquals(Lists.newArrayList(1L, 4L, 7L),
+                SampleSQLStatisticsTask.selectSampleTablets(Lists.newArrayList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L,
+                        10L), 30, Integer.MAX_VALUE));
+        Assert.assertEquals(Lists.newArrayList(1L),
+                SampleSQLStatisticsTask.selectSampleTablets(Lists.newArrayList(1L, 2L, 3L), 1, Integer.MAX_VALUE));
+        Assert.assertTrue(SampleSQLStatisticsTask.selectSampleTablets(Lists.newArrayList(), 10, 1).isEmpty());
+        // the sampled tablets are limited by the rows fetched
+        Assert.assertEquals(Lists.newArrayList(1L, 6L),
+                SampleSQLStatisticsTask.selectSampleTablets(Lists.newArrayList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L,
+                        10L), 30, 2));
+        Assert.assertEquals(Lists.newArrayList(1L),
+                SampleSQLStatisticsTask.selectSampleTablets(Lists.newArrayList(1L, 2L, 3L), 100, 0));
+    }
+
+    @Test
+    public void testPartitionSketches() throws Exception {
+        ColumnStats columnStats = new ColumnStats();
+        columnStats.updateStats(Type.INT, ImmutableMap.of(StatsType.NDV, "5000"));
+        columnStats.updateSketch(sketch(1L, 0, 500));
+        columnStats.updateSketch(sketch(2L, 500, 1000));
+        Assert.assertEquals(1000, columnStats.getHistogram().getRowCount(), 0.001);
+        Assert.assertEquals(1000, columnStats.getSampleNdv(), 50);
+
+        // analyzing a partition again replaces its sketch
+        columnStats.updateSketch(sketch(2L, 500, 600));
+        Assert.assertEquals(600, columnStats.getHistogram().getRowCount(), 0.001);
+        Assert.assertEquals(600, columnStats.getSampleNdv(), 30);
+
+        // the sketch of the whole table replaces the partition ones
+        columnStats.updateSketch(sketch(ColumnSketch.WHOLE_TABLE, 0, 100));
+        Assert.assertEquals(1, columnStats.getSketches().size());
+        Assert.assertEquals(100, columnStats.getHistogram().getRowCount(), 0.001);
+        // the sampled ndv does not overwrite the ndv of the full analysis
+        Assert.assertEquals(5000, columnStats.getNdv());
+    }
+
+    private static ColumnSketch sketch(long partitionId, int from, int to) throws Exception {
+        Hll hll = new Hll();
+        for (int i = from; i < to; i++) {
+            hll.updateWithHash(i);
+        }
+        return new ColumnSketch(1L, "k1", partitionId, Histogram.build(range(from, to), 1.0, 16),
+                ColumnSketch.serializeHll(hll));
+    }
+}
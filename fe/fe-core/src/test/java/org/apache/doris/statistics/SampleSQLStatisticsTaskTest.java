@@ -0,0 +1,120 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Catalog;
+import org.apache.doris.catalog.Database;
+import org.apache.doris.catalog.OlapTable;
+import org.apache.doris.common.Status;
+import org.apache.doris.common.io.Hll;
+import org.apache.doris.mysql.MysqlSerializer;
+import org.apache.doris.planner.OlapScanNode;
+import org.apache.doris.planner.Planner;
+import org.apache.doris.qe.ResultReceiver;
+import org.apache.doris.qe.RowBatch;
+import org.apache.doris.qe.StmtExecutor;
+import org.apache.doris.statistics.StatsCategoryDesc.StatsCategory;
+import org.apache.doris.statistics.StatsGranularityDesc.StatsGranularity;
+import org.apache.doris.thrift.TResultBatch;
+import org.apache.doris.utframe.TestWithFeService;
+
+import com.google.common.collect.Lists;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class SampleSQLStatisticsTaskTest extends TestWithFeService {
+
+    @Override
+    protected void runBeforeAll() throws Exception {
+        createDatabase("db1");
+        createTable("create table db1.tbl1 (k1 int, v1 int) duplicate key (k1) "
+                + "distributed by hash(k1) buckets 20 properties('replication_num' = '1');");
+    }
+
+    private SampleSQLStatisticsTask createSketchTask() throws Exception {
+        Database db = Catalog.getCurrentInternalCatalog().getDbOrAnalysisException("default_cluster:db1");
+        OlapTable table = (OlapTable) db.getTableOrAnalysisException("tbl1");
+        StatsGranularityDesc granularityDesc = new StatsGranularityDesc();
+        granularityDesc.setGranularity(StatsGranularity.TABLE);
+        granularityDesc.setTableId(table.getId());
+        StatsCategoryDesc categoryDesc = new StatsCategoryDesc();
+        categoryDesc.setCategory(StatsCategory.COLUMN);
+        categoryDesc.setDbId(db.getId());
+        categoryDesc.setTableId(table.getId());
+        categoryDesc.setColumnName("v1");
+        return new SampleSQLStatisticsTask(0L, granularityDesc, categoryDesc,
+                Lists.newArrayList(StatsType.HISTOGRAM, StatsType.NDV_SKETCH));
+    }
+
+    @Test
+    public void testScanSampleTablets() throws Exception {
+        SampleSQLStatisticsTask task = createSketchTask();
+        task.constructQuery();
+        List<Long> sampleTabletIds = task.getSampleTabletIds();
+        Assertions.assertEquals(2, sampleTabletIds.size());
+
+        // only the sample tablets are scanned by the sample query
+        StmtExecutor executor = new StmtExecutor(connectContext, task.query);
+        executor.execute();
+        Planner planner = executor.planner();
+        Assertions.assertEquals(1, planner.getScanNodes().size());
+        OlapScanNode scanNode = (OlapScanNode) planner.getScanNodes().get(0);
+        Assertions.assertEquals(2L, (long) scanNode.getSelectedTabletsNum());
+        Assertions.assertEquals(20L, scanNode.getTotalTabletsNum());
+    }
+
+    @Test
+    public void testCollectSketch() throws Exception {
+        // the backend returns 100 rows of 50 distinct values in one batch
+        List<ByteBuffer> rows = Lists.newArrayList();
+        MysqlSerializer serializer = MysqlSerializer.newInstance();
+        for (int i = 0; i < 100; i++) {
+            serializer.reset();
+            serializer.writeLenEncodedString(String.valueOf(i % 50));
+            rows.add(serializer.toByteBuffer());
+        }
+        new MockUp<ResultReceiver>() {
+            private boolean isDone = false;
+
+            @Mock
+            public RowBatch getNext(Status status) {
+                RowBatch batch = new RowBatch();
+                if (!isDone) {
+                    batch.setBatch(new TResultBatch(rows, false, 0L));
+                    isDone = true;
+                }
+                batch.setEos(true);
+                return batch;
+            }
+        };
+
+        StatisticsTaskResult result = createSketchTask().call();
+        Histogram histogram = Histogram.fromJson(result.getStatsTypeToValue().get(StatsType.HISTOGRAM));
+        // the rows of 2 sampled tablets are scaled to the 20 tablets
+        Assertions.assertEquals(1000.0, histogram.getRowCount(), 0.01);
+        Assertions.assertEquals(0.0, histogram.getBuckets().get(0).getLower(), 0.01);
+        Assertions.assertEquals(49.0, histogram.getBuckets().get(histogram.getBuckets().size() - 1).getUpper(), 0.01);
+        Hll ndvSketch = ColumnSketch.deserializeHll(result.getStatsTypeToValue().get(StatsType.NDV_SKETCH));
+        Assertions.assertEquals(50, ndvSketch.estimateCardinality());
+    }
+}
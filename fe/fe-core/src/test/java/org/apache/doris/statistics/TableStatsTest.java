@@ -0,0 +1,130 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.statistics;
+
+import org.apache.doris.catalog.Type;
+import org.apache.doris.common.AnalysisException;
+import org.apache.doris.common.jmockit.Deencapsulation;
+
+import com.google.common.collect.Maps;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TableStatsTest {
+
+    @Test
+    public void testApplyLoad() throws AnalysisException {
+        TableStats tableStats = new TableStats();
+        // the partition stats are initialized by the reported ones
+        tableStats.applyLoad(1L, 2L, 100, 1000, 500, 5000);
+        PartitionStats partitionStats = tableStats.getPartitionStats(1L);
+        Assert.assertEquals(600, partitionStats.getRowCount());
+        Assert.assertEquals(6000, partitionStats.getDataSize());
+
+        // the rows of the load which does not count them are counted after the next report
+        tableStats.applyLoad(1L, 3L, -1, -1, 550, 5500);
+        Assert.assertEquals(600, partitionStats.getRowCount());
+        tableStats.applyLoad(1L, 4L, 50, 500, 550, 5500);
+        Assert.assertEquals(650, partitionStats.getRowCount());
+
+        // re-based on the newer report, which covers the loads until version 3 and a delete
+        partitionStats.rebase(560, 5600, 3L);
+        Assert.assertEquals(610, partitionStats.getRowCount());
+        Assert.assertEquals(6100, partitionStats.getDataSize());
+        // an older report is ignored
+        partitionStats.rebase(500, 5000, 2L);
+        Assert.assertEquals(610, partitionStats.getRowCount());
+        partitionStats.rebase(400, 4000, 4L);
+        Assert.assertEquals(400, partitionStats.getRowCount());
+        Assert.assertEquals(4000, partitionStats.getDataSize());
+
+        // the table is not analyzed
+        Assert.assertEquals(-1, tableStats.getRowCount());
+        Assert.assertEquals(-1, tableStats.getStaleness(800), 0.0001);
+    }
+
+    @Test
+    public void testLoadsWithoutReport() {
+        // there are no reports on the followers, the loads are still bounded
+        PartitionStats partitionStats = new PartitionStats(500, 5000, 1L);
+        for (long version = 2L; version <= 1001L; version++) {
+            partitionStats.applyLoad(version, 10, 100);
+        }
+        Assert.assertEquals(10500, partitionStats.getRowCount());
+        Assert.assertEquals(105000, partitionStats.getDataSize());
+        Map<Long, long[]> versionToLoaded = Deencapsulation.getField(partitionStats, "versionToLoaded");
+        Assert.assertTrue(versionToLoaded.size() <= 128);
+
+        // the report covering the merged loads is ignored, and the newer one re-bases the stats
+        partitionStats.rebase(600, 6000, 2L);
+        Assert.assertEquals(10500, partitionStats.getRowCount());
+        partitionStats.rebase(9000, 90000, 1000L);
+        Assert.assertEquals(9010, partitionStats.getRowCount());
+        Assert.assertEquals(90100, partitionStats.getDataSize());
+        Assert.assertEquals(1, versionToLoaded.size());
+    }
+
+    @Test
+    public void testNullFraction() throws AnalysisException {
+        Statistics statistics = new Statistics();
+        Assert.assertEquals(0, statistics.getNullFraction(10L, "c1"), 0.0001);
+        Map<StatsType, String> statsTypeToValue = Maps.newHashMap();
+        statsTypeToValue.put(StatsType.ROW_COUNT, "1000");
+        statistics.updateTableStats(10L, statsTypeToValue);
+        Assert.assertEquals(0, statistics.getNullFraction(10L, "c1"), 0.0001);
+        statsTypeToValue.clear();
+        statsTypeToValue.put(StatsType.NUM_NULLS, "250");
+        statistics.updateColumnStats(10L, "c1", Type.INT, statsTypeToValue);
+        Assert.assertEquals(0.25, statistics.getNullFraction(10L, "c1"), 0.0001);
+    }
+
+    @Test
+    public void testRemoveStats() {
+        Statistics statistics = new Statistics();
+        statistics.applyLoad(10L, 1L, 2L, 100, 1000, 0, 0);
+        statistics.applyLoad(10L, 2L, 2L, 100, 1000, 0, 0);
+        statistics.removePartitionStats(10L, 1L);
+        Assert.assertNull(statistics.getTableStats(10L).getPartitionStats(1L));
+        Assert.assertNotNull(statistics.getTableStats(10L).getPartitionStats(2L));
+        statistics.removeTableStats(10L);
+        Assert.assertNull(statistics.getTableStats(10L));
+    }
+
+    @Test
+    public void testStaleness() throws AnalysisException {
+        TableStats tableStats = new TableStats();
+        Map<StatsType, String> statsTypeToValue = Maps.newHashMap();
+        statsTypeToValue.put(StatsType.ROW_COUNT, "1000");
+        tableStats.updateTableStats(statsTypeToValue);
+        Assert.assertEquals(0, tableStats.getStaleness(1000), 0.0001);
+
+        tableStats.applyLoad(1L, 2L, 100, -1, 1000, 10000);
+        Assert.assertEquals(1100, tableStats.getRowCount());
+        Assert.assertEquals(0.1, tableStats.getStaleness(1000), 0.0001);
+        // the rows of the loads which are not counted are covered by the reported row count
+        Assert.assertEquals(0.5, tableStats.getStaleness(1500), 0.0001);
+
+        // analyze again
+        statsTypeToValue.put(StatsType.ROW_COUNT, "1500");
+        tableStats.updateTableStats(statsTypeToValue);
+        Assert.assertEquals(0, tableStats.getStaleness(1500), 0.0001);
+        Assert.assertNull(tableStats.getPartitionStats(1L));
+    }
+}
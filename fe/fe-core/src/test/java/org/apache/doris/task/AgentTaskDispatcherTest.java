@@ -0,0 +1,158 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.task;
+
+import org.apache.doris.common.Config;
+
+import com.google.common.collect.Lists;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AgentTaskDispatcherTest {
+    private int batchSize;
+    private int batchIntervalMs;
+    private int maxInFlight;
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(Lists.newArrayList());
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger(0);
+    // if set, the sending is blocked until it is counted down
+    private volatile CountDownLatch sendBlocker = null;
+
+    @Before
+    public void setUp() {
+        batchSize = Config.agent_task_rpc_batch_size;
+        batchIntervalMs = Config.agent_task_rpc_batch_interval_ms;
+        maxInFlight = Config.agent_task_rpc_max_in_flight_per_backend;
+        new MockUp<AgentTaskDispatcher>() {
+            @Mock
+            void send(long backendId, List<AgentTask> tasks) throws InterruptedException {
+                int num = inFlight.incrementAndGet();
+                maxObservedInFlight.accumulateAndGet(num, Math::max);
+                if (sendBlocker != null) {
+                    sendBlocker.await();
+                }
+                Thread.sleep(20);
+                batchSizes.add(tasks.size());
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        Config.agent_task_rpc_batch_size = batchSize;
+        Config.agent_task_rpc_batch_interval_ms = batchIntervalMs;
+        Config.agent_task_rpc_max_in_flight_per_backend = maxInFlight;
+    }
+
+    private List<AgentTask> createTasks(long backendId, int num, long signatureBase) {
+        List<AgentTask> tasks = Lists.newArrayList();
+        for (int i = 0; i < num; i++) {
+            tasks.add(new DropReplicaTask(backendId, signatureBase + i, signatureBase + i, 0));
+        }
+        return tasks;
+    }
+
+    private int waitSentNum(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && sentNum() < expected; i++) {
+            Thread.sleep(10);
+        }
+        return sentNum();
+    }
+
+    private int sentNum() {
+        synchronized (batchSizes) {
+            return batchSizes.stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    @Test
+    public void testBatchAndWindow() throws InterruptedException {
+        Config.agent_task_rpc_batch_size = 3;
+        Config.agent_task_rpc_batch_interval_ms = 10;
+        Config.agent_task_rpc_max_in_flight_per_backend = 1;
+        long backendId = 90001L;
+        AgentTaskDispatcher dispatcher = AgentTaskDispatcher.getInstance();
+
+        // less than the batch size, sent at once since nothing is in flight
+        dispatcher.submit(backendId, createTasks(backendId, 1, 1000L));
+        Assert.assertEquals(1, waitSentNum(1));
+
+        dispatcher.submit(backendId, createTasks(backendId, 10, 2000L));
+        Assert.assertEquals(11, waitSentNum(11));
+        for (int size : batchSizes) {
+            Assert.assertTrue(size <= 3);
+        }
+        // the batches of one backend are sent one by one
+        Assert.assertEquals(1, maxObservedInFlight.get());
+        Assert.assertEquals(0, dispatcher.getPendingNum(backendId));
+    }
+
+    @Test
+    public void testSendAtOnceWhenIdle() throws InterruptedException {
+        Config.agent_task_rpc_batch_size = 100;
+        Config.agent_task_rpc_batch_interval_ms = 600000;
+        long backendId = 90002L;
+        AgentTaskDispatcher dispatcher = AgentTaskDispatcher.getInstance();
+
+        // the channel is idle, so the task does not wait for the batch interval
+        dispatcher.submit(backendId, createTasks(backendId, 1, 1000L));
+        Assert.assertEquals(1, waitSentNum(1));
+        dispatcher.submit(backendId, createTasks(backendId, 1, 2000L));
+        Assert.assertEquals(2, waitSentNum(2));
+        Assert.assertEquals(Lists.newArrayList(1, 1), batchSizes);
+    }
+
+    @Test
+    public void testCoalesceWhileInFlight() throws InterruptedException {
+        Config.agent_task_rpc_batch_size = 100;
+        Config.agent_task_rpc_batch_interval_ms = 600000;
+        Config.agent_task_rpc_max_in_flight_per_backend = 2;
+        long backendId = 90003L;
+        AgentTaskDispatcher dispatcher = AgentTaskDispatcher.getInstance();
+        sendBlocker = new CountDownLatch(1);
+
+        dispatcher.submit(backendId, createTasks(backendId, 1, 1000L));
+        for (int i = 0; i < 500 && dispatcher.getPendingNum(backendId) > 0; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1, dispatcher.getInFlightNum(backendId));
+
+        // a batch is in flight, so the tasks are coalesced even if the in-flight window is not full
+        for (int i = 0; i < 3; i++) {
+            dispatcher.submit(backendId, createTasks(backendId, 1, 2000L + i));
+        }
+        Assert.assertEquals(3, dispatcher.getPendingNum(backendId));
+        Assert.assertEquals(1, dispatcher.getInFlightNum(backendId));
+
+        // they are sent in one batch once the batch in flight finishes
+        sendBlocker.countDown();
+        Assert.assertEquals(4, waitSentNum(4));
+        Assert.assertEquals(Lists.newArrayList(1, 3), batchSizes);
+    }
+}
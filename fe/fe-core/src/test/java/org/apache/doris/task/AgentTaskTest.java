@@ -29,6 +29,8 @@ import org.apache.doris.common.MarkedCountDownLatch;
 import org.apache.doris.thrift.TAgentTaskRequest;
 import org.apache.doris.thrift.TBackend;
 import org.apache.doris.thrift.TCompressionType;
+import org.apache.doris.thrift.TPriority;
+import org.apache.doris.thrift.TPushType;
 import org.apache.doris.thrift.TStorageMedium;
 import org.apache.doris.thrift.TStorageType;
 import org.apache.doris.thrift.TTabletType;
@@ -232,4 +234,39 @@ public class AgentTaskTest {
         Assert.assertEquals(1, AgentTaskQueue.getTaskNum(backendId1, TTaskType.DROP, true));
         Assert.assertEquals(2, AgentTaskQueue.getTaskNum(-1, TTaskType.DROP, true));
     }
+
+    @Test
+    public void indexedAgentTaskQueueTest() {
+        AgentTaskQueue.clearAllTasks();
+        PushTask pushTask = new PushTask(backendId1, dbId, tableId, partitionId, indexId1, tabletId1, replicaId1,
+                schemaHash1, 3600, 1L, TPushType.LOAD_V2, TPriority.NORMAL, 1L, 12345L, null, null);
+        DropReplicaTask dropTask2 = new DropReplicaTask(backendId2, tabletId1, replicaId1, schemaHash1);
+        AgentTaskQueue.addTask(createReplicaTask);
+        AgentTaskQueue.addTask(cloneTask);
+        AgentTaskQueue.addTask(pushTask);
+        AgentTaskQueue.addTask(dropTask2);
+        Assert.assertEquals(4, AgentTaskQueue.getTaskNum());
+
+        // get by db
+        List<AgentTask> cloneTasks = AgentTaskQueue.getTask(dbId, TTaskType.CLONE);
+        Assert.assertEquals(1, cloneTasks.size());
+        Assert.assertSame(cloneTask, cloneTasks.get(0));
+
+        // the push task is removed by tablet id, and the tasks of other backends are kept
+        AgentTaskQueue.removeReplicaRelatedTasks(backendId1, tabletId1);
+        Assert.assertNull(AgentTaskQueue.getTask(backendId1, TTaskType.REALTIME_PUSH, pushTask.getSignature()));
+        Assert.assertNull(AgentTaskQueue.getTask(backendId1, TTaskType.CREATE, createReplicaTask.getSignature()));
+        Assert.assertNotNull(AgentTaskQueue.getTask(backendId2, TTaskType.DROP, dropTask2.getSignature()));
+        int remaining = 0;
+        for (TTaskType type : TTaskType.values()) {
+            remaining += AgentTaskQueue.getTaskNum(-1, type, false);
+        }
+        Assert.assertEquals(remaining, AgentTaskQueue.getTaskNum());
+
+        AgentTaskQueue.removeTaskOfType(TTaskType.DROP, dropTask2.getSignature());
+        Assert.assertNull(AgentTaskQueue.getTask(backendId2, TTaskType.DROP, dropTask2.getSignature()));
+        AgentTaskQueue.clearAllTasks();
+        Assert.assertEquals(0, AgentTaskQueue.getTaskNum());
+        Assert.assertTrue(AgentTaskQueue.getTask(dbId, TTaskType.CLONE).isEmpty());
+    }
 }
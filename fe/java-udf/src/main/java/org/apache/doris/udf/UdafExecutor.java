@@ -33,6 +33,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -53,6 +56,7 @@ public class UdafExecutor {
     public static final String UDAF_CREATE_FUNCTION = "create";
     public static final String UDAF_DESTROY_FUNCTION = "destroy";
     public static final String UDAF_ADD_FUNCTION = "add";
+    public static final String UDAF_ADD_BATCH_FUNCTION = "addBatch";
     public static final String UDAF_SERIALIZE_FUNCTION = "serialize";
     public static final String UDAF_DESERIALIZE_FUNCTION = "deserialize";
     public static final String UDAF_MERGE_FUNCTION = "merge";
@@ -72,6 +76,14 @@ public class UdafExecutor {
     private JavaUdfDataType[] argTypes;
     private JavaUdfDataType retType;
     private Object stateObj;
+    // add() bound to 'udaf' and spread over an Object[]: state followed by the arguments.
+    private MethodHandle addHandle;
+    // optional addBatch() bound to 'udaf', see bindAddBatchMethod() for the contract.
+    private MethodHandle addBatchHandle;
+    // reused across rows and calls of add()
+    private Object[] inputObjects;
+    private Object[] inputArgs;
+    private Object[] batchArgs;
 
     /**
      * Constructor to create an object.
@@ -120,6 +132,8 @@ public class UdafExecutor {
         // We are now un-usable (because the class loader has been
         // closed), so null out allMethods and classLoader.
         allMethods = null;
+        addHandle = null;
+        addBatchHandle = null;
         classLoader = null;
     }
 
@@ -134,10 +148,13 @@ public class UdafExecutor {
      */
     public void add(long rowStart, long rowEnd) throws UdfRuntimeException {
         try {
-            Object[] inputArgs = new Object[argTypes.length + 1];
+            if (addBatchHandle != null && !hasNullInput(rowStart, rowEnd)) {
+                addBatch(rowStart, rowEnd);
+                return;
+            }
             inputArgs[0] = stateObj;
             for (long row = rowStart; row < rowEnd; ++row) {
-                Object[] inputObjects = allocateInputObjects(row);
+                allocateInputObjects(row);
                 for (int i = 0; i < argTypes.length; ++i) {
                     if (UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i)) == -1
                             || UdfUtils.UNSAFE.getByte(null,
@@ -148,13 +165,38 @@ public class UdafExecutor {
                         inputArgs[i + 1] = null;
                     }
                 }
-                allMethods.get(UDAF_ADD_FUNCTION).invoke(udaf, inputArgs);
+                addHandle.invokeExact(inputArgs);
             }
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new UdfRuntimeException("UDAF failed to add: ", e);
         }
     }
 
+    private boolean hasNullInput(long rowStart, long rowEnd) {
+        for (int i = 0; i < argTypes.length; ++i) {
+            if (UdfUtils.hasNull(UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i)),
+                    rowStart, rowEnd)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Feed rows in [rowStart, rowEnd) to addBatch() at once. The input columns are bulk copied into
+    // the reused primitive arrays.
+    private void addBatch(long rowStart, long rowEnd) throws Throwable {
+        int numRows = (int) (rowEnd - rowStart);
+        for (int i = 0; i < argTypes.length; ++i) {
+            if (Array.getLength(batchArgs[i]) < numRows) {
+                batchArgs[i] = UdfUtils.allocateBatchArray(argTypes[i], numRows);
+            }
+            UdfUtils.copyToBatchArray(argTypes[i], UdfUtils.UNSAFE.getLong(null,
+                    UdfUtils.getAddressAtOffset(inputBufferPtrs, i)) + rowStart * argTypes[i].getLen(),
+                    batchArgs[i], numRows);
+        }
+        addBatchHandle.invokeExact(stateObj, numRows, batchArgs);
+    }
+
     /**
      * invoke user create function to get obj.
      */
@@ -349,9 +391,7 @@ public class UdafExecutor {
         }
     }
 
-    private Object[] allocateInputObjects(long row) throws UdfRuntimeException {
-        Object[] inputObjects = new Object[argTypes.length];
-
+    private void allocateInputObjects(long row) throws UdfRuntimeException {
         for (int i = 0; i < argTypes.length; ++i) {
             switch (argTypes[i]) {
                 case BOOLEAN:
@@ -434,7 +474,6 @@ public class UdafExecutor {
                     throw new UdfRuntimeException("Unsupported argument type: " + argTypes[i]);
             }
         }
-        return inputObjects;
     }
 
     private void init(String jarPath, String udfPath, Type funcRetType, Type... parameterTypes)
@@ -459,6 +498,7 @@ public class UdafExecutor {
                 switch (methods[idx].getName()) {
                     case UDAF_DESTROY_FUNCTION:
                     case UDAF_CREATE_FUNCTION:
+                    case UDAF_ADD_BATCH_FUNCTION:
                     case UDAF_MERGE_FUNCTION:
                     case UDAF_SERIALIZE_FUNCTION:
                     case UDAF_DESERIALIZE_FUNCTION: {
@@ -503,6 +543,7 @@ public class UdafExecutor {
                 }
             }
             if (idx == methods.length) {
+                bindAddMethods();
                 return;
             }
             StringBuilder sb = new StringBuilder();
@@ -525,4 +566,49 @@ public class UdafExecutor {
             throw new UdfRuntimeException("Unable to call create UDAF instance.", e);
         }
     }
+
+    private void bindAddMethods() throws IllegalAccessException {
+        Method addMethod = allMethods.get(UDAF_ADD_FUNCTION);
+        if (addMethod == null || argTypes == null) {
+            return;
+        }
+        inputObjects = new Object[argTypes.length];
+        inputArgs = new Object[argTypes.length + 1];
+        addHandle = UdfUtils.unreflect(addMethod, udaf)
+                .asSpreader(Object[].class, argTypes.length + 1)
+                .asType(MethodType.methodType(void.class, Object[].class));
+        bindAddBatchMethod(allMethods.get(UDAF_ADD_BATCH_FUNCTION));
+    }
+
+    /**
+     * A udaf whose arguments are all fixed-width primitives (boolean, byte, short, int, long, float
+     * and double) may additionally provide
+     *
+     *     public void addBatch(State state, int numRows, T1[] arg1, ..., Tn[] argn)
+     *
+     * to accumulate a range of rows in one call. Only the first 'numRows' elements of the arrays
+     * are valid. It is only used when none of the rows is null, otherwise add() is called row by row.
+     */
+    private void bindAddBatchMethod(Method batchMethod) throws IllegalAccessException {
+        if (batchMethod == null) {
+            return;
+        }
+        Class<?>[] methodTypes = batchMethod.getParameterTypes();
+        if (methodTypes.length != argTypes.length + 2 || methodTypes[1] != int.class) {
+            LOG.debug("addBatch function parameterTypes mismatch: " + batchMethod.toGenericString());
+            return;
+        }
+        batchArgs = new Object[argTypes.length];
+        for (int i = 0; i < argTypes.length; ++i) {
+            Class<?> arrayClass = UdfUtils.getBatchArrayClass(argTypes[i]);
+            if (arrayClass == null || arrayClass != methodTypes[i + 2]) {
+                LOG.debug("addBatch function parameterTypes mismatch: " + batchMethod.toGenericString());
+                return;
+            }
+            batchArgs[i] = UdfUtils.allocateBatchArray(argTypes[i], 0);
+        }
+        addBatchHandle = UdfUtils.unreflect(batchMethod, udaf)
+                .asSpreader(Object[].class, argTypes.length)
+                .asType(MethodType.methodType(void.class, Object.class, int.class, Object[].class));
+    }
 }
@@ -30,6 +30,9 @@ import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -47,6 +50,8 @@ public class UdfExecutor {
 
     // By convention, the function in the class must be called evaluate()
     public static final String UDF_FUNCTION_NAME = "evaluate";
+    // Optional vectorized version of evaluate(), see bindBatchMethod() for the contract.
+    public static final String UDF_BATCH_FUNCTION_NAME = "evaluateBatch";
 
     // Object to deserialize ctor params from BE.
     private static final TBinaryProtocol.Factory PROTOCOL_FACTORY =
@@ -55,6 +60,11 @@ public class UdfExecutor {
     private Object udf;
     // setup by init() and cleared by close()
     private Method method;
+    // 'method' bound to 'udf' and spread over an Object[], so a row costs one invokeExact()
+    // instead of a reflective call. setup by init() and cleared by close()
+    private MethodHandle methodHandle;
+    // bound evaluateBatch() of 'udf' spread over an Object[], null if the udf has no batch method.
+    private MethodHandle batchMethodHandle;
     // setup by init() and cleared by close()
     private URLClassLoader classLoader;
 
@@ -80,6 +90,9 @@ public class UdfExecutor {
     private Object[] inputObjects;
     // inputArgs_[i] is either inputObjects[i] or null
     private Object[] inputArgs;
+    // Arguments of evaluateBatch(): input arrays followed by the result array. The arrays are
+    // reused across calls and only grow when a larger batch comes.
+    private Object[] batchArgs;
 
     private long outputOffset;
     private long rowIdx;
@@ -227,6 +240,9 @@ public class UdfExecutor {
         // We are now un-usable (because the class loader has been
         // closed), so null out method_ and classLoader_.
         method = null;
+        methodHandle = null;
+        batchMethodHandle = null;
+        batchArgs = null;
         classLoader = null;
     }
 
@@ -248,6 +264,10 @@ public class UdfExecutor {
                 }
             } else {
                 rowIdx = 0;
+                if (canEvaluateBatch()) {
+                    evaluateBatch(batchSize);
+                    return;
+                }
             }
             for (; rowIdx < batchSize; rowIdx++) {
                 allocateInputObjects(rowIdx);
@@ -288,12 +308,71 @@ public class UdfExecutor {
      */
     private Object evaluate(Object... args) throws UdfRuntimeException {
         try {
-            return method.invoke(udf, args);
-        } catch (Exception e) {
+            return (Object) methodHandle.invokeExact(args);
+        } catch (Throwable e) {
             throw new UdfRuntimeException("UDF failed to evaluate", e);
         }
     }
 
+    // The batch path produces null for a row iff any of its arguments is null, so it can only be
+    // used if the output column can hold the nulls.
+    private boolean canEvaluateBatch() {
+        if (batchMethodHandle == null) {
+            return false;
+        }
+        if (UdfUtils.UNSAFE.getLong(null, outputNullPtr) != -1) {
+            return true;
+        }
+        for (int i = 0; i < argTypes.length; ++i) {
+            if (UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the whole batch with a single call of evaluateBatch(). Input columns are bulk
+     * copied into primitive arrays and the result array is bulk copied back to the output column.
+     */
+    private void evaluateBatch(int batchSize) throws UdfRuntimeException {
+        for (int i = 0; i <= argTypes.length; ++i) {
+            JavaUdfDataType type = i < argTypes.length ? argTypes[i] : retType;
+            if (Array.getLength(batchArgs[i]) < batchSize) {
+                batchArgs[i] = UdfUtils.allocateBatchArray(type, batchSize);
+            }
+        }
+        for (int i = 0; i < argTypes.length; ++i) {
+            UdfUtils.copyToBatchArray(argTypes[i],
+                    UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputBufferPtrs, i)),
+                    batchArgs[i], batchSize);
+        }
+        try {
+            batchMethodHandle.invokeExact(batchSize, batchArgs);
+        } catch (Throwable e) {
+            throw new UdfRuntimeException("UDF failed to evaluate batch", e);
+        }
+        UdfUtils.copyFromBatchArray(retType, batchArgs[argTypes.length],
+                UdfUtils.UNSAFE.getLong(null, outputBufferPtr), batchSize);
+
+        long outputNull = UdfUtils.UNSAFE.getLong(null, outputNullPtr);
+        if (outputNull == -1) {
+            return;
+        }
+        UdfUtils.UNSAFE.setMemory(outputNull, batchSize, (byte) 0);
+        for (int i = 0; i < argTypes.length; ++i) {
+            long inputNull = UdfUtils.UNSAFE.getLong(null, UdfUtils.getAddressAtOffset(inputNullsPtrs, i));
+            if (inputNull == -1) {
+                continue;
+            }
+            for (int row = 0; row < batchSize; ++row) {
+                if (UdfUtils.UNSAFE.getByte(null, inputNull + row) != 0) {
+                    UdfUtils.UNSAFE.putByte(null, outputNull + row, (byte) 1);
+                }
+            }
+        }
+    }
+
     public Method getMethod() {
         return method;
     }
@@ -432,9 +511,6 @@ public class UdfExecutor {
     // Preallocate the input objects that will be passed to the underlying UDF.
     // These objects are allocated once and reused across calls to evaluate()
     private void allocateInputObjects(long row) throws UdfRuntimeException {
-        inputObjects = new Object[argTypes.length];
-        inputArgs = new Object[argTypes.length];
-
         for (int i = 0; i < argTypes.length; ++i) {
             switch (argTypes[i]) {
                 case BOOLEAN:
@@ -560,6 +636,7 @@ public class UdfExecutor {
                         retType = returnType.second;
                     }
                     argTypes = new JavaUdfDataType[0];
+                    bindMethods(c);
                     LOG.debug("Loaded UDF '" + udfPath + "' from " + jarPath);
                     return;
                 }
@@ -575,6 +652,7 @@ public class UdfExecutor {
                 } else {
                     argTypes = inputType.second;
                 }
+                bindMethods(c);
                 LOG.debug("Loaded UDF '" + udfPath + "' from " + jarPath);
                 return;
             }
@@ -603,4 +681,51 @@ public class UdfExecutor {
             throw new UdfRuntimeException("Unable to call create UDF instance.", e);
         }
     }
+
+    private void bindMethods(Class<?> c) throws IllegalAccessException {
+        inputObjects = new Object[argTypes.length];
+        inputArgs = new Object[argTypes.length];
+        methodHandle = UdfUtils.unreflect(method, udf)
+                .asSpreader(Object[].class, argTypes.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        bindBatchMethod(c);
+    }
+
+    /**
+     * A udf whose argument and return types are all fixed-width primitives (boolean, byte, short,
+     * int, long, float and double) may additionally provide
+     *
+     *     public void evaluateBatch(int numRows, T1[] arg1, ..., Tn[] argn, R[] result)
+     *
+     * to process a whole batch in one call. Only the first 'numRows' elements of the arrays are
+     * valid. Values of null rows are undefined and the result of a row is null iff any of its
+     * arguments is null. The row based evaluate() is still required and used as fallback.
+     */
+    private void bindBatchMethod(Class<?> c) throws IllegalAccessException {
+        Class<?>[] batchTypes = new Class<?>[argTypes.length + 2];
+        batchTypes[0] = int.class;
+        for (int i = 0; i <= argTypes.length; ++i) {
+            batchTypes[i + 1] = UdfUtils.getBatchArrayClass(i < argTypes.length ? argTypes[i] : retType);
+            if (batchTypes[i + 1] == null) {
+                return;
+            }
+        }
+        Method batchMethod;
+        try {
+            batchMethod = c.getMethod(UDF_BATCH_FUNCTION_NAME, batchTypes);
+        } catch (NoSuchMethodException e) {
+            return;
+        }
+        if (batchMethod.getReturnType() != void.class) {
+            return;
+        }
+        batchMethodHandle = UdfUtils.unreflect(batchMethod, udf)
+                .asSpreader(Object[].class, argTypes.length + 1)
+                .asType(MethodType.methodType(void.class, int.class, Object[].class));
+        batchArgs = new Object[argTypes.length + 1];
+        for (int i = 0; i <= argTypes.length; ++i) {
+            batchArgs[i] = UdfUtils.allocateBatchArray(i < argTypes.length ? argTypes[i] : retType, 0);
+        }
+        LOG.debug("Bind batch method " + batchMethod.toGenericString());
+    }
 }
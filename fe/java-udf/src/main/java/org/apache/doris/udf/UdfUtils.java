@@ -31,7 +31,12 @@ import com.google.common.base.Preconditions;
 import sun.misc.Unsafe;
 
 import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -120,6 +125,72 @@ public class UdfUtils {
         }
     }
 
+    /**
+     * Returns the primitive array class which carries a column of the given type in the batch
+     * contract (e.g. int[] for INT), or null if the type has no fixed-width primitive representation.
+     */
+    public static Class<?> getBatchArrayClass(JavaUdfDataType type) {
+        switch (type) {
+            case BOOLEAN:
+                return boolean[].class;
+            case TINYINT:
+                return byte[].class;
+            case SMALLINT:
+                return short[].class;
+            case INT:
+                return int[].class;
+            case BIGINT:
+                return long[].class;
+            case FLOAT:
+                return float[].class;
+            case DOUBLE:
+                return double[].class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the method handle of a udf method, bound to the udf instance unless the method is static.
+     */
+    public static MethodHandle unreflect(Method method, Object instance) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+        return Modifier.isStatic(method.getModifiers()) ? handle : handle.bindTo(instance);
+    }
+
+    public static Object allocateBatchArray(JavaUdfDataType type, int length) {
+        return Array.newInstance(getBatchArrayClass(type).getComponentType(), length);
+    }
+
+    /**
+     * Bulk copy 'numRows' values of a fixed-width column from the BE buffer at 'address' into 'array'.
+     * The BE column and the java primitive array share the same native layout, so no per-value
+     * conversion is needed.
+     */
+    public static void copyToBatchArray(JavaUdfDataType type, long address, Object array, int numRows) {
+        copyMemory(null, address, array, UNSAFE.arrayBaseOffset(array.getClass()), (long) numRows * type.getLen());
+    }
+
+    public static void copyFromBatchArray(JavaUdfDataType type, Object array, long address, int numRows) {
+        copyMemory(array, UNSAFE.arrayBaseOffset(array.getClass()), null, address, (long) numRows * type.getLen());
+    }
+
+    /**
+     * Returns true if any of the rows in [rowStart, rowEnd) is null. 'nullMapAddress' is -1 for
+     * a column which is not nullable.
+     */
+    public static boolean hasNull(long nullMapAddress, long rowStart, long rowEnd) {
+        if (nullMapAddress == -1) {
+            return false;
+        }
+        for (long row = rowStart; row < rowEnd; ++row) {
+            if (UNSAFE.getByte(null, nullMapAddress + row) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static URLClassLoader getClassLoader(String jarPath, ClassLoader parent) throws MalformedURLException {
         URL url = new File(jarPath).toURI().toURL();
         return URLClassLoader.newInstance(new URL[] {url}, parent);
@@ -0,0 +1,33 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.udf;
+
+public class SimpleAddBatchUdf {
+    public static int batchCalls = 0;
+
+    public Integer evaluate(Integer a, Integer b) {
+        return a == null || b == null ? null : a + b;
+    }
+
+    public void evaluateBatch(int numRows, int[] a, int[] b, int[] result) {
+        batchCalls++;
+        for (int i = 0; i < numRows; i++) {
+            result[i] = a[i] + b[i];
+        }
+    }
+}
@@ -0,0 +1,191 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package org.apache.doris.udf;
+
+import org.apache.doris.thrift.TFunction;
+import org.apache.doris.thrift.TFunctionBinaryType;
+import org.apache.doris.thrift.TFunctionName;
+import org.apache.doris.thrift.TJavaUdfExecutorCtorParams;
+import org.apache.doris.thrift.TPrimitiveType;
+import org.apache.doris.thrift.TScalarFunction;
+import org.apache.doris.thrift.TScalarType;
+import org.apache.doris.thrift.TTypeDesc;
+import org.apache.doris.thrift.TTypeNode;
+import org.apache.doris.thrift.TTypeNodeType;
+
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways to evaluate a batch of a java udf:
+ * 1. reflection: per row boxing and Method.invoke(), which is how UdfExecutor used to work.
+ * 2. row: UdfExecutor with a udf which only has evaluate(), called through a MethodHandle.
+ * 3. batch: UdfExecutor with a udf which has evaluateBatch(), called once per batch.
+ *
+ * Run it by main() with the test classpath, it is not run as a unit test.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UdfExecutorBenchmark {
+    @Param({"1024", "4096"})
+    private int batchSize;
+
+    private long batchSizePtr;
+    private long inputBuffer1;
+    private long inputBuffer2;
+    private long inputNull1;
+    private long outputBuffer;
+    private long outputNull;
+    private long[] allocated;
+
+    private UdfExecutor rowExecutor;
+    private UdfExecutor batchExecutor;
+    private Object reflectionUdf;
+    private Method reflectionMethod;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        batchSizePtr = UdfUtils.UNSAFE.allocateMemory(4);
+        UdfUtils.UNSAFE.putInt(batchSizePtr, batchSize);
+        inputBuffer1 = UdfUtils.UNSAFE.allocateMemory(4L * batchSize);
+        inputBuffer2 = UdfUtils.UNSAFE.allocateMemory(4L * batchSize);
+        inputNull1 = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        outputBuffer = UdfUtils.UNSAFE.allocateMemory(4L * batchSize);
+        outputNull = UdfUtils.UNSAFE.allocateMemory(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            UdfUtils.UNSAFE.putInt(inputBuffer1 + 4L * i, i);
+            UdfUtils.UNSAFE.putInt(inputBuffer2 + 4L * i, batchSize - i);
+            UdfUtils.UNSAFE.putByte(inputNull1 + i, (byte) (i % 100 == 0 ? 1 : 0));
+        }
+
+        long inputBufferPtr = UdfUtils.UNSAFE.allocateMemory(16);
+        long inputNullPtr = UdfUtils.UNSAFE.allocateMemory(16);
+        long outputBufferPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        long outputNullPtr = UdfUtils.UNSAFE.allocateMemory(8);
+        UdfUtils.UNSAFE.putLong(inputBufferPtr, inputBuffer1);
+        UdfUtils.UNSAFE.putLong(inputBufferPtr + 8, inputBuffer2);
+        UdfUtils.UNSAFE.putLong(inputNullPtr, inputNull1);
+        UdfUtils.UNSAFE.putLong(inputNullPtr + 8, -1);
+        UdfUtils.UNSAFE.putLong(outputBufferPtr, outputBuffer);
+        UdfUtils.UNSAFE.putLong(outputNullPtr, outputNull);
+        allocated = new long[] {batchSizePtr, inputBuffer1, inputBuffer2, inputNull1, outputBuffer, outputNull,
+                inputBufferPtr, inputNullPtr, outputBufferPtr, outputNullPtr};
+
+        TJavaUdfExecutorCtorParams params = new TJavaUdfExecutorCtorParams();
+        params.setBatchSizePtr(batchSizePtr);
+        params.setInputBufferPtrs(inputBufferPtr);
+        params.setInputNullsPtrs(inputNullPtr);
+        params.setInputOffsetsPtrs(0);
+        params.setOutputBufferPtr(outputBufferPtr);
+        params.setOutputNullPtr(outputNullPtr);
+
+        TSerializer serializer = new TSerializer(new TBinaryProtocol.Factory());
+        params.setFn(createAddFunction("org.apache.doris.udf.SimpleAddUdf"));
+        rowExecutor = new UdfExecutor(serializer.serialize(params));
+        params.setFn(createAddFunction("org.apache.doris.udf.SimpleAddBatchUdf"));
+        batchExecutor = new UdfExecutor(serializer.serialize(params));
+
+        reflectionUdf = new SimpleAddUdf();
+        reflectionMethod = SimpleAddUdf.class.getMethod(UdfExecutor.UDF_FUNCTION_NAME, Integer.class, int.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        rowExecutor.close();
+        batchExecutor.close();
+        for (long address : allocated) {
+            UdfUtils.UNSAFE.freeMemory(address);
+        }
+    }
+
+    @Benchmark
+    public void reflection() throws Exception {
+        for (int row = 0; row < batchSize; row++) {
+            Object[] args = new Object[2];
+            args[0] = UdfUtils.UNSAFE.getByte(inputNull1 + row) == 0
+                    ? UdfUtils.UNSAFE.getInt(inputBuffer1 + 4L * row) : null;
+            args[1] = UdfUtils.UNSAFE.getInt(inputBuffer2 + 4L * row);
+            Object result = reflectionMethod.invoke(reflectionUdf, args);
+            if (result == null) {
+                UdfUtils.UNSAFE.putByte(outputNull + row, (byte) 1);
+            } else {
+                UdfUtils.UNSAFE.putByte(outputNull + row, (byte) 0);
+                UdfUtils.UNSAFE.putInt(outputBuffer + 4L * row, (int) result);
+            }
+        }
+    }
+
+    @Benchmark
+    public void row() throws Exception {
+        rowExecutor.evaluate();
+    }
+
+    @Benchmark
+    public void batch() throws Exception {
+        batchExecutor.evaluate();
+    }
+
+    private static TFunction createAddFunction(String symbol) {
+        TScalarFunction scalarFunction = new TScalarFunction();
+        scalarFunction.symbol = symbol;
+        TTypeNode typeNode = new TTypeNode(TTypeNodeType.SCALAR);
+        typeNode.scalar_type = new TScalarType(TPrimitiveType.INT);
+        TTypeDesc typeDesc = new TTypeDesc(Collections.singletonList(typeNode));
+
+        TFunction fn = new TFunction();
+        fn.binary_type = TFunctionBinaryType.JAVA_UDF;
+        fn.ret_type = typeDesc;
+        fn.arg_types = Arrays.asList(typeDesc, typeDesc);
+        fn.scalar_fn = scalarFunction;
+        fn.name = new TFunctionName("SimpleAdd");
+        return fn;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UdfExecutorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
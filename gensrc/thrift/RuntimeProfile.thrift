@@ -49,6 +49,9 @@ struct TRuntimeProfileNode {
   
   // map from parent counter name to child counter name
   8: required map<string, set<string>> child_counters_map
+
+  // the percentage of the time spent in this profile itself, only set by FE
+  9: optional double local_time_percent
 }
 
 // A flattened tree of runtime profiles, obtained by an